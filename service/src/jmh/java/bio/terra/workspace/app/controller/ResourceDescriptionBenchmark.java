@@ -0,0 +1,38 @@
+package bio.terra.workspace.app.controller;
+
+import bio.terra.workspace.benchmark.ResourceSamples;
+import bio.terra.workspace.service.resource.model.WsmResource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Converting a page of resources for enumeration with {@link ResourceApiController}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResourceDescriptionBenchmark {
+  private ResourceApiController controller;
+  private List<WsmResource> resources;
+
+  @Setup
+  public void setUp() {
+    // The conversion uses none of the controller's collaborators
+    controller =
+        new ResourceApiController(null, null, null, null, null, null, null, null, null, null, null);
+    resources = ResourceSamples.resources(ResourceSamples.PAGE_SIZE);
+  }
+
+  @Benchmark
+  public void makeApiResourceDescriptions(Blackhole blackhole) {
+    for (WsmResource resource : resources) {
+      blackhole.consume(controller.makeApiResourceDescription(resource));
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package bio.terra.workspace.benchmark;
+
+import bio.terra.workspace.common.fixtures.ControlledAzureResourceFixtures;
+import bio.terra.workspace.common.fixtures.ControlledGcpResourceFixtures;
+import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.common.fixtures.ReferenceResourceFixtures;
+import bio.terra.workspace.db.DbSerDes;
+import bio.terra.workspace.db.model.DbResource;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import bio.terra.workspace.service.resource.controlled.model.PrivateResourceState;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResource;
+import bio.terra.workspace.service.resource.model.WsmResourceState;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Resources for the benchmarks: a page of the GCP, Azure, flexible and referenced resources a
+ * workspace enumeration returns, as they come back from the resource table.
+ */
+public class ResourceSamples {
+  /** Size of the pages benchmarks work on; the largest page the UI asks for. */
+  public static final int PAGE_SIZE = 100;
+
+  private static final UUID WORKSPACE_ID = UUID.randomUUID();
+  private static final List<Function<Integer, WsmResource>> MAKERS =
+      List.of(
+          i ->
+              ControlledGcpResourceFixtures.makeDefaultControlledGcsBucketBuilder(WORKSPACE_ID)
+                  .build(),
+          i ->
+              ControlledGcpResourceFixtures.makeDefaultControlledBqDatasetBuilder(WORKSPACE_ID)
+                  .build(),
+          i ->
+              ControlledAzureResourceFixtures.getAzureStorageContainer(
+                  WORKSPACE_ID,
+                  UUID.randomUUID(),
+                  "sc-" + UUID.randomUUID(),
+                  "container-" + i,
+                  "Storage container " + i),
+          i -> ControlledResourceFixtures.makeDefaultFlexResourceBuilder(WORKSPACE_ID).build(),
+          i ->
+              ReferenceResourceFixtures.makeReferencedGcsBucketResource(
+                  WORKSPACE_ID, "bucket-" + i));
+
+  /** A page of resources, read back through their handlers as enumeration reads them. */
+  public static List<WsmResource> resources(int count) {
+    List<WsmResource> resources = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      DbResource dbResource = toDbResource(MAKERS.get(i % MAKERS.size()).apply(i));
+      resources.add(
+          dbResource.getResourceType().getResourceHandler().makeResourceFromDb(dbResource));
+    }
+    return resources;
+  }
+
+  /** The resource as ResourceDao's row mapper produces it. */
+  public static DbResource toDbResource(WsmResource resource) {
+    DbResource dbResource =
+        new DbResource()
+            .workspaceUuid(resource.getWorkspaceId())
+            .cloudPlatform(resource.getResourceType().getCloudPlatform())
+            .resourceId(resource.getResourceId())
+            .name(resource.getName())
+            .description(resource.getDescription())
+            .stewardshipType(resource.getStewardshipType())
+            .resourceType(resource.getResourceType())
+            .cloningInstructions(resource.getCloningInstructions())
+            .attributes(resource.attributesToJson())
+            .resourceLineage(resource.getResourceLineage())
+            .properties(resource.getProperties())
+            .createdDate(createdDate(resource))
+            .createdByEmail(resource.getCreatedByEmail())
+            .state(state(resource))
+            .flightId(resource.getFlightId());
+    if (resource.getStewardshipType() == StewardshipType.CONTROLLED) {
+      ControlledResource controlledResource = resource.castToControlledResource();
+      dbResource
+          .accessScope(controlledResource.getAccessScope())
+          .managedBy(controlledResource.getManagedBy())
+          .applicationId(controlledResource.getApplicationId())
+          .assignedUser(controlledResource.getAssignedUser().orElse(null))
+          .privateResourceState(controlledResource.getPrivateResourceState().orElse(null))
+          .region(controlledResource.getRegion());
+    }
+    return dbResource;
+  }
+
+  /** The columns of the resource's row, as ResourceDao stores them. */
+  public static Map<String, Object> toRow(WsmResource resource) {
+    Map<String, Object> row = new HashMap<>();
+    row.put("workspace_id", resource.getWorkspaceId().toString());
+    row.put("cloud_platform", resource.getResourceType().getCloudPlatform().toSql());
+    row.put("resource_id", resource.getResourceId().toString());
+    row.put("name", resource.getName());
+    row.put("description", resource.getDescription());
+    row.put("stewardship_type", resource.getStewardshipType().toSql());
+    row.put("exact_resource_type", resource.getResourceType().toSql());
+    row.put("cloning_instructions", resource.getCloningInstructions().toSql());
+    row.put("attributes", resource.attributesToJson());
+    row.put("resource_lineage", DbSerDes.toJson(resource.getResourceLineage()));
+    row.put("properties", DbSerDes.propertiesToJson(resource.getProperties()));
+    row.put("created_date", Timestamp.from(createdDate(resource).toInstant()));
+    row.put("created_by_email", resource.getCreatedByEmail());
+    row.put("state", state(resource).toDb());
+    row.put("flight_id", resource.getFlightId());
+    if (resource.getStewardshipType() == StewardshipType.CONTROLLED) {
+      ControlledResource controlledResource = resource.castToControlledResource();
+      row.put("access_scope", controlledResource.getAccessScope().toSql());
+      row.put("managed_by", controlledResource.getManagedBy().toSql());
+      row.put("associated_app", controlledResource.getApplicationId());
+      row.put("assigned_user", controlledResource.getAssignedUser().orElse(null));
+      row.put(
+          "private_resource_state",
+          controlledResource
+              .getPrivateResourceState()
+              .map(PrivateResourceState::toSql)
+              .orElse(null));
+      row.put("region", controlledResource.getRegion());
+    }
+    return row;
+  }
+
+  /**
+   * A result set positioned on the given row. Only the getters ResourceDao's row mapper uses are
+   * supported; like the Postgres driver, columns are found by a hash lookup.
+   */
+  public static ResultSet resultSet(Map<String, Object> row) {
+    return (ResultSet)
+        Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) ->
+                switch (method.getName()) {
+                  case "getString", "getTimestamp" -> row.get((String) args[0]);
+                  default -> throw new UnsupportedOperationException(method.getName());
+                });
+  }
+
+  private static OffsetDateTime createdDate(WsmResource resource) {
+    return Optional.ofNullable(resource.getCreatedDate()).orElse(OffsetDateTime.now());
+  }
+
+  private static WsmResourceState state(WsmResource resource) {
+    return Optional.ofNullable(resource.getState()).orElse(WsmResourceState.READY);
+  }
+}
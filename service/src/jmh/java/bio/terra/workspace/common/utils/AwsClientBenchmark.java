@@ -0,0 +1,38 @@
+package bio.terra.workspace.common.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Getting an S3 client for a call, from the {@link AwsUtils} client cache and by building one with
+ * its own HTTP connection pool, as every S3 call used to. Neither makes a request to S3.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AwsClientBenchmark {
+  private final AwsCredentialsProvider credentialsProvider = AnonymousCredentialsProvider.create();
+
+  @Benchmark
+  public S3Client cachedClient() {
+    return AwsUtils.getS3Client(credentialsProvider, Region.US_EAST_1);
+  }
+
+  @Benchmark
+  public S3Client builtClient() {
+    S3Client client =
+        S3Client.builder().region(Region.US_EAST_1).credentialsProvider(credentialsProvider).build();
+    // Closed here, unlike before, so that the benchmark does not leak connection pools
+    client.close();
+    return client;
+  }
+}
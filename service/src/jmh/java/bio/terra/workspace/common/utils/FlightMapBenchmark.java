@@ -0,0 +1,54 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.stairway.FlightMap;
+import bio.terra.workspace.benchmark.ResourceSamples;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResource;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Passing a page of controlled resources through a Stairway {@link FlightMap}, as folder and
+ * dangling resource deletion do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlightMapBenchmark {
+  private static final String KEY = "resources";
+
+  private List<ControlledResource> resources;
+  private FlightMap filledMap;
+
+  @Setup
+  public void setUp() {
+    resources =
+        ResourceSamples.resources(ResourceSamples.PAGE_SIZE).stream()
+            .filter(r -> r.getStewardshipType() == StewardshipType.CONTROLLED)
+            .map(WsmResource::castToControlledResource)
+            .toList();
+    filledMap = new FlightMap();
+    filledMap.put(KEY, resources);
+  }
+
+  @Benchmark
+  public FlightMap put() {
+    FlightMap flightMap = new FlightMap();
+    flightMap.put(KEY, resources);
+    return flightMap;
+  }
+
+  @Benchmark
+  public List<ControlledResource> get() {
+    return FlightUtils.getRequired(filledMap, KEY, new TypeReference<>() {});
+  }
+}
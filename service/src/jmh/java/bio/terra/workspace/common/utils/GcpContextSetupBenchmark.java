@@ -0,0 +1,88 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.workspace.app.configuration.external.FlightStepConcurrencyConfiguration;
+import bio.terra.workspace.service.resource.controlled.model.StepRetryRulePair;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The GCP cloud context setup steps, one after the other and as the lanes of a {@link
+ * ParallelStepGroup}, with each step stubbed by a fixed latency standing in for its GCP or Sam
+ * calls. The lanes are those of GcpCloudContextService: billing; the role admin grant, then the
+ * custom roles; the pet SA, then the Sam group sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GcpContextSetupBenchmark {
+  private static final long BILLING_MILLIS = 40;
+  private static final long ROLE_ADMIN_MILLIS = 30;
+  private static final long CUSTOM_ROLES_MILLIS = 20;
+  private static final long PET_SA_MILLIS = 30;
+  private static final long SAM_SYNC_MILLIS = 60;
+
+  private FlightStepExecutor executor;
+  private List<List<StepRetryRulePair>> lanes;
+
+  @Setup
+  public void setUp() {
+    executor = new FlightStepExecutor(new FlightStepConcurrencyConfiguration());
+    lanes =
+        List.of(
+            List.of(stub(BILLING_MILLIS)),
+            List.of(stub(ROLE_ADMIN_MILLIS), stub(CUSTOM_ROLES_MILLIS)),
+            List.of(stub(PET_SA_MILLIS), stub(SAM_SYNC_MILLIS)));
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  public StepResult sequential() throws InterruptedException {
+    FlightContext context = new TestFlightContext();
+    StepResult result = StepResult.getStepResultSuccess();
+    for (List<StepRetryRulePair> lane : lanes) {
+      for (StepRetryRulePair pair : lane) {
+        result = pair.step().doStep(context);
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public StepResult parallel() throws InterruptedException {
+    // A new context each time, so that no step is skipped as already completed
+    return new ParallelStepGroup(executor, "gcpContextSetup", lanes)
+        .doStep(new TestFlightContext());
+  }
+
+  private static StepRetryRulePair stub(long latencyMillis) {
+    return new StepRetryRulePair(
+        new Step() {
+          @Override
+          public StepResult doStep(FlightContext context) throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            return StepResult.getStepResultSuccess();
+          }
+
+          @Override
+          public StepResult undoStep(FlightContext context) {
+            return StepResult.getStepResultSuccess();
+          }
+        },
+        null);
+  }
+}
@@ -0,0 +1,69 @@
+package bio.terra.workspace.db;
+
+import bio.terra.workspace.common.fixtures.ControlledGcpResourceFixtures;
+import bio.terra.workspace.service.resource.controlled.cloud.gcp.gcsbucket.ControlledGcsBucketAttributes;
+import bio.terra.workspace.service.resource.model.ResourceLineageEntry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** The JSON columns of a resource row, written and read through {@link DbSerDes}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DbSerDesBenchmark {
+  private Map<String, String> properties;
+  private String propertiesJson;
+  private List<ResourceLineageEntry> lineage;
+  private String lineageJson;
+  private String attributesJson;
+
+  @Setup
+  public void setUp() {
+    properties = Map.of("terra-type", "workspace-bucket", "owner", "analysis", "tier", "standard");
+    propertiesJson = DbSerDes.propertiesToJson(properties);
+    lineage =
+        List.of(
+            new ResourceLineageEntry(UUID.randomUUID(), UUID.randomUUID()),
+            new ResourceLineageEntry(UUID.randomUUID(), UUID.randomUUID()));
+    lineageJson = DbSerDes.toJson(lineage);
+    attributesJson =
+        ControlledGcpResourceFixtures.makeDefaultControlledGcsBucketBuilder(UUID.randomUUID())
+            .build()
+            .attributesToJson();
+  }
+
+  @Benchmark
+  public String propertiesToJson() {
+    return DbSerDes.propertiesToJson(properties);
+  }
+
+  @Benchmark
+  public Map<String, String> jsonToProperties() {
+    return DbSerDes.jsonToProperties(propertiesJson);
+  }
+
+  @Benchmark
+  public String lineageToJson() {
+    return DbSerDes.toJson(lineage);
+  }
+
+  @Benchmark
+  public List<ResourceLineageEntry> jsonToLineage() {
+    return DbSerDes.fromJson(lineageJson, new TypeReference<List<ResourceLineageEntry>>() {});
+  }
+
+  @Benchmark
+  public ControlledGcsBucketAttributes jsonToAttributes() {
+    return DbSerDes.fromJson(attributesJson, ControlledGcsBucketAttributes.class);
+  }
+}
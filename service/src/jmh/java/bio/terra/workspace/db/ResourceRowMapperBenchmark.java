@@ -0,0 +1,39 @@
+package bio.terra.workspace.db;
+
+import bio.terra.workspace.benchmark.ResourceSamples;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Mapping a page of resource rows with {@link ResourceDao#DB_RESOURCE_ROW_MAPPER}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResourceRowMapperBenchmark {
+  private List<ResultSet> rows;
+
+  @Setup
+  public void setUp() {
+    rows =
+        ResourceSamples.resources(ResourceSamples.PAGE_SIZE).stream()
+            .map(ResourceSamples::toRow)
+            .map(ResourceSamples::resultSet)
+            .toList();
+  }
+
+  @Benchmark
+  public void mapPage(Blackhole blackhole) throws SQLException {
+    for (int i = 0; i < rows.size(); i++) {
+      blackhole.consume(ResourceDao.DB_RESOURCE_ROW_MAPPER.mapRow(rows.get(i), i));
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package bio.terra.workspace.service.resource.controlled.cloud.azure;
+
+import com.azure.core.http.HttpClient;
+import com.azure.storage.blob.BlobContainerClientBuilder;
+import com.azure.storage.blob.sas.BlobContainerSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.common.StorageSharedKeyCredential;
+import com.azure.storage.common.sas.SasProtocol;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Signing a container SAS token as {@link AzureStorageAccessService} does, with the cached account
+ * key credential and the shared HTTP client, and with a credential and an HTTP client built for the
+ * token, as every SAS request used to. The ARM call that fetched the key on each request is not
+ * included; signing makes no request to storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SasIssuanceBenchmark {
+  private static final String ACCOUNT_NAME = "benchmarkaccount";
+  private static final String ENDPOINT = "https://benchmarkaccount.blob.core.windows.net";
+  private static final String ACCOUNT_KEY =
+      Base64.getEncoder()
+          .encodeToString("a fixed account key used only to sign".getBytes(StandardCharsets.UTF_8));
+
+  private final StorageSharedKeyCredential cachedCredential =
+      new StorageSharedKeyCredential(ACCOUNT_NAME, ACCOUNT_KEY);
+  private final HttpClient sharedHttpClient = HttpClient.createDefault();
+
+  @Benchmark
+  public String cachedCredential() {
+    return sign(
+        new BlobContainerClientBuilder()
+            .credential(cachedCredential)
+            .endpoint(ENDPOINT)
+            .httpClient(sharedHttpClient));
+  }
+
+  @Benchmark
+  public String builtCredential() {
+    return sign(
+        new BlobContainerClientBuilder()
+            .credential(new StorageSharedKeyCredential(ACCOUNT_NAME, ACCOUNT_KEY))
+            .endpoint(ENDPOINT));
+  }
+
+  private static String sign(BlobContainerClientBuilder builder) {
+    OffsetDateTime now = OffsetDateTime.now();
+    BlobServiceSasSignatureValues sasValues =
+        new BlobServiceSasSignatureValues(now.plusHours(1), BlobContainerSasPermission.parse("rl"))
+            .setStartTime(now.minusMinutes(15))
+            .setProtocol(SasProtocol.HTTPS_ONLY);
+    return builder.containerName("container").buildClient().generateSas(sasValues);
+  }
+}
@@ -0,0 +1,48 @@
+package bio.terra.workspace.service.resource.model;
+
+import bio.terra.workspace.service.workspace.model.CloudPlatform;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The enum lookups done for every resource row. The parameters are the first and last declared
+ * constants, the best and worst case of a linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FromSqlBenchmark {
+  @Param({"first", "last"})
+  public String position;
+
+  private String resourceTypeSql;
+  private String cloudPlatformSql;
+
+  @Setup
+  public void setUp() {
+    WsmResourceType[] resourceTypes = WsmResourceType.values();
+    CloudPlatform[] cloudPlatforms = CloudPlatform.values();
+    int resourceTypeIndex = position.equals("first") ? 0 : resourceTypes.length - 1;
+    int cloudPlatformIndex = position.equals("first") ? 0 : cloudPlatforms.length - 1;
+    // Copies, so that no lookup succeeds on an identity comparison; JDBC returns new strings
+    resourceTypeSql = new String(resourceTypes[resourceTypeIndex].toSql());
+    cloudPlatformSql = new String(cloudPlatforms[cloudPlatformIndex].toSql());
+  }
+
+  @Benchmark
+  public WsmResourceType wsmResourceTypeFromSql() {
+    return WsmResourceType.fromSql(resourceTypeSql);
+  }
+
+  @Benchmark
+  public CloudPlatform cloudPlatformFromSql() {
+    return CloudPlatform.fromSql(cloudPlatformSql);
+  }
+}
@@ -0,0 +1,38 @@
+package bio.terra.workspace.service.resource.model;
+
+import bio.terra.workspace.benchmark.ResourceSamples;
+import bio.terra.workspace.db.model.DbResource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Building a page of resources from their rows with {@link WsmResourceHandler}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResourceHandlerBenchmark {
+  private List<DbResource> dbResources;
+
+  @Setup
+  public void setUp() {
+    dbResources =
+        ResourceSamples.resources(ResourceSamples.PAGE_SIZE).stream()
+            .map(ResourceSamples::toDbResource)
+            .toList();
+  }
+
+  @Benchmark
+  public void makeResourcesFromDb(Blackhole blackhole) {
+    for (DbResource dbResource : dbResources) {
+      blackhole.consume(
+          dbResource.getResourceType().getResourceHandler().makeResourceFromDb(dbResource));
+    }
+  }
+}
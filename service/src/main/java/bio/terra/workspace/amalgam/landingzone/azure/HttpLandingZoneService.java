@@ -10,6 +10,7 @@ import bio.terra.lz.futureservice.model.CreateAzureLandingZoneRequestBody;
 import bio.terra.lz.futureservice.model.DeleteAzureLandingZoneRequestBody;
 import bio.terra.lz.futureservice.model.JobControl;
 import bio.terra.workspace.app.configuration.external.LandingZoneServiceConfiguration;
+import bio.terra.workspace.common.logging.DependencyMetricsFilter;
 import bio.terra.workspace.common.utils.MapperUtils;
 import bio.terra.workspace.generated.model.ApiAzureLandingZone;
 import bio.terra.workspace.generated.model.ApiAzureLandingZoneDefinition;
@@ -43,7 +44,10 @@ public class HttpLandingZoneService implements WorkspaceLandingZoneService {
   public HttpLandingZoneService(
       OpenTelemetry openTelemetry, LandingZoneServiceConfiguration config) {
     this.commonHttpClient =
-        new ApiClient().getHttpClient().register(new JakartaTracingFilter(openTelemetry));
+        new ApiClient()
+            .getHttpClient()
+            .register(new JakartaTracingFilter(openTelemetry))
+            .register(new DependencyMetricsFilter("landing-zone"));
     this.config = config;
     this.typeAdapter = new LandingApiClientTypeAdapter();
     logger.info("LZS base path: '{}'", config.getBasePath());
@@ -3,6 +3,7 @@ package bio.terra.workspace.amalgam.landingzone.azure;
 import bio.terra.common.iam.BearerToken;
 import bio.terra.landingzone.library.landingzones.deployment.LandingZonePurpose;
 import bio.terra.landingzone.library.landingzones.deployment.ResourcePurpose;
+import bio.terra.workspace.amalgam.landingzone.azure.LandingZoneLookupCache.Lookup;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.common.utils.Rethrow;
 import bio.terra.workspace.generated.model.ApiAzureLandingZone;
@@ -45,12 +46,17 @@ public class LandingZoneApiDispatch {
   private final FeatureConfiguration features;
   private final SamService samService;
   private final WorkspaceLandingZoneService amalgamated;
+  private final LandingZoneLookupCache lookupCache;
 
   public LandingZoneApiDispatch(
-      FeatureConfiguration features, SamService samService, LandingZoneServiceFactory lzsFactory) {
+      FeatureConfiguration features,
+      SamService samService,
+      LandingZoneServiceFactory lzsFactory,
+      LandingZoneLookupCache lookupCache) {
     this.features = features;
     this.samService = samService;
     this.amalgamated = lzsFactory.getLandingZoneService();
+    this.lookupCache = lookupCache;
   }
 
   public ApiCreateLandingZoneResult createAzureLandingZone(
@@ -66,6 +72,7 @@ public class LandingZoneApiDispatch {
     try {
       // Prevent deploying more than 1 landing zone per billing profile
       verifyLandingZoneDoesNotExistForBillingProfile(bearerToken, body);
+      lookupCache.invalidateBillingProfile(body.getBillingProfileId());
 
       var result =
           Rethrow.onInterrupted(
@@ -138,6 +145,7 @@ public class LandingZoneApiDispatch {
       ApiDeleteAzureLandingZoneRequestBody body,
       String resultEndpoint) {
     features.azureEnabledCheck();
+    lookupCache.invalidateLandingZone(landingZoneId);
     return Rethrow.onInterrupted(
         () ->
             amalgamated.startLandingZoneDeletionJob(
@@ -148,9 +156,15 @@ public class LandingZoneApiDispatch {
   public ApiAzureLandingZoneResourcesList listAzureLandingZoneResources(
       BearerToken bearerToken, UUID landingZoneId) {
     features.azureEnabledCheck();
-    return Rethrow.onInterrupted(
-        () -> amalgamated.listResourcesWithPurposes(bearerToken, landingZoneId),
-        "listResourcesWithPurpose");
+    return lookupCache.get(
+        Lookup.RESOURCES,
+        bearerToken,
+        landingZoneId,
+        "",
+        () ->
+            Rethrow.onInterrupted(
+                () -> amalgamated.listResourcesWithPurposes(bearerToken, landingZoneId),
+                "listResourcesWithPurpose"));
   }
 
   public Optional<ApiAzureLandingZoneDeployedResource> getSharedStorageAccount(
@@ -183,9 +197,17 @@ public class LandingZoneApiDispatch {
   public ApiAzureLandingZoneResourcesList listAzureLandingZoneResourcesByPurpose(
       BearerToken bearerToken, UUID landingZoneId, LandingZonePurpose resourcePurpose) {
     features.azureEnabledCheck();
-    return Rethrow.onInterrupted(
-        () -> amalgamated.listResourcesMatchingPurpose(bearerToken, landingZoneId, resourcePurpose),
-        "listResourcesMatchingPurpose");
+    return lookupCache.get(
+        Lookup.RESOURCES_BY_PURPOSE,
+        bearerToken,
+        landingZoneId,
+        resourcePurpose.toString(),
+        () ->
+            Rethrow.onInterrupted(
+                () ->
+                    amalgamated.listResourcesMatchingPurpose(
+                        bearerToken, landingZoneId, resourcePurpose),
+                "listResourcesMatchingPurpose"));
   }
 
   public UUID getLandingZoneId(BearerToken token, Workspace workspace) {
@@ -198,10 +220,19 @@ public class LandingZoneApiDispatch {
               workspace.getWorkspaceId()));
     }
 
+    return lookupCache.get(
+        Lookup.LANDING_ZONE_ID,
+        token,
+        profileId.get(),
+        "",
+        () -> lookUpLandingZoneId(token, profileId.get()));
+  }
+
+  private UUID lookUpLandingZoneId(BearerToken token, UUID profileId) {
     // getLandingZonesByBillingProfile returns a list. But it always contains only one item
     var response =
         Rethrow.onInterrupted(
-            () -> amalgamated.listLandingZonesByBillingProfile(token, profileId.get()),
+            () -> amalgamated.listLandingZonesByBillingProfile(token, profileId),
             "listLandingZonesByBillingProfile");
     return response.getLandingzones().stream()
         .findFirst()
@@ -213,12 +244,14 @@ public class LandingZoneApiDispatch {
                         "Could not find a landing zone for the given billing profile: '%s'. Please"
                             + " check that the landing zone deployment is complete"
                             + " and that the caller has access to the landing zone resource.",
-                        profileId.get())));
+                        profileId)));
   }
 
   public ApiDeleteAzureLandingZoneJobResult getDeleteAzureLandingZoneResult(
       BearerToken token, UUID landingZoneId, String jobId) {
     features.azureEnabledCheck();
+    // Lookups made while the deletion job ran may have cached resources that are now gone
+    lookupCache.invalidateLandingZone(landingZoneId);
     return Rethrow.onInterrupted(
         () -> amalgamated.getDeleteLandingZoneResult(token, landingZoneId, jobId),
         "getDeleteLandingZoneResult");
@@ -292,7 +325,14 @@ public class LandingZoneApiDispatch {
   public String getLandingZoneRegionUsingWsmToken(UUID landingZoneId) {
     features.azureEnabledCheck();
     var token = new BearerToken(samService.getWsmServiceAccountToken());
-    return Rethrow.onInterrupted(
-        () -> amalgamated.getLandingZoneRegion(token, landingZoneId), "getLandingZoneRegion");
+    return lookupCache.get(
+        Lookup.REGION,
+        token,
+        landingZoneId,
+        "",
+        () ->
+            Rethrow.onInterrupted(
+                () -> amalgamated.getLandingZoneRegion(token, landingZoneId),
+                "getLandingZoneRegion"));
   }
 }
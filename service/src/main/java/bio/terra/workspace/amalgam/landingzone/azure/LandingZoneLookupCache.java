@@ -0,0 +1,178 @@
+package bio.terra.workspace.amalgam.landingzone.azure;
+
+import bio.terra.common.iam.BearerToken;
+import bio.terra.workspace.app.configuration.external.LandingZoneServiceConfiguration;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.apache.commons.collections4.map.LRUMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of landing zone lookups: the landing zone of a billing profile, the region of a landing
+ * zone, and the resources deployed in it. Every Azure create, clone and SAS request used to ask the
+ * landing zone service for these, yet they only change when a landing zone is created or deleted.
+ * Entries live for the configured time to live, and the entries of a landing zone are dropped when
+ * it is deleted through this instance. Once the cache is full, the least recently used entry is
+ * evicted.
+ *
+ * <p>Entries are keyed by a hash of the caller's token, so the landing zone service still decides
+ * who may see a landing zone. Concurrent misses on a key share a single load. Failures, including
+ * a billing profile without a landing zone, are not cached.
+ *
+ * <p>{@link #CACHE_METRIC} counts lookups by kind and result: "miss" lookups called the landing
+ * zone service, "hit" and "coalesced" lookups did not.
+ */
+@Component
+public class LandingZoneLookupCache {
+  static final String CACHE_METRIC = "wsm.landingzone.cache";
+
+  /** The kinds of lookup that are cached. */
+  enum Lookup {
+    LANDING_ZONE_ID,
+    REGION,
+    RESOURCES,
+    RESOURCES_BY_PURPOSE
+  }
+
+  private final Duration timeToLive;
+  private final MeterRegistry registry;
+  private final Clock clock;
+  // Evicting a lookup that is still loading is harmless: its callers hold the future
+  private final Map<Key, CompletableFuture<Entry>> entries;
+
+  @Autowired
+  public LandingZoneLookupCache(
+      LandingZoneServiceConfiguration configuration, MeterRegistry registry) {
+    this(
+        configuration.getLookupCacheTtl(),
+        configuration.getLookupCacheMaxEntries(),
+        registry,
+        Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  LandingZoneLookupCache(Duration timeToLive, int maxEntries, MeterRegistry registry, Clock clock) {
+    this.timeToLive = timeToLive;
+    this.entries = Collections.synchronizedMap(new LRUMap<>(maxEntries));
+    this.registry = registry;
+    this.clock = clock;
+  }
+
+  /**
+   * Get a cached lookup, loading it on a miss.
+   *
+   * @param lookup kind of lookup
+   * @param token caller's token, which the loader uses
+   * @param id landing zone id, or billing profile id for {@link Lookup#LANDING_ZONE_ID}
+   * @param detail further qualifies the lookup, such as the resource purpose; may be empty
+   * @param loader calls the landing zone service
+   */
+  <T> T get(Lookup lookup, BearerToken token, UUID id, String detail, Supplier<T> loader) {
+    Key key = new Key(lookup, hashToken(token), id, detail);
+    while (true) {
+      CompletableFuture<Entry> created = new CompletableFuture<>();
+      CompletableFuture<Entry> existing = entries.putIfAbsent(key, created);
+      if (existing == null) {
+        count(lookup, "miss");
+        return load(key, created, loader);
+      }
+
+      if (!existing.isDone()) {
+        count(lookup, "coalesced");
+        try {
+          return cast(existing.join());
+        } catch (CompletionException e) {
+          if (e.getCause() instanceof RuntimeException cause) {
+            throw cause;
+          }
+          throw e;
+        }
+      }
+
+      if (!existing.isCompletedExceptionally() && isFresh(existing.join())) {
+        count(lookup, "hit");
+        return cast(existing.join());
+      }
+      // Expired, or a failure that the loading thread has not removed yet; replace it
+      entries.remove(key, existing);
+    }
+  }
+
+  /** Drop every cached lookup of a landing zone, including the billing profiles that map to it. */
+  public void invalidateLandingZone(UUID landingZoneId) {
+    synchronized (entries) {
+      entries
+          .entrySet()
+          .removeIf(
+              e ->
+                  e.getKey().id().equals(landingZoneId)
+                      || (e.getKey().lookup() == Lookup.LANDING_ZONE_ID
+                          && e.getValue().isDone()
+                          && !e.getValue().isCompletedExceptionally()
+                          && landingZoneId.equals(e.getValue().join().value())));
+    }
+  }
+
+  /** Drop the cached landing zone of a billing profile. */
+  public void invalidateBillingProfile(UUID billingProfileId) {
+    synchronized (entries) {
+      entries
+          .keySet()
+          .removeIf(
+              key -> key.lookup() == Lookup.LANDING_ZONE_ID && key.id().equals(billingProfileId));
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    return entries.size();
+  }
+
+  private <T> T load(Key key, CompletableFuture<Entry> created, Supplier<T> loader) {
+    try {
+      T loaded = loader.get();
+      created.complete(new Entry(loaded, clock.instant().plus(timeToLive)));
+      return loaded;
+    } catch (RuntimeException e) {
+      entries.remove(key, created);
+      created.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T cast(Entry entry) {
+    return (T) entry.value();
+  }
+
+  private boolean isFresh(Entry entry) {
+    return entry.expiresAt().isAfter(clock.instant());
+  }
+
+  private void count(Lookup lookup, String result) {
+    registry
+        .counter(CACHE_METRIC, "lookup", lookup.name().toLowerCase(Locale.ROOT), "result", result)
+        .increment();
+  }
+
+  private static String hashToken(BearerToken token) {
+    return Hashing.sha256().hashString(token.getToken(), StandardCharsets.UTF_8).toString();
+  }
+
+  private record Key(Lookup lookup, String tokenHash, UUID id, String detail) {}
+
+  private record Entry(Object value, Instant expiresAt) {}
+}
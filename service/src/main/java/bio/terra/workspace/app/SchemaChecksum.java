@@ -0,0 +1,108 @@
+package bio.terra.workspace.app;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checksum of the WSM changelog, kept in the schema_checksum table once the changelog has been
+ * applied. When the checksum of the changelog this build ships with matches the stored one, the
+ * schema is current and startup can skip Liquibase, which otherwise takes its lock and reads the
+ * whole changelog just to find there is nothing to do.
+ */
+class SchemaChecksum {
+  private static final Logger logger = LoggerFactory.getLogger(SchemaChecksum.class);
+
+  private final String changelogPath;
+  private final JdbcTemplate jdbcTemplate;
+  private final ResourcePatternResolver resolver;
+
+  SchemaChecksum(String changelogPath, DataSource dataSource) {
+    this(changelogPath, dataSource, new PathMatchingResourcePatternResolver());
+  }
+
+  @VisibleForTesting
+  SchemaChecksum(String changelogPath, DataSource dataSource, ResourcePatternResolver resolver) {
+    this.changelogPath = changelogPath;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.resolver = resolver;
+  }
+
+  /** True if the changelog applied to the database is the one this build ships with. */
+  boolean isCurrent() {
+    Optional<String> stored = readStoredChecksum();
+    return stored.isPresent() && stored.get().equals(compute());
+  }
+
+  /** Store the checksum of this build's changelog, once it has been applied. */
+  void store() {
+    jdbcTemplate.update(
+        """
+          INSERT INTO schema_checksum (changelog, checksum, applied) VALUES (?, ?, ?)
+          ON CONFLICT (changelog) DO UPDATE SET
+            checksum = excluded.checksum, applied = excluded.applied
+        """,
+        changelogPath,
+        compute(),
+        Timestamp.from(Instant.now()));
+  }
+
+  private Optional<String> readStoredChecksum() {
+    try {
+      List<String> checksums =
+          jdbcTemplate.queryForList(
+              "SELECT checksum FROM schema_checksum WHERE changelog = ?",
+              String.class,
+              changelogPath);
+      return checksums.stream().findFirst();
+    } catch (DataAccessException e) {
+      // The table does not exist until the changelog that adds it has been applied
+      logger.info("No schema checksum to compare with: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /** SHA-256 of the changelog and of every changeset file next to it, in name order. */
+  private String compute() {
+    String directory = changelogPath.substring(0, changelogPath.lastIndexOf('/') + 1);
+    try {
+      Resource[] changesets = resolver.getResources("classpath:" + directory + "changesets/**");
+      Arrays.sort(changesets, Comparator.comparing(r -> String.valueOf(r.getFilename())));
+      Hasher hasher = Hashing.sha256().newHasher();
+      addResource(hasher, resolver.getResource("classpath:" + changelogPath));
+      for (Resource changeset : changesets) {
+        if (changeset.isReadable()) {
+          addResource(hasher, changeset);
+        }
+      }
+      return hasher.hash().toString();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read changelog " + changelogPath, e);
+    }
+  }
+
+  private static void addResource(Hasher hasher, Resource resource) throws IOException {
+    hasher.putString(String.valueOf(resource.getFilename()), StandardCharsets.UTF_8);
+    try (InputStream in = resource.getInputStream()) {
+      hasher.putBytes(in.readAllBytes());
+    }
+  }
+}
@@ -10,12 +10,23 @@ import bio.terra.workspace.service.buffer.BufferService;
 import bio.terra.workspace.service.job.StairwayInitializerService;
 import bio.terra.workspace.service.policy.TpsApiDispatch;
 import bio.terra.workspace.service.workspace.WsmApplicationService;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 
 public final class StartupInitializer {
+  private static final Logger logger = LoggerFactory.getLogger(StartupInitializer.class);
   private static final String changelogPath = "db/changelog.xml";
 
+  /**
+   * Run the startup phases. Phases that do not depend on each other run concurrently: the landing
+   * zone library has its own databases, and the external configuration checks only call out to
+   * other services. Stairway recovery and the application configuration wait for the WSM
+   * database migration.
+   */
   public static void initialize(ApplicationContext applicationContext) {
     // Initialize or upgrade the database depending on the configuration
     DataSourceManager dataSourceManager = applicationContext.getBean(DataSourceManager.class);
@@ -27,37 +38,73 @@ public final class StartupInitializer {
     WsmApplicationService appService = applicationContext.getBean(WsmApplicationService.class);
     FeatureConfiguration featureConfiguration =
         applicationContext.getBean(FeatureConfiguration.class);
+    MeterRegistry meterRegistry = applicationContext.getBean(MeterRegistry.class);
 
     // Log the state of the feature flags
     featureConfiguration.logFeatures();
 
+    var phases = new StartupPhaseRunner(meterRegistry);
+
     // Migrate the database
-    DataSource workspaceDataSource =
-        dataSourceManager.initializeDataSource(workspaceDatabaseConfiguration);
-    if (workspaceDatabaseConfiguration.isInitializeOnStart()) {
-      migrateService.initialize(changelogPath, workspaceDataSource);
-    } else if (workspaceDatabaseConfiguration.isUpgradeOnStart()) {
-      migrateService.upgrade(changelogPath, workspaceDataSource);
-    }
+    phases.addPhase(
+        "wsm-database",
+        () ->
+            migrateWorkspaceDatabase(
+                dataSourceManager, workspaceDatabaseConfiguration, migrateService));
 
     // Initialize Stairway
-    stairwayInitializerService.initialize();
+    phases.addPhase("stairway", stairwayInitializerService::initialize, "wsm-database");
+
+    // Process the WSM application configuration
+    phases.addPhase("applications", appService::configure, "wsm-database");
 
     if (featureConfiguration.isTpsEnabled()) {
       var tpsApiDispatch = applicationContext.getBean(TpsApiDispatch.class);
-      tpsApiDispatch.verifyConfiguration();
+      phases.addPhase("tps-verify", tpsApiDispatch::verifyConfiguration);
     }
 
     var bufferConfig = applicationContext.getBean(BufferServiceConfiguration.class);
     if (bufferConfig.getEnabled()) {
       var bufferService = applicationContext.getBean(BufferService.class);
-      bufferService.verifyConfiguration();
+      phases.addPhase("buffer-verify", bufferService::verifyConfiguration);
     }
 
-    // Process the WSM application configuration
-    appService.configure();
-
     // Initialize Terra Landing Zone library
-    LandingZoneMain.initialize(applicationContext, migrateService);
+    phases.addPhase(
+        "landing-zone", () -> LandingZoneMain.initialize(applicationContext, migrateService));
+
+    phases.run();
+  }
+
+  private static void migrateWorkspaceDatabase(
+      DataSourceManager dataSourceManager,
+      WorkspaceDatabaseConfiguration workspaceDatabaseConfiguration,
+      LiquibaseMigrator migrateService) {
+    DataSource workspaceDataSource =
+        dataSourceManager.initializeDataSource(workspaceDatabaseConfiguration);
+    if (workspaceDatabaseConfiguration.isInitializeOnStart()) {
+      migrateService.initialize(changelogPath, workspaceDataSource);
+    } else if (workspaceDatabaseConfiguration.isUpgradeOnStart()) {
+      if (!workspaceDatabaseConfiguration.isSkipCurrentSchema()) {
+        migrateService.upgrade(changelogPath, workspaceDataSource);
+        return;
+      }
+      upgradeUnlessCurrent(
+          migrateService,
+          workspaceDataSource,
+          new SchemaChecksum(changelogPath, workspaceDataSource));
+    }
+  }
+
+  /** Upgrade the database unless the changelog it was last upgraded with is this build's. */
+  @VisibleForTesting
+  static void upgradeUnlessCurrent(
+      LiquibaseMigrator migrateService, DataSource dataSource, SchemaChecksum schemaChecksum) {
+    if (schemaChecksum.isCurrent()) {
+      logger.info("Schema checksum is current; skipping upgrade of the WSM database");
+      return;
+    }
+    migrateService.upgrade(changelogPath, dataSource);
+    schemaChecksum.store();
   }
 }
@@ -0,0 +1,123 @@
+package bio.terra.workspace.app;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the phases of startup, each as soon as the phases it depends on are done. Independent
+ * phases run concurrently, so startup takes as long as its longest chain of dependent phases
+ * rather than the sum of all of them. The duration of each phase is recorded as a timer.
+ *
+ * <p>If a phase fails, the phases that depend on it are not run. {@link #run} waits for all the
+ * other phases to finish and then throws the first failure.
+ */
+class StartupPhaseRunner {
+  private static final Logger logger = LoggerFactory.getLogger(StartupPhaseRunner.class);
+  static final String PHASE_METRIC = "wsm.startup.phase";
+
+  private final MeterRegistry registry;
+  private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+  private record Phase(String name, Runnable action, List<String> dependsOn) {}
+
+  StartupPhaseRunner(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Add a phase. Dependencies must be added before the phases that depend on them.
+   *
+   * @param name name of the phase, used in logs and as the metric tag
+   * @param action work of the phase
+   * @param dependsOn names of the phases that must be done before this one starts
+   */
+  StartupPhaseRunner addPhase(String name, Runnable action, String... dependsOn) {
+    for (String dependency : dependsOn) {
+      if (!phases.containsKey(dependency)) {
+        throw new IllegalArgumentException(
+            String.format("Startup phase %s depends on unknown phase %s", name, dependency));
+      }
+    }
+    if (phases.putIfAbsent(name, new Phase(name, action, List.of(dependsOn))) != null) {
+      throw new IllegalArgumentException("Duplicate startup phase " + name);
+    }
+    return this;
+  }
+
+  /** Run all phases and wait for them to finish. */
+  void run() {
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, phases.size()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "startup-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    Timer.Sample total = Timer.start(registry);
+    String outcome = "failure";
+    try {
+      Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+      for (Phase phase : phases.values()) {
+        CompletableFuture<?>[] dependencies =
+            phase.dependsOn().stream().map(futures::get).toArray(CompletableFuture[]::new);
+        futures.put(
+            phase.name(),
+            CompletableFuture.allOf(dependencies).thenRunAsync(() -> runPhase(phase), executor));
+      }
+
+      // Wait for every phase, not just the first failure, so nothing is left running
+      List<Throwable> failures = new ArrayList<>();
+      for (CompletableFuture<Void> future : futures.values()) {
+        try {
+          future.join();
+        } catch (CompletionException e) {
+          failures.add(e.getCause());
+        }
+      }
+      if (!failures.isEmpty()) {
+        // A failed phase also fails its dependents; the first failure is the root cause
+        Throwable failure = failures.get(0);
+        if (failure instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+          throw error;
+        }
+        throw new IllegalStateException("Startup failed", failure);
+      }
+      outcome = "success";
+    } finally {
+      executor.shutdown();
+      long nanos = total.stop(registry.timer(PHASE_METRIC, "phase", "total", "outcome", outcome));
+      logger.info("Startup phases finished with {} in {} ms", outcome, nanos / 1_000_000);
+    }
+  }
+
+  private void runPhase(Phase phase) {
+    logger.info("Starting startup phase {}", phase.name());
+    Timer.Sample sample = Timer.start(registry);
+    String outcome = "failure";
+    try {
+      phase.action().run();
+      outcome = "success";
+    } finally {
+      long nanos =
+          sample.stop(registry.timer(PHASE_METRIC, "phase", phase.name(), "outcome", outcome));
+      logger.info(
+          "Startup phase {} finished with {} in {} ms", phase.name(), outcome, nanos / 1_000_000);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package bio.terra.workspace.app.configuration.external;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.activity-log")
+public class ActivityLogConfiguration {
+  /**
+   * If true, activity logged when a flight ends is written to an outbox and moved to the activity
+   * log in the background. If false, it is written to the activity log directly.
+   */
+  private boolean asyncWriteEnabled = true;
+
+  /** How long to wait between moves of outbox entries to the activity log */
+  private Duration drainInterval = Duration.ofSeconds(1);
+
+  /** Number of outbox entries moved to the activity log in one transaction */
+  private int drainBatchSize = 500;
+
+  public boolean isAsyncWriteEnabled() {
+    return asyncWriteEnabled;
+  }
+
+  public void setAsyncWriteEnabled(boolean asyncWriteEnabled) {
+    this.asyncWriteEnabled = asyncWriteEnabled;
+  }
+
+  public Duration getDrainInterval() {
+    return drainInterval;
+  }
+
+  public void setDrainInterval(Duration drainInterval) {
+    this.drainInterval = drainInterval;
+  }
+
+  public int getDrainBatchSize() {
+    return drainBatchSize;
+  }
+
+  public void setDrainBatchSize(int drainBatchSize) {
+    this.drainBatchSize = drainBatchSize;
+  }
+}
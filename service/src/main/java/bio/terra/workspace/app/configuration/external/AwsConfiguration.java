@@ -14,6 +14,7 @@ import org.springframework.context.annotation.Configuration;
 public class AwsConfiguration {
   private Discovery discovery;
   private Authentication authentication;
+  private CredentialCaching credentialCaching = new CredentialCaching();
 
   public Discovery getDiscovery() {
     return discovery;
@@ -31,10 +32,19 @@ public class AwsConfiguration {
     this.authentication = authentication;
   }
 
+  public CredentialCaching getCredentialCaching() {
+    return credentialCaching;
+  }
+
+  public void setCredentialCaching(CredentialCaching credentialCaching) {
+    this.credentialCaching = credentialCaching;
+  }
+
   @Override
   public String toString() {
     return String.format(
-        "{authentication=%s, discovery=%s}", authentication.toString(), discovery.toString());
+        "{authentication=%s, credentialCaching=%s, discovery=%s}",
+        authentication.toString(), credentialCaching.toString(), discovery.toString());
   }
 
   public static class Discovery {
@@ -170,4 +180,48 @@ public class AwsConfiguration {
           credentialLifetimeSeconds, credentialStaleTimeSeconds, googleJwtAudience);
     }
   }
+
+  /** Caching of the user credentials vended for controlled AWS resources. */
+  public static class CredentialCaching {
+    public static final boolean DEFAULT_ENABLED = true;
+    public static final long DEFAULT_SAFETY_MARGIN_SECONDS = 300;
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    // Cached credentials are not handed out within this long of their expiration
+    private long safetyMarginSeconds = DEFAULT_SAFETY_MARGIN_SECONDS;
+    // Expired entries are purged once the cache grows past this size
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public long getSafetyMarginSeconds() {
+      return safetyMarginSeconds;
+    }
+
+    public void setSafetyMarginSeconds(long safetyMarginSeconds) {
+      this.safetyMarginSeconds = safetyMarginSeconds;
+    }
+
+    public int getMaxEntries() {
+      return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "{enabled=%b, maxEntries=%d, safetyMarginSeconds=%d}",
+          enabled, maxEntries, safetyMarginSeconds);
+    }
+  }
 }
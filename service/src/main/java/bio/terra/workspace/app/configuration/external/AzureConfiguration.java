@@ -25,6 +25,8 @@ public class AzureConfiguration {
   private String authTokenScope;
   private String wsmServiceManagedIdentity;
   private String azureEnvironment;
+  // Maximum number of authenticated resource managers kept by CrlService
+  private Integer managerPoolSize = 256;
 
   public AzureEnvironment getAzureEnvironment() {
     return getAzureEnvironmentFromString(azureEnvironment);
@@ -154,4 +156,12 @@ public class AzureConfiguration {
   public void setWsmServiceManagedIdentity(String wsmServiceManagedIdentity) {
     this.wsmServiceManagedIdentity = wsmServiceManagedIdentity;
   }
+
+  public Integer getManagerPoolSize() {
+    return managerPoolSize;
+  }
+
+  public void setManagerPoolSize(Integer managerPoolSize) {
+    this.managerPoolSize = managerPoolSize;
+  }
 }
@@ -24,6 +24,13 @@ public class BufferServiceConfiguration {
   private String poolId;
   private String clientCredentialFilePath;
 
+  /**
+   * Whether the pool creates the WSM custom roles in its projects and labels them with the role
+   * fingerprint (see GcpCloudSyncRoleMapping#getCustomGcpIamRolesFingerprint). Projects whose label
+   * matches skip role creation during cloud context creation; others get the full setup.
+   */
+  private boolean prebakedProjectsEnabled = false;
+
   private final FeatureConfiguration features;
 
   private static final ImmutableList<String> BUFFER_SCOPES =
@@ -66,6 +73,14 @@ public class BufferServiceConfiguration {
     return clientCredentialFilePath;
   }
 
+  public boolean isPrebakedProjectsEnabled() {
+    return prebakedProjectsEnabled;
+  }
+
+  public void setPrebakedProjectsEnabled(boolean prebakedProjectsEnabled) {
+    this.prebakedProjectsEnabled = prebakedProjectsEnabled;
+  }
+
   public String getAccessToken() {
     try {
       if (features.isAzureControlPlaneEnabled()) {
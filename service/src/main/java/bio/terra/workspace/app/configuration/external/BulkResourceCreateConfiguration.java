@@ -0,0 +1,58 @@
+package bio.terra.workspace.app.configuration.external;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.bulk-resource-create")
+public class BulkResourceCreateConfiguration {
+  /** Most resources one bulk create request may ask for */
+  private int maxResources = 500;
+
+  /** Most Sam resource creates one bulk create request makes at a time */
+  private int maxConcurrentSamCalls = 8;
+
+  /**
+   * Age after which a resource still CREATING under a bulk create is taken to be left behind by a
+   * pod that died, and is deleted. Much longer than any bulk create takes.
+   */
+  private Duration staleCreateAge = Duration.ofHours(1);
+
+  /** How often resources left behind by bulk creates are looked for */
+  private Duration cleanupInterval = Duration.ofMinutes(15);
+
+  public int getMaxResources() {
+    return maxResources;
+  }
+
+  public void setMaxResources(int maxResources) {
+    this.maxResources = maxResources;
+  }
+
+  public int getMaxConcurrentSamCalls() {
+    return maxConcurrentSamCalls;
+  }
+
+  public void setMaxConcurrentSamCalls(int maxConcurrentSamCalls) {
+    this.maxConcurrentSamCalls = maxConcurrentSamCalls;
+  }
+
+  public Duration getStaleCreateAge() {
+    return staleCreateAge;
+  }
+
+  public void setStaleCreateAge(Duration staleCreateAge) {
+    this.staleCreateAge = staleCreateAge;
+  }
+
+  public Duration getCleanupInterval() {
+    return cleanupInterval;
+  }
+
+  public void setCleanupInterval(Duration cleanupInterval) {
+    this.cleanupInterval = cleanupInterval;
+  }
+}
@@ -0,0 +1,35 @@
+package bio.terra.workspace.app.configuration.external;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.flight-step-concurrency")
+public class FlightStepConcurrencyConfiguration {
+  /**
+   * Number of threads shared by flight steps that do independent work concurrently. When all are
+   * busy, the flight thread does the work itself.
+   */
+  private int maxThreads = 32;
+
+  /** Run the independent GCP cloud context setup steps concurrently */
+  private boolean parallelGcpContextSetup = true;
+
+  public int getMaxThreads() {
+    return maxThreads;
+  }
+
+  public void setMaxThreads(int maxThreads) {
+    this.maxThreads = maxThreads;
+  }
+
+  public boolean isParallelGcpContextSetup() {
+    return parallelGcpContextSetup;
+  }
+
+  public void setParallelGcpContextSetup(boolean parallelGcpContextSetup) {
+    this.parallelGcpContextSetup = parallelGcpContextSetup;
+  }
+}
@@ -0,0 +1,69 @@
+package bio.terra.workspace.app.configuration.external;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.iam-propagation")
+public class IamPropagationConfiguration {
+  /** Wait before the second probe. IAM changes often propagate within a second or two. */
+  private Duration initialDelay = Duration.ofMillis(250);
+
+  /** Factor by which the wait grows after each failed probe */
+  private double multiplier = 2.0;
+
+  /** Upper bound on the wait between probes */
+  private Duration maxDelay = Duration.ofSeconds(30);
+
+  /**
+   * Fraction of each wait that is randomized, so flights created together do not probe in step. A
+   * value of 0.5 waits between half and all of the computed delay.
+   */
+  private double jitter = 0.5;
+
+  /** How long to keep probing before giving up */
+  private Duration timeout = Duration.ofMinutes(30);
+
+  public Duration getInitialDelay() {
+    return initialDelay;
+  }
+
+  public void setInitialDelay(Duration initialDelay) {
+    this.initialDelay = initialDelay;
+  }
+
+  public double getMultiplier() {
+    return multiplier;
+  }
+
+  public void setMultiplier(double multiplier) {
+    this.multiplier = multiplier;
+  }
+
+  public Duration getMaxDelay() {
+    return maxDelay;
+  }
+
+  public void setMaxDelay(Duration maxDelay) {
+    this.maxDelay = maxDelay;
+  }
+
+  public double getJitter() {
+    return jitter;
+  }
+
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  public void setTimeout(Duration timeout) {
+    this.timeout = timeout;
+  }
+}
@@ -0,0 +1,71 @@
+package bio.terra.workspace.app.configuration.external;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.job-admission")
+public class JobAdmissionConfiguration {
+  /** If false, every submission is admitted, as before admission control */
+  private boolean enabled = true;
+
+  /** Number of flights that may be queued or running on one pod */
+  private int maxActiveFlights = 100;
+
+  /**
+   * Number of flights of one class that may be queued or running on one pod, keyed by the short
+   * name of the flight class. Classes not listed are only limited by maxActiveFlights.
+   */
+  private Map<String, Integer> maxActiveFlightsPerClass = new HashMap<>();
+
+  /** How long a submission waits for a flight to finish when the pod is at its limit */
+  private Duration maxAdmissionWait = Duration.ofSeconds(2);
+
+  /** Retry-After given to a caller whose submission was rejected */
+  private Duration retryAfter = Duration.ofSeconds(10);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxActiveFlights() {
+    return maxActiveFlights;
+  }
+
+  public void setMaxActiveFlights(int maxActiveFlights) {
+    this.maxActiveFlights = maxActiveFlights;
+  }
+
+  public Map<String, Integer> getMaxActiveFlightsPerClass() {
+    return maxActiveFlightsPerClass;
+  }
+
+  public void setMaxActiveFlightsPerClass(Map<String, Integer> maxActiveFlightsPerClass) {
+    this.maxActiveFlightsPerClass = maxActiveFlightsPerClass;
+  }
+
+  public Duration getMaxAdmissionWait() {
+    return maxAdmissionWait;
+  }
+
+  public void setMaxAdmissionWait(Duration maxAdmissionWait) {
+    this.maxAdmissionWait = maxAdmissionWait;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+  public void setRetryAfter(Duration retryAfter) {
+    this.retryAfter = retryAfter;
+  }
+}
@@ -1,5 +1,6 @@
 package bio.terra.workspace.app.configuration.external;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -20,6 +21,24 @@ public class JobConfiguration {
   /** For identifying the application to SAM */
   private String resourceId;
 
+  /**
+   * List jobs from WSM's job index rather than from Stairway. Only jobs submitted since the index
+   * was introduced are in it, so enable this once older flights are past retention.
+   */
+  private boolean indexEnumerationEnabled;
+
+  /** How long completed jobs are kept in the index, like Stairway's completed flight retention */
+  private Duration indexRetention = Duration.ofDays(90);
+
+  /** How often completed jobs past the retention are deleted from the index */
+  private Duration indexCleanupInterval = Duration.ofHours(1);
+
+  /**
+   * Run jobs that are marked as short and metadata-only on the request thread rather than in
+   * Stairway. A job that fails there is undone and resubmitted to Stairway.
+   */
+  private boolean inlineExecutionEnabled;
+
   public int getTimeoutSeconds() {
     return timeoutSeconds;
   }
@@ -51,4 +70,36 @@ public class JobConfiguration {
   public void setResourceId(String resourceId) {
     this.resourceId = resourceId;
   }
+
+  public boolean isIndexEnumerationEnabled() {
+    return indexEnumerationEnabled;
+  }
+
+  public void setIndexEnumerationEnabled(boolean indexEnumerationEnabled) {
+    this.indexEnumerationEnabled = indexEnumerationEnabled;
+  }
+
+  public Duration getIndexRetention() {
+    return indexRetention;
+  }
+
+  public void setIndexRetention(Duration indexRetention) {
+    this.indexRetention = indexRetention;
+  }
+
+  public Duration getIndexCleanupInterval() {
+    return indexCleanupInterval;
+  }
+
+  public void setIndexCleanupInterval(Duration indexCleanupInterval) {
+    this.indexCleanupInterval = indexCleanupInterval;
+  }
+
+  public boolean isInlineExecutionEnabled() {
+    return inlineExecutionEnabled;
+  }
+
+  public void setInlineExecutionEnabled(boolean inlineExecutionEnabled) {
+    this.inlineExecutionEnabled = inlineExecutionEnabled;
+  }
 }
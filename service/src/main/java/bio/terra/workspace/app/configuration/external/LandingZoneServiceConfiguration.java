@@ -1,5 +1,6 @@
 package bio.terra.workspace.app.configuration.external;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +12,12 @@ public class LandingZoneServiceConfiguration {
 
   private String basePath;
 
+  /** How long landing zone ids, regions and deployed resources are cached for. */
+  private Duration lookupCacheTtl = Duration.ofMinutes(5);
+
+  /** Maximum number of cached landing zone lookups before the least recently used is evicted. */
+  private int lookupCacheMaxEntries = 10000;
+
   public String getBasePath() {
     return basePath;
   }
@@ -18,4 +25,20 @@ public class LandingZoneServiceConfiguration {
   public void setBasePath(String basePath) {
     this.basePath = basePath;
   }
+
+  public Duration getLookupCacheTtl() {
+    return lookupCacheTtl;
+  }
+
+  public void setLookupCacheTtl(Duration lookupCacheTtl) {
+    this.lookupCacheTtl = lookupCacheTtl;
+  }
+
+  public int getLookupCacheMaxEntries() {
+    return lookupCacheMaxEntries;
+  }
+
+  public void setLookupCacheMaxEntries(int lookupCacheMaxEntries) {
+    this.lookupCacheMaxEntries = lookupCacheMaxEntries;
+  }
 }
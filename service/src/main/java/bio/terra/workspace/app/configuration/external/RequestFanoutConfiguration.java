@@ -0,0 +1,49 @@
+package bio.terra.workspace.app.configuration.external;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.request-fanout")
+public class RequestFanoutConfiguration {
+  /**
+   * Whether independent remote calls are issued concurrently. When off, each call runs on the
+   * request thread in turn, as before fan-out, which the offline load test uses to compare the two.
+   */
+  private boolean enabled = true;
+
+  /** Number of threads used to issue independent remote calls concurrently within a request */
+  private int maxThreads = 16;
+
+  /**
+   * Number of calls that may wait for a thread. When the queue is full, the calling request thread
+   * runs the call itself, so saturation degrades to sequential execution rather than failing.
+   */
+  private int queueSize = 64;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxThreads() {
+    return maxThreads;
+  }
+
+  public void setMaxThreads(int maxThreads) {
+    this.maxThreads = maxThreads;
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public void setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+  }
+}
@@ -0,0 +1,86 @@
+package bio.terra.workspace.app.configuration.external;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.storage-transfer")
+public class StorageTransferConfiguration {
+  /**
+   * Whether to run the shared poller that lists all in-flight transfer operations in one call per
+   * control plane project. When disabled, each step polls its own operation directly.
+   */
+  private boolean sharedPollerEnabled = true;
+
+  /** How frequently the shared poller lists transfer operations */
+  private Duration sharedPollerInterval = Duration.ofSeconds(5);
+
+  /**
+   * When true, CompleteTransferOperationStep polls once per step execution and reruns itself,
+   * keeping its polling state in the working map, instead of looping inside one execution.
+   */
+  private boolean yieldBetweenPolls = false;
+
+  /**
+   * Number of entries per shard when importing a signed URL list. Manifests larger than this are
+   * split and transferred by several Storage Transfer jobs. Zero transfers the list as one job.
+   */
+  private int signedUrlShardSize = 50000;
+
+  /** Maximum number of shard transfer jobs running at once for one signed URL list import */
+  private int maxConcurrentShardJobs = 4;
+
+  /** Number of times a shard is transferred before the import fails */
+  private int maxShardAttempts = 3;
+
+  public boolean isSharedPollerEnabled() {
+    return sharedPollerEnabled;
+  }
+
+  public void setSharedPollerEnabled(boolean sharedPollerEnabled) {
+    this.sharedPollerEnabled = sharedPollerEnabled;
+  }
+
+  public Duration getSharedPollerInterval() {
+    return sharedPollerInterval;
+  }
+
+  public void setSharedPollerInterval(Duration sharedPollerInterval) {
+    this.sharedPollerInterval = sharedPollerInterval;
+  }
+
+  public boolean isYieldBetweenPolls() {
+    return yieldBetweenPolls;
+  }
+
+  public void setYieldBetweenPolls(boolean yieldBetweenPolls) {
+    this.yieldBetweenPolls = yieldBetweenPolls;
+  }
+
+  public int getSignedUrlShardSize() {
+    return signedUrlShardSize;
+  }
+
+  public void setSignedUrlShardSize(int signedUrlShardSize) {
+    this.signedUrlShardSize = signedUrlShardSize;
+  }
+
+  public int getMaxConcurrentShardJobs() {
+    return maxConcurrentShardJobs;
+  }
+
+  public void setMaxConcurrentShardJobs(int maxConcurrentShardJobs) {
+    this.maxConcurrentShardJobs = maxConcurrentShardJobs;
+  }
+
+  public int getMaxShardAttempts() {
+    return maxShardAttempts;
+  }
+
+  public void setMaxShardAttempts(int maxShardAttempts) {
+    this.maxShardAttempts = maxShardAttempts;
+  }
+}
@@ -28,6 +28,12 @@ public class WorkspaceDatabaseConfiguration extends BaseDatabaseProperties {
   /** If true, primary database will have changesets applied */
   private boolean upgradeOnStart;
 
+  /**
+   * If true, an upgrade is skipped when the schema checksum stored by the last upgrade matches the
+   * changelog of this build, so startup does not run Liquibase when there is nothing to apply.
+   */
+  private boolean skipCurrentSchema;
+
   public boolean isInitializeOnStart() {
     return initializeOnStart;
   }
@@ -44,6 +50,14 @@ public class WorkspaceDatabaseConfiguration extends BaseDatabaseProperties {
     this.upgradeOnStart = upgradeOnStart;
   }
 
+  public boolean isSkipCurrentSchema() {
+    return skipCurrentSchema;
+  }
+
+  public void setSkipCurrentSchema(boolean skipCurrentSchema) {
+    this.skipCurrentSchema = skipCurrentSchema;
+  }
+
   // Not a property
   private DataSource dataSource;
 
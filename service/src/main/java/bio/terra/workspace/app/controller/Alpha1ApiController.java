@@ -2,7 +2,6 @@ package bio.terra.workspace.app.controller;
 
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.app.controller.shared.JobApiUtils;
-import bio.terra.workspace.common.utils.ErrorReportUtils;
 import bio.terra.workspace.generated.controller.Alpha1Api;
 import bio.terra.workspace.generated.model.ApiEnumerateJobsResult;
 import bio.terra.workspace.generated.model.ApiEnumeratedJob;
@@ -19,6 +18,7 @@ import bio.terra.workspace.service.iam.model.SamConstants.SamWorkspaceAction;
 import bio.terra.workspace.service.job.JobService;
 import bio.terra.workspace.service.job.model.EnumeratedJob;
 import bio.terra.workspace.service.job.model.EnumeratedJobs;
+import bio.terra.workspace.service.job.model.JobResourceSummary;
 import bio.terra.workspace.service.resource.ResourceValidationUtils;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceMetadataManager;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceService;
@@ -28,7 +28,6 @@ import bio.terra.workspace.service.resource.model.WsmResource;
 import bio.terra.workspace.service.resource.model.WsmResourceFamily;
 import bio.terra.workspace.service.resource.model.WsmResourceType;
 import bio.terra.workspace.service.workspace.WorkspaceService;
-import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import bio.terra.workspace.service.workspace.model.JobStateFilter;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.servlet.http.HttpServletRequest;
@@ -145,32 +144,40 @@ public class Alpha1ApiController implements Alpha1Api {
     // Convert the result to API-speak
     List<ApiEnumeratedJob> apiJobList = new ArrayList<>();
     for (EnumeratedJob enumeratedJob : enumeratedJobs.getResults()) {
-      ApiJobReport jobReport =
-          jobApiUtils.mapFlightStateToApiJobReport(enumeratedJob.getFlightState());
+      ApiJobReport jobReport = jobApiUtils.mapEnumeratedJobToApiJobReport(enumeratedJob);
       Optional<WsmResource> optResource = enumeratedJob.getResource();
 
-      Optional<UUID> destinationResourceIdMaybe =
-          Optional.ofNullable(
-              enumeratedJob
-                  .getFlightState()
-                  .getInputParameters()
-                  .get(ControlledResourceKeys.DESTINATION_RESOURCE_ID, UUID.class));
-
       ApiEnumeratedJob apiJob =
           new ApiEnumeratedJob()
               .jobReport(jobReport)
-              .errorReport(
-                  enumeratedJob
-                      .getFlightState()
-                      .getException()
-                      .map(ErrorReportUtils::buildApiErrorReport)
-                      .orElse(null))
+              .errorReport(enumeratedJob.getErrorReport().orElse(null))
               .jobDescription(enumeratedJob.getJobDescription())
               .operationType(enumeratedJob.getOperationType().toApiModel())
-              .resourceType(optResource.map(r -> r.getResourceType().toApiModel()).orElse(null))
-              .metadata(optResource.map(WsmResource::toApiMetadata).orElse(null))
-              .resourceAttributes(optResource.map(WsmResource::toApiAttributesUnion).orElse(null))
-              .destinationResourceId(destinationResourceIdMaybe.orElse(null));
+              .resourceType(
+                  optResource
+                      .map(WsmResource::getResourceType)
+                      .or(enumeratedJob::getResourceType)
+                      .map(WsmResourceType::toApiModel)
+                      .orElse(null))
+              .metadata(
+                  optResource
+                      .map(WsmResource::toApiMetadata)
+                      .or(
+                          () ->
+                              enumeratedJob
+                                  .getResourceSummary()
+                                  .map(JobResourceSummary::toApiMetadata))
+                      .orElse(null))
+              .resourceAttributes(
+                  optResource
+                      .map(WsmResource::toApiAttributesUnion)
+                      .or(
+                          () ->
+                              enumeratedJob
+                                  .getResourceSummary()
+                                  .map(JobResourceSummary::attributes))
+                      .orElse(null))
+              .destinationResourceId(enumeratedJob.getDestinationResourceId().orElse(null));
       apiJobList.add(apiJob);
     }
 
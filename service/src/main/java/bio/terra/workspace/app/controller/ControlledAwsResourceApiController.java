@@ -37,6 +37,7 @@ import bio.terra.workspace.service.resource.AwsResourceValidationUtils;
 import bio.terra.workspace.service.resource.WsmResourceService;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceMetadataManager;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceService;
+import bio.terra.workspace.service.resource.controlled.cloud.aws.AwsCredentialCache;
 import bio.terra.workspace.service.resource.controlled.cloud.aws.AwsResourceConstants;
 import bio.terra.workspace.service.resource.controlled.cloud.aws.s3StorageFolder.ControlledAwsS3StorageFolderHandler;
 import bio.terra.workspace.service.resource.controlled.cloud.aws.s3StorageFolder.ControlledAwsS3StorageFolderResource;
@@ -82,6 +83,7 @@ public class ControlledAwsResourceApiController extends ControlledResourceContro
 
   private final WsmResourceService wsmResourceService;
   private final AwsCloudContextService awsCloudContextService;
+  private final AwsCredentialCache awsCredentialCache;
 
   @Autowired
   public ControlledAwsResourceApiController(
@@ -96,7 +98,8 @@ public class ControlledAwsResourceApiController extends ControlledResourceContro
       ControlledResourceMetadataManager controlledResourceMetadataManager,
       WorkspaceService workspaceService,
       WsmResourceService wsmResourceService,
-      AwsCloudContextService awsCloudContextService) {
+      AwsCloudContextService awsCloudContextService,
+      AwsCredentialCache awsCredentialCache) {
     super(
         authenticatedUserRequestFactory,
         request,
@@ -110,6 +113,7 @@ public class ControlledAwsResourceApiController extends ControlledResourceContro
         workspaceService);
     this.wsmResourceService = wsmResourceService;
     this.awsCloudContextService = awsCloudContextService;
+    this.awsCredentialCache = awsCredentialCache;
   }
 
   private String getSamAction(ApiAwsCredentialAccessScope accessScope) {
@@ -198,12 +202,21 @@ public class ControlledAwsResourceApiController extends ControlledResourceContro
     AwsUtils.appendPrincipalTags(tags, cloudContext, awsResource);
     AwsUtils.appendRoleTags(tags, accessScope);
     Credentials awsCredentials =
-        AwsUtils.getAssumeUserRoleCredentials(
-            awsCloudContextService.getRequiredAuthentication(),
-            awsCloudContextService.discoverEnvironment(userEmail),
-            user,
-            Duration.ofSeconds(durationSeconds),
-            tags);
+        awsCredentialCache.get(
+            new AwsCredentialCache.Key(
+                user.getSubjectId(),
+                user.getEmail(),
+                workspaceUuid,
+                awsResource.getResourceId(),
+                accessScope,
+                durationSeconds),
+            () ->
+                AwsUtils.getAssumeUserRoleCredentials(
+                    awsCloudContextService.getRequiredAuthentication(),
+                    awsCloudContextService.discoverEnvironment(userEmail),
+                    user,
+                    Duration.ofSeconds(durationSeconds),
+                    tags));
 
     // version: 1 as per
     // https://docs.aws.amazon.com/sdkref/latest/guide/feature-process-credentials.html#feature-process-credentials-output
@@ -12,6 +12,7 @@ import bio.terra.workspace.app.configuration.external.AzureConfiguration;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.app.controller.shared.JobApiUtils;
 import bio.terra.workspace.common.utils.AzureUtils;
+import bio.terra.workspace.common.utils.CacheUtils;
 import bio.terra.workspace.common.utils.ControllerValidationUtils;
 import bio.terra.workspace.generated.controller.ControlledAzureResourceApi;
 import bio.terra.workspace.generated.model.*;
@@ -213,7 +214,8 @@ public class ControlledAzureResourceApiController extends ControlledResourceCont
     // You must have at least READ on the workspace to use this method. Actual permissions
     // are determined below.
     Workspace workspace =
-        sasTokenWorkspaceCache.computeIfAbsent(
+        CacheUtils.getOrLoad(
+            sasTokenWorkspaceCache,
             new WorkspaceCacheKey(userRequest.getSubjectId(), workspaceUuid),
             v ->
                 workspaceService.validateWorkspaceAndAction(
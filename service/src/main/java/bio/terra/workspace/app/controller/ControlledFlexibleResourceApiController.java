@@ -3,11 +3,15 @@ package bio.terra.workspace.app.controller;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.app.controller.shared.JobApiUtils;
 import bio.terra.workspace.common.utils.ControllerValidationUtils;
+import bio.terra.workspace.common.utils.ErrorReportUtils;
 import bio.terra.workspace.generated.controller.ControlledFlexibleResourceApi;
 import bio.terra.workspace.generated.model.ApiCloneControlledFlexibleResourceRequest;
 import bio.terra.workspace.generated.model.ApiCloneControlledFlexibleResourceResult;
 import bio.terra.workspace.generated.model.ApiCreateControlledFlexibleResourceRequestBody;
+import bio.terra.workspace.generated.model.ApiCreateControlledFlexibleResourcesRequestBody;
 import bio.terra.workspace.generated.model.ApiCreatedControlledFlexibleResource;
+import bio.terra.workspace.generated.model.ApiCreatedControlledFlexibleResourceResult;
+import bio.terra.workspace.generated.model.ApiCreatedControlledFlexibleResources;
 import bio.terra.workspace.generated.model.ApiFlexibleResource;
 import bio.terra.workspace.generated.model.ApiFlexibleResourceUpdateParameters;
 import bio.terra.workspace.generated.model.ApiUpdateControlledFlexibleResourceRequestBody;
@@ -15,15 +19,20 @@ import bio.terra.workspace.service.features.FeatureService;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequestFactory;
 import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.iam.model.ControlledResourceIamRole;
 import bio.terra.workspace.service.iam.model.SamConstants;
 import bio.terra.workspace.service.job.JobService;
 import bio.terra.workspace.service.resource.ResourceValidationUtils;
 import bio.terra.workspace.service.resource.WsmResourceService;
+import bio.terra.workspace.service.resource.controlled.ControlledResourceBulkCreateService;
+import bio.terra.workspace.service.resource.controlled.ControlledResourceBulkCreateService.BulkCreateResult;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceMetadataManager;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceService;
 import bio.terra.workspace.service.resource.controlled.cloud.any.flexibleresource.ControlledFlexibleResource;
 import bio.terra.workspace.service.resource.controlled.cloud.any.flexibleresource.FlexResourceCreationParameters;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
 import bio.terra.workspace.service.resource.controlled.model.ControlledResourceFields;
+import bio.terra.workspace.service.resource.controlled.model.ManagedByType;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.resource.model.CommonUpdateParameters;
 import bio.terra.workspace.service.resource.model.StewardshipType;
@@ -33,7 +42,13 @@ import bio.terra.workspace.service.workspace.model.CloudPlatform;
 import bio.terra.workspace.service.workspace.model.Workspace;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,6 +66,7 @@ public class ControlledFlexibleResourceApiController extends ControlledResourceC
   private final Logger logger =
       LoggerFactory.getLogger(ControlledFlexibleResourceApiController.class);
   private final WsmResourceService wsmResourceService;
+  private final ControlledResourceBulkCreateService bulkCreateService;
 
   @Autowired
   public ControlledFlexibleResourceApiController(
@@ -64,7 +80,8 @@ public class ControlledFlexibleResourceApiController extends ControlledResourceC
       ControlledResourceService controlledResourceService,
       ControlledResourceMetadataManager controlledResourceMetadataManager,
       WorkspaceService workspaceService,
-      WsmResourceService wsmResourceService) {
+      WsmResourceService wsmResourceService,
+      ControlledResourceBulkCreateService bulkCreateService) {
     super(
         authenticatedUserRequestFactory,
         request,
@@ -77,6 +94,7 @@ public class ControlledFlexibleResourceApiController extends ControlledResourceC
         controlledResourceMetadataManager,
         workspaceService);
     this.wsmResourceService = wsmResourceService;
+    this.bulkCreateService = bulkCreateService;
   }
 
   @WithSpan
@@ -96,17 +114,7 @@ public class ControlledFlexibleResourceApiController extends ControlledResourceC
             null,
             userRequest,
             WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE);
-
-    byte[] encodedJSON = body.getFlexibleResource().getData();
-    String decodedJSON = ControlledFlexibleResource.getDecodedJSONFromByteArray(encodedJSON);
-
-    ControlledFlexibleResource resource =
-        ControlledFlexibleResource.builder()
-            .common(commonFields)
-            .typeNamespace(body.getFlexibleResource().getTypeNamespace())
-            .type(body.getFlexibleResource().getType())
-            .data(decodedJSON)
-            .build();
+    ControlledFlexibleResource resource = toFlexibleResource(commonFields, body);
 
     FlexResourceCreationParameters creationParameters =
         FlexResourceCreationParameters.fromApiCreationParameters(body.getFlexibleResource());
@@ -125,6 +133,91 @@ public class ControlledFlexibleResourceApiController extends ControlledResourceC
     return new ResponseEntity<>(response, HttpStatus.OK);
   }
 
+  @WithSpan
+  @Override
+  public ResponseEntity<ApiCreatedControlledFlexibleResources> createFlexibleResources(
+      UUID workspaceUuid, ApiCreateControlledFlexibleResourcesRequestBody body) {
+    AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
+    // Check each distinct create action once rather than once per resource
+    Set<String> samActions =
+        body.getResources().stream()
+            .map(resourceBody -> ControllerValidationUtils.getSamAction(resourceBody.getCommon()))
+            .collect(Collectors.toSet());
+    for (String samAction : samActions) {
+      workspaceService.validateMcWorkspaceAndAction(userRequest, workspaceUuid, samAction);
+    }
+    workspaceService.validateWorkspaceState(workspaceUuid);
+
+    // The caller and their application are the same for every resource
+    String userEmail = samService.getUserEmailFromSamAndRethrowOnInterrupt(userRequest);
+    boolean anyManagedByApplication =
+        body.getResources().stream()
+            .anyMatch(
+                resourceBody ->
+                    ManagedByType.fromApi(resourceBody.getCommon().getManagedBy())
+                        == ManagedByType.MANAGED_BY_APPLICATION);
+    String applicationId =
+        anyManagedByApplication
+            ? controlledResourceService.getAssociatedApp(
+                ManagedByType.MANAGED_BY_APPLICATION, userRequest)
+            : null;
+
+    List<ControlledResource> resources = new ArrayList<>();
+    Map<UUID, ControlledResourceIamRole> privateIamRoles = new HashMap<>();
+    for (ApiCreateControlledFlexibleResourceRequestBody resourceBody : body.getResources()) {
+      ControlledResourceFields commonFields =
+          toCommonFields(
+              workspaceUuid,
+              resourceBody.getCommon(),
+              null,
+              userRequest,
+              WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE,
+              userEmail,
+              ManagedByType.fromApi(resourceBody.getCommon().getManagedBy())
+                      == ManagedByType.MANAGED_BY_APPLICATION
+                  ? applicationId
+                  : null);
+      resources.add(toFlexibleResource(commonFields, resourceBody));
+      if (commonFields.getIamRole() != null) {
+        privateIamRoles.put(commonFields.getResourceId(), commonFields.getIamRole());
+      }
+    }
+
+    List<BulkCreateResult> results =
+        bulkCreateService.createControlledResources(resources, privateIamRoles, userRequest);
+    List<ApiCreatedControlledFlexibleResourceResult> apiResults =
+        results.stream()
+            .map(
+                result -> {
+                  var apiResult =
+                      new ApiCreatedControlledFlexibleResourceResult()
+                          .resourceId(result.resourceId());
+                  if (result.exception() != null) {
+                    return apiResult.errorReport(
+                        ErrorReportUtils.buildApiErrorReport(result.exception()));
+                  }
+                  ControlledFlexibleResource created =
+                      result.resource().castByEnum(WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE);
+                  return apiResult.flexibleResource(created.toApiResource());
+                })
+            .toList();
+    return new ResponseEntity<>(
+        new ApiCreatedControlledFlexibleResources().results(apiResults), HttpStatus.OK);
+  }
+
+  private static ControlledFlexibleResource toFlexibleResource(
+      ControlledResourceFields commonFields, ApiCreateControlledFlexibleResourceRequestBody body) {
+    byte[] encodedJSON = body.getFlexibleResource().getData();
+    String decodedJSON = ControlledFlexibleResource.getDecodedJSONFromByteArray(encodedJSON);
+
+    return ControlledFlexibleResource.builder()
+        .common(commonFields)
+        .typeNamespace(body.getFlexibleResource().getTypeNamespace())
+        .type(body.getFlexibleResource().getType())
+        .data(decodedJSON)
+        .build();
+  }
+
   @WithSpan
   @Override
   public ResponseEntity<ApiFlexibleResource> updateFlexibleResource(
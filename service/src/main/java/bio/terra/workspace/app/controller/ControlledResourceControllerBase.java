@@ -24,6 +24,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -79,12 +80,35 @@ public class ControlledResourceControllerBase extends ControllerBase {
       String region,
       AuthenticatedUserRequest userRequest,
       WsmResourceType wsmResourceType) {
+    ManagedByType managedBy = ManagedByType.fromApi(apiCommonFields.getManagedBy());
+    return toCommonFields(
+        workspaceUuid,
+        apiCommonFields,
+        region,
+        userRequest,
+        wsmResourceType,
+        samService.getUserEmailFromSamAndRethrowOnInterrupt(userRequest),
+        controlledResourceService.getAssociatedApp(managedBy, userRequest));
+  }
+
+  /**
+   * Same as {@link #toCommonFields(UUID, ApiControlledResourceCommonFields, String,
+   * AuthenticatedUserRequest, WsmResourceType)}, with the caller's email and associated
+   * application looked up by the caller, so that they can be shared by many resources.
+   */
+  public ControlledResourceFields toCommonFields(
+      UUID workspaceUuid,
+      ApiControlledResourceCommonFields apiCommonFields,
+      String region,
+      AuthenticatedUserRequest userRequest,
+      WsmResourceType wsmResourceType,
+      String userEmail,
+      @Nullable String applicationId) {
 
     ManagedByType managedBy = ManagedByType.fromApi(apiCommonFields.getManagedBy());
     AccessScopeType accessScopeType = AccessScopeType.fromApi(apiCommonFields.getAccessScope());
     PrivateUserRole privateUserRole =
         computePrivateUserRole(workspaceUuid, apiCommonFields, userRequest);
-    String userEmail = samService.getUserEmailFromSamAndRethrowOnInterrupt(userRequest);
 
     if (!WSM_RESOURCE_WITHOUT_REGION_IN_CREATION_PARAMS.contains(wsmResourceType)) {
       checkArgument(
@@ -108,7 +132,7 @@ public class ControlledResourceControllerBase extends ControllerBase {
         .assignedUser(privateUserRole.getUserEmail())
         .accessScope(accessScopeType)
         .managedBy(managedBy)
-        .applicationId(controlledResourceService.getAssociatedApp(managedBy, userRequest))
+        .applicationId(applicationId)
         .properties(PropertiesUtils.convertApiPropertyToMap(apiCommonFields.getProperties()))
         .createdByEmail(userEmail)
         .region(region)
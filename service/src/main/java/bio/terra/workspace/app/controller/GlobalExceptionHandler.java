@@ -3,12 +3,14 @@ package bio.terra.workspace.app.controller;
 import bio.terra.common.exception.ErrorReportException;
 import bio.terra.common.exception.NotFoundException;
 import bio.terra.workspace.generated.model.ApiErrorReport;
+import bio.terra.workspace.service.job.exception.JobAdmissionException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -45,6 +47,17 @@ public class GlobalExceptionHandler {
     return buildApiErrorReport(ex, ex.getStatusCode(), ex.getCauses());
   }
 
+  // -- Too many flights on this pod - tell the caller when to come back
+  @ExceptionHandler(JobAdmissionException.class)
+  public ResponseEntity<ApiErrorReport> jobAdmissionHandler(JobAdmissionException ex) {
+    logger.warn("Job not admitted: {}", ex.getMessage());
+    var report =
+        new ApiErrorReport().message(ex.getMessage()).statusCode(ex.getStatusCode().value());
+    return ResponseEntity.status(ex.getStatusCode())
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+        .body(report);
+  }
+
   // -- validation exceptions - we don't control the exception raised
   @ExceptionHandler({
     MethodArgumentTypeMismatchException.class,
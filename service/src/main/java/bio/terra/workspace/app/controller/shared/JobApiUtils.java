@@ -13,9 +13,11 @@ import bio.terra.workspace.service.job.JobMapKeys;
 import bio.terra.workspace.service.job.JobService;
 import bio.terra.workspace.service.job.exception.InternalStairwayException;
 import bio.terra.workspace.service.job.exception.InvalidResultStateException;
+import bio.terra.workspace.service.job.model.EnumeratedJob;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.nio.file.Path;
 import java.time.Instant;
+import javax.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -138,7 +140,38 @@ public class JobApiUtils {
         .statusCode(statusCode.value())
         .submitted(submittedDate)
         .completed(completedDate)
-        .resultURL(resultUrlFromFlightState(flightState));
+        .resultURL(
+            resultUrl(
+                flightState
+                    .getInputParameters()
+                    .get(JobMapKeys.RESULT_PATH.getKeyName(), String.class)));
+  }
+
+  /**
+   * Map an enumerated job to a job report. Unlike {@link #mapFlightStateToApiJobReport}, this
+   * needs no flight state: the status code of a completed job was kept when it completed.
+   */
+  public ApiJobReport mapEnumeratedJobToApiJobReport(EnumeratedJob enumeratedJob) {
+    ApiJobReport.StatusEnum jobStatus = mapFlightStatusToApi(enumeratedJob.getFlightStatus());
+    int statusCode =
+        jobStatus == ApiJobReport.StatusEnum.RUNNING
+            ? HttpStatus.ACCEPTED.value()
+            : enumeratedJob
+                .getStatusCode()
+                .orElseThrow(
+                    () ->
+                        new InvalidResultStateException(
+                            String.format(
+                                "Job %s completed with no status code",
+                                enumeratedJob.getJobId())));
+    return new ApiJobReport()
+        .id(enumeratedJob.getJobId())
+        .description(enumeratedJob.getJobDescription())
+        .status(jobStatus)
+        .statusCode(statusCode)
+        .submitted(enumeratedJob.getSubmitted().toString())
+        .completed(enumeratedJob.getCompleted().map(Instant::toString).orElse(null))
+        .resultURL(resultUrl(enumeratedJob.getResultPath()));
   }
 
   public ApiJobResult fetchJobResult(String jobId) {
@@ -166,9 +199,7 @@ public class JobApiUtils {
     }
   }
 
-  private String resultUrlFromFlightState(FlightState flightState) {
-    String resultPath =
-        flightState.getInputParameters().get(JobMapKeys.RESULT_PATH.getKeyName(), String.class);
+  private String resultUrl(@Nullable String resultPath) {
     if (resultPath == null) {
       resultPath = "";
     }
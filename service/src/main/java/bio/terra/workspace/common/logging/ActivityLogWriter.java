@@ -0,0 +1,122 @@
+package bio.terra.workspace.common.logging;
+
+import bio.terra.workspace.app.configuration.external.ActivityLogConfiguration;
+import bio.terra.workspace.db.WorkspaceActivityLogDao;
+import bio.terra.workspace.db.WorkspaceActivityLogDao.OutboxBacklog;
+import bio.terra.workspace.db.model.DbWorkspaceActivity;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the activity logged when a flight ends. With async writes enabled, the activity is written
+ * to an outbox with one batch insert, which is all the Stairway thread waits for, and a background
+ * task moves the outbox to the activity log in batches. Every pod moves entries; entries another
+ * pod is moving are skipped.
+ *
+ * <p>The change date of an entry is set when it is written to the outbox, so a workspace's entries
+ * keep the order in which their flights ended however they are moved. The last-updated reads of
+ * {@link WorkspaceActivityLogDao} include the outbox, so they see an entry as soon as it is
+ * written.
+ *
+ * <p>The backlog and lag gauges report the outbox of the whole database, so every pod reports the
+ * same values.
+ */
+@Component
+public class ActivityLogWriter {
+  private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+  static final String BACKLOG_METRIC = "wsm.activity_log.outbox.backlog";
+  static final String LAG_METRIC = "wsm.activity_log.outbox.lag";
+  static final String MOVED_METRIC = "wsm.activity_log.outbox.moved";
+
+  private final ActivityLogConfiguration configuration;
+  private final WorkspaceActivityLogDao activityLogDao;
+  private final MeterRegistry registry;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicLong backlogEntries = new AtomicLong();
+  private final AtomicLong lagMillis = new AtomicLong();
+
+  public ActivityLogWriter(
+      ActivityLogConfiguration configuration,
+      WorkspaceActivityLogDao activityLogDao,
+      MeterRegistry registry) {
+    this.configuration = configuration;
+    this.activityLogDao = activityLogDao;
+    this.registry = registry;
+    this.scheduler = Executors.newScheduledThreadPool(1);
+    registry.gauge(BACKLOG_METRIC, backlogEntries);
+    TimeGauge.builder(LAG_METRIC, lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+        .register(registry);
+  }
+
+  @PostConstruct
+  public void startDraining() {
+    if (configuration.isAsyncWriteEnabled()) {
+      long intervalMillis = configuration.getDrainInterval().toMillis();
+      scheduler.scheduleWithFixedDelay(
+          this::drainSuppressExceptions, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /** Write the activities of one flight, in order. */
+  public void write(List<DbWorkspaceActivity> activities) {
+    if (activities.isEmpty()) {
+      return;
+    }
+    if (configuration.isAsyncWriteEnabled()) {
+      activityLogDao.stageActivities(activities);
+    } else {
+      activityLogDao.writeActivities(activities);
+    }
+  }
+
+  /** Move the outbox to the activity log, a batch at a time, until it is empty. */
+  @VisibleForTesting
+  void drain() {
+    // Measure before moving, so the gauges show how far behind the writer was
+    OutboxBacklog backlog = activityLogDao.getOutboxBacklog();
+    backlogEntries.set(backlog.entries());
+    lagMillis.set(
+        backlog
+            .oldestChangeDate()
+            .map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis()))
+            .orElse(0L));
+
+    int batchSize = configuration.getDrainBatchSize();
+    int moved;
+    do {
+      moved = activityLogDao.drainOutbox(batchSize);
+      registry.counter(MOVED_METRIC).increment(moved);
+    } while (moved == batchSize);
+  }
+
+  /**
+   * Run {@code drain}, suppressing all thrown exceptions, as {@link
+   * ScheduledExecutorService#scheduleWithFixedDelay} stops running if an execution throws. Entries
+   * stay in the outbox until a later run moves them.
+   */
+  private void drainSuppressExceptions() {
+    try {
+      drain();
+    } catch (Exception e) {
+      logger.warn("Failed to move activity log entries from the outbox", e);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package bio.terra.workspace.common.logging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Metrics of the calls WSM makes to the services it depends on: a {@link #CALL_METRIC} timer per
+ * dependency, operation and outcome, and for the retry helpers a {@link #RETRY_METRIC} counter of
+ * retried attempts and a {@link #BACKOFF_METRIC} timer of the time spent sleeping between them.
+ *
+ * <p>The retry helpers are static, so the meters go to Micrometer's global registry, which Spring
+ * Boot adds the application's registry to.
+ *
+ * <p>Time spent in calls and backoff is also added up for the current thread while a flight step
+ * runs, so that {@link FlightMetricsHook} can split the step's time into waiting on dependencies,
+ * backing off and doing its own work. Calls made from other threads, such as the lanes of a
+ * ParallelStepGroup, or from asynchronous clients are not counted towards the step.
+ */
+public class DependencyMetrics {
+  public static final String CALL_METRIC = "wsm.dependency.call";
+  public static final String RETRY_METRIC = "wsm.dependency.retry";
+  public static final String BACKOFF_METRIC = "wsm.dependency.backoff";
+
+  // Generated API clients put their operations, named after the operation ids of the API's spec,
+  // in classes like bio.terra.policy.api.TpsApi. Their "WithHttpInfo" variants are the same
+  // operation.
+  private static final Pattern GENERATED_API_CLASS = Pattern.compile("([\\w$]+\\.)+api\\.\\w+Api");
+  private static final String WITH_HTTP_INFO = "WithHttpInfo";
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+  private static final ThreadLocal<StepTime> stepTime = new ThreadLocal<>();
+
+  private DependencyMetrics() {}
+
+  /**
+   * Record a completed call to a dependency.
+   *
+   * @param dependency name of the service called, e.g. sam
+   * @param operation what was called; see {@link #clientOperation(String)}
+   * @param outcome result of the call, e.g. the status class 2xx or the exception
+   * @param duration how long the call took
+   */
+  public static void recordCall(
+      String dependency, String operation, String outcome, Duration duration) {
+    registry()
+        .timer(CALL_METRIC, "dependency", dependency, "operation", operation, "outcome", outcome)
+        .record(duration);
+    StepTime time = stepTime.get();
+    if (time != null) {
+      time.dependencyNanos += duration.toNanos();
+    }
+  }
+
+  /** Count an attempt that failed and is about to be retried. */
+  public static void recordRetry(String dependency) {
+    registry().counter(RETRY_METRIC, "dependency", dependency).increment();
+  }
+
+  /** Sleep before retrying a call, recording the time as backoff. */
+  public static void backoff(String dependency, Duration sleep) throws InterruptedException {
+    long start = System.nanoTime();
+    try {
+      TimeUnit.NANOSECONDS.sleep(sleep.toNanos());
+    } finally {
+      long slept = System.nanoTime() - start;
+      registry()
+          .timer(BACKOFF_METRIC, "dependency", dependency)
+          .record(slept, TimeUnit.NANOSECONDS);
+      StepTime time = stepTime.get();
+      if (time != null) {
+        time.backoffNanos += slept;
+      }
+    }
+  }
+
+  /** The outcome of a call that returned an HTTP status. */
+  public static String outcome(int status) {
+    return status < 100 || status > 599 ? "unknown" : (status / 100) + "xx";
+  }
+
+  /** The outcome of a call that threw before returning a status. */
+  public static String outcome(Throwable throwable) {
+    return throwable.getClass().getSimpleName();
+  }
+
+  /**
+   * The operation of a call that a generated API client is making on this thread, found as the
+   * innermost generated client method on the stack, e.g. TpsApi.createPao. The HTTP method is used
+   * when there is none, as for asynchronous calls. Operations are taken from code rather than from
+   * request paths, which hold ids and names, so the operation tag only has as many values as the
+   * clients WSM uses have operations.
+   */
+  public static String clientOperation(String httpMethod) {
+    return STACK_WALKER
+        .walk(
+            frames ->
+                frames
+                    .filter(frame -> GENERATED_API_CLASS.matcher(frame.getClassName()).matches())
+                    .findFirst())
+        .map(frame -> operation(frame.getClassName() + "." + frame.getMethodName()))
+        .orElse(httpMethod);
+  }
+
+  /**
+   * An operation name made of a fully qualified method name's simple class name and method name,
+   * e.g. StorageAccountsService.listKeys for a method listKeys of a nested interface
+   * StorageAccountsClientImpl$StorageAccountsService.
+   */
+  public static String operation(String qualifiedMethod) {
+    int methodStart = qualifiedMethod.lastIndexOf('.');
+    String className = qualifiedMethod.substring(0, Math.max(methodStart, 0));
+    String simpleName =
+        className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+    String methodName = qualifiedMethod.substring(methodStart + 1);
+    if (methodName.endsWith(WITH_HTTP_INFO) && methodName.length() > WITH_HTTP_INFO.length()) {
+      methodName = methodName.substring(0, methodName.length() - WITH_HTTP_INFO.length());
+    }
+    return simpleName.isEmpty() ? methodName : simpleName + "." + methodName;
+  }
+
+  /** Start adding up call and backoff time for a step running on this thread. */
+  static void startStep() {
+    stepTime.set(new StepTime());
+  }
+
+  /** Stop adding up time for the step on this thread and return what was added up. */
+  static StepTime endStep() {
+    StepTime time = stepTime.get();
+    stepTime.remove();
+    return time == null ? new StepTime() : time;
+  }
+
+  private static MeterRegistry registry() {
+    return Metrics.globalRegistry;
+  }
+
+  /** Time a step spent waiting on calls to dependencies and sleeping before retrying them. */
+  static class StepTime {
+    private long dependencyNanos;
+    private long backoffNanos;
+
+    Duration dependency() {
+      return Duration.ofNanos(dependencyNanos);
+    }
+
+    Duration backoff() {
+      return Duration.ofNanos(backoffNanos);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package bio.terra.workspace.common.logging;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import java.time.Duration;
+
+/**
+ * Records the calls made through a Jakarta REST client, such as those of TPS and Buffer, in {@link
+ * DependencyMetrics}. Filters only see calls that get a response, so connection failures and
+ * timeouts show up in the retry counts of the client's retry helper instead. The client calls them
+ * on the calling thread, so the operation is that of the generated client method being called.
+ */
+public class DependencyMetricsFilter implements ClientRequestFilter, ClientResponseFilter {
+  private static final String START_PROPERTY = DependencyMetricsFilter.class.getName() + ".start";
+
+  private final String dependency;
+
+  public DependencyMetricsFilter(String dependency) {
+    this.dependency = dependency;
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext) {
+    requestContext.setProperty(START_PROPERTY, System.nanoTime());
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+    if (!(requestContext.getProperty(START_PROPERTY) instanceof Long start)) {
+      return;
+    }
+    DependencyMetrics.recordCall(
+        dependency,
+        DependencyMetrics.clientOperation(requestContext.getMethod()),
+        DependencyMetrics.outcome(responseContext.getStatus()),
+        Duration.ofNanos(System.nanoTime() - start));
+  }
+}
@@ -0,0 +1,39 @@
+package bio.terra.workspace.common.logging;
+
+import java.io.IOException;
+import java.time.Duration;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/** Records the calls made through an OkHttp client, such as Sam's, in {@link DependencyMetrics}. */
+public class DependencyMetricsInterceptor implements Interceptor {
+  private final String dependency;
+
+  public DependencyMetricsInterceptor(String dependency) {
+    this.dependency = dependency;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    String operation = DependencyMetrics.clientOperation(request.method());
+    long start = System.nanoTime();
+    try {
+      Response response = chain.proceed(request);
+      DependencyMetrics.recordCall(
+          dependency,
+          operation,
+          DependencyMetrics.outcome(response.code()),
+          Duration.ofNanos(System.nanoTime() - start));
+      return response;
+    } catch (IOException | RuntimeException e) {
+      DependencyMetrics.recordCall(
+          dependency,
+          operation,
+          DependencyMetrics.outcome(e),
+          Duration.ofNanos(System.nanoTime() - start));
+      throw e;
+    }
+  }
+}
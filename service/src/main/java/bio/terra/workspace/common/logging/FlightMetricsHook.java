@@ -3,10 +3,12 @@ package bio.terra.workspace.common.logging;
 import bio.terra.stairway.FlightContext;
 import bio.terra.stairway.HookAction;
 import bio.terra.stairway.StairwayHook;
+import bio.terra.workspace.common.logging.DependencyMetrics.StepTime;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import com.google.common.annotations.VisibleForTesting;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,8 +18,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
- * Captures the duration and final status of stairway flights and steps for emission to a metrics
- * backend like prometheus
+ * Captures the duration and final status of stairway flights and steps, and the size of flight
+ * inputs, for emission to a metrics backend like prometheus. Step time is also split into time
+ * spent waiting on dependencies, backing off before retrying them, and the step's own work, as
+ * recorded by {@link DependencyMetrics}.
  */
 @Component
 public class FlightMetricsHook implements StairwayHook {
@@ -37,12 +41,14 @@ public class FlightMetricsHook implements StairwayHook {
 
     var stepMetrics = new TaskMetrics(OffsetDateTime.now());
     context.getWorkingMap().put(getStepMetricsKey(context), stepMetrics);
+    DependencyMetrics.startStep();
 
     return HookAction.CONTINUE;
   }
 
   @Override
   public HookAction endStep(FlightContext context) {
+    StepTime stepTime = DependencyMetrics.endStep();
     if (isContextInvalid(context)) {
       return HookAction.CONTINUE;
     }
@@ -76,6 +82,7 @@ public class FlightMetricsHook implements StairwayHook {
       tags.add(Tag.of("resourceType", resourceType));
     }
     emitTimer(stepMetrics, key, tags);
+    emitTimeSplit(stepMetrics, key, tags, stepTime);
 
     return HookAction.CONTINUE;
   }
@@ -88,6 +95,7 @@ public class FlightMetricsHook implements StairwayHook {
 
     var flightMetrics = new TaskMetrics(OffsetDateTime.now());
     context.getWorkingMap().put(getFlightMetricsKey(context), flightMetrics);
+    recordInputSize(context);
 
     return HookAction.CONTINUE;
   }
@@ -122,6 +130,22 @@ public class FlightMetricsHook implements StairwayHook {
     return HookAction.CONTINUE;
   }
 
+  /**
+   * Record the size of the flight's serialized input parameters. Stairway writes them when the
+   * flight is submitted and reads them back whenever it is resumed or enumerated, so large inputs
+   * cost on every one of those.
+   */
+  private void recordInputSize(FlightContext context) {
+    if (context.getInputParameters() == null) {
+      return;
+    }
+    long size =
+        context.getInputParameters().getMap().entrySet().stream()
+            .mapToLong(e -> e.getKey().length() + e.getValue().length())
+            .sum();
+    registry.summary(getFlightMetricsKey(context) + ".input.size").record(size);
+  }
+
   private void emitTimer(TaskMetrics flightMetrics, String key, List<Tag> tags) {
     var duration = flightMetrics.getDuration();
     if (duration == null) {
@@ -131,6 +155,24 @@ public class FlightMetricsHook implements StairwayHook {
     registry.timer(key + ".duration", tags).record(duration);
   }
 
+  private void emitTimeSplit(TaskMetrics stepMetrics, String key, List<Tag> tags, StepTime time) {
+    var duration = stepMetrics.getDuration();
+    if (duration == null) {
+      return;
+    }
+    // The step's own work is what is left; clamp it, as the step's timestamps are less precise
+    var active = duration.minus(time.dependency()).minus(time.backoff());
+    emitTime(key, tags, "dependency", time.dependency());
+    emitTime(key, tags, "backoff", time.backoff());
+    emitTime(key, tags, "active", active.isNegative() ? Duration.ZERO : active);
+  }
+
+  private void emitTime(String key, List<Tag> tags, String kind, Duration time) {
+    var kindTags = new ArrayList<>(tags);
+    kindTags.add(Tag.of("kind", kind));
+    registry.timer(key + ".time", kindTags).record(time);
+  }
+
   @VisibleForTesting
   String getFlightMetricsKey(FlightContext context) {
     return String.format(
@@ -23,24 +23,29 @@ import bio.terra.workspace.db.ResourceDao;
 import bio.terra.workspace.db.WorkspaceActivityLogDao;
 import bio.terra.workspace.db.WorkspaceDao;
 import bio.terra.workspace.db.exception.WorkspaceNotFoundException;
+import bio.terra.workspace.db.model.DbWorkspaceActivity;
 import bio.terra.workspace.db.model.DbWorkspaceActivityLog;
 import bio.terra.workspace.service.admin.flights.cloudcontexts.gcp.SyncGcpIamRolesFlight;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamService;
 import bio.terra.workspace.service.job.JobMapKeys;
 import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
-import bio.terra.workspace.service.resource.exception.ResourceNotFoundException;
 import bio.terra.workspace.service.resource.model.WsmResource;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
 import bio.terra.workspace.service.workspace.model.OperationType;
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,6 +60,7 @@ public class WorkspaceActivityLogHook implements StairwayHook {
   private final WorkspaceDao workspaceDao;
   private final ResourceDao resourceDao;
   private final SamService samService;
+  private final ActivityLogWriter activityLogWriter;
 
   @Autowired
   public WorkspaceActivityLogHook(
@@ -62,12 +68,14 @@ public class WorkspaceActivityLogHook implements StairwayHook {
       FolderDao folderDao,
       WorkspaceDao workspaceDao,
       ResourceDao resourceDao,
-      SamService samService) {
+      SamService samService,
+      ActivityLogWriter activityLogWriter) {
     this.activityLogDao = activityLogDao;
     this.folderDao = folderDao;
     this.workspaceDao = workspaceDao;
     this.resourceDao = resourceDao;
     this.samService = samService;
+    this.activityLogWriter = activityLogWriter;
   }
 
   @Override
@@ -104,20 +112,27 @@ public class WorkspaceActivityLogHook implements StairwayHook {
     if (af.shouldSkipLogInHook()) {
       return HookAction.CONTINUE;
     }
+    // Everything the flight changed is written together once it is known
+    List<DbWorkspaceActivity> activities = new ArrayList<>();
     if (workspaceId == null) {
-      return maybeLogFlightWithoutWorkspaceId(
-          context, flightClassName, operationType, userEmail, subjectId);
+      maybeLogFlightWithoutWorkspaceId(
+          context, flightClassName, operationType, userEmail, subjectId, activities);
+      activityLogWriter.write(activities);
+      return HookAction.CONTINUE;
     }
     UUID workspaceUuid = UUID.fromString(workspaceId);
     // If DELETE flight failed, cloud resource may or may not have been deleted. Check if cloud
     // resource was deleted. If so, write to activity log.
     if (operationType == OperationType.DELETE) {
       switch (af.getActivityLogChangedTarget()) {
-        case WORKSPACE -> maybeLogWorkspaceDeletionFlight(workspaceUuid, userEmail, subjectId);
-        case FOLDER -> maybeLogFolderDeletionFlight(context, workspaceUuid, userEmail, subjectId);
+        case WORKSPACE ->
+            maybeLogWorkspaceDeletionFlight(workspaceUuid, userEmail, subjectId, activities);
+        case FOLDER ->
+            maybeLogFolderDeletionFlight(context, workspaceUuid, userEmail, subjectId, activities);
         default -> {
           if (af.isResourceFlight()) {
-            maybeLogControlledResourcesDeletionFlight(context, workspaceUuid, userEmail, subjectId);
+            maybeLogControlledResourcesDeletionFlight(
+                context, workspaceUuid, userEmail, subjectId, activities);
           } else {
             throw new UnhandledDeletionFlightException(
                 String.format(
@@ -126,44 +141,49 @@ public class WorkspaceActivityLogHook implements StairwayHook {
           }
         }
       }
+      activityLogWriter.write(activities);
       return HookAction.CONTINUE;
     }
     // Always log when the flight succeeded.
     if (context.getFlightStatus() == FlightStatus.SUCCESS) {
       switch (af.getActivityLogChangedTarget()) {
         case WORKSPACE ->
-            activityLogDao.writeActivity(
-                workspaceUuid,
-                new DbWorkspaceActivityLog(
-                    userEmail,
-                    subjectId,
-                    operationType,
-                    getClonedWorkspaceId(context, operationType, workspaceUuid).toString(),
-                    af.getActivityLogChangedTarget()));
+            activities.add(
+                new DbWorkspaceActivity(
+                    workspaceUuid,
+                    new DbWorkspaceActivityLog(
+                        userEmail,
+                        subjectId,
+                        operationType,
+                        getClonedWorkspaceId(context, operationType, workspaceUuid).toString(),
+                        af.getActivityLogChangedTarget())));
         case FOLDER ->
-            activityLogDao.writeActivity(
-                workspaceUuid,
-                new DbWorkspaceActivityLog(
-                    userEmail,
-                    subjectId,
-                    operationType,
-                    getRequired(context.getInputParameters(), FOLDER_ID, UUID.class).toString(),
-                    af.getActivityLogChangedTarget()));
+            activities.add(
+                new DbWorkspaceActivity(
+                    workspaceUuid,
+                    new DbWorkspaceActivityLog(
+                        userEmail,
+                        subjectId,
+                        operationType,
+                        getRequired(context.getInputParameters(), FOLDER_ID, UUID.class).toString(),
+                        af.getActivityLogChangedTarget())));
         case USER ->
-            activityLogDao.writeActivity(
-                workspaceUuid,
-                new DbWorkspaceActivityLog(
-                    userEmail,
-                    subjectId,
-                    operationType,
-                    getRequired(context.getInputParameters(), USER_TO_REMOVE, String.class),
-                    af.getActivityLogChangedTarget()));
+            activities.add(
+                new DbWorkspaceActivity(
+                    workspaceUuid,
+                    new DbWorkspaceActivityLog(
+                        userEmail,
+                        subjectId,
+                        operationType,
+                        getRequired(context.getInputParameters(), USER_TO_REMOVE, String.class),
+                        af.getActivityLogChangedTarget())));
         case APPLICATION ->
-            logApplicationAbleFlight(workspaceUuid, context, userEmail, subjectId, operationType);
+            logApplicationAbleFlight(
+                workspaceUuid, context, userEmail, subjectId, operationType, activities);
         default -> {
           if (af.isResourceFlight()) {
             logSuccessfulResourceFlight(
-                context, operationType, userEmail, subjectId, workspaceUuid);
+                context, operationType, userEmail, subjectId, workspaceUuid, activities);
             break;
           }
           throw new UnhandledActivityLogException(
@@ -173,6 +193,7 @@ public class WorkspaceActivityLogHook implements StairwayHook {
         }
       }
     }
+    activityLogWriter.write(activities);
     return HookAction.CONTINUE;
   }
 
@@ -181,39 +202,41 @@ public class WorkspaceActivityLogHook implements StairwayHook {
       OperationType operationType,
       String userEmail,
       String subjectId,
-      UUID workspaceUuid) {
+      UUID workspaceUuid,
+      List<DbWorkspaceActivity> activities) {
 
     WsmResource resource =
         getRequired(context.getInputParameters(), ResourceKeys.RESOURCE, WsmResource.class);
-    activityLogDao.writeActivity(
-        getAffectedWorkspaceId(context, operationType, workspaceUuid),
-        new DbWorkspaceActivityLog(
-            userEmail,
-            subjectId,
-            operationType,
-            resource.getResourceId().toString(),
-            resource.getResourceType().getActivityLogChangedTarget()));
+    activities.add(
+        new DbWorkspaceActivity(
+            getAffectedWorkspaceId(context, operationType, workspaceUuid),
+            new DbWorkspaceActivityLog(
+                userEmail,
+                subjectId,
+                operationType,
+                resource.getResourceId().toString(),
+                resource.getResourceType().getActivityLogChangedTarget())));
   }
 
   /**
    * For rare cases when a flight is missing workspace id, we should handle the logging on a
    * case-by-case basis.
    */
-  private HookAction maybeLogFlightWithoutWorkspaceId(
+  private void maybeLogFlightWithoutWorkspaceId(
       FlightContext context,
       String flightClassName,
       OperationType operationType,
       String userEmail,
-      String subjectId) {
+      String subjectId,
+      List<DbWorkspaceActivity> activities) {
     if (SyncGcpIamRolesFlight.class.getName().equals(flightClassName)) {
-      maybeLogForSyncGcpIamRolesFlight(context, operationType, userEmail, subjectId);
+      maybeLogForSyncGcpIamRolesFlight(context, operationType, userEmail, subjectId, activities);
     } else {
       throw new UnhandledActivityLogException(
           String.format(
               "workspace id is missing from the flight %s, add special log handling",
               flightClassName));
     }
-    return HookAction.CONTINUE;
   }
 
   /**
@@ -258,19 +281,28 @@ public class WorkspaceActivityLogHook implements StairwayHook {
       FlightContext context,
       String actorEmail,
       String actorSubjectId,
-      OperationType operationType) {
+      OperationType operationType,
+      List<DbWorkspaceActivity> activities) {
     FlightUtils.validateRequiredEntries(context.getInputParameters(), APPLICATION_IDS);
     List<String> ids = context.getInputParameters().get(APPLICATION_IDS, new TypeReference<>() {});
     for (var id : ids) {
-      activityLogDao.writeActivity(
-          workspaceUuid,
-          new DbWorkspaceActivityLog(
-              actorEmail, actorSubjectId, operationType, id, ActivityLogChangedTarget.APPLICATION));
+      activities.add(
+          new DbWorkspaceActivity(
+              workspaceUuid,
+              new DbWorkspaceActivityLog(
+                  actorEmail,
+                  actorSubjectId,
+                  operationType,
+                  id,
+                  ActivityLogChangedTarget.APPLICATION)));
     }
   }
 
   private void maybeLogWorkspaceDeletionFlight(
-      UUID workspaceUuid, String userEmail, String subjectId) {
+      UUID workspaceUuid,
+      String userEmail,
+      String subjectId,
+      List<DbWorkspaceActivity> activities) {
     try {
       workspaceDao.getWorkspace(workspaceUuid);
       logger.warn(
@@ -278,29 +310,35 @@ public class WorkspaceActivityLogHook implements StairwayHook {
               + "not writing deletion to workspace activity log",
           workspaceUuid);
     } catch (WorkspaceNotFoundException e) {
-      activityLogDao.writeActivity(
-          workspaceUuid,
-          new DbWorkspaceActivityLog(
-              userEmail,
-              subjectId,
-              OperationType.DELETE,
-              workspaceUuid.toString(),
-              ActivityLogChangedTarget.WORKSPACE));
+      activities.add(
+          new DbWorkspaceActivity(
+              workspaceUuid,
+              new DbWorkspaceActivityLog(
+                  userEmail,
+                  subjectId,
+                  OperationType.DELETE,
+                  workspaceUuid.toString(),
+                  ActivityLogChangedTarget.WORKSPACE)));
     }
   }
 
   private void maybeLogFolderDeletionFlight(
-      FlightContext context, UUID workspaceUuid, String userEmail, String subjectId) {
+      FlightContext context,
+      UUID workspaceUuid,
+      String userEmail,
+      String subjectId,
+      List<DbWorkspaceActivity> activities) {
     var folderId = getRequired(context.getInputParameters(), FOLDER_ID, UUID.class);
     if (folderDao.getFolderIfExists(workspaceUuid, folderId).isEmpty()) {
-      activityLogDao.writeActivity(
-          workspaceUuid,
-          new DbWorkspaceActivityLog(
-              userEmail,
-              subjectId,
-              OperationType.DELETE,
-              folderId.toString(),
-              ActivityLogChangedTarget.FOLDER));
+      activities.add(
+          new DbWorkspaceActivity(
+              workspaceUuid,
+              new DbWorkspaceActivityLog(
+                  userEmail,
+                  subjectId,
+                  OperationType.DELETE,
+                  folderId.toString(),
+                  ActivityLogChangedTarget.FOLDER)));
     }
   }
 
@@ -325,46 +363,63 @@ public class WorkspaceActivityLogHook implements StairwayHook {
   }
 
   private void maybeLogControlledResourcesDeletionFlight(
-      FlightContext context, UUID workspaceUuid, String userEmail, String subjectId) {
+      FlightContext context,
+      UUID workspaceUuid,
+      String userEmail,
+      String subjectId,
+      List<DbWorkspaceActivity> activities) {
     List<UUID> resourceIds = getControlledResourceToDeleteFromFlight(context);
+    // Look up the resources that are left and the last log entries of the rest in one query each
+    Set<UUID> remainingIds =
+        resourceDao.getResources(workspaceUuid, resourceIds).stream()
+            .map(WsmResource::getResourceId)
+            .collect(Collectors.toSet());
+    List<String> deletedIds =
+        resourceIds.stream().filter(id -> !remainingIds.contains(id)).map(UUID::toString).toList();
+    Map<String, ActivityLogChangeDetails> lastUpdatedDetails =
+        activityLogDao.getLastUpdatedDetails(workspaceUuid, deletedIds);
     for (var resourceId : resourceIds) {
-      try {
-        resourceDao.getResource(workspaceUuid, resourceId);
+      if (remainingIds.contains(resourceId)) {
         logger.warn(
             "Controlled resource {} in workspace {} is failed to be deleted; "
                 + "not writing deletion to workspace activity log",
             resourceId,
             workspaceUuid);
-      } catch (ResourceNotFoundException e) {
-        // Cannot get the resource type from the resource since it's deleted. But we can still
-        // infer it from previous log entry.
-        var changeSubjectType =
-            activityLogDao
-                .getLastUpdatedDetails(workspaceUuid, resourceId.toString())
-                .map(ActivityLogChangeDetails::changeSubjectType)
-                .orElse(ActivityLogChangedTarget.RESOURCE);
-        activityLogDao.writeActivity(
-            workspaceUuid,
-            new DbWorkspaceActivityLog(
-                userEmail,
-                subjectId,
-                OperationType.DELETE,
-                resourceId.toString(),
-                changeSubjectType));
+        continue;
       }
+      // Cannot get the resource type from the resource since it's deleted. But we can still
+      // infer it from previous log entry.
+      var changeSubjectType =
+          Optional.ofNullable(lastUpdatedDetails.get(resourceId.toString()))
+              .map(ActivityLogChangeDetails::changeSubjectType)
+              .orElse(ActivityLogChangedTarget.RESOURCE);
+      activities.add(
+          new DbWorkspaceActivity(
+              workspaceUuid,
+              new DbWorkspaceActivityLog(
+                  userEmail,
+                  subjectId,
+                  OperationType.DELETE,
+                  resourceId.toString(),
+                  changeSubjectType)));
     }
   }
 
   private void maybeLogForSyncGcpIamRolesFlight(
-      FlightContext context, OperationType operationType, String userEmail, String subjectId) {
+      FlightContext context,
+      OperationType operationType,
+      String userEmail,
+      String subjectId,
+      List<DbWorkspaceActivity> activities) {
     HashSet<String> updatedWorkspaces =
         Objects.requireNonNull(
             context.getWorkingMap().get(UPDATED_WORKSPACES, new TypeReference<>() {}));
     for (var id : updatedWorkspaces) {
-      activityLogDao.writeActivity(
-          UUID.fromString(id),
-          new DbWorkspaceActivityLog(
-              userEmail, subjectId, operationType, id, ActivityLogChangedTarget.WORKSPACE));
+      activities.add(
+          new DbWorkspaceActivity(
+              UUID.fromString(id),
+              new DbWorkspaceActivityLog(
+                  userEmail, subjectId, operationType, id, ActivityLogChangedTarget.WORKSPACE)));
     }
   }
 }
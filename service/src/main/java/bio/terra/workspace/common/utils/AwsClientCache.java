@@ -0,0 +1,206 @@
+package bio.terra.workspace.common.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.commons.collections4.map.LRUMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Bounded cache of AWS SDK service clients, keyed by client type, region and credentials provider.
+ * Providers are compared by identity, as two providers for the same role may vend different
+ * session credentials; AwsUtils shares one provider per role so that its clients are reused.
+ *
+ * <p>Clients got with {@link #get} are not closed when they are evicted, since another thread may
+ * still be using one. They hold no connections of their own, as the clients that AwsUtils builds
+ * share its HTTP clients, so they are simply left to the garbage collector. Clients that own
+ * threads, such as async clients, are instead leased with {@link #lease} and handed back with
+ * {@link #release}; an evicted one is closed as soon as its last lease is released. Closing the
+ * cache closes every client it holds.
+ */
+public class AwsClientCache implements SdkAutoCloseable {
+  private static final Logger logger = LoggerFactory.getLogger(AwsClientCache.class);
+
+  // All state is guarded by the lock of the clients map
+  private final Map<Key, Entry> clients;
+  private final Map<SdkAutoCloseable, Entry> leasedClients = new IdentityHashMap<>();
+  private final List<SdkAutoCloseable> evictedToClose = new ArrayList<>();
+
+  public AwsClientCache(int maxSize) {
+    this.clients = Collections.synchronizedMap(new EvictingLRUMap(maxSize));
+  }
+
+  /**
+   * Get a cached client, building it on a miss. As with CacheUtils.getOrLoad, the build runs
+   * outside the cache's lock, so concurrent misses may each build a client; the losers are closed.
+   */
+  public <T extends SdkAutoCloseable> T get(
+      Class<T> clientType,
+      Region region,
+      AwsCredentialsProvider credentialsProvider,
+      Supplier<T> factory) {
+    return getOrBuild(clientType, region, credentialsProvider, factory, false);
+  }
+
+  /**
+   * Lease a cached client, building it on a miss as {@link #get} does. The client stays open until
+   * it is released, even if it is evicted in the meantime.
+   */
+  public <T extends SdkAutoCloseable> T lease(
+      Class<T> clientType,
+      Region region,
+      AwsCredentialsProvider credentialsProvider,
+      Supplier<T> factory) {
+    return getOrBuild(clientType, region, credentialsProvider, factory, true);
+  }
+
+  /**
+   * Hand back a leased client, closing it if it was evicted and this was its last lease. Clients
+   * that were not leased from this cache are ignored.
+   */
+  public void release(SdkAutoCloseable client) {
+    synchronized (clients) {
+      Entry entry = leasedClients.get(client);
+      if (entry == null || --entry.leases > 0) {
+        return;
+      }
+      leasedClients.remove(client);
+      if (!entry.evicted) {
+        return;
+      }
+    }
+    closeQuietly(client);
+  }
+
+  @VisibleForTesting
+  int size() {
+    return clients.size();
+  }
+
+  /** Close and drop every cached client, including evicted clients that are still leased. */
+  @Override
+  public void close() {
+    List<SdkAutoCloseable> toClose = new ArrayList<>();
+    synchronized (clients) {
+      clients.values().forEach(entry -> toClose.add(entry.client));
+      leasedClients.values().stream()
+          .filter(entry -> entry.evicted)
+          .forEach(entry -> toClose.add(entry.client));
+      toClose.addAll(evictedToClose);
+      clients.clear();
+      leasedClients.clear();
+      evictedToClose.clear();
+    }
+    toClose.forEach(AwsClientCache::closeQuietly);
+  }
+
+  private <T extends SdkAutoCloseable> T getOrBuild(
+      Class<T> clientType,
+      Region region,
+      AwsCredentialsProvider credentialsProvider,
+      Supplier<T> factory,
+      boolean lease) {
+    Key key = new Key(clientType, region, credentialsProvider);
+    synchronized (clients) {
+      Entry entry = clients.get(key);
+      if (entry != null) {
+        return clientType.cast(checkOut(entry, lease));
+      }
+    }
+
+    T created = factory.get();
+    T client;
+    List<SdkAutoCloseable> toClose;
+    synchronized (clients) {
+      Entry entry = clients.get(key);
+      if (entry == null) {
+        entry = new Entry(created, lease);
+        clients.put(key, entry);
+      }
+      client = clientType.cast(checkOut(entry, lease));
+      toClose = new ArrayList<>(evictedToClose);
+      evictedToClose.clear();
+    }
+    if (client != created) {
+      toClose.add(created);
+    }
+    toClose.forEach(AwsClientCache::closeQuietly);
+    return client;
+  }
+
+  /** Take a lease on the entry if asked to; called with the lock held. */
+  private SdkAutoCloseable checkOut(Entry entry, boolean lease) {
+    if (lease && entry.closeOnEviction) {
+      entry.leases++;
+      leasedClients.put(entry.client, entry);
+    }
+    return entry.client;
+  }
+
+  private static void closeQuietly(SdkAutoCloseable client) {
+    try {
+      client.close();
+    } catch (RuntimeException e) {
+      logger.warn("Failed to close AWS client {}", client.getClass().getSimpleName(), e);
+    }
+  }
+
+  /** A cached client. Clients built for a lease are closed once evicted and no longer leased. */
+  private static class Entry {
+    private final SdkAutoCloseable client;
+    private final boolean closeOnEviction;
+    private int leases;
+    private boolean evicted;
+
+    Entry(SdkAutoCloseable client, boolean closeOnEviction) {
+      this.client = client;
+      this.closeOnEviction = closeOnEviction;
+    }
+  }
+
+  /** LRU map that marks its evicted entries; only called with the lock held. */
+  private class EvictingLRUMap extends LRUMap<Key, Entry> {
+    EvictingLRUMap(int maxSize) {
+      super(maxSize);
+    }
+
+    @Override
+    protected boolean removeLRU(LinkEntry<Key, Entry> linkEntry) {
+      Entry entry = linkEntry.getValue();
+      if (entry.closeOnEviction) {
+        entry.evicted = true;
+        if (entry.leases == 0) {
+          // Closed once the lock is released
+          evictedToClose.add(entry.client);
+        }
+      }
+      return true;
+    }
+  }
+
+  /** Cache key; the credentials provider is compared by reference. */
+  private record Key(
+      Class<?> clientType, Region region, AwsCredentialsProvider credentialsProvider) {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key other
+          && clientType == other.clientType
+          && region.equals(other.region)
+          && credentialsProvider == other.credentialsProvider;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * clientType.hashCode() + region.hashCode())
+          + System.identityHashCode(credentialsProvider);
+    }
+  }
+}
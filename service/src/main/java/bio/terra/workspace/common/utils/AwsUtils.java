@@ -23,9 +23,15 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
@@ -44,9 +50,14 @@ import software.amazon.awssdk.core.internal.waiters.ResponseOrException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.waiters.WaiterOverrideConfiguration;
 import software.amazon.awssdk.core.waiters.WaiterResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ec2.model.Ec2Exception;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
@@ -72,6 +83,7 @@ import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
 import software.amazon.awssdk.services.sts.model.AssumeRoleWithWebIdentityRequest;
 import software.amazon.awssdk.services.sts.model.Credentials;
 import software.amazon.awssdk.services.sts.model.Tag;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 public class AwsUtils {
   private static final Logger logger = LoggerFactory.getLogger(AwsUtils.class);
@@ -79,6 +91,11 @@ public class AwsUtils {
   private static final int MAX_ROLE_SESSION_NAME_LENGTH = 64;
   private static final Duration MIN_ROLE_SESSION_TOKEN_DURATION = Duration.ofSeconds(900);
   private static final int MAX_RESULTS_PER_REQUEST_S3 = 1000;
+  private static final int MAX_CACHED_CLIENTS = 64;
+  private static final int MAX_HTTP_CONNECTIONS = 200;
+  // Bounded so that a large folder delete does not exhaust the async client's connection pool
+  // and the listing does not run far ahead of the deletes
+  private static final int MAX_CONCURRENT_S3_DELETE_BATCHES = 8;
   public static final String TAG_KEY_USER_ID = "UserID";
   public static final String TAG_KEY_VERSION = "Version";
   public static final String TAG_KEY_TENANT = "Tenant";
@@ -88,6 +105,32 @@ public class AwsUtils {
   public static final String TAG_KEY_TERRA_BUCKET_ID = "TerraBucketID";
   public static final String TAG_KEY_WORKSPACE_ROLE = "WorkspaceRole";
 
+  // Every client built here shares these HTTP clients and so their connection pools. Clients are
+  // cached per region and credentials provider, and there is one WSM credentials provider per
+  // role, so in practice per role ARN and region. The cache is closed when the JVM shuts down.
+  private static final SdkHttpClient HTTP_CLIENT =
+      ApacheHttpClient.builder().maxConnections(MAX_HTTP_CONNECTIONS).build();
+  private static final AwsClientCache CLIENT_CACHE = new AwsClientCache(MAX_CACHED_CLIENTS);
+  private static final Map<WsmCredentialProviderKey, AwsCredentialsProvider>
+      WSM_CREDENTIAL_PROVIDERS = new ConcurrentHashMap<>();
+  private static final StsClient ANONYMOUS_STS_CLIENT =
+      StsClient.builder()
+          .credentialsProvider(AnonymousCredentialsProvider.create())
+          .region(Region.AWS_GLOBAL)
+          .httpClient(HTTP_CLIENT)
+          .build();
+
+  static {
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(AwsUtils::closeClients, "aws-client-shutdown"));
+  }
+
+  /** The async HTTP client starts an event loop, so only build it once an async client is used. */
+  private static class AsyncHttpClientHolder {
+    private static final SdkAsyncHttpClient ASYNC_HTTP_CLIENT =
+        NettyNioAsyncHttpClient.builder().maxConcurrency(MAX_HTTP_CONNECTIONS).build();
+  }
+
   /**
    * Truncate a passed string for use as an STS session name
    *
@@ -144,15 +187,19 @@ public class AwsUtils {
         (accessScope == ApiAwsCredentialAccessScope.WRITE_READ) ? "writer" : "reader");
   }
 
+  /**
+   * Get the shared STS client. It is anonymous: web identity calls need no credentials, and other
+   * calls pass theirs in the request's override configuration.
+   */
   private static StsClient getStsClient() {
-    return getStsClient(AnonymousCredentialsProvider.create());
+    return ANONYMOUS_STS_CLIENT;
   }
 
-  private static StsClient getStsClient(AwsCredentialsProvider credentialsProvider) {
-    return StsClient.builder()
-        .credentialsProvider(credentialsProvider)
-        .region(Region.AWS_GLOBAL)
-        .build();
+  private static void closeClients() {
+    CLIENT_CACHE.close();
+    WSM_CREDENTIAL_PROVIDERS.values().forEach(AwsUtils::closeCredentialProvider);
+    ANONYMOUS_STS_CLIENT.close();
+    HTTP_CLIENT.close();
   }
 
   /**
@@ -275,9 +322,9 @@ public class AwsUtils {
    * Obtain an {@link AwsCredentialsProvider} instance which will used to provide credentials
    * assuming the Terra Workspace Manager AWS IAM Role.
    *
-   * <p>This object should have a short-to-medium lifetime. Its lifetime should align to the
-   * lifetime of the passed {@link Environment} object, and these lifetimes should roughly
-   * correspond to a single API call or Stairway flight.
+   * <p>The provider is shared by every caller for the same role: it refreshes its session
+   * credentials as they go stale, so it may be held for any length of time, and the clients cached
+   * for it are reused across API calls and Stairway flights.
    *
    * @param authentication an {@link AwsConfiguration.Authentication} AwS authentication config
    * @param environment a discovered {@link Environment} object corresponding to the AWS Environment
@@ -286,13 +333,32 @@ public class AwsUtils {
    */
   public static AwsCredentialsProvider createWsmCredentialProvider(
       AwsConfiguration.Authentication authentication, Environment environment) {
-    return createAssumeRoleWithGcpCredentialsProvider(
-        environment.getWorkspaceManagerRoleArn(),
-        Duration.ofSeconds(authentication.getCredentialLifetimeSeconds()),
-        Duration.ofSeconds(authentication.getCredentialStaleTimeSeconds()),
-        authentication.getGoogleJwtAudience());
+    WsmCredentialProviderKey key =
+        new WsmCredentialProviderKey(
+            environment.getWorkspaceManagerRoleArn().toString(),
+            Duration.ofSeconds(authentication.getCredentialLifetimeSeconds()),
+            Duration.ofSeconds(authentication.getCredentialStaleTimeSeconds()),
+            authentication.getGoogleJwtAudience());
+    return WSM_CREDENTIAL_PROVIDERS.computeIfAbsent(
+        key,
+        k ->
+            createAssumeRoleWithGcpCredentialsProvider(
+                environment.getWorkspaceManagerRoleArn(),
+                k.lifetime(),
+                k.staleTime(),
+                k.jwtAudience()));
   }
 
+  private static void closeCredentialProvider(AwsCredentialsProvider provider) {
+    if (provider instanceof SdkAutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  /** The settings a WSM credentials provider is built from; all but the role are configuration. */
+  private record WsmCredentialProviderKey(
+      String roleArn, Duration lifetime, Duration staleTime, String jwtAudience) {}
+
   public static Credentials getAssumeServiceRoleCredentials(
       AwsConfiguration.Authentication authentication, Environment environment, Duration duration) {
     AssumeRoleWithWebIdentityRequest request =
@@ -334,6 +400,14 @@ public class AwsUtils {
             .roleArn(environment.getUserRoleArn().toString())
             .roleSessionName(getRoleSessionName(user.getEmail()))
             .tags(tags)
+            .overrideConfiguration(
+                o ->
+                    o.credentialsProvider(
+                        StaticCredentialsProvider.create(
+                            AwsSessionCredentials.create(
+                                serviceCredentials.accessKeyId(),
+                                serviceCredentials.secretAccessKey(),
+                                serviceCredentials.sessionToken()))))
             .build();
     logger.info(
         "Assuming User role ({}) with session name {}, duration {} seconds, and tags: {}.",
@@ -342,27 +416,81 @@ public class AwsUtils {
         request.durationSeconds(),
         request.tags());
 
-    AwsSessionCredentials sessionCredentials =
-        AwsSessionCredentials.create(
-            serviceCredentials.accessKeyId(),
-            serviceCredentials.secretAccessKey(),
-            serviceCredentials.sessionToken());
-
-    return getStsClient(StaticCredentialsProvider.create(sessionCredentials))
-        .assumeRole(request)
-        .credentials();
+    return getStsClient().assumeRole(request).credentials();
   }
 
+  /**
+   * Get a cached {@link S3Client}. Callers must not close it.
+   *
+   * @param awsCredentialsProvider {@link AwsCredentialsProvider}
+   * @param region {@link Region}
+   * @return {@link S3Client}
+   */
   public static S3Client getS3Client(AwsCredentialsProvider awsCredentialsProvider, Region region) {
-    return S3Client.builder().region(region).credentialsProvider(awsCredentialsProvider).build();
+    return CLIENT_CACHE.get(
+        S3Client.class,
+        region,
+        awsCredentialsProvider,
+        () ->
+            S3Client.builder()
+                .region(region)
+                .credentialsProvider(awsCredentialsProvider)
+                .httpClient(HTTP_CLIENT)
+                .build());
   }
 
+  /**
+   * Lease a cached {@link S3AsyncClient}, for issuing independent S3 requests concurrently. An
+   * async client owns its own threads, so it is closed once it is evicted from the cache and
+   * released. Callers must not close it, and must hand it back with {@link #releaseS3AsyncClient}
+   * once their requests have completed.
+   *
+   * @param awsCredentialsProvider {@link AwsCredentialsProvider}
+   * @param region {@link Region}
+   * @return {@link S3AsyncClient}
+   */
+  public static S3AsyncClient getS3AsyncClient(
+      AwsCredentialsProvider awsCredentialsProvider, Region region) {
+    return CLIENT_CACHE.lease(
+        S3AsyncClient.class,
+        region,
+        awsCredentialsProvider,
+        () ->
+            S3AsyncClient.builder()
+                .region(region)
+                .credentialsProvider(awsCredentialsProvider)
+                .httpClient(AsyncHttpClientHolder.ASYNC_HTTP_CLIENT)
+                .build());
+  }
+
+  /**
+   * Hand back a client from {@link #getS3AsyncClient}.
+   *
+   * @param s3AsyncClient {@link S3AsyncClient}
+   */
+  public static void releaseS3AsyncClient(S3AsyncClient s3AsyncClient) {
+    CLIENT_CACHE.release(s3AsyncClient);
+  }
+
+  /**
+   * Get a cached {@link SageMakerClient}. Callers must not close it.
+   *
+   * @param awsCredentialsProvider {@link AwsCredentialsProvider}
+   * @param region {@link Region}
+   * @return {@link SageMakerClient}
+   */
   public static SageMakerClient getSageMakerClient(
       AwsCredentialsProvider awsCredentialsProvider, Region region) {
-    return SageMakerClient.builder()
-        .region(region)
-        .credentialsProvider(awsCredentialsProvider)
-        .build();
+    return CLIENT_CACHE.get(
+        SageMakerClient.class,
+        region,
+        awsCredentialsProvider,
+        () ->
+            SageMakerClient.builder()
+                .region(region)
+                .credentialsProvider(awsCredentialsProvider)
+                .httpClient(HTTP_CLIENT)
+                .build());
   }
 
   public static SageMakerWaiter getSageMakerWaiter(SageMakerClient sageMakerClient) {
@@ -439,18 +567,11 @@ public class AwsUtils {
   public static void deleteStorageFolder(
       AwsCredentialsProvider awsCredentialsProvider,
       ControlledAwsS3StorageFolderResource storageResource) {
-    Region region = Region.of(storageResource.getRegion());
-    String bucketName = storageResource.getBucketName();
-    String prefix = storageResource.getPrefix();
-
-    String folderKey = prefix.endsWith("/") ? prefix : String.format("%s/", prefix);
-    List<String> objectKeys =
-        getS3ObjectKeysByPrefix(
-            awsCredentialsProvider, region, bucketName, folderKey, Integer.MAX_VALUE);
-
-    if (CollectionUtils.isNotEmpty(objectKeys)) {
-      deleteS3Objects(awsCredentialsProvider, region, bucketName, objectKeys);
-    }
+    deleteS3ObjectsByPrefix(
+        awsCredentialsProvider,
+        Region.of(storageResource.getRegion()),
+        storageResource.getBucketName(),
+        storageResource.getPrefix());
   }
 
   /**
@@ -528,15 +649,46 @@ public class AwsUtils {
       String bucketName,
       String prefix,
       int limit) {
-    S3Client s3Client = getS3Client(awsCredentialsProvider, region);
+    List<String> objectKeys = new ArrayList<>();
+    forEachS3ObjectKeyPage(
+        getS3Client(awsCredentialsProvider, region),
+        bucketName,
+        prefix,
+        limit,
+        (keys, isLastPage) -> objectKeys.addAll(keys));
+    return objectKeys;
+  }
 
+  /** Consumer of one page of object keys from {@link #forEachS3ObjectKeyPage}. */
+  @FunctionalInterface
+  private interface S3ObjectKeyPageConsumer {
+    void accept(List<String> keys, boolean isLastPage);
+  }
+
+  /**
+   * List the objects (keys) with given common prefix a page at a time, handing each page to the
+   * consumer as it arrives rather than collecting every key first.
+   *
+   * @param s3Client {@link S3Client}
+   * @param bucketName bucket name
+   * @param prefix common prefix
+   * @param limit max count of results
+   * @param pageConsumer called with the keys of each page
+   * @throws ApiException ApiException
+   * @throws UnauthorizedException UnauthorizedException
+   */
+  private static void forEachS3ObjectKeyPage(
+      S3Client s3Client,
+      String bucketName,
+      String prefix,
+      int limit,
+      S3ObjectKeyPageConsumer pageConsumer) {
     String folderKey = prefix.endsWith("/") ? prefix : String.format("%s/", prefix);
     ListObjectsV2Request.Builder requestBuilder =
         ListObjectsV2Request.builder().bucket(bucketName).prefix(folderKey);
 
     int limitRemaining = limit <= 0 ? Integer.MAX_VALUE : limit;
     String continuationToken = null;
-    List<String> objectKeys = new ArrayList<>();
     try {
       while (limitRemaining > 0) {
         int curLimit = Math.min(MAX_RESULTS_PER_REQUEST_S3, limitRemaining);
@@ -553,22 +705,62 @@ public class AwsUtils {
                   + httpResponse.statusText().orElse(String.valueOf(httpResponse.statusCode())));
         }
 
-        objectKeys.addAll(listResponse.contents().stream().map(S3Object::key).toList());
-        if (!listResponse.isTruncated()) {
-          break; // ignore limitRemaining if there are no more results
+        // ignore limitRemaining if there are no more results
+        boolean isLastPage = !listResponse.isTruncated() || limitRemaining <= 0;
+        pageConsumer.accept(
+            listResponse.contents().stream().map(S3Object::key).toList(), isLastPage);
+        if (isLastPage) {
+          break;
         }
-        continuationToken = listResponse.continuationToken();
+        continuationToken = listResponse.nextContinuationToken();
       }
 
     } catch (SdkException e) {
       checkException(e, "Error listing storage objects");
     }
+  }
 
-    return objectKeys;
+  /**
+   * Delete all AWS storage objects with given common prefix. Each page of the listing is deleted
+   * as soon as it arrives, with up to {@link #MAX_CONCURRENT_S3_DELETE_BATCHES} deletes in flight,
+   * so the keys are never all held in memory. Deleting objects that are already gone succeeds, so
+   * a retry after a partial delete picks up whatever is left.
+   *
+   * @param awsCredentialsProvider {@link AwsCredentialsProvider}
+   * @param region {@link Region}
+   * @param bucketName bucket name
+   * @param prefix common prefix
+   * @return number of objects deleted
+   * @throws ApiException ApiException
+   * @throws NotFoundException NotFoundException
+   * @throws UnauthorizedException UnauthorizedException
+   */
+  public static long deleteS3ObjectsByPrefix(
+      AwsCredentialsProvider awsCredentialsProvider,
+      Region region,
+      String bucketName,
+      String prefix) {
+    try (S3BatchDeleter deleter = new S3BatchDeleter(awsCredentialsProvider, region, bucketName)) {
+      forEachS3ObjectKeyPage(
+          getS3Client(awsCredentialsProvider, region),
+          bucketName,
+          prefix,
+          Integer.MAX_VALUE,
+          deleter::delete);
+      deleter.awaitCompletion();
+      logger.info(
+          "Deleted {} storage objects under s3://{}/{}.",
+          deleter.getDeletedCount(),
+          bucketName,
+          prefix);
+      return deleter.getDeletedCount();
+    }
   }
 
   /**
-   * Delete AWS storage objects by their keys
+   * Delete AWS storage objects by their keys. A single batch is deleted with the synchronous
+   * client; larger deletes issue up to {@link #MAX_CONCURRENT_S3_DELETE_BATCHES} batches at a time
+   * with the async client.
    *
    * @param awsCredentialsProvider {@link AwsCredentialsProvider}
    * @param region {@link Region}
@@ -583,47 +775,167 @@ public class AwsUtils {
       Region region,
       String bucketName,
       List<String> keys) {
-    S3Client s3Client = getS3Client(awsCredentialsProvider, region);
+    try (S3BatchDeleter deleter = new S3BatchDeleter(awsCredentialsProvider, region, bucketName)) {
+      List<List<String>> batches = ListUtils.partition(keys, MAX_RESULTS_PER_REQUEST_S3);
+      for (int i = 0; i < batches.size(); i++) {
+        deleter.delete(batches.get(i), i == batches.size() - 1);
+      }
+      deleter.awaitCompletion();
+    }
+  }
 
-    DeleteObjectsRequest.Builder deleteRequestBuilder =
-        DeleteObjectsRequest.builder().bucket(bucketName);
+  /**
+   * Deletes batches of up to {@link #MAX_RESULTS_PER_REQUEST_S3} keys. When the first batch is
+   * also the last it is deleted with the synchronous client, avoiding the async client for small
+   * folders. Otherwise batches go to the async client, and {@link #delete} blocks while {@link
+   * #MAX_CONCURRENT_S3_DELETE_BATCHES} batches are in flight. The first failure is rethrown from
+   * the next call to {@link #delete} or {@link #awaitCompletion}. Closing the deleter waits for the
+   * batches in flight and releases the async client.
+   */
+  private static class S3BatchDeleter implements AutoCloseable {
+    private static final int PROGRESS_LOG_BATCHES = 100;
+
+    private final AwsCredentialsProvider awsCredentialsProvider;
+    private final Region region;
+    private final String bucketName;
+    private final Semaphore inFlight = new Semaphore(MAX_CONCURRENT_S3_DELETE_BATCHES);
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicLong deletedCount = new AtomicLong();
+    private int batchCount;
+    private S3AsyncClient asyncClient;
+
+    S3BatchDeleter(
+        AwsCredentialsProvider awsCredentialsProvider, Region region, String bucketName) {
+      this.awsCredentialsProvider = awsCredentialsProvider;
+      this.region = region;
+      this.bucketName = bucketName;
+    }
 
-    try {
-      ListUtils.partition(keys, MAX_RESULTS_PER_REQUEST_S3)
-          .forEach(
-              keysList -> {
-                logger.info("Deleting storage objects with keys {}.", keysList);
-
-                Collection<ObjectIdentifier> objectIds =
-                    keysList.stream()
-                        .map(key -> ObjectIdentifier.builder().key(key).build())
-                        .toList();
-
-                DeleteObjectsResponse deleteResponse =
-                    s3Client.deleteObjects(
-                        deleteRequestBuilder
-                            .delete(Delete.builder().objects(objectIds).quiet(true).build())
-                            .build());
-
-                SdkHttpResponse deleteHttpResponse = deleteResponse.sdkHttpResponse();
-                if (!deleteHttpResponse.isSuccessful()) {
-                  throw new ApiException(
-                      "Error deleting storage objects: "
-                          + deleteHttpResponse
-                              .statusText()
-                              .orElse(String.valueOf(deleteHttpResponse.statusCode())));
-                }
+    void delete(List<String> keys, boolean isLastBatch) {
+      if (failure.get() != null) {
+        // Stop issuing (and listing) further batches
+        awaitCompletion();
+      }
+      if (keys.isEmpty()) {
+        return;
+      }
+      batchCount++;
+      if (batchCount == 1 && isLastBatch) {
+        try {
+          deleted(
+              keys.size(),
+              getS3Client(awsCredentialsProvider, region)
+                  .deleteObjects(buildDeleteObjectsRequest(bucketName, keys)));
+        } catch (RuntimeException e) {
+          failure.compareAndSet(null, e);
+        }
+        return;
+      }
 
-                // Errors with individual objects are captured here (including 404)
-                deleteResponse
-                    .errors()
-                    .forEach(err -> logger.error("Failed to delete storage objects: {}", err));
+      acquire(1);
+      if (asyncClient == null) {
+        asyncClient = getS3AsyncClient(awsCredentialsProvider, region);
+      }
+      asyncClient
+          .deleteObjects(buildDeleteObjectsRequest(bucketName, keys))
+          .whenComplete(
+              (response, e) -> {
+                try {
+                  if (e != null) {
+                    failure.compareAndSet(null, e);
+                  } else {
+                    deleted(keys.size(), response);
+                  }
+                } catch (RuntimeException checkFailure) {
+                  failure.compareAndSet(null, checkFailure);
+                } finally {
+                  inFlight.release();
+                }
               });
+      if (batchCount % PROGRESS_LOG_BATCHES == 0) {
+        logger.info(
+            "Deleting storage objects in {}: {} batches issued, {} objects deleted.",
+            bucketName,
+            batchCount,
+            deletedCount.get());
+      }
+    }
 
-    } catch (SdkException e) {
-      // Bulk delete operation would not fail with NotFound error, overall op is idempotent
-      checkException(e, "Error deleting storage objects");
+    /** Wait for the in-flight batches and rethrow the first failure, if any. */
+    void awaitCompletion() {
+      acquire(MAX_CONCURRENT_S3_DELETE_BATCHES);
+      inFlight.release(MAX_CONCURRENT_S3_DELETE_BATCHES);
+
+      Throwable e = failure.get();
+      if (e instanceof CompletionException && e.getCause() != null) {
+        e = e.getCause();
+      }
+      if (e instanceof SdkException sdkException) {
+        // Bulk delete operation would not fail with NotFound error, overall op is idempotent
+        checkException(sdkException, "Error deleting storage objects");
+      } else if (e instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else if (e != null) {
+        throw new ApiException("Error deleting storage objects", e);
+      }
+    }
+
+    long getDeletedCount() {
+      return deletedCount.get();
     }
+
+    @Override
+    public void close() {
+      if (asyncClient != null) {
+        // The client may be closed once released, which would fail the batches still in flight
+        inFlight.acquireUninterruptibly(MAX_CONCURRENT_S3_DELETE_BATCHES);
+        inFlight.release(MAX_CONCURRENT_S3_DELETE_BATCHES);
+        releaseS3AsyncClient(asyncClient);
+        asyncClient = null;
+      }
+    }
+
+    private void deleted(int keyCount, DeleteObjectsResponse response) {
+      checkDeleteObjectsResponse(response);
+      deletedCount.addAndGet(keyCount - response.errors().size());
+    }
+
+    private void acquire(int permits) {
+      try {
+        inFlight.acquire(permits);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ApiException("Interrupted while deleting storage objects", e);
+      }
+    }
+  }
+
+  private static DeleteObjectsRequest buildDeleteObjectsRequest(
+      String bucketName, List<String> keysList) {
+    logger.debug("Deleting storage objects with keys {}.", keysList);
+
+    Collection<ObjectIdentifier> objectIds =
+        keysList.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList();
+    return DeleteObjectsRequest.builder()
+        .bucket(bucketName)
+        .delete(Delete.builder().objects(objectIds).quiet(true).build())
+        .build();
+  }
+
+  private static void checkDeleteObjectsResponse(DeleteObjectsResponse deleteResponse) {
+    SdkHttpResponse deleteHttpResponse = deleteResponse.sdkHttpResponse();
+    if (!deleteHttpResponse.isSuccessful()) {
+      throw new ApiException(
+          "Error deleting storage objects: "
+              + deleteHttpResponse
+                  .statusText()
+                  .orElse(String.valueOf(deleteHttpResponse.statusCode())));
+    }
+
+    // Errors with individual objects are captured here (including 404)
+    deleteResponse
+        .errors()
+        .forEach(err -> logger.error("Failed to delete storage objects: {}", err));
   }
 
   // AWS SageMaker Notebook
@@ -0,0 +1,35 @@
+package bio.terra.workspace.common.utils;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Helpers for the small in-memory caches we keep in front of Sam and the cloud providers. Most of
+ * those caches are {@code Collections.synchronizedMap(new PassiveExpiringMap<>(...))}. Calling
+ * {@code computeIfAbsent} on a synchronized map runs the loader while holding the map's monitor,
+ * so a single slow Sam call blocks every other request that touches the cache, and on virtual
+ * threads it pins the carrier thread. These helpers keep the remote call outside of the lock.
+ */
+public class CacheUtils {
+
+  private CacheUtils() {}
+
+  /**
+   * Return the cached value for the key, loading and caching it on a miss. The loader is called
+   * without holding any lock on the cache, so concurrent misses on the same key may each call the
+   * loader; the last one to finish wins. That is acceptable for the idempotent lookups we cache.
+   *
+   * @param cache cache map; must be safe for concurrent get and put
+   * @param key cache key
+   * @param loader function to compute the value on a miss; must not return null
+   * @return cached or newly loaded value
+   */
+  public static <K, V> V getOrLoad(Map<K, V> cache, K key, Function<K, V> loader) {
+    V value = cache.get(key);
+    if (value == null) {
+      value = loader.apply(key);
+      cache.put(key, value);
+    }
+    return value;
+  }
+}
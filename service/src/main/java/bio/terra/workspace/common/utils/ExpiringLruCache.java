@@ -0,0 +1,182 @@
+package bio.terra.workspace.common.utils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.apache.commons.collections4.map.LRUMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache whose entries are reloaded a fixed time after they were loaded. The caches in
+ * front of Sam and the cloud providers used to be either a {@code PassiveExpiringMap}, which only
+ * drops an expired entry when that key is read again and so grows with every user and resource ever
+ * seen, or a map that was never evicted at all. This one evicts the least recently used entry once
+ * it is full.
+ *
+ * <p>A cache can also be given a refresh window: the first hit on an entry within that window of
+ * its expiry reloads it in the background while the cached value is returned, so that entries read
+ * steadily are replaced before they expire and no request waits on the reload. If the refresh
+ * fails, the entry is left to expire and is loaded on a later miss.
+ *
+ * <p>As with {@link CacheUtils#getOrLoad}, the loader runs outside the cache's lock, so concurrent
+ * misses on a key may each load it. Lookups are counted in {@link #CACHE_METRIC}, tagged with the
+ * cache name and "hit" or "miss", and the number of entries is published in {@link #SIZE_METRIC}.
+ */
+public class ExpiringLruCache<K, V> {
+  private static final Logger logger = LoggerFactory.getLogger(ExpiringLruCache.class);
+  static final String CACHE_METRIC = "wsm.cache";
+  static final String SIZE_METRIC = "wsm.cache.size";
+
+  // Shared by every cache; a refresh that cannot be queued is skipped and the entry expires
+  private static final ThreadPoolExecutor REFRESH_EXECUTOR = makeRefreshExecutor();
+
+  private final String name;
+  private final Map<K, Entry<V>> entries;
+  private final Duration timeToLive;
+  private final Duration refreshAhead;
+  private final Executor refreshExecutor;
+  private final Clock clock;
+  private final Counter hits;
+  private final Counter misses;
+
+  /**
+   * @param name cache name, used as a metric tag
+   * @param maxSize number of entries kept before the least recently used is evicted
+   * @param timeToLive how long after loading an entry is reloaded
+   * @param registry registry for the cache metrics
+   */
+  public ExpiringLruCache(String name, int maxSize, Duration timeToLive, MeterRegistry registry) {
+    this(name, maxSize, timeToLive, Duration.ZERO, registry);
+  }
+
+  /**
+   * @param name cache name, used as a metric tag
+   * @param maxSize number of entries kept before the least recently used is evicted
+   * @param timeToLive how long after loading an entry is reloaded
+   * @param refreshAhead how long before expiry a hit reloads the entry in the background
+   * @param registry registry for the cache metrics
+   */
+  public ExpiringLruCache(
+      String name,
+      int maxSize,
+      Duration timeToLive,
+      Duration refreshAhead,
+      MeterRegistry registry) {
+    this(name, maxSize, timeToLive, refreshAhead, registry, REFRESH_EXECUTOR, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  ExpiringLruCache(
+      String name, int maxSize, Duration timeToLive, MeterRegistry registry, Clock clock) {
+    this(name, maxSize, timeToLive, Duration.ZERO, registry, REFRESH_EXECUTOR, clock);
+  }
+
+  @VisibleForTesting
+  ExpiringLruCache(
+      String name,
+      int maxSize,
+      Duration timeToLive,
+      Duration refreshAhead,
+      MeterRegistry registry,
+      Executor refreshExecutor,
+      Clock clock) {
+    this.name = name;
+    this.entries = Collections.synchronizedMap(new LRUMap<>(maxSize));
+    this.timeToLive = timeToLive;
+    this.refreshAhead = refreshAhead;
+    this.refreshExecutor = refreshExecutor;
+    this.clock = clock;
+    this.hits = registry.counter(CACHE_METRIC, "cache", name, "result", "hit");
+    this.misses = registry.counter(CACHE_METRIC, "cache", name, "result", "miss");
+    registry.gauge(SIZE_METRIC, Tags.of("cache", name), entries, Map::size);
+  }
+
+  /**
+   * Return the cached value for the key, loading and caching it on a miss or when it has expired.
+   * A hit within the refresh window starts a background reload with the same loader.
+   *
+   * @param key cache key
+   * @param loader function to compute the value; must not return null
+   * @return cached or newly loaded value
+   */
+  public V getOrLoad(K key, Function<K, V> loader) {
+    Entry<V> entry = entries.get(key);
+    Instant now = clock.instant();
+    if (entry != null && now.isBefore(entry.expiresAt())) {
+      hits.increment();
+      if (!now.isBefore(entry.expiresAt().minus(refreshAhead))
+          && entry.refreshing().compareAndSet(false, true)) {
+        refresh(key, loader, entry);
+      }
+      return entry.value();
+    }
+    misses.increment();
+    V value = loader.apply(key);
+    entries.put(key, newEntry(value));
+    return value;
+  }
+
+  public void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  @VisibleForTesting
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Reload an entry on the refresh executor. The new value only replaces the entry it refreshes,
+   * so an entry that was invalidated or reloaded in the meantime is left alone.
+   */
+  private void refresh(K key, Function<K, V> loader, Entry<V> stale) {
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              entries.replace(key, stale, newEntry(loader.apply(key)));
+            } catch (RuntimeException e) {
+              logger.warn("Failed to refresh an entry of cache {}", name, e);
+              stale.refreshing().set(false);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      stale.refreshing().set(false);
+    }
+  }
+
+  private Entry<V> newEntry(V value) {
+    return new Entry<>(value, clock.instant().plus(timeToLive), new AtomicBoolean());
+  }
+
+  private static ThreadPoolExecutor makeRefreshExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            4,
+            4,
+            1,
+            TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(1000),
+            new ThreadFactoryBuilder().setNameFormat("cache-refresh-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** A cached value, and whether a background refresh of it has been started. */
+  private record Entry<V>(V value, Instant expiresAt, AtomicBoolean refreshing) {}
+}
@@ -5,6 +5,8 @@ import bio.terra.workspace.app.configuration.external.AwsConfiguration;
 import bio.terra.workspace.app.configuration.external.AzureConfiguration;
 import bio.terra.workspace.app.configuration.external.CliConfiguration;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
+import bio.terra.workspace.app.configuration.external.FlightStepConcurrencyConfiguration;
+import bio.terra.workspace.app.configuration.external.StorageTransferConfiguration;
 import bio.terra.workspace.app.configuration.external.VersionConfiguration;
 import bio.terra.workspace.db.ApplicationDao;
 import bio.terra.workspace.db.FolderDao;
@@ -13,6 +15,7 @@ import bio.terra.workspace.db.ResourceDao;
 import bio.terra.workspace.db.WorkspaceDao;
 import bio.terra.workspace.service.buffer.BufferService;
 import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.crl.ProjectIamPolicyCoordinator;
 import bio.terra.workspace.service.datarepo.DataRepoService;
 import bio.terra.workspace.service.features.FeatureService;
 import bio.terra.workspace.service.grant.GrantService;
@@ -28,6 +31,7 @@ import bio.terra.workspace.service.resource.controlled.cloud.azure.batchpool.Lan
 import bio.terra.workspace.service.resource.controlled.cloud.azure.database.AzureDatabaseUtilsRunner;
 import bio.terra.workspace.service.resource.controlled.cloud.azure.storage.StorageAccountKeyProvider;
 import bio.terra.workspace.service.resource.controlled.flight.clone.bucket.BucketCloneRolesService;
+import bio.terra.workspace.service.resource.controlled.flight.clone.bucket.StorageTransferOperationPoller;
 import bio.terra.workspace.service.resource.referenced.ReferencedResourceService;
 import bio.terra.workspace.service.spendprofile.SpendProfileService;
 import bio.terra.workspace.service.workspace.AwsCloudContextService;
@@ -67,15 +71,21 @@ public class FlightBeanBag {
   private final DataRepoService dataRepoService;
   private final FeatureConfiguration featureConfiguration;
   private final FeatureService featureService;
+  private final FlightStepConcurrencyConfiguration flightStepConcurrencyConfiguration;
+  private final FlightStepExecutor flightStepExecutor;
   private final FolderDao folderDao;
   private final GrantDao grantDao;
   private final GrantService grantService;
+  private final IamPropagationProbe iamPropagationProbe;
   private final PetSaService petSaService;
+  private final ProjectIamPolicyCoordinator projectIamPolicyCoordinator;
   private final ReferencedResourceService referencedResourceService;
   private final ResourceDao resourceDao;
   private final SamService samService;
   private final SpendProfileService spendProfileService;
   private final Storagetransfer storagetransfer;
+  private final StorageTransferConfiguration storageTransferConfiguration;
+  private final StorageTransferOperationPoller storageTransferOperationPoller;
   private final TpsApiDispatch tpsApiDispatch;
   private final WorkspaceDao workspaceDao;
   private final WorkspaceService workspaceService;
@@ -108,16 +118,22 @@ public class FlightBeanBag {
       DataRepoService dataRepoService,
       FeatureConfiguration featureConfiguration,
       FeatureService featureService,
+      FlightStepConcurrencyConfiguration flightStepConcurrencyConfiguration,
+      FlightStepExecutor flightStepExecutor,
       FolderDao folderDao,
       GrantDao grantDao,
       GrantService grantService,
+      IamPropagationProbe iamPropagationProbe,
       PetSaService petSaService,
+      ProjectIamPolicyCoordinator projectIamPolicyCoordinator,
       TpsApiDispatch tpsApiDispatch,
       ReferencedResourceService referencedResourceService,
       ResourceDao resourceDao,
       SamService samService,
       SpendProfileService spendProfileService,
       Storagetransfer storagetransfer,
+      StorageTransferConfiguration storageTransferConfiguration,
+      StorageTransferOperationPoller storageTransferOperationPoller,
       WorkspaceDao workspaceDao,
       WorkspaceService workspaceService,
       VersionConfiguration versionConfiguration,
@@ -145,15 +161,21 @@ public class FlightBeanBag {
     this.dataRepoService = dataRepoService;
     this.featureConfiguration = featureConfiguration;
     this.featureService = featureService;
+    this.flightStepConcurrencyConfiguration = flightStepConcurrencyConfiguration;
+    this.flightStepExecutor = flightStepExecutor;
     this.folderDao = folderDao;
     this.grantDao = grantDao;
     this.grantService = grantService;
+    this.iamPropagationProbe = iamPropagationProbe;
     this.petSaService = petSaService;
+    this.projectIamPolicyCoordinator = projectIamPolicyCoordinator;
     this.referencedResourceService = referencedResourceService;
     this.resourceDao = resourceDao;
     this.samService = samService;
     this.spendProfileService = spendProfileService;
     this.storagetransfer = storagetransfer;
+    this.storageTransferConfiguration = storageTransferConfiguration;
+    this.storageTransferOperationPoller = storageTransferOperationPoller;
     this.tpsApiDispatch = tpsApiDispatch;
     this.workspaceDao = workspaceDao;
     this.workspaceService = workspaceService;
@@ -235,6 +257,14 @@ public class FlightBeanBag {
     return featureService;
   }
 
+  public FlightStepConcurrencyConfiguration getFlightStepConcurrencyConfiguration() {
+    return flightStepConcurrencyConfiguration;
+  }
+
+  public FlightStepExecutor getFlightStepExecutor() {
+    return flightStepExecutor;
+  }
+
   public GrantDao getGrantDao() {
     return grantDao;
   }
@@ -243,10 +273,18 @@ public class FlightBeanBag {
     return grantService;
   }
 
+  public IamPropagationProbe getIamPropagationProbe() {
+    return iamPropagationProbe;
+  }
+
   public PetSaService getPetSaService() {
     return petSaService;
   }
 
+  public ProjectIamPolicyCoordinator getProjectIamPolicyCoordinator() {
+    return projectIamPolicyCoordinator;
+  }
+
   public ReferencedResourceService getReferencedResourceService() {
     return referencedResourceService;
   }
@@ -263,6 +301,14 @@ public class FlightBeanBag {
     return storagetransfer;
   }
 
+  public StorageTransferConfiguration getStorageTransferConfiguration() {
+    return storageTransferConfiguration;
+  }
+
+  public StorageTransferOperationPoller getStorageTransferOperationPoller() {
+    return storageTransferOperationPoller;
+  }
+
   public TpsApiDispatch getTpsApiDispatch() {
     return tpsApiDispatch;
   }
@@ -0,0 +1,54 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.workspace.app.configuration.external.FlightStepConcurrencyConfiguration;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for flight steps that do independent work concurrently, such as the lanes of a {@link
+ * ParallelStepGroup}. It is separate from {@link RequestFanoutExecutor} because step work can
+ * retry and sleep for minutes, and must not hold up request threads.
+ *
+ * <p>Work is never queued: when every thread is busy the submitting thread runs the work itself.
+ * Tasks that submit further tasks therefore cannot deadlock waiting for a thread.
+ */
+@Component
+public class FlightStepExecutor {
+  private final ExecutorService executor;
+
+  @Autowired
+  public FlightStepExecutor(FlightStepConcurrencyConfiguration configuration) {
+    this.executor =
+        new ThreadPoolExecutor(
+            0,
+            configuration.getMaxThreads(),
+            60,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("flight-step-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Run the supplier on the step pool, carrying over the flight's logging MDC and tracing context.
+   *
+   * @param supplier work to do
+   * @return future holding the result
+   */
+  public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+    return RequestFanoutExecutor.supplyAsyncWithContext(supplier, executor);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,117 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.workspace.app.configuration.external.IamPropagationConfiguration;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Waits for an IAM change to propagate by repeating a call that only succeeds once it has. Early
+ * probes are sub-second and the wait grows exponentially, with jitter, up to a cap. Before this,
+ * callers used {@link RetryUtils} defaults tuned for slow propagation and so always waited at
+ * least 15 seconds, even when the change was visible after one.
+ *
+ * <p>The time from the first probe to the first successful one is recorded in {@link
+ * #PROPAGATION_METRIC} as a histogram, tagged with the target and whether it propagated or timed
+ * out, so the delays can be tuned from production data.
+ */
+@Component
+public class IamPropagationProbe {
+  static final String PROPAGATION_METRIC = "wsm.iam.propagation";
+  private static final Logger logger = LoggerFactory.getLogger(IamPropagationProbe.class);
+
+  private final IamPropagationConfiguration config;
+  private final MeterRegistry registry;
+  private final DoubleSupplier random;
+
+  @Autowired
+  public IamPropagationProbe(IamPropagationConfiguration config, MeterRegistry registry) {
+    this(config, registry, () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  @VisibleForTesting
+  IamPropagationProbe(
+      IamPropagationConfiguration config, MeterRegistry registry, DoubleSupplier random) {
+    this.config = config;
+    this.registry = registry;
+    this.random = random;
+  }
+
+  /**
+   * Probe until the call succeeds or the configured timeout has elapsed.
+   *
+   * @param target what is being waited on, used as a metric tag; keep its cardinality low
+   * @param probe call that throws until the change has propagated
+   * @return time until the probe first succeeded
+   * @throws Exception the last exception thrown by the probe, if it never succeeded
+   * @throws InterruptedException if the wait is interrupted
+   */
+  public Duration await(String target, RetryUtils.SupplierWithException<?> probe)
+      throws Exception {
+    long startNanos = System.nanoTime();
+    long timeoutNanos = config.getTimeout().toNanos();
+    Duration delay = config.getInitialDelay();
+    int attempts = 0;
+    while (true) {
+      attempts++;
+      try {
+        probe.get();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        record(target, "propagated", elapsed);
+        logger.info(
+            "{} IAM propagated after {} ms, {} probes", target, elapsed.toMillis(), attempts);
+        return elapsed;
+      } catch (InterruptedException e) {
+        throw e;
+      } catch (Exception e) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        if (elapsedNanos >= timeoutNanos) {
+          record(target, "timeout", Duration.ofNanos(elapsedNanos));
+          logger.warn("{} IAM did not propagate after {} probes", target, attempts);
+          throw e;
+        }
+        Duration sleep = jittered(delay);
+        logger.debug(
+            "{} IAM probe {} failed: {}. Waiting {} ms",
+            target,
+            attempts,
+            e.getMessage(),
+            sleep.toMillis());
+        TimeUnit.NANOSECONDS.sleep(Math.min(sleep.toNanos(), timeoutNanos - elapsedNanos));
+        delay = nextDelay(delay);
+      }
+    }
+  }
+
+  /** The un-jittered wait after the one given, capped at the configured maximum. */
+  @VisibleForTesting
+  Duration nextDelay(Duration delay) {
+    long next = (long) (delay.toMillis() * config.getMultiplier());
+    return Duration.ofMillis(Math.min(next, config.getMaxDelay().toMillis()));
+  }
+
+  /** Randomly shorten the delay by up to the configured jitter fraction. */
+  @VisibleForTesting
+  Duration jittered(Duration delay) {
+    double factor = 1.0 - config.getJitter() * random.getAsDouble();
+    return Duration.ofMillis((long) (delay.toMillis() * factor));
+  }
+
+  private void record(String target, String outcome, Duration elapsed) {
+    Timer.builder(PROPAGATION_METRIC)
+        .tag("target", target)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .maximumExpectedValue(config.getTimeout())
+        .register(registry)
+        .record(elapsed);
+  }
+}
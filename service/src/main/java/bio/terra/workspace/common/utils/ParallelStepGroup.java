@@ -0,0 +1,315 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.stairway.Direction;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.ProgressMeter;
+import bio.terra.stairway.RetryRule;
+import bio.terra.stairway.Stairway;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.service.resource.controlled.model.StepRetryRulePair;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A step that runs several lanes of steps concurrently. The steps within a lane run in order, each
+ * with its own retry rule, as if they had been added to the flight one after the other. Use it for
+ * steps that do not depend on each other's working map outputs.
+ *
+ * <p>Each lane works on its own copy of the working map, so steps never see each other's writes
+ * while they run. Once every lane has finished, the entries each lane changed are written back to
+ * the flight's working map, along with the steps that completed. If the group is run again, for
+ * instance after a Stairway restart, completed steps are skipped.
+ *
+ * <p>Undo undoes every step that was started, in the reverse of the lane order: the last lane
+ * first, and the steps of each lane from last to first. As with a failing step in a flight, this
+ * includes the step that failed.
+ */
+public class ParallelStepGroup implements Step {
+  private static final Logger logger = LoggerFactory.getLogger(ParallelStepGroup.class);
+
+  private final FlightStepExecutor executor;
+  private final String completedStepsKey;
+  private final String startedStepsKey;
+  private final List<List<StepRetryRulePair>> lanes;
+
+  /**
+   * @param executor executor to run the lanes on
+   * @param groupName name of the group, unique within the flight; used in working map keys
+   * @param lanes steps to run, lane by lane; a null retry rule means no retries
+   */
+  public ParallelStepGroup(
+      FlightStepExecutor executor, String groupName, List<List<StepRetryRulePair>> lanes) {
+    this.executor = executor;
+    this.completedStepsKey = groupName + "_completedSteps";
+    this.startedStepsKey = groupName + "_startedSteps";
+    this.lanes = lanes;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext flightContext) throws InterruptedException {
+    FlightMap workingMap = flightContext.getWorkingMap();
+    Set<String> completed = new HashSet<>(getSteps(workingMap, completedStepsKey));
+    Set<String> started = new HashSet<>(getSteps(workingMap, startedStepsKey));
+    Map<String, String> snapshot = new HashMap<>(workingMap.getMap());
+
+    List<CompletableFuture<LaneResult>> futures = new ArrayList<>();
+    for (int lane = 0; lane < lanes.size(); lane++) {
+      int laneIndex = lane;
+      futures.add(
+          executor.supplyAsync(
+              () -> runLane(flightContext, laneIndex, snapshot, Set.copyOf(completed))));
+    }
+
+    List<LaneResult> results = new ArrayList<>();
+    for (CompletableFuture<LaneResult> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (InterruptedException e) {
+        futures.forEach(f -> f.cancel(true));
+        throw e;
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof InterruptedException interrupted) {
+          throw interrupted;
+        }
+        // runLane turns step exceptions into results, so this is unexpected
+        results.add(
+            new LaneResult(
+                new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e.getCause()),
+                null,
+                List.of(),
+                List.of()));
+      }
+    }
+
+    StepResult groupResult = StepResult.getStepResultSuccess();
+    for (LaneResult result : results) {
+      if (result.workingMap() != null) {
+        result
+            .workingMap()
+            .getMap()
+            .forEach(
+                (key, value) -> {
+                  if (!Objects.equals(snapshot.get(key), value)) {
+                    workingMap.putRaw(key, value);
+                  }
+                });
+      }
+      completed.addAll(result.completedSteps());
+      started.addAll(result.startedSteps());
+      if (!result.stepResult().isSuccess()
+          && groupResult.getStepStatus() != StepStatus.STEP_RESULT_FAILURE_FATAL) {
+        groupResult = result.stepResult();
+      }
+    }
+    workingMap.put(completedStepsKey, new ArrayList<>(completed));
+    workingMap.put(startedStepsKey, new ArrayList<>(started));
+    return groupResult;
+  }
+
+  @Override
+  public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
+    Set<String> started = new HashSet<>(getSteps(flightContext.getWorkingMap(), startedStepsKey));
+    for (int lane = lanes.size() - 1; lane >= 0; lane--) {
+      List<StepRetryRulePair> laneSteps = lanes.get(lane);
+      for (int i = laneSteps.size() - 1; i >= 0; i--) {
+        Step step = laneSteps.get(i).step();
+        if (started.contains(stepId(lane, i, step))) {
+          StepResult result = step.undoStep(flightContext);
+          if (!result.isSuccess()) {
+            return result;
+          }
+        }
+      }
+    }
+    return StepResult.getStepResultSuccess();
+  }
+
+  private LaneResult runLane(
+      FlightContext flightContext,
+      int lane,
+      Map<String, String> snapshot,
+      Set<String> previouslyCompleted) {
+    FlightMap laneWorkingMap = new FlightMap();
+    snapshot.forEach(laneWorkingMap::putRaw);
+    FlightContext laneContext = new LaneFlightContext(flightContext, laneWorkingMap);
+    List<String> completed = new ArrayList<>();
+    List<String> started = new ArrayList<>();
+
+    List<StepRetryRulePair> laneSteps = lanes.get(lane);
+    for (int i = 0; i < laneSteps.size(); i++) {
+      StepRetryRulePair pair = laneSteps.get(i);
+      String id = stepId(lane, i, pair.step());
+      if (previouslyCompleted.contains(id)) {
+        continue;
+      }
+      started.add(id);
+      StepResult result;
+      try {
+        result = runWithRetries(pair, laneContext);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CompletionException(e);
+      }
+      if (!result.isSuccess()) {
+        logger.info("Step {} in flight {} failed", id, flightContext.getFlightId());
+        return new LaneResult(result, laneWorkingMap, completed, started);
+      }
+      completed.add(id);
+    }
+    return new LaneResult(StepResult.getStepResultSuccess(), laneWorkingMap, completed, started);
+  }
+
+  private static StepResult runWithRetries(StepRetryRulePair pair, FlightContext laneContext)
+      throws InterruptedException {
+    RetryRule retryRule = pair.retryRule();
+    if (retryRule != null) {
+      retryRule.initialize();
+    }
+    while (true) {
+      StepResult result;
+      try {
+        result = pair.step().doStep(laneContext);
+      } catch (RetryException e) {
+        result = new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      } catch (RuntimeException e) {
+        // Stairway treats exceptions thrown from a step as fatal
+        result = new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
+      }
+      if (result.getStepStatus() == StepStatus.STEP_RESULT_RERUN
+          || (result.getStepStatus() == StepStatus.STEP_RESULT_FAILURE_RETRY
+              && retryRule != null
+              && retryRule.retrySleep())) {
+        continue;
+      }
+      return result;
+    }
+  }
+
+  private static List<String> getSteps(FlightMap workingMap, String key) {
+    List<String> steps = workingMap.get(key, new TypeReference<>() {});
+    return steps == null ? Collections.emptyList() : steps;
+  }
+
+  private static String stepId(int lane, int index, Step step) {
+    return lane + "." + index + "." + step.getClass().getSimpleName();
+  }
+
+  private record LaneResult(
+      StepResult stepResult,
+      FlightMap workingMap,
+      List<String> completedSteps,
+      List<String> startedSteps) {}
+
+  /** The flight context seen by the steps of a lane: the flight's, with the lane's working map. */
+  private static class LaneFlightContext implements FlightContext {
+    private final FlightContext delegate;
+    private final FlightMap workingMap;
+
+    LaneFlightContext(FlightContext delegate, FlightMap workingMap) {
+      this.delegate = delegate;
+      this.workingMap = workingMap;
+    }
+
+    @Override
+    public Object getApplicationContext() {
+      return delegate.getApplicationContext();
+    }
+
+    @Override
+    public String getFlightId() {
+      return delegate.getFlightId();
+    }
+
+    @Override
+    public String getFlightClassName() {
+      return delegate.getFlightClassName();
+    }
+
+    @Override
+    public FlightMap getInputParameters() {
+      return delegate.getInputParameters();
+    }
+
+    @Override
+    public FlightMap getWorkingMap() {
+      return workingMap;
+    }
+
+    @Override
+    public int getStepIndex() {
+      return delegate.getStepIndex();
+    }
+
+    @Override
+    public FlightStatus getFlightStatus() {
+      return delegate.getFlightStatus();
+    }
+
+    @Override
+    public boolean isRerun() {
+      return delegate.isRerun();
+    }
+
+    @Override
+    public Direction getDirection() {
+      return delegate.getDirection();
+    }
+
+    @Override
+    public StepResult getResult() {
+      return delegate.getResult();
+    }
+
+    @Override
+    public Stairway getStairway() {
+      return delegate.getStairway();
+    }
+
+    @Override
+    public List<String> getStepClassNames() {
+      return delegate.getStepClassNames();
+    }
+
+    @Override
+    public String getStepClassName() {
+      return delegate.getStepClassName();
+    }
+
+    @Override
+    public String prettyStepState() {
+      return delegate.prettyStepState();
+    }
+
+    @Override
+    public String flightDesc() {
+      return delegate.flightDesc();
+    }
+
+    @Override
+    public ProgressMeter getProgressMeter(String name) {
+      return delegate.getProgressMeter(name);
+    }
+
+    @Override
+    public void setProgressMeter(String name, long v1, long v2) throws InterruptedException {
+      delegate.setProgressMeter(name, v1, v2);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.workspace.app.configuration.external.RequestFanoutConfiguration;
+import bio.terra.workspace.common.exception.InternalLogicException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.opentelemetry.context.Context;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor for issuing independent remote calls (Sam, TPS, ...) concurrently while serving
+ * a single API request. The logging MDC (including the request id) and the OpenTelemetry context
+ * of the submitting thread are carried over to the worker thread.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ *   CompletableFuture&lt;Foo&gt; foo = requestFanoutExecutor.supplyAsync(() -&gt; getFoo());
+ *   Bar bar = getBar();
+ *   return combine(RequestFanoutExecutor.join(foo), bar);
+ * </pre>
+ */
+@Component
+public class RequestFanoutExecutor {
+  private final RequestFanoutConfiguration configuration;
+  private final ExecutorService executor;
+
+  @Autowired
+  public RequestFanoutExecutor(RequestFanoutConfiguration configuration) {
+    this.configuration = configuration;
+    this.executor =
+        new ThreadPoolExecutor(
+            configuration.getMaxThreads(),
+            configuration.getMaxThreads(),
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(configuration.getQueueSize()),
+            new ThreadFactoryBuilder()
+                .setNameFormat("request-fanout-%d")
+                .setDaemon(true)
+                .build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Run the supplier on the fanout pool, or on the calling thread when fan-out is disabled.
+   *
+   * @param supplier remote call to make
+   * @return future holding the result of the call
+   */
+  public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+    if (!configuration.isEnabled()) {
+      try {
+        return CompletableFuture.completedFuture(supplier.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    return supplyAsyncWithContext(supplier, executor);
+  }
+
+  /** Run the supplier on an executor, carrying over the caller's MDC and OpenTelemetry context. */
+  static <T> CompletableFuture<T> supplyAsyncWithContext(Supplier<T> supplier, Executor executor) {
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    Supplier<T> tracedSupplier = Context.current().wrapSupplier(supplier);
+    return CompletableFuture.supplyAsync(
+        () -> {
+          Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+          setMdc(mdc);
+          try {
+            return tracedSupplier.get();
+          } finally {
+            setMdc(previousMdc);
+          }
+        },
+        executor);
+  }
+
+  /**
+   * Wait for a future returned by {@link #supplyAsync(Supplier)}. Runtime exceptions thrown by the
+   * call, such as the ErrorReportExceptions made by the Sam and TPS wrappers, are rethrown as-is
+   * so that API error mapping is unchanged from the sequential code.
+   *
+   * @param future future to wait for
+   * @return the result of the call
+   */
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new InternalLogicException("Unexpected exception in concurrent request call", e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static void setMdc(Map<String, String> mdc) {
+    if (mdc == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(mdc);
+    }
+  }
+}
@@ -1,9 +1,9 @@
 package bio.terra.workspace.common.utils;
 
+import bio.terra.workspace.common.logging.DependencyMetrics;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -17,6 +17,9 @@ public class RetryUtils {
   public static final double DEFAULT_RETRY_FACTOR_INCREASE = 0.0;
   public static final Duration DEFAULT_RETRY_SLEEP_DURATION_MAX = Duration.ofMinutes(3);
   private static final Logger logger = LoggerFactory.getLogger(RetryUtils.class);
+  // Callers do not say what they are waiting on, so their retries are recorded in
+  // DependencyMetrics against this name
+  private static final String DEPENDENCY = "other";
 
   /**
    * Get a result from a call that might throw an exception. If the supplier finishes, the result is
@@ -63,7 +66,8 @@ public class RetryUtils {
             e.getMessage(),
             sleepDuration.toSeconds(),
             endTime);
-        TimeUnit.MILLISECONDS.sleep(sleepDuration.toMillis());
+        DependencyMetrics.recordRetry(DEPENDENCY);
+        DependencyMetrics.backoff(DEPENDENCY, sleepDuration);
         long increaseMillis = (long) (factorIncrease * sleepDuration.toMillis());
         sleepDuration = sleepDuration.plusMillis(increaseMillis);
         if (sleepDuration.compareTo(sleepDurationMax) > 0) {
@@ -132,7 +136,8 @@ public class RetryUtils {
         if (Instant.now().isAfter(endTime)) {
           throw new Exception("retry timed out");
         }
-        TimeUnit.MILLISECONDS.sleep(sleepDuration.toMillis());
+        DependencyMetrics.recordRetry(DEPENDENCY);
+        DependencyMetrics.backoff(DEPENDENCY, sleepDuration);
         long increaseMillis = (long) (factorIncrease * sleepDuration.toMillis());
         sleepDuration = sleepDuration.plusMillis(increaseMillis);
         if (sleepDuration.compareTo(sleepDurationMax) > 0) {
@@ -0,0 +1,57 @@
+package bio.terra.workspace.db;
+
+import bio.terra.workspace.service.workspace.model.CloudContext;
+import bio.terra.workspace.service.workspace.model.CloudPlatform;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.Nullable;
+import org.apache.commons.collections4.map.LRUMap;
+
+/**
+ * Node-local cache of parsed cloud contexts, used by {@link WorkspaceDao}. Each entry remembers the
+ * row version of the cloud_context row it was parsed from. The DAO compares that version with the
+ * row in the database on every read, so a context that was updated or deleted by any pod is never
+ * served from the cache. All the cache saves is transferring and parsing the context; that is
+ * what makes it safe without any cross-pod messaging.
+ *
+ * <p>The cache holds immutable CloudContext objects, so they can be shared between threads.
+ */
+class CloudContextCache {
+  private static final int MAX_ENTRIES = 10000;
+
+  private final Map<Key, Entry> cache = Collections.synchronizedMap(new LRUMap<>(MAX_ENTRIES));
+
+  /**
+   * Get the cached context if it was parsed from the given row version.
+   *
+   * @return cached context or null if not present or stale
+   */
+  @Nullable
+  CloudContext get(UUID workspaceUuid, CloudPlatform cloudPlatform, String rowVersion) {
+    Entry entry = cache.get(new Key(workspaceUuid, cloudPlatform));
+    if (entry == null || !entry.rowVersion().equals(rowVersion)) {
+      return null;
+    }
+    return entry.cloudContext();
+  }
+
+  void put(
+      UUID workspaceUuid, CloudPlatform cloudPlatform, String rowVersion, CloudContext context) {
+    cache.put(new Key(workspaceUuid, cloudPlatform), new Entry(rowVersion, context));
+  }
+
+  void invalidate(UUID workspaceUuid, CloudPlatform cloudPlatform) {
+    cache.remove(new Key(workspaceUuid, cloudPlatform));
+  }
+
+  void invalidateWorkspace(UUID workspaceUuid) {
+    for (CloudPlatform cloudPlatform : CloudPlatform.values()) {
+      invalidate(workspaceUuid, cloudPlatform);
+    }
+  }
+
+  private record Key(UUID workspaceUuid, CloudPlatform cloudPlatform) {}
+
+  private record Entry(String rowVersion, CloudContext cloudContext) {}
+}
@@ -0,0 +1,263 @@
+package bio.terra.workspace.db;
+
+import bio.terra.common.db.ReadTransaction;
+import bio.terra.common.db.WriteTransaction;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.db.model.DbJob;
+import bio.terra.workspace.service.job.model.JobIndexPageToken;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
+import bio.terra.workspace.service.workspace.model.JobStateFilter;
+import bio.terra.workspace.service.workspace.model.OperationType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import javax.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Data access object for the job table, an index of the flights run for each workspace. It lets
+ * jobs be listed with one indexed query, rather than reading whole flights from Stairway.
+ */
+@Component
+public class JobDao {
+  private static final String JOB_COLUMNS =
+      """
+        job_id, workspace_id, flight_class, description, operation_type, resource_id,
+        resource_type, resource_name, stewardship_type, resource_attributes,
+        destination_resource_id, result_path, status, submitted, completed, status_code,
+        error_message, error_causes
+      """;
+
+  private static final String JOB_VALUES =
+      """
+        :job_id, :workspace_id, :flight_class, :description, :operation_type, :resource_id,
+        :resource_type, :resource_name, :stewardship_type, cast(:resource_attributes AS jsonb),
+        :destination_resource_id, :result_path, :status, :submitted, :completed, :status_code,
+        :error_message, cast(:error_causes AS jsonb)
+      """;
+
+  private static final RowMapper<DbJob> DB_JOB_ROW_MAPPER =
+      (rs, rowNum) ->
+          new DbJob(
+              rs.getString("job_id"),
+              UUID.fromString(rs.getString("workspace_id")),
+              rs.getString("flight_class"),
+              rs.getString("description"),
+              Optional.ofNullable(rs.getString("operation_type"))
+                  .map(OperationType::valueOf)
+                  .orElse(null),
+              Optional.ofNullable(rs.getString("resource_id")).map(UUID::fromString).orElse(null),
+              Optional.ofNullable(rs.getString("resource_type"))
+                  .map(WsmResourceType::fromSql)
+                  .orElse(null),
+              rs.getString("resource_name"),
+              Optional.ofNullable(rs.getString("stewardship_type"))
+                  .map(StewardshipType::fromSql)
+                  .orElse(null),
+              rs.getString("resource_attributes"),
+              Optional.ofNullable(rs.getString("destination_resource_id"))
+                  .map(UUID::fromString)
+                  .orElse(null),
+              rs.getString("result_path"),
+              FlightStatus.valueOf(rs.getString("status")),
+              rs.getTimestamp("submitted").toInstant(),
+              Optional.ofNullable(rs.getTimestamp("completed"))
+                  .map(Timestamp::toInstant)
+                  .orElse(null),
+              (Integer) rs.getObject("status_code"),
+              rs.getString("error_message"),
+              Optional.ofNullable(rs.getString("error_causes"))
+                  .map(json -> DbSerDes.fromJson(json, new TypeReference<List<String>>() {}))
+                  .orElse(null));
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public JobDao(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Add a submitted job. Does nothing if the job is already indexed, which it is when its flight
+   * has been started or has completed before the submitter gets to index it.
+   */
+  @WriteTransaction
+  public void createJobIfAbsent(DbJob job) {
+    final String sql =
+        "INSERT INTO job (" + JOB_COLUMNS + ") VALUES (" + JOB_VALUES + ") ON CONFLICT DO NOTHING";
+    jdbcTemplate.update(sql, toParams(job));
+  }
+
+  /** Record the completion of a job, adding the job if it was never indexed as submitted. */
+  @WriteTransaction
+  public void upsertCompletedJob(DbJob job) {
+    final String sql =
+        "INSERT INTO job ("
+            + JOB_COLUMNS
+            + ") VALUES ("
+            + JOB_VALUES
+            + """
+              ) ON CONFLICT (job_id) DO UPDATE SET
+                status = excluded.status,
+                completed = excluded.completed,
+                status_code = excluded.status_code,
+                error_message = excluded.error_message,
+                error_causes = excluded.error_causes
+            """;
+    jdbcTemplate.update(sql, toParams(job));
+  }
+
+  /**
+   * List a page of a workspace's jobs, ordered by submit time and then job id.
+   *
+   * @param workspaceUuid workspace of the jobs
+   * @param after optional key of the last job of the previous page; start at beginning if missing
+   * @param limit max number of jobs to return
+   * @param resourceTypes optional filter by resource type; any of the given types matches
+   * @param stewardshipType optional filter by stewardship type
+   * @param resourceName optional filter by resource name
+   * @param jobStateFilter optional filter by job state
+   */
+  @ReadTransaction
+  public List<DbJob> enumerateJobs(
+      UUID workspaceUuid,
+      @Nullable JobIndexPageToken after,
+      int limit,
+      @Nullable Collection<WsmResourceType> resourceTypes,
+      @Nullable StewardshipType stewardshipType,
+      @Nullable String resourceName,
+      @Nullable JobStateFilter jobStateFilter) {
+    var params = new MapSqlParameterSource().addValue("limit", limit);
+    StringBuilder sql =
+        new StringBuilder("SELECT ")
+            .append(JOB_COLUMNS)
+            .append(" FROM job")
+            .append(
+                filterClause(
+                    params,
+                    workspaceUuid,
+                    resourceTypes,
+                    stewardshipType,
+                    resourceName,
+                    jobStateFilter));
+    if (after != null) {
+      sql.append(" AND (submitted, job_id) > (:after_submitted, :after_job_id)");
+      params
+          .addValue("after_submitted", Timestamp.from(after.submitted()))
+          .addValue("after_job_id", after.jobId());
+    }
+    sql.append(" ORDER BY submitted, job_id LIMIT :limit");
+    return jdbcTemplate.query(sql.toString(), params, DB_JOB_ROW_MAPPER);
+  }
+
+  /** Count a workspace's jobs that match the filters of {@link #enumerateJobs}. */
+  @ReadTransaction
+  public int countJobs(
+      UUID workspaceUuid,
+      @Nullable Collection<WsmResourceType> resourceTypes,
+      @Nullable StewardshipType stewardshipType,
+      @Nullable String resourceName,
+      @Nullable JobStateFilter jobStateFilter) {
+    var params = new MapSqlParameterSource();
+    String sql =
+        "SELECT COUNT(*) FROM job"
+            + filterClause(
+                params,
+                workspaceUuid,
+                resourceTypes,
+                stewardshipType,
+                resourceName,
+                jobStateFilter);
+    Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * Delete the jobs that completed before the given time, as Stairway deletes their flights once
+   * they are past retention.
+   *
+   * @return number of jobs deleted
+   */
+  @WriteTransaction
+  public int deleteJobsCompletedBefore(Instant completedBefore) {
+    final String sql = "DELETE FROM job WHERE completed < :completed_before";
+    var params =
+        new MapSqlParameterSource().addValue("completed_before", Timestamp.from(completedBefore));
+    return jdbcTemplate.update(sql, params);
+  }
+
+  private static String filterClause(
+      MapSqlParameterSource params,
+      UUID workspaceUuid,
+      @Nullable Collection<WsmResourceType> resourceTypes,
+      @Nullable StewardshipType stewardshipType,
+      @Nullable String resourceName,
+      @Nullable JobStateFilter jobStateFilter) {
+    StringBuilder sb = new StringBuilder(" WHERE workspace_id = :workspace_id");
+    params.addValue("workspace_id", workspaceUuid.toString());
+    if (resourceTypes != null && resourceTypes.isEmpty()) {
+      sb.append(" AND FALSE");
+    } else if (resourceTypes != null) {
+      sb.append(" AND resource_type IN (:resource_types)");
+      params.addValue(
+          "resource_types", resourceTypes.stream().map(WsmResourceType::toSql).toList());
+    }
+    if (stewardshipType != null) {
+      sb.append(" AND stewardship_type = :stewardship_type");
+      params.addValue("stewardship_type", stewardshipType.toSql());
+    }
+    if (resourceName != null) {
+      sb.append(" AND resource_name = :resource_name");
+      params.addValue("resource_name", resourceName);
+    }
+    if (jobStateFilter == JobStateFilter.ACTIVE) {
+      sb.append(" AND completed IS NULL");
+    } else if (jobStateFilter == JobStateFilter.COMPLETED) {
+      sb.append(" AND completed IS NOT NULL");
+    }
+    return sb.toString();
+  }
+
+  private static MapSqlParameterSource toParams(DbJob job) {
+    return new MapSqlParameterSource()
+        .addValue("job_id", job.jobId())
+        .addValue("workspace_id", job.workspaceId().toString())
+        .addValue("flight_class", job.flightClass())
+        .addValue("description", job.description())
+        .addValue(
+            "operation_type",
+            Optional.ofNullable(job.operationType()).map(OperationType::name).orElse(null))
+        .addValue(
+            "resource_id", Optional.ofNullable(job.resourceId()).map(UUID::toString).orElse(null))
+        .addValue(
+            "resource_type",
+            Optional.ofNullable(job.resourceType()).map(WsmResourceType::toSql).orElse(null))
+        .addValue("resource_name", job.resourceName())
+        .addValue(
+            "stewardship_type",
+            Optional.ofNullable(job.stewardshipType()).map(StewardshipType::toSql).orElse(null))
+        .addValue("resource_attributes", job.resourceAttributes())
+        .addValue(
+            "destination_resource_id",
+            Optional.ofNullable(job.destinationResourceId()).map(UUID::toString).orElse(null))
+        .addValue("result_path", job.resultPath())
+        .addValue("status", job.status().name())
+        .addValue("submitted", Timestamp.from(job.submitted()))
+        .addValue(
+            "completed", Optional.ofNullable(job.completed()).map(Timestamp::from).orElse(null))
+        .addValue("status_code", job.statusCode())
+        .addValue("error_message", job.errorMessage())
+        .addValue(
+            "error_causes",
+            Optional.ofNullable(job.errorCauses()).map(DbSerDes::toJson).orElse(null));
+  }
+}
@@ -34,14 +34,21 @@ import bio.terra.workspace.service.workspace.exceptions.CloudContextRequiredExce
 import bio.terra.workspace.service.workspace.exceptions.MissingRequiredFieldsException;
 import bio.terra.workspace.service.workspace.model.CloudPlatform;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -76,7 +83,8 @@ public class ResourceDao {
   private static final String RESOURCE_SELECT_SQL =
       RESOURCE_SELECT_SQL_WITHOUT_WORKSPACE_ID + " WHERE workspace_id = :workspace_id";
 
-  private static final RowMapper<DbResource> DB_RESOURCE_ROW_MAPPER =
+  @VisibleForTesting
+  static final RowMapper<DbResource> DB_RESOURCE_ROW_MAPPER =
       (rs, rowNum) ->
           new DbResource()
               .workspaceUuid(UUID.fromString(rs.getString("workspace_id")))
@@ -121,6 +129,20 @@ public class ResourceDao {
               .error(StateDao.deserializeException(rs.getString("error")))
               .flightId(rs.getString("flight_id"));
 
+  private static final String INSERT_RESOURCE_SQL =
+      """
+      INSERT INTO resource (workspace_id, cloud_platform, resource_id, name, description,
+        stewardship_type, exact_resource_type, resource_type, cloning_instructions, attributes,
+        access_scope, managed_by, associated_app, assigned_user, private_resource_state,
+        resource_lineage, properties, created_by_email, region,
+        state, flight_id)
+      VALUES (:workspace_id, :cloud_platform, :resource_id, :name, :description,
+        :stewardship_type, :exact_resource_type, :resource_type, :cloning_instructions,
+        cast(:attributes AS jsonb), :access_scope, :managed_by, :associated_app, :assigned_user,
+        :private_resource_state, :resource_lineage::jsonb, :properties::jsonb, :created_by_email,
+        :region, :state, :flight_id)
+      """;
+
   private final NamedParameterJdbcTemplate jdbcTemplate;
   private final WorkspaceActivityLogDao workspaceActivityLogDao;
   private final StateDao stateDao;
@@ -576,6 +598,33 @@ public class ResourceDao {
     return constructResource(getDbResourceRequired(sql, params));
   }
 
+  /**
+   * Retrieve the resources with the given IDs in one query. Resources that do not exist are left
+   * out of the result rather than raising an error.
+   *
+   * @param workspaceUuid identifier of workspace for the lookup
+   * @param resourceIds identifiers of the resources for the lookup
+   * @return the resources found, in no particular order
+   */
+  @ReadTransaction
+  public List<WsmResource> getResources(UUID workspaceUuid, Collection<UUID> resourceIds) {
+    if (resourceIds.isEmpty()) {
+      return List.of();
+    }
+    final String sql = RESOURCE_SELECT_SQL + " AND resource_id IN (:resource_ids)";
+
+    final var params =
+        new MapSqlParameterSource()
+            .addValue("workspace_id", workspaceUuid.toString())
+            .addValue(
+                "resource_ids",
+                resourceIds.stream().map(UUID::toString).collect(Collectors.toList()));
+
+    return jdbcTemplate.query(sql, params, DB_RESOURCE_ROW_MAPPER).stream()
+        .map(this::constructResource)
+        .collect(Collectors.toList());
+  }
+
   private boolean updateResourceWorker(
       UUID workspaceUuid,
       UUID resourceId,
@@ -882,6 +931,216 @@ public class ResourceDao {
     storeResource(resource, null, WsmResourceState.READY);
   }
 
+  /**
+   * Create the records for many controlled resources being created together, with one batch
+   * insert. Unlike {@link #createResourceStart(WsmResource, String)}, a resource that duplicates an
+   * existing one is skipped rather than failing the others.
+   *
+   * <p>The CREATING state is resolved by a call to {@link #createResourcesSuccess} or {@link
+   * #createResourcesFailure} with the same flight id.
+   *
+   * @param resources filled in resources, all in the same workspace
+   * @param flightId id of the job performing the create
+   * @return ids of the resources whose records were created
+   */
+  @WriteTransaction
+  public Set<UUID> createResourcesStart(List<ControlledResource> resources, String flightId) {
+    if (resources.isEmpty()) {
+      return Set.of();
+    }
+    // Enforce that there is a cloud context for each platform; a missing one fails them all
+    resources.stream()
+        .map(resource -> resource.getResourceType().getCloudPlatform())
+        .distinct()
+        .filter(cloudPlatform -> cloudPlatform != CloudPlatform.ANY)
+        .forEach(
+            cloudPlatform -> {
+              if (!cloudContextExists(resources.get(0).getWorkspaceId(), cloudPlatform)) {
+                throw new CloudContextRequiredException(
+                    "No cloud context found in which to create a controlled resource");
+              }
+            });
+
+    // ON CONFLICT cannot skip the duplicates: unique_resource_name is deferrable, and Postgres
+    // does not take deferrable constraints as arbiters. Look up the taken names and ids at once,
+    // and drop the duplicates within the batch here.
+    UUID workspaceUuid = resources.get(0).getWorkspaceId();
+    Set<String> takenNames = new HashSet<>();
+    Set<String> takenIds = new HashSet<>();
+    final String sql =
+        """
+          SELECT workspace_id, resource_id, name FROM resource
+          WHERE (workspace_id = :workspace_id AND name IN (:names))
+            OR resource_id IN (:resource_ids)
+        """;
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("workspace_id", workspaceUuid.toString())
+            .addValue("names", resources.stream().map(WsmResource::getName).toList())
+            .addValue(
+                "resource_ids",
+                resources.stream().map(resource -> resource.getResourceId().toString()).toList());
+    jdbcTemplate.query(
+        sql,
+        params,
+        rs -> {
+          takenIds.add(rs.getString("resource_id"));
+          if (workspaceUuid.toString().equals(rs.getString("workspace_id"))) {
+            takenNames.add(rs.getString("name"));
+          }
+        });
+
+    List<ControlledResource> unique = new ArrayList<>();
+    for (ControlledResource resource : resources) {
+      // Each resource type with attribute uniqueness rules costs a query; flexible resources have
+      // none, so a bulk create of them makes no per-resource query
+      if (takenIds.contains(resource.getResourceId().toString())
+          || takenNames.contains(resource.getName())
+          || !isUniqueByAttributes(resource)) {
+        logger.info("Skipping duplicate resource {}", resource.getResourceId());
+        continue;
+      }
+      takenIds.add(resource.getResourceId().toString());
+      takenNames.add(resource.getName());
+      unique.add(resource);
+    }
+    try {
+      jdbcTemplate.batchUpdate(
+          INSERT_RESOURCE_SQL,
+          unique.stream()
+              .map(resource -> storeResourceParams(resource, flightId, WsmResourceState.CREATING))
+              .toArray(MapSqlParameterSource[]::new));
+    } catch (DuplicateKeyException e) {
+      // A concurrent create took a name or id after the check; none of the batch was inserted
+      throw new DuplicateResourceException(
+          "A resource with the same name or id was created concurrently; retry the request", e);
+    }
+    Set<UUID> created = unique.stream().map(WsmResource::getResourceId).collect(Collectors.toSet());
+    logger.info(
+        "Inserted records for {} of {} resources for workspace {}",
+        created.size(),
+        resources.size(),
+        workspaceUuid);
+    return created;
+  }
+
+  /**
+   * Successful completion of a create of many resources, transitions them from CREATING to READY.
+   * Private resources are made ACTIVE at the same time.
+   *
+   * @param workspaceUuid workspace of the resources
+   * @param resourceIds ids of the resources successfully created
+   * @param flightId id of the job doing the creation
+   * @return the number of resources made READY
+   */
+  @WriteTransaction
+  public int createResourcesSuccess(
+      UUID workspaceUuid, Collection<UUID> resourceIds, String flightId) {
+    if (resourceIds.isEmpty()) {
+      return 0;
+    }
+    final String sql =
+        """
+          UPDATE resource SET state = :ready_state, flight_id = NULL, error = NULL,
+            private_resource_state = CASE WHEN access_scope = :private_access_scope
+              THEN :active_state ELSE private_resource_state END
+          WHERE workspace_id = :workspace_id AND resource_id IN (:resource_ids)
+            AND state = :creating_state AND flight_id = :flight_id
+        """;
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("ready_state", WsmResourceState.READY.toDb())
+            .addValue("private_access_scope", AccessScopeType.ACCESS_SCOPE_PRIVATE.toSql())
+            .addValue("active_state", PrivateResourceState.ACTIVE.toSql())
+            .addValue("workspace_id", workspaceUuid.toString())
+            .addValue("resource_ids", resourceIds.stream().map(UUID::toString).toList())
+            .addValue("creating_state", WsmResourceState.CREATING.toDb())
+            .addValue("flight_id", flightId);
+    return jdbcTemplate.update(sql, params);
+  }
+
+  /**
+   * Failed completion of a create of many resources. The records are deleted, as for the
+   * DELETE_ON_FAILURE rule: the caller reports each failure in its response.
+   *
+   * @param workspaceUuid workspace of the resources
+   * @param resourceIds ids of the resources that failed to be created
+   * @param flightId id of the job doing the creation; only its records are deleted
+   */
+  @WriteTransaction
+  public void createResourcesFailure(
+      UUID workspaceUuid, Collection<UUID> resourceIds, String flightId) {
+    if (resourceIds.isEmpty()) {
+      return;
+    }
+    final String sql =
+        """
+          DELETE FROM resource
+          WHERE workspace_id = :workspace_id AND resource_id IN (:resource_ids)
+            AND state = :creating_state AND flight_id = :flight_id
+        """;
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("workspace_id", workspaceUuid.toString())
+            .addValue("resource_ids", resourceIds.stream().map(UUID::toString).toList())
+            .addValue("creating_state", WsmResourceState.CREATING.toDb())
+            .addValue("flight_id", flightId);
+    jdbcTemplate.update(sql, params);
+  }
+
+  /**
+   * Completion of a create of many resources in one transaction: the records of the resources that
+   * failed are deleted, the others are made READY, and the READY resources are returned. If this
+   * throws, every record is left CREATING.
+   *
+   * @param workspaceUuid workspace of the resources
+   * @param createdIds ids of the resources successfully created
+   * @param failedIds ids of the resources that failed to be created
+   * @param flightId id of the job doing the creation
+   * @return the resources made READY
+   */
+  @WriteTransaction
+  public List<WsmResource> createResourcesComplete(
+      UUID workspaceUuid,
+      Collection<UUID> createdIds,
+      Collection<UUID> failedIds,
+      String flightId) {
+    createResourcesFailure(workspaceUuid, failedIds, flightId);
+    createResourcesSuccess(workspaceUuid, createdIds, flightId);
+    return getResources(workspaceUuid, createdIds);
+  }
+
+  /**
+   * Returns controlled resources left CREATING by jobs whose id starts with the given prefix and
+   * that were created before the given time. Such jobs run outside Stairway, so nothing recovers
+   * their records if the pod running them dies.
+   *
+   * @param flightIdPrefix prefix of the job ids
+   * @param createdBefore only resources created before this time are returned
+   * @param limit most resources to return
+   */
+  @ReadTransaction
+  public List<ControlledResource> listStaleCreatingResources(
+      String flightIdPrefix, Instant createdBefore, int limit) {
+    String sql =
+        RESOURCE_SELECT_SQL_WITHOUT_WORKSPACE_ID
+            + """
+               WHERE state = :creating_state AND flight_id LIKE :flight_id_pattern
+                 AND created_date < :created_before
+               ORDER BY created_date LIMIT :limit
+            """;
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("creating_state", WsmResourceState.CREATING.toDb())
+            .addValue("flight_id_pattern", flightIdPrefix + "%")
+            .addValue("created_before", Timestamp.from(createdBefore))
+            .addValue("limit", limit);
+    return jdbcTemplate.query(sql, params, DB_RESOURCE_ROW_MAPPER).stream()
+        .map(this::constructResource)
+        .map(WsmResource::castToControlledResource)
+        .collect(Collectors.toList());
+  }
+
   private boolean cloudContextExists(UUID workspaceUuid, CloudPlatform cloudPlatform) {
     // Check existence of the cloud context for this workspace
     final String sql =
@@ -902,6 +1161,12 @@ public class ResourceDao {
   // uniqueness rules. This prevents a race condition allowing a new resource to point to the same
   // cloud artifact as another, even if it has a different resource name and ID.
   private void verifyUniqueness(WsmResource resource) {
+    if (!isUniqueByAttributes(resource)) {
+      throw new DuplicateResourceException("A resource with matching attributes already exists");
+    }
+  }
+
+  private boolean isUniqueByAttributes(WsmResource resource) {
     ControlledResource controlledResource = resource.castToControlledResource();
     Optional<UniquenessCheckAttributes> optionalUniquenessCheck =
         controlledResource.getUniquenessCheckAttributes();
@@ -929,10 +1194,9 @@ public class ResourceDao {
 
       Integer matchingCount =
           jdbcTemplate.queryForObject(queryBuilder.toString(), params, Integer.class);
-      if (matchingCount != null && matchingCount > 0) {
-        throw new DuplicateResourceException("A resource with matching attributes already exists");
-      }
+      return matchingCount == null || matchingCount == 0;
     }
+    return true;
   }
 
   /**
@@ -1027,19 +1291,22 @@ public class ResourceDao {
   }
 
   private void storeResource(WsmResource resource, String flightId, WsmResourceState state) {
-    final String sql =
-        """
-        INSERT INTO resource (workspace_id, cloud_platform, resource_id, name, description,
-          stewardship_type, exact_resource_type, resource_type, cloning_instructions, attributes,
-          access_scope, managed_by, associated_app, assigned_user, private_resource_state,
-          resource_lineage, properties, created_by_email, region,
-          state, flight_id)
-        VALUES (:workspace_id, :cloud_platform, :resource_id, :name, :description,
-          :stewardship_type, :exact_resource_type, :resource_type, :cloning_instructions,
-          cast(:attributes AS jsonb), :access_scope, :managed_by, :associated_app, :assigned_user,
-          :private_resource_state, :resource_lineage::jsonb, :properties::jsonb, :created_by_email, :region,
-          :state, :flight_id);
-        """;
+    try {
+      jdbcTemplate.update(INSERT_RESOURCE_SQL, storeResourceParams(resource, flightId, state));
+      logger.info(
+          "Inserted record for resource {} for workspace {}",
+          resource.getResourceId(),
+          resource.getWorkspaceId());
+    } catch (DuplicateKeyException e) {
+      throw new DuplicateResourceException(
+          String.format(
+              "A resource already exists in the workspace that has the same name (%s) or the same id (%s)",
+              resource.getName(), resource.getResourceId().toString()));
+    }
+  }
+
+  private static MapSqlParameterSource storeResourceParams(
+      WsmResource resource, String flightId, WsmResourceState state) {
     final var params =
         new MapSqlParameterSource()
             .addValue("workspace_id", resource.getWorkspaceId().toString())
@@ -1083,19 +1350,7 @@ public class ResourceDao {
           .addValue("private_resource_state", null)
           .addValue("region", null);
     }
-
-    try {
-      jdbcTemplate.update(sql, params);
-      logger.info(
-          "Inserted record for resource {} for workspace {}",
-          resource.getResourceId(),
-          resource.getWorkspaceId());
-    } catch (DuplicateKeyException e) {
-      throw new DuplicateResourceException(
-          String.format(
-              "A resource already exists in the workspace that has the same name (%s) or the same id (%s)",
-              resource.getName(), resource.getResourceId().toString()));
-    }
+    return params;
   }
 
   @WriteTransaction
@@ -6,20 +6,27 @@ import bio.terra.common.exception.InternalServerErrorException;
 import bio.terra.workspace.common.logging.model.ActivityLogChangeDetails;
 import bio.terra.workspace.common.logging.model.ActivityLogChangedTarget;
 import bio.terra.workspace.db.exception.UnknownFlightOperationTypeException;
+import bio.terra.workspace.db.model.DbWorkspaceActivity;
 import bio.terra.workspace.db.model.DbWorkspaceActivityLog;
 import bio.terra.workspace.service.workspace.model.OperationType;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,6 +66,31 @@ public class WorkspaceActivityLogDao {
             changeSubjectType);
       };
 
+  // Takes the table to insert into: the activity log or its outbox
+  private static final String INSERT_SQL_FORMAT =
+      """
+          INSERT INTO %s (
+            workspace_id, change_date, change_type, actor_email, actor_subject_id,
+            change_subject_id, change_subject_type)
+          VALUES (:workspace_id, :change_date, :change_type, :actor_email, :actor_subject_id,
+            :change_subject_id, :change_subject_type)
+      """;
+
+  // The activity log together with the entries still waiting in the outbox, so that reads see an
+  // entry as soon as its flight ends. Takes the condition the rows of both tables must meet.
+  private static final String LOG_AND_OUTBOX_FORMAT =
+      """
+          (SELECT workspace_id, change_date, actor_email, actor_subject_id, change_subject_id,
+             change_subject_type, change_type
+           FROM workspace_activity_log
+           WHERE %1$s
+           UNION ALL
+           SELECT workspace_id, change_date, actor_email, actor_subject_id, change_subject_id,
+             change_subject_type, change_type
+           FROM workspace_activity_log_outbox
+           WHERE %1$s)
+      """;
+
   private final NamedParameterJdbcTemplate jdbcTemplate;
 
   // These fields don't update workspace "Last updated" time in UI. For example,
@@ -81,50 +113,99 @@ public class WorkspaceActivityLogDao {
         String.format(
             "Writing activity log: workspaceId=%s, activityLog=%s",
             workspaceId, dbWorkspaceActivityLog.toString()));
-    if (dbWorkspaceActivityLog.operationType() == OperationType.UNKNOWN) {
-      throw new UnknownFlightOperationTypeException(
-          String.format("Flight operation type is unknown in workspace %s", workspaceId));
+    checkOperationType(workspaceId, dbWorkspaceActivityLog);
+    final String sql = String.format(INSERT_SQL_FORMAT, "workspace_activity_log");
+    try {
+      jdbcTemplate.update(
+          sql,
+          activityParams(
+              workspaceId, dbWorkspaceActivityLog, Instant.now().atOffset(ZoneOffset.UTC)));
+    } catch (DataIntegrityViolationException e) {
+      throw new InternalServerErrorException(
+          "Invalid input: failed insert new row to WorkspaceActivityLog table", e);
     }
+  }
+
+  /**
+   * Write activities to the activity log with one batch insert. Each activity gets a change date a
+   * microsecond after the previous one, so that they keep their order.
+   */
+  @WithSpan
+  @WriteTransaction
+  public void writeActivities(List<DbWorkspaceActivity> activities) {
+    batchInsert("workspace_activity_log", activities);
+  }
+
+  /**
+   * Write activities to the outbox with one batch insert, to be moved to the activity log by
+   * {@link #drainOutbox(int)}. The change date is set here, as in {@link #writeActivities(List)}.
+   */
+  @WithSpan
+  @WriteTransaction
+  public void stageActivities(List<DbWorkspaceActivity> activities) {
+    batchInsert("workspace_activity_log_outbox", activities);
+  }
+
+  /**
+   * Move the oldest entries of the outbox to the activity log in one statement. Entries another
+   * pod is moving are skipped.
+   *
+   * @param limit the most entries to move
+   * @return the number of entries moved
+   */
+  @WithSpan
+  @WriteTransaction
+  public int drainOutbox(int limit) {
     final String sql =
         """
+            WITH moved AS (
+              DELETE FROM workspace_activity_log_outbox
+              WHERE outbox_id IN (
+                SELECT outbox_id FROM workspace_activity_log_outbox
+                ORDER BY outbox_id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+              RETURNING workspace_id, change_date, change_type, actor_email, actor_subject_id,
+                change_subject_id, change_subject_type)
             INSERT INTO workspace_activity_log (
               workspace_id, change_date, change_type, actor_email, actor_subject_id,
               change_subject_id, change_subject_type)
-            VALUES (:workspace_id, :change_date, :change_type, :actor_email, :actor_subject_id,
-              :change_subject_id, :change_subject_type)
+            SELECT workspace_id, change_date, change_type, actor_email, actor_subject_id,
+              change_subject_id, change_subject_type
+            FROM moved
         """;
-    final var params =
-        new MapSqlParameterSource()
-            .addValue("workspace_id", workspaceId.toString())
-            .addValue("change_date", Instant.now().atOffset(ZoneOffset.UTC))
-            .addValue("change_type", dbWorkspaceActivityLog.operationType().name())
-            .addValue("actor_email", dbWorkspaceActivityLog.actorEmail())
-            .addValue("actor_subject_id", dbWorkspaceActivityLog.actorSubjectId())
-            .addValue("change_subject_id", dbWorkspaceActivityLog.changeSubjectId())
-            .addValue(
-                "change_subject_type",
-                Optional.ofNullable(dbWorkspaceActivityLog.changeSubjectType())
-                    .map(ActivityLogChangedTarget::name)
-                    .orElse(null));
-    try {
-      jdbcTemplate.update(sql, params);
-    } catch (DataIntegrityViolationException e) {
-      throw new InternalServerErrorException(
-          "Invalid input: failed insert new row to WorkspaceActivityLog table", e);
-    }
+    return jdbcTemplate.update(sql, new MapSqlParameterSource().addValue("limit", limit));
+  }
+
+  /** The number of entries waiting in the outbox and the change date of the oldest. */
+  @WithSpan
+  @ReadTransaction
+  public OutboxBacklog getOutboxBacklog() {
+    final String sql =
+        "SELECT count(*) AS entries, min(change_date) AS oldest FROM workspace_activity_log_outbox";
+    return jdbcTemplate.queryForObject(
+        sql,
+        new MapSqlParameterSource(),
+        (rs, rowNum) ->
+            new OutboxBacklog(
+                rs.getLong("entries"),
+                Optional.ofNullable(rs.getTimestamp("oldest")).map(Timestamp::toInstant)));
   }
 
+  /** Get the last update details of a workspace, including entries still waiting in the outbox. */
   @WithSpan
   @ReadTransaction
   public Optional<ActivityLogChangeDetails> getLastUpdatedDetails(UUID workspaceId) {
     final String sql =
         """
             SELECT workspace_id, change_date, actor_email, actor_subject_id, change_subject_id, change_subject_type, change_type
-            FROM workspace_activity_log
-            WHERE workspace_id = :workspace_id AND change_type NOT IN (:change_type)
+            FROM %s A
             ORDER BY change_date DESC
             LIMIT 1
-        """;
+        """
+            .formatted(
+                LOG_AND_OUTBOX_FORMAT.formatted(
+                    "workspace_id = :workspace_id AND change_type NOT IN (:change_type)"));
 
     final var params =
         new MapSqlParameterSource()
@@ -135,7 +216,10 @@ public class WorkspaceActivityLogDao {
             jdbcTemplate.query(sql, params, ACTIVITY_LOG_CHANGE_DETAILS_ROW_MAPPER)));
   }
 
-  /** Get the last update details of a given change subject in a given workspace. */
+  /**
+   * Get the last update details of a given change subject in a given workspace, including entries
+   * still waiting in the outbox.
+   */
   @WithSpan
   @ReadTransaction
   public Optional<ActivityLogChangeDetails> getLastUpdatedDetails(
@@ -143,11 +227,13 @@ public class WorkspaceActivityLogDao {
     final String sql =
         """
             SELECT workspace_id, change_date, actor_email, actor_subject_id, change_subject_id, change_subject_type, change_type
-            FROM workspace_activity_log
-            WHERE workspace_id = :workspace_id AND change_subject_id = :change_subject_id
+            FROM %s A
             ORDER BY change_date DESC
             LIMIT 1
-        """;
+        """
+            .formatted(
+                LOG_AND_OUTBOX_FORMAT.formatted(
+                    "workspace_id = :workspace_id AND change_subject_id = :change_subject_id"));
 
     final var params =
         new MapSqlParameterSource()
@@ -159,7 +245,42 @@ public class WorkspaceActivityLogDao {
   }
 
   /**
-   * Given a list of workspace ids, return a list of last update activity log details
+   * Get the last update details of each of the given change subjects in a given workspace,
+   * including entries still waiting in the outbox.
+   *
+   * @return details keyed by change subject id; subjects never logged are left out
+   */
+  @WithSpan
+  @ReadTransaction
+  public Map<String, ActivityLogChangeDetails> getLastUpdatedDetails(
+      UUID workspaceId, Collection<String> changeSubjectIds) {
+    if (changeSubjectIds.isEmpty()) {
+      return Map.of();
+    }
+    final String sql =
+        """
+            SELECT DISTINCT ON (change_subject_id)
+              workspace_id, change_date, actor_email, actor_subject_id, change_subject_id,
+              change_subject_type, change_type
+            FROM %s A
+            ORDER BY change_subject_id, change_date DESC
+        """
+            .formatted(
+                LOG_AND_OUTBOX_FORMAT.formatted(
+                    "workspace_id = :workspace_id AND change_subject_id IN (:change_subject_ids)"));
+
+    final var params =
+        new MapSqlParameterSource()
+            .addValue("workspace_id", workspaceId.toString())
+            .addValue("change_subject_ids", changeSubjectIds);
+    return jdbcTemplate.query(sql, params, ACTIVITY_LOG_CHANGE_DETAILS_ROW_MAPPER).stream()
+        .collect(
+            Collectors.toMap(ActivityLogChangeDetails::changeSubjectId, Function.identity()));
+  }
+
+  /**
+   * Given a list of workspace ids, return a list of last update activity log details, including
+   * entries still waiting in the outbox
    *
    * @param workspaceIdList list of workspace ids
    * @return list of last update activity log details
@@ -171,29 +292,24 @@ public class WorkspaceActivityLogDao {
       return Collections.emptyList();
     }
 
-    // This is a query that uses group by/max to build a result table of
-    // (workspace_id, max(date)) that we self-join to the activity log table
-    // to do a bulk retrieval of last-updated information.
+    // Takes the latest entry of each workspace from the activity log and its outbox, to do a
+    // bulk retrieval of last-updated information.
     final String sql =
         """
-      SELECT
-        A.workspace_id,
-        A.change_date,
-        A.actor_email,
-        A.actor_subject_id,
-        A.change_subject_id,
-        A.change_subject_type,
-        A.change_type
-      FROM
-        (SELECT workspace_id, max(change_date) AS mxdate
-         FROM workspace_activity_log
-         WHERE workspace_id IN (:workspace_ids)
-           AND change_type NOT IN (:change_type)
-         GROUP BY workspace_id) X
-      JOIN
-        workspace_activity_log A
-      ON X.workspace_id = A.workspace_id AND X.mxdate = A.change_date
-      """;
+      SELECT DISTINCT ON (workspace_id)
+        workspace_id,
+        change_date,
+        actor_email,
+        actor_subject_id,
+        change_subject_id,
+        change_subject_type,
+        change_type
+      FROM %s A
+      ORDER BY workspace_id, change_date DESC
+      """
+            .formatted(
+                LOG_AND_OUTBOX_FORMAT.formatted(
+                    "workspace_id IN (:workspace_ids) AND change_type NOT IN (:change_type)"));
 
     List<String> textIdList = workspaceIdList.stream().map(UUID::toString).toList();
     final var params =
@@ -203,4 +319,55 @@ public class WorkspaceActivityLogDao {
 
     return jdbcTemplate.query(sql, params, ACTIVITY_LOG_CHANGE_DETAILS_ROW_MAPPER);
   }
+
+  private void batchInsert(String table, List<DbWorkspaceActivity> activities) {
+    if (activities.isEmpty()) {
+      return;
+    }
+    OffsetDateTime changeDate = Instant.now().atOffset(ZoneOffset.UTC);
+    var batch = new MapSqlParameterSource[activities.size()];
+    for (int i = 0; i < activities.size(); i++) {
+      DbWorkspaceActivity activity = activities.get(i);
+      checkOperationType(activity.workspaceId(), activity.activityLog());
+      batch[i] =
+          activityParams(
+              activity.workspaceId(),
+              activity.activityLog(),
+              changeDate.plus(i, ChronoUnit.MICROS));
+    }
+    logger.info("Writing {} activity log entries to {}", activities.size(), table);
+    try {
+      jdbcTemplate.batchUpdate(String.format(INSERT_SQL_FORMAT, table), batch);
+    } catch (DataIntegrityViolationException e) {
+      throw new InternalServerErrorException(
+          "Invalid input: failed insert new rows to WorkspaceActivityLog table", e);
+    }
+  }
+
+  private static void checkOperationType(
+      UUID workspaceId, DbWorkspaceActivityLog dbWorkspaceActivityLog) {
+    if (dbWorkspaceActivityLog.operationType() == OperationType.UNKNOWN) {
+      throw new UnknownFlightOperationTypeException(
+          String.format("Flight operation type is unknown in workspace %s", workspaceId));
+    }
+  }
+
+  private static MapSqlParameterSource activityParams(
+      UUID workspaceId, DbWorkspaceActivityLog dbWorkspaceActivityLog, OffsetDateTime changeDate) {
+    return new MapSqlParameterSource()
+        .addValue("workspace_id", workspaceId.toString())
+        .addValue("change_date", changeDate)
+        .addValue("change_type", dbWorkspaceActivityLog.operationType().name())
+        .addValue("actor_email", dbWorkspaceActivityLog.actorEmail())
+        .addValue("actor_subject_id", dbWorkspaceActivityLog.actorSubjectId())
+        .addValue("change_subject_id", dbWorkspaceActivityLog.changeSubjectId())
+        .addValue(
+            "change_subject_type",
+            Optional.ofNullable(dbWorkspaceActivityLog.changeSubjectType())
+                .map(ActivityLogChangedTarget::name)
+                .orElse(null));
+  }
+
+  /** Entries waiting in the outbox, and the change date of the oldest if there are any. */
+  public record OutboxBacklog(long entries, Optional<Instant> oldestChangeDate) {}
 }
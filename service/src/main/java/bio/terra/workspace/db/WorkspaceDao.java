@@ -20,8 +20,11 @@ import bio.terra.workspace.service.spendprofile.model.SpendProfileId;
 import bio.terra.workspace.service.workspace.exceptions.DuplicateCloudContextException;
 import bio.terra.workspace.service.workspace.exceptions.DuplicateUserFacingIdException;
 import bio.terra.workspace.service.workspace.exceptions.DuplicateWorkspaceException;
+import bio.terra.workspace.service.workspace.model.AwsCloudContext;
+import bio.terra.workspace.service.workspace.model.AzureCloudContext;
 import bio.terra.workspace.service.workspace.model.CloudContext;
 import bio.terra.workspace.service.workspace.model.CloudPlatform;
+import bio.terra.workspace.service.workspace.model.GcpCloudContext;
 import bio.terra.workspace.service.workspace.model.Workspace;
 import bio.terra.workspace.service.workspace.model.WorkspaceStage;
 import com.google.common.annotations.VisibleForTesting;
@@ -104,6 +107,23 @@ public class WorkspaceDao {
       BASE_CLOUD_CONTEXT_SELECT_SQL
           + " WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform";
 
+  /**
+   * SQL query for reading the row version of a cloud context. xmin is the id of the transaction
+   * that wrote the current version of the row, so it changes on every update of the row.
+   */
+  private static final String CLOUD_CONTEXT_ROW_VERSION_SQL =
+      "SELECT xmin::text AS row_version FROM cloud_context"
+          + " WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform";
+
+  /** SQL query for reading a cloud context along with its row version */
+  private static final String CLOUD_CONTEXT_WITH_ROW_VERSION_SELECT_SQL =
+      """
+      SELECT workspace_id, cloud_platform, spend_profile, context, state, flight_id, error,
+        xmin::text AS row_version
+      FROM cloud_context
+      WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform
+      """;
+
   private static final RowMapper<DbCloudContext> CLOUD_CONTEXT_ROW_MAPPER =
       (rs, rowNum) ->
           new DbCloudContext()
@@ -212,6 +232,7 @@ public class WorkspaceDao {
   private final NamedParameterJdbcTemplate jdbcTemplate;
   private final StateDao stateDao;
   private final WorkspaceActivityLogDao workspaceActivityLogDao;
+  private final CloudContextCache cloudContextCache = new CloudContextCache();
 
   @Autowired
   public WorkspaceDao(
@@ -425,6 +446,7 @@ public class WorkspaceDao {
         new MapSqlParameterSource().addValue("id", workspaceUuid.toString());
     int rowsAffected = jdbcTemplate.update(sql, params);
     boolean deleted = rowsAffected > 0;
+    cloudContextCache.invalidateWorkspace(workspaceUuid);
 
     if (deleted) {
       logger.info("Deleted record for workspace {}", workspaceUuid);
@@ -785,6 +807,7 @@ public class WorkspaceDao {
             .addValue("flight_id", flightId);
     try {
       jdbcTemplate.update(sql, params);
+      cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
       logger.info("Inserted record for {} cloud context for workspace {}", platform, workspaceUuid);
     } catch (DuplicateKeyException e) {
       throw new DuplicateCloudContextException(
@@ -814,6 +837,7 @@ public class WorkspaceDao {
         /* targetFlightId= */ null,
         WsmResourceState.READY,
         /* exception= */ null);
+    cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
 
     // We do an additional update to store the context if it is provided.
     if (context != null) {
@@ -860,6 +884,7 @@ public class WorkspaceDao {
       @Nullable Exception exception,
       WsmResourceStateRule resourceStateRule) {
     DbCloudContext cloudContext = getDbCloudContext(workspaceUuid, cloudPlatform);
+    cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
     try {
       switch (resourceStateRule) {
         case DELETE_ON_FAILURE -> {
@@ -932,6 +957,7 @@ public class WorkspaceDao {
       sql = sql + " AND flight_id = :flight_id";
       params.addValue("flight_id", flightId);
     }
+    cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
     return jdbcTemplate.update(sql, params);
   }
 
@@ -958,6 +984,7 @@ public class WorkspaceDao {
         flightId,
         WsmResourceState.DELETING,
         /* exception= */ null);
+    cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
   }
 
   /**
@@ -996,6 +1023,7 @@ public class WorkspaceDao {
     DbCloudContext cloudContext = getDbCloudContext(workspaceUuid, cloudPlatform);
     stateDao.updateState(
         cloudContext, flightId, /* targetFlightId= */ null, WsmResourceState.READY, null);
+    cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
   }
 
   /**
@@ -1026,6 +1054,7 @@ public class WorkspaceDao {
 
     int rowsAffected = jdbcTemplate.update(sql, params);
     boolean deleted = rowsAffected > 0;
+    cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
 
     if (deleted) {
       logger.info("Deleted {} cloud context for workspace {}", platform, workspaceUuid);
@@ -1047,6 +1076,58 @@ public class WorkspaceDao {
     return Optional.ofNullable(getDbCloudContext(workspaceUuid, cloudPlatform));
   }
 
+  /**
+   * Retrieve the parsed form of the cloud context. Parsed contexts are cached on this node. Each
+   * read still checks the row version in the database, so a context updated or deleted by any WSM
+   * instance is re-read or reported as missing; the cache only saves re-reading and re-parsing the
+   * context JSON.
+   *
+   * @param workspaceUuid workspace of the context
+   * @param cloudPlatform platform context to retrieve
+   * @return empty or the parsed CloudContext
+   */
+  @ReadTransaction
+  public Optional<CloudContext> getParsedCloudContext(
+      UUID workspaceUuid, CloudPlatform cloudPlatform) {
+    var params =
+        new MapSqlParameterSource()
+            .addValue("workspace_id", workspaceUuid.toString())
+            .addValue("cloud_platform", cloudPlatform.toSql());
+    List<String> rowVersions =
+        jdbcTemplate.queryForList(CLOUD_CONTEXT_ROW_VERSION_SQL, params, String.class);
+    if (rowVersions.isEmpty()) {
+      cloudContextCache.invalidate(workspaceUuid, cloudPlatform);
+      return Optional.empty();
+    }
+    CloudContext cached = cloudContextCache.get(workspaceUuid, cloudPlatform, rowVersions.get(0));
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    List<CloudContext> cloudContexts =
+        jdbcTemplate.query(
+            CLOUD_CONTEXT_WITH_ROW_VERSION_SELECT_SQL,
+            params,
+            (rs, rowNum) -> {
+              DbCloudContext dbCloudContext = CLOUD_CONTEXT_ROW_MAPPER.mapRow(rs, rowNum);
+              CloudContext cloudContext = deserializeCloudContext(dbCloudContext);
+              cloudContextCache.put(
+                  workspaceUuid, cloudPlatform, rs.getString("row_version"), cloudContext);
+              return cloudContext;
+            });
+    return cloudContexts.stream().findFirst();
+  }
+
+  private static CloudContext deserializeCloudContext(DbCloudContext dbCloudContext) {
+    return switch (dbCloudContext.getCloudPlatform()) {
+      case AWS -> AwsCloudContext.deserialize(dbCloudContext);
+      case AZURE -> AzureCloudContext.deserialize(dbCloudContext);
+      case GCP -> GcpCloudContext.deserialize(dbCloudContext);
+      default -> throw new InternalLogicException(
+          "Invalid cloud platform " + dbCloudContext.getCloudPlatform());
+    };
+  }
+
   /**
    * Retrieve all non-BROKEN, non-DELETING, non-CREATING GCP cloud contexts. This is only used for
    * back-filling custom roles on GCP projects of existing workspaces. See AdminService.
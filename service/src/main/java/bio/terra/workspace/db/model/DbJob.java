@@ -0,0 +1,63 @@
+package bio.terra.workspace.db.model;
+
+import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
+import bio.terra.workspace.service.workspace.model.OperationType;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import javax.annotation.Nullable;
+
+/**
+ * A row of the job table: the summary of a flight that job enumeration reads. The resource
+ * attributes are the JSON of the resource's ApiResourceAttributesUnion.
+ */
+public record DbJob(
+    String jobId,
+    UUID workspaceId,
+    String flightClass,
+    @Nullable String description,
+    @Nullable OperationType operationType,
+    @Nullable UUID resourceId,
+    @Nullable WsmResourceType resourceType,
+    @Nullable String resourceName,
+    @Nullable StewardshipType stewardshipType,
+    @Nullable String resourceAttributes,
+    @Nullable UUID destinationResourceId,
+    @Nullable String resultPath,
+    FlightStatus status,
+    Instant submitted,
+    @Nullable Instant completed,
+    @Nullable Integer statusCode,
+    @Nullable String errorMessage,
+    @Nullable List<String> errorCauses) {
+
+  /** This job, completed with the given status and result. */
+  public DbJob completed(
+      FlightStatus status,
+      Instant completed,
+      int statusCode,
+      @Nullable String errorMessage,
+      @Nullable List<String> errorCauses) {
+    return new DbJob(
+        jobId,
+        workspaceId,
+        flightClass,
+        description,
+        operationType,
+        resourceId,
+        resourceType,
+        resourceName,
+        stewardshipType,
+        resourceAttributes,
+        destinationResourceId,
+        resultPath,
+        status,
+        submitted,
+        completed,
+        statusCode,
+        errorMessage,
+        errorCauses);
+  }
+}
@@ -0,0 +1,6 @@
+package bio.terra.workspace.db.model;
+
+import java.util.UUID;
+
+/** An activity log entry together with the workspace it is logged to. */
+public record DbWorkspaceActivity(UUID workspaceId, DbWorkspaceActivityLog activityLog) {}
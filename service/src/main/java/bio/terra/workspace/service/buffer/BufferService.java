@@ -10,6 +10,7 @@ import bio.terra.common.exception.InternalServerErrorException;
 import bio.terra.common.logging.RequestIdFilter;
 import bio.terra.common.tracing.JakartaTracingFilter;
 import bio.terra.workspace.app.configuration.external.BufferServiceConfiguration;
+import bio.terra.workspace.common.logging.DependencyMetricsFilter;
 import bio.terra.workspace.service.buffer.exception.BufferServiceAPIException;
 import bio.terra.workspace.service.buffer.exception.BufferServiceAuthorizationException;
 import io.opentelemetry.api.OpenTelemetry;
@@ -34,7 +35,10 @@ public class BufferService {
       BufferServiceConfiguration bufferServiceConfiguration, OpenTelemetry openTelemetry) {
     this.bufferServiceConfiguration = bufferServiceConfiguration;
     this.commonHttpClient =
-        new ApiClient().getHttpClient().register(new JakartaTracingFilter(openTelemetry));
+        new ApiClient()
+            .getHttpClient()
+            .register(new JakartaTracingFilter(openTelemetry))
+            .register(new DependencyMetricsFilter("buffer"));
   }
 
   /**
@@ -46,6 +50,11 @@ public class BufferService {
     this.bufferServiceConfiguration.getAccessToken();
   }
 
+  /** Whether projects from the pool may come with the WSM custom roles already created. */
+  public boolean isPrebakedProjectsEnabled() {
+    return bufferServiceConfiguration.isPrebakedProjectsEnabled();
+  }
+
   /**
    * Check the status of the Buffer Service.
    *
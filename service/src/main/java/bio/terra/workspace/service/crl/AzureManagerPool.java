@@ -0,0 +1,85 @@
+package bio.terra.workspace.service.crl;
+
+import com.azure.core.credential.TokenCredential;
+import com.azure.core.http.HttpClient;
+import com.azure.identity.ClientSecretCredentialBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.commons.collections4.map.LRUMap;
+
+/**
+ * Bounded pool of authenticated Azure resource managers, keyed by tenant, subscription and manager
+ * type. Building a manager creates an HTTP pipeline and, before this pool, a new credential that
+ * had to acquire a token; a single VM or batch pool flight built several of them. Managers are
+ * thread safe and hold no per-request state, so we keep the least recently used ones around.
+ *
+ * <p>All managers share one {@link HttpClient}, so they share its connection pool, and one {@link
+ * RefreshingTokenCredential} per managed app identity. Pool hits and misses are counted per manager
+ * type in {@link #POOL_METRIC}, and the client's requests are timed by {@link
+ * MeteredAzureHttpClient}.
+ */
+class AzureManagerPool {
+  static final String POOL_METRIC = "wsm.azure.manager.pool";
+  private static final Duration TOKEN_REFRESH_OFFSET = Duration.ofMinutes(5);
+
+  private final Map<Key, Object> managers;
+  private final Map<String, TokenCredential> credentials = new ConcurrentHashMap<>();
+  private final MeterRegistry registry;
+  private final HttpClient httpClient;
+
+  AzureManagerPool(int maxSize, MeterRegistry registry) {
+    this(maxSize, registry, new MeteredAzureHttpClient(HttpClient.createDefault()));
+  }
+
+  AzureManagerPool(int maxSize, MeterRegistry registry, HttpClient httpClient) {
+    this.managers = Collections.synchronizedMap(new LRUMap<>(maxSize));
+    this.registry = registry;
+    this.httpClient = httpClient;
+  }
+
+  HttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  /** Get the shared credential for a managed app identity. */
+  TokenCredential getCredential(String clientId, String clientSecret, String tenantId) {
+    // Building the credential makes no remote calls, so it is fine to do under the map's lock
+    return credentials.computeIfAbsent(
+        clientId + "/" + tenantId,
+        k ->
+            new RefreshingTokenCredential(
+                new ClientSecretCredentialBuilder()
+                    .clientId(clientId)
+                    .clientSecret(clientSecret)
+                    .tenantId(tenantId)
+                    .httpClient(httpClient)
+                    .build(),
+                TOKEN_REFRESH_OFFSET,
+                registry));
+  }
+
+  /**
+   * Get a pooled manager, building it on a miss. As with CacheUtils.getOrLoad, the build runs
+   * outside the pool's lock, so concurrent misses may each build a manager; the last one is kept.
+   */
+  <T> T get(String tenantId, String subscriptionId, Class<T> managerType, Supplier<T> factory) {
+    Key key = new Key(tenantId, subscriptionId, managerType);
+    Object manager = managers.get(key);
+    boolean hit = manager != null;
+    registry
+        .counter(
+            POOL_METRIC, "type", managerType.getSimpleName(), "result", hit ? "hit" : "miss")
+        .increment();
+    if (!hit) {
+      manager = factory.get();
+      managers.put(key, manager);
+    }
+    return managerType.cast(manager);
+  }
+
+  private record Key(String tenantId, String subscriptionId, Class<?> managerType) {}
+}
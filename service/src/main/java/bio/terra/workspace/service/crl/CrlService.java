@@ -28,7 +28,6 @@ import com.azure.core.credential.TokenCredential;
 import com.azure.core.http.policy.UserAgentPolicy;
 import com.azure.core.management.AzureEnvironment;
 import com.azure.core.management.profile.AzureProfile;
-import com.azure.identity.ClientSecretCredentialBuilder;
 import com.azure.resourcemanager.batch.BatchManager;
 import com.azure.resourcemanager.compute.ComputeManager;
 import com.azure.resourcemanager.containerservice.ContainerServiceManager;
@@ -54,11 +53,13 @@ import com.google.cloud.storage.StorageException;
 import com.google.cloud.storage.StorageOptions;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
@@ -86,12 +87,14 @@ public class CrlService {
   private final CloudComputeCow crlComputeCow;
   private final IamCow crlIamCow;
   private final ServiceUsageCow crlServiceUsageCow;
+  private final AzureManagerPool azureManagerPool;
 
   @Autowired
   public CrlService(
       CrlConfiguration crlConfig,
       AzureConfiguration azureConfiguration,
-      FeatureConfiguration featureConfiguration) {
+      FeatureConfiguration featureConfiguration,
+      MeterRegistry meterRegistry) {
     this.crlConfig = crlConfig;
     clientConfig = buildClientConfig();
 
@@ -121,6 +124,8 @@ public class CrlService {
     }
     this.azureConfiguration = azureConfiguration;
     this.features = featureConfiguration;
+    this.azureManagerPool =
+        new AzureManagerPool(azureConfiguration.getManagerPoolSize(), meterRegistry);
   }
 
   /**
@@ -188,111 +193,134 @@ public class CrlService {
   public ComputeManager getComputeManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-
     // We must use FQDN because there are two `Defaults` symbols imported otherwise.
-    return configureAzureResourceManager(
-            bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
-                clientConfig, ComputeManager.configure()))
-        .authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        ComputeManager.class,
+        () ->
+            configureAzureResourceManager(
+                    bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
+                        clientConfig, ComputeManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   /** Returns an Azure {@link ComputeManager} configured for use with CRL. */
   public RelayManager getRelayManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-    RelayManager.Configurable relayManagerConfigurable =
-        configureRelayManager(
-            bio.terra.cloudres.azure.resourcemanager.relay.Defaults.crlConfigure(
-                clientConfig, RelayManager.configure()));
-    return relayManagerConfigurable.authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        RelayManager.class,
+        () ->
+            configureRelayManager(
+                    bio.terra.cloudres.azure.resourcemanager.relay.Defaults.crlConfigure(
+                        clientConfig, RelayManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   /** Returns an Azure {@link StorageManager} configured for use with CRL. */
   public StorageManager getStorageManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-    return configureAzureResourceManager(
-            bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
-                clientConfig, StorageManager.configure()))
-        .authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        StorageManager.class,
+        () ->
+            configureAzureResourceManager(
+                    bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
+                        clientConfig, StorageManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   public BatchManager getBatchManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-
-    BatchManager.Configurable batchManagerConfigurable =
-        configureBatchManager(
-            bio.terra.cloudres.azure.resourcemanager.batch.Defaults.crlConfigure(
-                clientConfig, BatchManager.configure()));
-    return batchManagerConfigurable.authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        BatchManager.class,
+        () ->
+            configureBatchManager(
+                    bio.terra.cloudres.azure.resourcemanager.batch.Defaults.crlConfigure(
+                        clientConfig, BatchManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   /** Returns an Azure {@link ResourceManager} configured for use with CRL. */
   public ResourceManager getResourceManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-    return configureAzureResourceManager(
-            bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
-                clientConfig, ResourceManager.configure()))
-        .authenticate(azureCreds, azureProfile)
-        .withSubscription(azureCloudContext.getAzureSubscriptionId());
+    return getPooledManager(
+        azureCloudContext,
+        ResourceManager.class,
+        () ->
+            configureAzureResourceManager(
+                    bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
+                        clientConfig, ResourceManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext))
+                .withSubscription(azureCloudContext.getAzureSubscriptionId()));
   }
 
   /** Returns an Azure {@link MsiManager} configured for use with CRL. */
   public MsiManager getMsiManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-    return configureAzureResourceManager(
-            bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
-                clientConfig, MsiManager.configure()))
-        .authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        MsiManager.class,
+        () ->
+            configureAzureResourceManager(
+                    bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
+                        clientConfig, MsiManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   /** Returns an Azure {@link MonitorManager} configured for use with CRL. */
   public MonitorManager getMonitorManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-    return configureAzureResourceManager(
-            bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
-                clientConfig, MonitorManager.configure()))
-        .authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        MonitorManager.class,
+        () ->
+            configureAzureResourceManager(
+                    bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
+                        clientConfig, MonitorManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   public ContainerServiceManager getContainerServiceManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-    return configureAzureResourceManager(
-            bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
-                clientConfig, ContainerServiceManager.configure()))
-        .authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        ContainerServiceManager.class,
+        () ->
+            configureAzureResourceManager(
+                    bio.terra.cloudres.azure.resourcemanager.common.Defaults.crlConfigure(
+                        clientConfig, ContainerServiceManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   public PostgreSqlManager getPostgreSqlManager(
       AzureCloudContext azureCloudContext, AzureConfiguration azureConfig) {
     assertCrlInUse();
-    final var azureCreds = getManagedAppCredentials(azureConfig);
-    final var azureProfile = getAzureProfile(azureCloudContext);
-    return configurePostgreSqlManager(
-            bio.terra.cloudres.azure.resourcemanager.postgresflex.Defaults.crlConfigure(
-                clientConfig, PostgreSqlManager.configure()))
-        .authenticate(azureCreds, azureProfile);
+    return getPooledManager(
+        azureCloudContext,
+        PostgreSqlManager.class,
+        () ->
+            configurePostgreSqlManager(
+                    bio.terra.cloudres.azure.resourcemanager.postgresflex.Defaults.crlConfigure(
+                        clientConfig, PostgreSqlManager.configure()))
+                .authenticate(
+                    getManagedAppCredentials(azureConfig), getAzureProfile(azureCloudContext)));
   }
 
   /**
@@ -479,8 +507,24 @@ public class CrlService {
     return createStorageCowWorker(projectId, userRequest);
   }
 
+  /**
+   * Return a google-cloud-storage client with WSM's credentials, configured as the {@link
+   * StorageCow}s are, for operations that CRL does not wrap and that create no cloud resource,
+   * such as signing URLs.
+   *
+   * @param projectId optional GCP project
+   */
+  public com.google.cloud.storage.Storage createWsmSaStorageClient(@Nullable String projectId) {
+    return createStorageOptions(projectId, null).getService();
+  }
+
   private StorageCow createStorageCowWorker(
       @Nullable String projectId, @Nullable AuthenticatedUserRequest userRequest) {
+    return new StorageCow(clientConfig, createStorageOptions(projectId, userRequest));
+  }
+
+  private StorageOptions createStorageOptions(
+      @Nullable String projectId, @Nullable AuthenticatedUserRequest userRequest) {
     assertCrlInUse();
 
     StorageOptions.Builder optionsBuilder = StorageOptions.newBuilder();
@@ -490,7 +534,7 @@ public class CrlService {
     if (!StringUtils.isEmpty(projectId)) {
       optionsBuilder.setProjectId(projectId);
     }
-    return new StorageCow(clientConfig, optionsBuilder.build());
+    return optionsBuilder.build();
   }
 
   /**
@@ -572,11 +616,19 @@ public class CrlService {
   //  Azure Support
 
   private TokenCredential getManagedAppCredentials(AzureConfiguration azureConfig) {
-    return new ClientSecretCredentialBuilder()
-        .clientId(azureConfig.getManagedAppClientId())
-        .clientSecret(azureConfig.getManagedAppClientSecret())
-        .tenantId(azureConfig.getManagedAppTenantId())
-        .build();
+    return azureManagerPool.getCredential(
+        azureConfig.getManagedAppClientId(),
+        azureConfig.getManagedAppClientSecret(),
+        azureConfig.getManagedAppTenantId());
+  }
+
+  private <T> T getPooledManager(
+      AzureCloudContext azureCloudContext, Class<T> managerType, Supplier<T> factory) {
+    return azureManagerPool.get(
+        azureCloudContext.getAzureTenantId(),
+        azureCloudContext.getAzureSubscriptionId(),
+        managerType,
+        factory);
   }
 
   private AzureProfile getAzureProfile(AzureCloudContext azureCloudContext) {
@@ -624,6 +676,7 @@ public class CrlService {
   }
 
   private <T extends AzureConfigurable<T>> T configureAzureResourceManager(T configurable) {
+    configurable.withHttpClient(azureManagerPool.getHttpClient());
     if (StringUtils.isNotEmpty(azureCustomerUsageAttribute)) {
       configurable.withPolicy(new UserAgentPolicy(azureCustomerUsageAttribute));
     }
@@ -631,6 +684,7 @@ public class CrlService {
   }
 
   private RelayManager.Configurable configureRelayManager(RelayManager.Configurable configurable) {
+    configurable.withHttpClient(azureManagerPool.getHttpClient());
     if (StringUtils.isNotEmpty(azureCustomerUsageAttribute)) {
       configurable.withPolicy(new UserAgentPolicy(azureCustomerUsageAttribute));
     }
@@ -638,6 +692,7 @@ public class CrlService {
   }
 
   private BatchManager.Configurable configureBatchManager(BatchManager.Configurable configurable) {
+    configurable.withHttpClient(azureManagerPool.getHttpClient());
     if (StringUtils.isNotEmpty(azureCustomerUsageAttribute)) {
       configurable.withPolicy(new UserAgentPolicy(azureCustomerUsageAttribute));
     }
@@ -646,6 +701,7 @@ public class CrlService {
 
   private PostgreSqlManager.Configurable configurePostgreSqlManager(
       PostgreSqlManager.Configurable configurable) {
+    configurable.withHttpClient(azureManagerPool.getHttpClient());
     if (StringUtils.isNotEmpty(azureCustomerUsageAttribute)) {
       configurable.withPolicy(new UserAgentPolicy(azureCustomerUsageAttribute));
     }
@@ -0,0 +1,81 @@
+package bio.terra.workspace.service.crl;
+
+import bio.terra.workspace.common.logging.DependencyMetrics;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.util.Context;
+import java.time.Duration;
+import reactor.core.publisher.Mono;
+
+/**
+ * The HTTP client of the Azure resource managers and credentials, recording each request it sends
+ * in {@link DependencyMetrics} as a call to azure.
+ */
+class MeteredAzureHttpClient implements HttpClient {
+  static final String DEPENDENCY = "azure";
+  // Added by the Azure SDK's RestProxy: the service interface method, annotated with the route
+  // template, that made the request
+  static final String CALLER_METHOD_KEY = "caller-method";
+
+  private final HttpClient delegate;
+
+  MeteredAzureHttpClient(HttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Mono<HttpResponse> send(HttpRequest request) {
+    return send(request, Context.NONE);
+  }
+
+  @Override
+  public Mono<HttpResponse> send(HttpRequest request, Context context) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return delegate
+              .send(request, context)
+              .doOnSuccess(
+                  response -> {
+                    if (response != null) {
+                      record(
+                          request,
+                          context,
+                          DependencyMetrics.outcome(response.getStatusCode()),
+                          start);
+                    }
+                  })
+              .doOnError(e -> record(request, context, DependencyMetrics.outcome(e), start));
+        });
+  }
+
+  @Override
+  public HttpResponse sendSync(HttpRequest request, Context context) {
+    long start = System.nanoTime();
+    try {
+      HttpResponse response = delegate.sendSync(request, context);
+      record(request, context, DependencyMetrics.outcome(response.getStatusCode()), start);
+      return response;
+    } catch (RuntimeException e) {
+      record(request, context, DependencyMetrics.outcome(e), start);
+      throw e;
+    }
+  }
+
+  private static void record(HttpRequest request, Context context, String outcome, long start) {
+    DependencyMetrics.recordCall(
+        DEPENDENCY,
+        operation(request, context),
+        outcome,
+        Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  /** The SDK method that made the request, or the HTTP method for requests made without one. */
+  static String operation(HttpRequest request, Context context) {
+    return context
+        .getData(CALLER_METHOD_KEY)
+        .map(caller -> DependencyMetrics.operation(caller.toString()))
+        .orElse(request.getHttpMethod().name());
+  }
+}
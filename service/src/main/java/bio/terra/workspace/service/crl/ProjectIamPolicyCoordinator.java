@@ -0,0 +1,237 @@
+package bio.terra.workspace.service.crl;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.cloudresourcemanager.v3.model.GetIamPolicyRequest;
+import com.google.api.services.cloudresourcemanager.v3.model.Policy;
+import com.google.api.services.cloudresourcemanager.v3.model.SetIamPolicyRequest;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coordinates changes to GCP project IAM policies. Cloud context creation, temporary grant
+ * revocation and other flights each did their own read-modify-write of the project policy, and
+ * concurrent writers on a project collided on the policy etag and failed their step.
+ *
+ * <p>Changes to a project that arrive within a short window are applied together: one caller reads
+ * the policy, applies every queued change and writes it once. An etag conflict with a writer
+ * outside WSM re-reads the policy and applies the changes again, so changes must be computed from
+ * the policy they are given. Every caller waits until the write with its change has succeeded or
+ * failed.
+ *
+ * <p>{@link #POLICY_METRIC} counts policy writes, changes coalesced into another caller's write,
+ * and etag conflicts.
+ */
+@Component
+public class ProjectIamPolicyCoordinator {
+  static final String POLICY_METRIC = "wsm.gcp.project.iam.policy";
+  private static final Logger logger = LoggerFactory.getLogger(ProjectIamPolicyCoordinator.class);
+  private static final Duration COALESCE_WINDOW = Duration.ofMillis(50);
+  private static final int MAX_CONFLICT_ATTEMPTS = 5;
+
+  private final PolicyStore store;
+  private final MeterRegistry registry;
+  private final Duration window;
+  private final Map<String, List<Update>> pending = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ProjectIamPolicyCoordinator(CrlService crlService, MeterRegistry registry) {
+    this(new CrlPolicyStore(crlService), registry, COALESCE_WINDOW);
+  }
+
+  @VisibleForTesting
+  ProjectIamPolicyCoordinator(PolicyStore store, MeterRegistry registry, Duration window) {
+    this.store = store;
+    this.registry = registry;
+    this.window = window;
+  }
+
+  /**
+   * Apply a change to the IAM policy of a project and wait for it to be written.
+   *
+   * @param projectId project whose policy to change
+   * @param mutation changes the policy in place; it may be applied more than once, each time to a
+   *     freshly read policy whose bindings are never null
+   * @throws IOException if the policy could not be read or written
+   * @throws InterruptedException if the wait is interrupted
+   */
+  public void update(String projectId, PolicyMutation mutation)
+      throws IOException, InterruptedException {
+    Update update = new Update(mutation);
+    boolean[] leader = new boolean[1];
+    List<Update> batch =
+        pending.compute(
+            projectId,
+            (key, updates) -> {
+              if (updates == null) {
+                leader[0] = true;
+                updates = new ArrayList<>();
+              }
+              updates.add(update);
+              return updates;
+            });
+
+    if (leader[0]) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(window.toMillis());
+      } catch (InterruptedException e) {
+        // Later callers are waiting on this batch; let them retry rather than hang
+        pending.remove(projectId, batch);
+        batch.forEach(u -> u.done().completeExceptionally(e));
+        throw e;
+      }
+      // Once removed, no more updates join this batch; later ones start the next
+      pending.remove(projectId, batch);
+      write(projectId, batch);
+    }
+    await(update);
+  }
+
+  private void write(String projectId, List<Update> batch) {
+    if (batch.size() > 1) {
+      registry.counter(POLICY_METRIC, "event", "coalesced").increment(batch.size() - 1);
+    }
+    List<Update> updates = batch;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        Policy policy = store.get(projectId);
+        if (policy.getBindings() == null) {
+          policy.setBindings(new ArrayList<>());
+        }
+        boolean changed = false;
+        List<Update> applied = new ArrayList<>();
+        for (Update update : updates) {
+          try {
+            changed |= update.mutation().apply(policy);
+            applied.add(update);
+          } catch (RuntimeException e) {
+            update.done().completeExceptionally(e);
+          }
+        }
+        updates = applied;
+        if (changed) {
+          store.set(projectId, policy);
+          registry.counter(POLICY_METRIC, "event", "write").increment();
+          logger.info("Wrote IAM policy of project {} with {} changes", projectId, updates.size());
+        }
+        updates.forEach(u -> u.done().complete(null));
+        return;
+      } catch (GoogleJsonResponseException e) {
+        if (e.getStatusCode() == HttpStatus.CONFLICT.value() && attempt < MAX_CONFLICT_ATTEMPTS) {
+          registry.counter(POLICY_METRIC, "event", "conflict").increment();
+          logger.info("IAM policy of project {} changed while we wrote it; retrying", projectId);
+          if (!sleepBeforeRetry(attempt, updates)) {
+            return;
+          }
+        } else {
+          fail(updates, e);
+          return;
+        }
+      } catch (IOException e) {
+        fail(updates, e);
+        return;
+      }
+    }
+  }
+
+  private boolean sleepBeforeRetry(int attempt, List<Update> updates) {
+    long maxMillis = window.toMillis() * 2 * attempt;
+    long sleepMillis = ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1);
+    try {
+      TimeUnit.MILLISECONDS.sleep(sleepMillis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      fail(updates, e);
+      return false;
+    }
+  }
+
+  private static void fail(List<Update> updates, Exception e) {
+    updates.forEach(u -> u.done().completeExceptionally(e));
+  }
+
+  private static void await(Update update) throws IOException, InterruptedException {
+    try {
+      update.done().get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof InterruptedException) {
+        throw new IOException("IAM policy update was interrupted by another caller", cause);
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IOException("IAM policy update failed", cause);
+    }
+  }
+
+  /** A change to a project IAM policy. */
+  @FunctionalInterface
+  public interface PolicyMutation {
+    /**
+     * Change the policy in place.
+     *
+     * @return whether the policy was changed; if no change in a batch changes it, it is not written
+     */
+    boolean apply(Policy policy);
+  }
+
+  /** Reads and writes project IAM policies; separate so the coordination can be tested. */
+  @VisibleForTesting
+  interface PolicyStore {
+    Policy get(String projectId) throws IOException;
+
+    void set(String projectId, Policy policy) throws IOException;
+  }
+
+  private record Update(PolicyMutation mutation, CompletableFuture<Void> done) {
+    Update(PolicyMutation mutation) {
+      this(mutation, new CompletableFuture<>());
+    }
+  }
+
+  private static class CrlPolicyStore implements PolicyStore {
+    private final CrlService crlService;
+
+    CrlPolicyStore(CrlService crlService) {
+      this.crlService = crlService;
+    }
+
+    @Override
+    public Policy get(String projectId) throws IOException {
+      return crlService
+          .getCloudResourceManagerCow()
+          .projects()
+          .getIamPolicy(projectId, new GetIamPolicyRequest())
+          .execute();
+    }
+
+    @Override
+    public void set(String projectId, Policy policy) throws IOException {
+      // The policy carries the etag it was read with, so a concurrent change fails with CONFLICT
+      crlService
+          .getCloudResourceManagerCow()
+          .projects()
+          .setIamPolicy(projectId, new SetIamPolicyRequest().setPolicy(policy))
+          .execute();
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package bio.terra.workspace.service.crl;
+
+import com.azure.core.credential.AccessToken;
+import com.azure.core.credential.TokenCredential;
+import com.azure.core.credential.TokenRequestContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token credential shared by all of the Azure resource managers that CrlService hands out. Each
+ * manager's HTTP pipeline keeps its own token cache, so without this every new manager went back
+ * to Entra ID for a token. Tokens are cached here per scope and replaced a few minutes before they
+ * expire, so callers never see a token acquisition on the request path once one is cached.
+ */
+class RefreshingTokenCredential implements TokenCredential {
+  static final String TOKEN_ACQUISITION_METRIC = "wsm.azure.token.acquisition";
+
+  private final TokenCredential delegate;
+  private final Duration refreshOffset;
+  private final Timer acquisitionTimer;
+  private final Map<String, AccessToken> tokens = new ConcurrentHashMap<>();
+
+  RefreshingTokenCredential(
+      TokenCredential delegate, Duration refreshOffset, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.refreshOffset = refreshOffset;
+    this.acquisitionTimer = registry.timer(TOKEN_ACQUISITION_METRIC);
+  }
+
+  @Override
+  public Mono<AccessToken> getToken(TokenRequestContext request) {
+    // Claims come from a challenge and need a fresh token
+    if (request.getClaims() != null) {
+      return acquire(request, null);
+    }
+    String key = String.join(" ", request.getScopes());
+    AccessToken cached = tokens.get(key);
+    if (cached != null
+        && cached.getExpiresAt().minus(refreshOffset).isAfter(OffsetDateTime.now())) {
+      return Mono.just(cached);
+    }
+    return acquire(request, key);
+  }
+
+  private Mono<AccessToken> acquire(TokenRequestContext request, String key) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return delegate
+              .getToken(request)
+              .doOnNext(
+                  token -> {
+                    acquisitionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (key != null) {
+                      tokens.put(key, token);
+                    }
+                  });
+        });
+  }
+}
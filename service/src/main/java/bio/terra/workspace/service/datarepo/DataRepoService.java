@@ -7,6 +7,7 @@ import bio.terra.datarepo.client.ApiClient;
 import bio.terra.datarepo.client.ApiException;
 import bio.terra.datarepo.model.SnapshotRetrieveIncludeModel;
 import bio.terra.workspace.app.configuration.external.DataRepoConfiguration;
+import bio.terra.workspace.common.logging.DependencyMetricsFilter;
 import bio.terra.workspace.service.datarepo.exception.DataRepoInternalServerErrorException;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import io.opentelemetry.api.OpenTelemetry;
@@ -31,7 +32,10 @@ public class DataRepoService {
   public DataRepoService(DataRepoConfiguration dataRepoConfiguration, OpenTelemetry openTelemetry) {
     this.dataRepoConfiguration = dataRepoConfiguration;
     commonHttpClient =
-        new ApiClient().getHttpClient().register(new JakartaTracingFilter(openTelemetry));
+        new ApiClient()
+            .getHttpClient()
+            .register(new JakartaTracingFilter(openTelemetry))
+            .register(new DependencyMetricsFilter("datarepo"));
   }
 
   private final Logger logger = LoggerFactory.getLogger(DataRepoService.class);
@@ -4,7 +4,6 @@ import static bio.terra.workspace.service.grant.flight.RevokeTemporaryGrantFligh
 import static java.lang.Boolean.TRUE;
 
 import bio.terra.cloudres.google.bigquery.BigQueryCow;
-import bio.terra.cloudres.google.cloudresourcemanager.CloudResourceManagerCow;
 import bio.terra.cloudres.google.compute.CloudComputeCow;
 import bio.terra.cloudres.google.dataproc.DataprocCow;
 import bio.terra.cloudres.google.iam.ServiceAccountName;
@@ -21,6 +20,7 @@ import bio.terra.workspace.common.exception.InternalLogicException;
 import bio.terra.workspace.common.utils.GcpUtils;
 import bio.terra.workspace.db.GrantDao;
 import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.crl.ProjectIamPolicyCoordinator;
 import bio.terra.workspace.service.grant.GrantData;
 import bio.terra.workspace.service.petserviceaccount.PetSaUtils;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceService;
@@ -36,9 +36,6 @@ import bio.terra.workspace.service.workspace.GcpCloudContextService;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.services.bigquery.model.Dataset;
 import com.google.api.services.cloudresourcemanager.v3.model.Binding;
-import com.google.api.services.cloudresourcemanager.v3.model.GetIamPolicyRequest;
-import com.google.api.services.cloudresourcemanager.v3.model.Policy;
-import com.google.api.services.cloudresourcemanager.v3.model.SetIamPolicyRequest;
 import com.google.api.services.compute.model.ZoneSetPolicyRequest;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -59,6 +56,7 @@ public class RevokeStep implements Step {
   public static final Logger logger = LoggerFactory.getLogger(RevokeStep.class);
   private final GcpCloudContextService gcpCloudContextService;
   private final CrlService crlService;
+  private final ProjectIamPolicyCoordinator projectIamPolicyCoordinator;
   private final GrantDao grantDao;
   private final ControlledResourceService controlledResourceService;
   private final UUID grantId;
@@ -66,11 +64,13 @@ public class RevokeStep implements Step {
   public RevokeStep(
       GcpCloudContextService gcpCloudContextService,
       CrlService crlService,
+      ProjectIamPolicyCoordinator projectIamPolicyCoordinator,
       GrantDao grantDao,
       ControlledResourceService controlledResourceService,
       UUID grantId) {
     this.gcpCloudContextService = gcpCloudContextService;
     this.crlService = crlService;
+    this.projectIamPolicyCoordinator = projectIamPolicyCoordinator;
     this.grantDao = grantDao;
     this.controlledResourceService = controlledResourceService;
     this.grantId = grantId;
@@ -107,8 +107,7 @@ public class RevokeStep implements Step {
     return StepResult.getStepResultSuccess();
   }
 
-  private void revokeProject(GrantData grantData) throws IOException {
-    CloudResourceManagerCow resourceManagerCow = crlService.getCloudResourceManagerCow();
+  private void revokeProject(GrantData grantData) throws IOException, InterruptedException {
     Optional<String> gcpProjectId = gcpCloudContextService.getGcpProject(grantData.workspaceId());
     logger.info(
         "Revoking grant {} type {} workspace {} project {}",
@@ -119,24 +118,20 @@ public class RevokeStep implements Step {
 
     // Tolerate the workspace or cloud context being gone
     if (gcpProjectId.isPresent()) {
-      Policy policy =
-          resourceManagerCow
-              .projects()
-              .getIamPolicy(gcpProjectId.get(), new GetIamPolicyRequest())
-              .execute();
-      // Tolerate no bindings
-      if (policy.getBindings() != null) {
-        for (Binding binding : policy.getBindings()) {
-          if (binding.getRole().equals(grantData.role())) {
-            if (grantData.userMember() != null) {
-              binding.getMembers().remove(grantData.userMember());
+      projectIamPolicyCoordinator.update(
+          gcpProjectId.get(),
+          policy -> {
+            boolean changed = false;
+            for (Binding binding : policy.getBindings()) {
+              if (binding.getRole().equals(grantData.role())) {
+                if (grantData.userMember() != null) {
+                  changed |= binding.getMembers().remove(grantData.userMember());
+                }
+                changed |= binding.getMembers().remove(grantData.petSaMember());
+              }
             }
-            binding.getMembers().remove(grantData.petSaMember());
-          }
-        }
-        SetIamPolicyRequest request = new SetIamPolicyRequest().setPolicy(policy);
-        resourceManagerCow.projects().setIamPolicy(gcpProjectId.get(), request).execute();
-      }
+            return changed;
+          });
     }
   }
 
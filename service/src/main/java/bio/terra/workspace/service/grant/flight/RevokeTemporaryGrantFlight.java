@@ -35,6 +35,7 @@ public class RevokeTemporaryGrantFlight extends Flight {
         new RevokeStep(
             flightBeanBag.getGcpCloudContextService(),
             flightBeanBag.getCrlService(),
+            flightBeanBag.getProjectIamPolicyCoordinator(),
             flightBeanBag.getGrantDao(),
             flightBeanBag.getControlledResourceService(),
             grantId));
@@ -14,8 +14,10 @@ import bio.terra.workspace.app.configuration.external.AzureConfiguration;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.app.configuration.external.SamConfiguration;
 import bio.terra.workspace.common.exception.InternalLogicException;
+import bio.terra.workspace.common.logging.DependencyMetricsInterceptor;
 import bio.terra.workspace.common.utils.AuthUtils;
 import bio.terra.workspace.common.utils.GcpUtils;
+import bio.terra.workspace.common.utils.RequestFanoutExecutor;
 import bio.terra.workspace.common.utils.Rethrow;
 import bio.terra.workspace.service.iam.model.AccessibleWorkspace;
 import bio.terra.workspace.service.iam.model.ControlledResourceIamRole;
@@ -36,12 +38,15 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import okhttp3.OkHttpClient;
@@ -83,6 +88,7 @@ public class SamService {
   private final FeatureConfiguration features;
   private final AzureConfiguration azureConfiguration;
   private final WsmApplicationService applicationService;
+  private final RequestFanoutExecutor requestFanoutExecutor;
   private boolean wsmServiceAccountInitialized;
 
   @Autowired
@@ -92,18 +98,21 @@ public class SamService {
       AzureConfiguration azureConfiguration,
       SamUserFactory samUserFactory,
       OpenTelemetry openTelemetry,
-      WsmApplicationService applicationService) {
+      WsmApplicationService applicationService,
+      RequestFanoutExecutor requestFanoutExecutor) {
     this.samConfig = samConfig;
     this.samUserFactory = samUserFactory;
     this.features = features;
     this.azureConfiguration = azureConfiguration;
     this.applicationService = applicationService;
+    this.requestFanoutExecutor = requestFanoutExecutor;
     this.wsmServiceAccountInitialized = false;
     this.commonHttpClient =
         new ApiClient()
             .getHttpClient()
             .newBuilder()
             .addInterceptor(new OkHttpClientTracingInterceptor(openTelemetry))
+            .addInterceptor(new DependencyMetricsInterceptor("sam"))
             .build();
   }
 
@@ -1005,7 +1014,114 @@ public class SamService {
       @Nullable String assignedUserEmail,
       AuthenticatedUserRequest userRequest)
       throws InterruptedException {
+    String wsmSa = getControlledResourceOwner();
+    CreateResourceRequestV2 resourceRequest =
+        controlledResourceRequest(
+            resource,
+            privateIamRole,
+            assignedUserEmail,
+            getStewardingApplication(resource).orElse(null),
+            wsmSa);
+
+    // We use the user request for the create, but could equally well use the WSM SA.
+    // The creating token has no effect on the resource policies.
+    ResourcesApi resourceApi = samResourcesApi(userRequest.getRequiredToken());
+    if (createControlledResource(resourceApi, resource, resourceRequest)) {
+      dumpRoleBindings(
+          resource.getCategory().getSamResourceName(),
+          resource.getResourceId().toString(),
+          getWsmServiceAccountToken());
+    }
+  }
+
+  /**
+   * Create the Sam resources of many controlled resources, as {@link
+   * #createControlledResource(ControlledResource, ControlledResourceIamRole, String,
+   * AuthenticatedUserRequest)} does for one. The WSM SA and the stewarding applications are looked
+   * up once for all of them, and the creates are made concurrently, at most maxConcurrentCalls at a
+   * time. Role bindings are not dumped.
+   *
+   * @param resources the WSM representations of the resources to create
+   * @param privateIamRoles the IAM role to grant on each private resource, by resource id
+   * @param userRequest credentials to use for talking to Sam
+   * @param maxConcurrentCalls most creates to have outstanding at a time
+   * @return the exception of each resource whose create failed, by resource id
+   * @throws InterruptedException on thread interrupt, once the creates already started are done
+   */
+  @WithSpan
+  public Map<UUID, RuntimeException> createControlledResources(
+      List<ControlledResource> resources,
+      Map<UUID, ControlledResourceIamRole> privateIamRoles,
+      AuthenticatedUserRequest userRequest,
+      int maxConcurrentCalls)
+      throws InterruptedException {
+    String wsmSa = getControlledResourceOwner();
+    ResourcesApi resourceApi = samResourcesApi(userRequest.getRequiredToken());
+    Map<String, Optional<WsmWorkspaceApplication>> applications = new HashMap<>();
+    Map<UUID, RuntimeException> failures = new HashMap<>();
+    Map<UUID, CompletableFuture<Boolean>> creates = new LinkedHashMap<>();
+    Semaphore permits = new Semaphore(maxConcurrentCalls);
+    try {
+      for (ControlledResource resource : resources) {
+        CreateResourceRequestV2 resourceRequest;
+        try {
+          Optional<WsmWorkspaceApplication> application =
+              resource.getApplicationId() == null
+                  ? Optional.empty()
+                  : applications.computeIfAbsent(
+                      resource.getApplicationId(), id -> getStewardingApplication(resource));
+          resourceRequest =
+              controlledResourceRequest(
+                  resource,
+                  privateIamRoles.get(resource.getResourceId()),
+                  resource.getAssignedUser().orElse(null),
+                  application.orElse(null),
+                  wsmSa);
+        } catch (RuntimeException e) {
+          failures.put(resource.getResourceId(), e);
+          continue;
+        }
+        permits.acquire();
+        creates.put(
+            resource.getResourceId(),
+            requestFanoutExecutor.supplyAsync(
+                () -> {
+                  try {
+                    return Rethrow.onInterrupted(
+                        () -> createControlledResource(resourceApi, resource, resourceRequest),
+                        "Create controlled resource in Sam");
+                  } finally {
+                    permits.release();
+                  }
+                }));
+      }
+    } catch (InterruptedException | RuntimeException e) {
+      // The caller deletes the Sam resources when this throws, so no create may still be running
+      creates.values().forEach(SamService::awaitQuietly);
+      throw e;
+    }
+    creates.forEach(
+        (resourceId, create) -> {
+          try {
+            RequestFanoutExecutor.join(create);
+          } catch (RuntimeException e) {
+            failures.put(resourceId, e);
+          }
+        });
+    return failures;
+  }
+
+  /** Wait for a call to finish, however it ends, without being interrupted. */
+  private static void awaitQuietly(CompletableFuture<?> future) {
+    try {
+      future.join();
+    } catch (RuntimeException e) {
+      // The caller only needs the call to be over; the outcome no longer matters
+    }
+  }
 
+  /** The WSM SA, which owns every controlled resource, registered in Sam if it was not yet. */
+  private String getControlledResourceOwner() throws InterruptedException {
     String wsmSa;
     if (features.isAzureControlPlaneEnabled()) {
       wsmSa = azureConfiguration.getWsmServiceManagedIdentity();
@@ -1015,6 +1131,29 @@ public class SamService {
 
     // We need the WSM SA for setting controlled resource policies
     initializeWsmServiceAccount();
+    return wsmSa;
+  }
+
+  // include the stewarding application when building our policy
+  // so it always gets the appropriate permissions (the user request is not always
+  // from the application, i.e., when a resource is cloned)
+  private Optional<WsmWorkspaceApplication> getStewardingApplication(ControlledResource resource) {
+    if (resource.getApplicationId() != null
+        && (resource.getCategory().equals(ControlledResourceCategory.APPLICATION_PRIVATE)
+            || resource.getCategory().equals(ControlledResourceCategory.APPLICATION_SHARED))) {
+      return Optional.of(
+          applicationService.getWorkspaceApplication(
+              resource.getWorkspaceId(), resource.getApplicationId()));
+    }
+    return Optional.empty();
+  }
+
+  private static CreateResourceRequestV2 controlledResourceRequest(
+      ControlledResource resource,
+      @Nullable ControlledResourceIamRole privateIamRole,
+      @Nullable String assignedUserEmail,
+      @Nullable WsmWorkspaceApplication app,
+      String wsmSa) {
     FullyQualifiedResourceId workspaceParentFqId =
         new FullyQualifiedResourceId()
             .resourceId(resource.getWorkspaceId().toString())
@@ -1026,18 +1165,6 @@ public class SamService {
             .parent(workspaceParentFqId)
             .authDomain(List.of());
 
-    // include the stewarding application when building our policy
-    // so it always gets the appropriate permissions (the user request is not always
-    // from the application, i.e., when a resource is cloned)
-    WsmWorkspaceApplication app = null;
-    if (resource.getApplicationId() != null
-        && (resource.getCategory().equals(ControlledResourceCategory.APPLICATION_PRIVATE)
-            || resource.getCategory().equals(ControlledResourceCategory.APPLICATION_SHARED))) {
-      app =
-          applicationService.getWorkspaceApplication(
-              resource.getWorkspaceId(), resource.getApplicationId());
-    }
-
     var builder =
         new ControlledResourceSamPolicyBuilder(
             privateIamRole,
@@ -1046,22 +1173,22 @@ public class SamService {
             app,
             wsmSa);
     builder.addPolicies(resourceRequest);
+    return resourceRequest;
+  }
 
+  /**
+   * Create the Sam resource of a controlled resource.
+   *
+   * @return true if the resource was created, false if it already existed
+   */
+  private boolean createControlledResource(
+      ResourcesApi resourceApi, ControlledResource resource, CreateResourceRequestV2 request)
+      throws InterruptedException {
     try {
-      // We use the user request for the create, but could equally well use the WSM SA.
-      // The creating token has no effect on the resource policies.
-      ResourcesApi resourceApi = samResourcesApi(userRequest.getRequiredToken());
       SamRetry.retry(
-          () ->
-              resourceApi.createResourceV2(
-                  resource.getCategory().getSamResourceName(), resourceRequest));
+          () -> resourceApi.createResourceV2(resource.getCategory().getSamResourceName(), request));
       logger.info("Created Sam controlled resource {}", resource.getResourceId());
-
-      dumpRoleBindings(
-          resource.getCategory().getSamResourceName(),
-          resource.getResourceId().toString(),
-          getWsmServiceAccountToken());
-
+      return true;
     } catch (ApiException apiException) {
       // Do nothing if the resource to create already exists, this may not be the first time do is
       // called. Other exceptions still need to be surfaced.
@@ -1073,7 +1200,7 @@ public class SamService {
         logger.info(
             "Sam error was CONFLICT on creation request. This means the resource already "
                 + "exists but is not an error so no exception thrown.");
-        return;
+        return false;
       }
       throw SamExceptionFactory.create("Error creating controlled resource in Sam", apiException);
     }
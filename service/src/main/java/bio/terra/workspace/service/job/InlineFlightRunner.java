@@ -0,0 +1,360 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.common.stairway.StairwayComponent;
+import bio.terra.stairway.Direction;
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.HookAction;
+import bio.terra.stairway.ProgressMeter;
+import bio.terra.stairway.Stairway;
+import bio.terra.stairway.StairwayHook;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.logging.WorkspaceActivityLogHook;
+import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.service.job.exception.InvalidResultStateException;
+import bio.terra.workspace.service.job.exception.JobResponseException;
+import bio.terra.workspace.service.resource.model.WsmResourceStateRule;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Optional;
+import org.apache.commons.lang3.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a short flight on the calling thread instead of in Stairway. It is meant for flights that
+ * only write WSM metadata and make a Sam call or two, where persisting every step and polling for
+ * completion take longer than the work itself.
+ *
+ * <p>Steps run in order without retries. If one fails, the steps done so far are undone, last
+ * first, as Stairway would. A step that failed with a retryable error or asked to be rerun needs
+ * Stairway's retry handling, so the caller then submits the flight to Stairway with the same job
+ * id. A fatal failure would fail the same way there, so the job ends here with the step's
+ * exception, as the Stairway flight would. If the undo fails, the inline run ends as a dismal
+ * failure.
+ *
+ * <p>The activity log and job index hooks see the inline run as they would a Stairway flight. A run
+ * that falls back only ends in Stairway, so they are not told it ended here.
+ */
+@Component
+public class InlineFlightRunner {
+  private static final Logger logger = LoggerFactory.getLogger(InlineFlightRunner.class);
+  static final String INLINE_METRIC = "wsm.job.inline";
+
+  private final FlightBeanBag flightBeanBag;
+  private final StairwayComponent stairwayComponent;
+  private final List<StairwayHook> hooks;
+  private final MeterRegistry registry;
+
+  public InlineFlightRunner(
+      FlightBeanBag flightBeanBag,
+      StairwayComponent stairwayComponent,
+      WorkspaceActivityLogHook workspaceActivityLogHook,
+      JobIndexHook jobIndexHook,
+      MeterRegistry registry) {
+    this.flightBeanBag = flightBeanBag;
+    this.stairwayComponent = stairwayComponent;
+    this.hooks = List.of(workspaceActivityLogHook, jobIndexHook);
+    this.registry = registry;
+  }
+
+  /**
+   * Run the flight's steps on this thread.
+   *
+   * @param jobId id of the job; also the flight id if it falls back to Stairway
+   * @param flightClass class of the flight to run
+   * @param inputParameters the flight's input parameters
+   * @return the working map of the completed flight, or empty if a step failed with a retryable
+   *     error and the flight was undone, so it should be submitted to Stairway
+   * @throws RuntimeException the exception of a step that failed fatally, once the flight is undone
+   * @throws InvalidResultStateException if a step failed and could not be undone
+   */
+  public Optional<FlightMap> run(
+      String jobId, Class<? extends Flight> flightClass, FlightMap inputParameters) {
+    Timer.Sample sample = Timer.start(registry);
+    String outcome = "fatal";
+    try {
+      InlineFlightContext context =
+          new InlineFlightContext(jobId, flightClass, inlineParameters(inputParameters));
+      List<Step> steps = newFlight(flightClass, context.getInputParameters()).getSteps();
+      context.stepClassNames = steps.stream().map(s -> s.getClass().getName()).toList();
+
+      context.flightStatus = FlightStatus.RUNNING;
+      callHooks(context, StairwayHook::startFlight);
+      StepResult failure = doSteps(context, steps);
+      if (failure == null) {
+        context.flightStatus = FlightStatus.SUCCESS;
+        callHooks(context, StairwayHook::endFlight);
+        outcome = "success";
+        return Optional.of(context.getWorkingMap());
+      }
+
+      String failedStep = context.getStepClassName();
+      StepResult undoFailure = undoSteps(context, steps);
+      if (undoFailure == null && failure.getStepStatus() == StepStatus.STEP_RESULT_FAILURE_RETRY) {
+        logger.info(
+            "Inline run of job {} failed at {}; submitting it to Stairway",
+            jobId,
+            failedStep,
+            failure.getException().orElse(null));
+        outcome = "fallback";
+        return Optional.empty();
+      }
+      if (undoFailure == null) {
+        context.flightStatus = FlightStatus.ERROR;
+        callHooks(context, StairwayHook::endFlight);
+        outcome = "error";
+        throw toJobException(jobId, failure);
+      }
+      context.flightStatus = FlightStatus.FATAL;
+      callHooks(context, StairwayHook::endFlight);
+      logger.error(
+          "Inline run of job {} failed and could not be undone at {}",
+          jobId,
+          context.getStepClassName(),
+          undoFailure.getException().orElse(null));
+      throw new InvalidResultStateException(
+          "Job %s failed and could not be undone".formatted(jobId));
+    } finally {
+      sample.stop(
+          registry.timer(
+              INLINE_METRIC,
+              "flight_class",
+              ClassUtils.getShortClassName(flightClass),
+              "outcome",
+              outcome));
+    }
+  }
+
+  /** The exception a failed job ends with, as JobService reports a failed Stairway flight. */
+  private static RuntimeException toJobException(String jobId, StepResult failure) {
+    Exception exception =
+        failure
+            .getException()
+            .orElseThrow(
+                () ->
+                    new InvalidResultStateException(
+                        "Job %s failed with no exception reported".formatted(jobId)));
+    if (exception instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    return new JobResponseException("wrap non-runtime exception", exception);
+  }
+
+  /** Do each step in turn; returns the result of the step that failed, or null. */
+  private StepResult doSteps(InlineFlightContext context, List<Step> steps) {
+    context.direction = Direction.DO;
+    for (int i = 0; i < steps.size(); i++) {
+      context.stepIndex = i;
+      Step step = steps.get(i);
+      StepResult result = runStep(() -> step.doStep(context));
+      context.result = result;
+      if (!result.isSuccess()) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  /** Undo from the failed step back to the first; returns the result of a failed undo, or null. */
+  private StepResult undoSteps(InlineFlightContext context, List<Step> steps) {
+    StepResult doFailure = context.result;
+    context.direction = Direction.UNDO;
+    for (int i = context.stepIndex; i >= 0; i--) {
+      context.stepIndex = i;
+      // Steps read the failure from the context while they undo, as they do in Stairway
+      context.result = doFailure;
+      Step step = steps.get(i);
+      StepResult result = runStep(() -> step.undoStep(context));
+      if (!result.isSuccess()) {
+        context.result = result;
+        return result;
+      }
+    }
+    return null;
+  }
+
+  private static StepResult runStep(StepCall call) {
+    try {
+      StepResult result = call.run();
+      // A step asking to be rerun needs Stairway's retry handling, as does a retryable failure
+      return result.getStepStatus() == StepStatus.STEP_RESULT_RERUN
+          ? new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY)
+          : result;
+    } catch (RetryException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
+    } catch (RuntimeException e) {
+      // Stairway treats exceptions thrown from a step as fatal
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
+    }
+  }
+
+  private void callHooks(InlineFlightContext context, HookCall call) {
+    for (StairwayHook hook : hooks) {
+      try {
+        call.run(hook, context);
+      } catch (Exception e) {
+        // Stairway logs and ignores hook failures too
+        logger.warn(
+            "Hook {} failed for inline job {}",
+            hook.getClass().getSimpleName(),
+            context.getFlightId(),
+            e);
+      }
+    }
+  }
+
+  /**
+   * A failed inline run is undone and run again in Stairway, so its undo must leave nothing for the
+   * second run to trip over. The Stairway run applies the configured resource state rule.
+   */
+  private static FlightMap inlineParameters(FlightMap inputParameters) {
+    FlightMap parameters = new FlightMap();
+    inputParameters.getMap().forEach(parameters::putRaw);
+    if (parameters.containsKey(ResourceKeys.RESOURCE_STATE_RULE)) {
+      parameters.put(ResourceKeys.RESOURCE_STATE_RULE, WsmResourceStateRule.DELETE_ON_FAILURE);
+    }
+    return parameters;
+  }
+
+  private Flight newFlight(Class<? extends Flight> flightClass, FlightMap inputParameters) {
+    try {
+      return flightClass
+          .getConstructor(FlightMap.class, Object.class)
+          .newInstance(inputParameters, flightBeanBag);
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new InvalidResultStateException("Failed to construct flight " + flightClass.getName());
+    } catch (ReflectiveOperationException e) {
+      throw new InvalidResultStateException("Failed to construct flight " + flightClass.getName());
+    }
+  }
+
+  @FunctionalInterface
+  private interface StepCall {
+    StepResult run() throws InterruptedException, RetryException;
+  }
+
+  @FunctionalInterface
+  private interface HookCall {
+    HookAction run(StairwayHook hook, FlightContext context) throws InterruptedException;
+  }
+
+  /** The flight context of an inline run; it is only used on the thread running the flight. */
+  private class InlineFlightContext implements FlightContext {
+    private final String flightId;
+    private final String flightClassName;
+    private final FlightMap inputParameters;
+    private final FlightMap workingMap = new FlightMap();
+    private List<String> stepClassNames = List.of();
+    private int stepIndex;
+    private FlightStatus flightStatus = FlightStatus.READY;
+    private Direction direction = Direction.DO;
+    private StepResult result = StepResult.getStepResultSuccess();
+
+    InlineFlightContext(
+        String flightId, Class<? extends Flight> flightClass, FlightMap inputParameters) {
+      this.flightId = flightId;
+      this.flightClassName = flightClass.getName();
+      this.inputParameters = inputParameters;
+    }
+
+    @Override
+    public Object getApplicationContext() {
+      return flightBeanBag;
+    }
+
+    @Override
+    public String getFlightId() {
+      return flightId;
+    }
+
+    @Override
+    public String getFlightClassName() {
+      return flightClassName;
+    }
+
+    @Override
+    public FlightMap getInputParameters() {
+      return inputParameters;
+    }
+
+    @Override
+    public FlightMap getWorkingMap() {
+      return workingMap;
+    }
+
+    @Override
+    public int getStepIndex() {
+      return stepIndex;
+    }
+
+    @Override
+    public FlightStatus getFlightStatus() {
+      return flightStatus;
+    }
+
+    @Override
+    public boolean isRerun() {
+      return false;
+    }
+
+    @Override
+    public Direction getDirection() {
+      return direction;
+    }
+
+    @Override
+    public StepResult getResult() {
+      return result;
+    }
+
+    @Override
+    public Stairway getStairway() {
+      return stairwayComponent.get();
+    }
+
+    @Override
+    public List<String> getStepClassNames() {
+      return stepClassNames;
+    }
+
+    @Override
+    public String getStepClassName() {
+      return stepIndex < stepClassNames.size() ? stepClassNames.get(stepIndex) : null;
+    }
+
+    @Override
+    public String prettyStepState() {
+      return "inline step %d of %d (%s)"
+          .formatted(stepIndex, stepClassNames.size(), getStepClassName());
+    }
+
+    @Override
+    public String flightDesc() {
+      return "inline flight %s of %s".formatted(flightId, flightClassName);
+    }
+
+    @Override
+    public ProgressMeter getProgressMeter(String name) {
+      return null;
+    }
+
+    @Override
+    public void setProgressMeter(String name, long v1, long v2) {}
+  }
+}
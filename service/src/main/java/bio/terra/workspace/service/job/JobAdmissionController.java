@@ -0,0 +1,189 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.HookAction;
+import bio.terra.stairway.StairwayHook;
+import bio.terra.workspace.app.configuration.external.JobAdmissionConfiguration;
+import bio.terra.workspace.service.job.exception.JobAdmissionException;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang3.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the flights a pod takes on. Stairway starts every submitted flight on the submitting pod,
+ * so without a limit a burst of requests piles up in Stairway's thread pool while callers wait.
+ *
+ * <p>A flight is active from the time it is admitted until it ends on this pod: first queued,
+ * waiting for a Stairway thread, then running. Flights that this pod did not admit, such as
+ * subflights and recovered flights, count as running once they start here. When the pod or the
+ * flight's class is at its limit, a submission waits a short while for a flight to end and is then
+ * rejected with a Retry-After, which callers and the autoscaler can act on.
+ */
+@Component
+public class JobAdmissionController implements StairwayHook {
+  private static final Logger logger = LoggerFactory.getLogger(JobAdmissionController.class);
+  static final String ACTIVE_METRIC = "wsm.job.admission.active";
+  static final String SATURATION_METRIC = "wsm.job.admission.saturation";
+  static final String REJECTED_METRIC = "wsm.job.admission.rejected";
+  static final String WAIT_METRIC = "wsm.job.admission.wait";
+
+  private final JobAdmissionConfiguration configuration;
+  private final MeterRegistry registry;
+
+  // Flight id to flight class of the active flights; guarded by this
+  private final Map<String, String> queuedFlights = new HashMap<>();
+  private final Map<String, String> runningFlights = new HashMap<>();
+  private final Map<String, Integer> activeFlightsPerClass = new HashMap<>();
+
+  public JobAdmissionController(JobAdmissionConfiguration configuration, MeterRegistry registry) {
+    this.configuration = configuration;
+    this.registry = registry;
+    registry.gauge(
+        ACTIVE_METRIC, Tags.of("state", "queued"), this, JobAdmissionController::queuedCount);
+    registry.gauge(
+        ACTIVE_METRIC, Tags.of("state", "running"), this, JobAdmissionController::runningCount);
+    registry.gauge(
+        SATURATION_METRIC,
+        Tags.of("flight_class", "all"),
+        this,
+        c -> (double) c.activeCount() / configuration.getMaxActiveFlights());
+  }
+
+  /**
+   * Admit a flight about to be submitted to Stairway, waiting for capacity if the pod or the
+   * flight's class is at its limit.
+   *
+   * @throws JobAdmissionException if there is no capacity by the end of the wait
+   * @throws InterruptedException if interrupted while waiting; the flight is not admitted
+   */
+  public void admit(String jobId, Class<? extends Flight> flightClass)
+      throws InterruptedException {
+    if (!configuration.isEnabled()) {
+      return;
+    }
+    String classKey = ClassUtils.getShortClassName(flightClass);
+    Instant start = Instant.now();
+    Instant deadline = start.plus(configuration.getMaxAdmissionWait());
+    synchronized (this) {
+      registerClassGauge(classKey);
+      while (!hasCapacity(classKey)) {
+        long remainingMillis = Duration.between(Instant.now(), deadline).toMillis();
+        if (remainingMillis <= 0) {
+          registry.counter(REJECTED_METRIC, "flight_class", classKey).increment();
+          logger.warn(
+              "Rejecting job {} of {}: {} flights active on this pod, {} of this class",
+              jobId,
+              classKey,
+              activeCount(),
+              activeFlightsPerClass.getOrDefault(classKey, 0));
+          throw new JobAdmissionException(
+              "Workspace Manager is busy; retry the request later",
+              configuration.getRetryAfter());
+        }
+        wait(remainingMillis);
+      }
+      queuedFlights.put(jobId, classKey);
+      activeFlightsPerClass.merge(classKey, 1, Integer::sum);
+    }
+    registry
+        .timer(WAIT_METRIC, "flight_class", classKey)
+        .record(Duration.between(start, Instant.now()));
+  }
+
+  /** Give back the capacity of an admitted flight that was not submitted after all. */
+  public void release(String jobId) {
+    synchronized (this) {
+      String classKey = queuedFlights.remove(jobId);
+      if (classKey != null) {
+        decrement(classKey);
+      }
+    }
+  }
+
+  @Override
+  public HookAction startFlight(FlightContext context) {
+    String flightId = context.getFlightId();
+    synchronized (this) {
+      String classKey = queuedFlights.remove(flightId);
+      if (classKey != null) {
+        runningFlights.put(flightId, classKey);
+      } else if (!runningFlights.containsKey(flightId)) {
+        classKey = ClassUtils.getShortClassName(context.getFlightClassName());
+        registerClassGauge(classKey);
+        runningFlights.put(flightId, classKey);
+        activeFlightsPerClass.merge(classKey, 1, Integer::sum);
+      }
+    }
+    return HookAction.CONTINUE;
+  }
+
+  /** The flight is done on this pod, whether it completed or is waiting to resume elsewhere. */
+  @Override
+  public HookAction endFlight(FlightContext context) {
+    String flightId = context.getFlightId();
+    synchronized (this) {
+      String classKey = runningFlights.remove(flightId);
+      if (classKey == null) {
+        classKey = queuedFlights.remove(flightId);
+      }
+      if (classKey != null) {
+        decrement(classKey);
+      }
+    }
+    return HookAction.CONTINUE;
+  }
+
+  @VisibleForTesting
+  synchronized int queuedCount() {
+    return queuedFlights.size();
+  }
+
+  @VisibleForTesting
+  synchronized int runningCount() {
+    return runningFlights.size();
+  }
+
+  private synchronized int activeCount() {
+    return queuedFlights.size() + runningFlights.size();
+  }
+
+  private synchronized double classSaturation(String classKey) {
+    return (double) activeFlightsPerClass.getOrDefault(classKey, 0) / classLimit(classKey);
+  }
+
+  private boolean hasCapacity(String classKey) {
+    return activeCount() < configuration.getMaxActiveFlights()
+        && activeFlightsPerClass.getOrDefault(classKey, 0) < classLimit(classKey);
+  }
+
+  private int classLimit(String classKey) {
+    return configuration
+        .getMaxActiveFlightsPerClass()
+        .getOrDefault(classKey, configuration.getMaxActiveFlights());
+  }
+
+  private void decrement(String classKey) {
+    activeFlightsPerClass.computeIfPresent(classKey, (k, count) -> count > 1 ? count - 1 : null);
+    notifyAll();
+  }
+
+  private void registerClassGauge(String classKey) {
+    if (!activeFlightsPerClass.containsKey(classKey)) {
+      // Registering an existing gauge again returns it, so this is safe to repeat
+      registry.gauge(
+          SATURATION_METRIC,
+          Tags.of("flight_class", classKey),
+          this,
+          c -> c.classSaturation(classKey));
+    }
+  }
+}
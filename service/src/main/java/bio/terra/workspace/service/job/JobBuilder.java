@@ -5,6 +5,7 @@ import bio.terra.common.stairway.MonitoringHook;
 import bio.terra.common.stairway.StairwayComponent;
 import bio.terra.stairway.Flight;
 import bio.terra.stairway.FlightMap;
+import bio.terra.workspace.generated.model.ApiResourceAttributesUnion;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.job.exception.InvalidJobIdException;
 import bio.terra.workspace.service.job.exception.InvalidJobParameterException;
@@ -35,7 +36,9 @@ public class JobBuilder {
   @Nullable private WsmResourceType resourceType;
   @Nullable private String resourceName;
   @Nullable private StewardshipType stewardshipType;
+  @Nullable private ApiResourceAttributesUnion resourceAttributes;
   @Nullable private OperationType operationType;
+  private boolean inlineEligible;
 
   public JobBuilder(JobService jobService, StairwayComponent stairwayComponent) {
     this.jobService = jobService;
@@ -97,11 +100,30 @@ public class JobBuilder {
     return this;
   }
 
+  /**
+   * Attributes of the job's resource, which job listing reports if the resource is gone. They are
+   * taken from the resource when one is given.
+   */
+  public JobBuilder resourceAttributes(@Nullable ApiResourceAttributesUnion resourceAttributes) {
+    this.resourceAttributes = resourceAttributes;
+    return this;
+  }
+
   public JobBuilder operationType(@Nullable OperationType operationType) {
     this.operationType = operationType;
     return this;
   }
 
+  /**
+   * Allow submitAndWait to run the flight on the calling thread, without Stairway. Only use this
+   * for flights whose steps write WSM metadata and make at most a couple of Sam calls; see {@link
+   * InlineFlightRunner}.
+   */
+  public JobBuilder inlineEligible(boolean inlineEligible) {
+    this.inlineEligible = inlineEligible;
+    return this;
+  }
+
   public JobBuilder addParameter(String keyName, @Nullable Object val) {
     if (StringUtils.isBlank(keyName)) {
       throw new InvalidJobParameterException("Parameter name cannot be null or blanks.");
@@ -131,7 +153,12 @@ public class JobBuilder {
   public <T> T submitAndWait(Class<T> resultClass) {
     populateInputParams();
     return jobService.submitAndWait(
-        flightClass, jobParameterMap, resultClass, /* typeReference= */ null, jobId);
+        flightClass,
+        jobParameterMap,
+        resultClass,
+        /* typeReference= */ null,
+        jobId,
+        inlineEligible);
   }
 
   /**
@@ -144,7 +171,12 @@ public class JobBuilder {
   public <T> T submitAndWait(TypeReference<T> typeReference) {
     populateInputParams();
     return jobService.submitAndWait(
-        flightClass, jobParameterMap, /* resultClass= */ null, typeReference, jobId);
+        flightClass,
+        jobParameterMap,
+        /* resultClass= */ null,
+        typeReference,
+        jobId,
+        inlineEligible);
   }
 
   /**
@@ -156,7 +188,12 @@ public class JobBuilder {
   public <T> T submitAndWait() {
     populateInputParams();
     return jobService.submitAndWait(
-        flightClass, jobParameterMap, /* resultClass= */ null, /* typeReference= */ null, jobId);
+        flightClass,
+        jobParameterMap,
+        /* resultClass= */ null,
+        /* typeReference= */ null,
+        jobId,
+        inlineEligible);
   }
 
   // Check the inputs, supply defaults and finalize the input parameter map
@@ -197,6 +234,10 @@ public class JobBuilder {
     if (shouldInsert(ResourceKeys.RESOURCE, resource)) {
       addParameter(ResourceKeys.RESOURCE, resource);
     }
+    // Job listing and the job index read the id rather than deserializing the resource
+    if (resource != null && shouldInsert(ResourceKeys.RESOURCE_ID, resource.getResourceId())) {
+      addParameter(ResourceKeys.RESOURCE_ID, resource.getResourceId().toString());
+    }
     if (shouldInsert(ResourceKeys.RESOURCE_TYPE, resourceType)) {
       addParameter(ResourceKeys.RESOURCE_TYPE, resourceType);
     }
@@ -206,6 +247,12 @@ public class JobBuilder {
     if (shouldInsert(ResourceKeys.STEWARDSHIP_TYPE, stewardshipType)) {
       addParameter(ResourceKeys.STEWARDSHIP_TYPE, stewardshipType);
     }
+    if (resourceAttributes == null && resource != null) {
+      resourceAttributes = resource.toApiAttributesUnion();
+    }
+    if (shouldInsert(ResourceKeys.RESOURCE_ATTRIBUTES, resourceAttributes)) {
+      addParameter(ResourceKeys.RESOURCE_ATTRIBUTES, resourceAttributes);
+    }
     if (shouldInsert(WorkspaceFlightMapKeys.OPERATION_TYPE, operationType)) {
       addParameter(WorkspaceFlightMapKeys.OPERATION_TYPE, operationType);
     }
@@ -0,0 +1,74 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.common.logging.LoggingUtils;
+import bio.terra.workspace.app.configuration.external.JobConfiguration;
+import bio.terra.workspace.db.CronjobDao;
+import bio.terra.workspace.db.JobDao;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically deletes jobs that completed longer ago than the index retention from the job index.
+ * Only one pod runs each cleanup.
+ */
+@Component
+public class JobIndexCleanupService {
+  private static final Logger logger = LoggerFactory.getLogger(JobIndexCleanupService.class);
+  private static final String JOB_INDEX_CLEANUP_JOB_NAME = "job_index_cleanup_job";
+
+  private final JobConfiguration jobConfiguration;
+  private final JobDao jobDao;
+  private final CronjobDao cronjobDao;
+  private final ScheduledExecutorService scheduler;
+
+  @Autowired
+  public JobIndexCleanupService(
+      JobConfiguration jobConfiguration, JobDao jobDao, CronjobDao cronjobDao) {
+    this.jobConfiguration = jobConfiguration;
+    this.jobDao = jobDao;
+    this.cronjobDao = cronjobDao;
+    this.scheduler = Executors.newScheduledThreadPool(1);
+  }
+
+  @PostConstruct
+  public void startCleanup() {
+    long intervalSeconds = jobConfiguration.getIndexCleanupInterval().toSeconds();
+    scheduler.scheduleAtFixedRate(
+        this::cleanupJobsSuppressExceptions, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Run {@code cleanupJobs}, suppressing all thrown exceptions so that one failed run does not stop
+   * the scheduled cleanup.
+   */
+  public void cleanupJobsSuppressExceptions() {
+    try {
+      cleanupJobs();
+    } catch (Exception e) {
+      LoggingUtils.logAlert(
+          logger, "Unexpected error during jobIndexCleanup execution, see stacktrace below");
+      logger.error("jobIndexCleanup stacktrace: ", e);
+    }
+  }
+
+  private void cleanupJobs() {
+    // Use a one-second shorter duration here to ensure we don't skip a run by moving slightly too
+    // quickly.
+    Duration claimTime = jobConfiguration.getIndexCleanupInterval().minus(Duration.ofSeconds(1));
+    if (!cronjobDao.claimJob(JOB_INDEX_CLEANUP_JOB_NAME, claimTime)) {
+      logger.info("Another pod has executed this job more recently. Ending job index cleanup.");
+      return;
+    }
+    int deleted =
+        jobDao.deleteJobsCompletedBefore(Instant.now().minus(jobConfiguration.getIndexRetention()));
+    logger.info("Deleted {} jobs past retention from the job index", deleted);
+  }
+}
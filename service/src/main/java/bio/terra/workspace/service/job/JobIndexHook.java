@@ -0,0 +1,151 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.HookAction;
+import bio.terra.stairway.StairwayHook;
+import bio.terra.stairway.StepResult;
+import bio.terra.workspace.common.utils.ErrorReportUtils;
+import bio.terra.workspace.db.DbSerDes;
+import bio.terra.workspace.db.JobDao;
+import bio.terra.workspace.db.model.DbJob;
+import bio.terra.workspace.generated.model.ApiErrorReport;
+import bio.terra.workspace.generated.model.ApiResourceAttributesUnion;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
+import bio.terra.workspace.service.workspace.model.OperationType;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the job index up to date: adds a job when its flight is submitted or started, and records
+ * its result when the flight completes. Flights without a workspace are not indexed, as job
+ * enumeration is per workspace.
+ *
+ * <p>Indexing is best effort; a failure is logged and never fails the flight. The job summary is
+ * read from the summary input parameters that JobBuilder sets, never from the serialized resource.
+ * Jobs past retention are deleted by {@link JobIndexCleanupService}.
+ */
+@Component
+public class JobIndexHook implements StairwayHook {
+  private static final Logger logger = LoggerFactory.getLogger(JobIndexHook.class);
+  private static final Set<FlightStatus> COMPLETED_STATUSES =
+      Set.of(FlightStatus.SUCCESS, FlightStatus.ERROR, FlightStatus.FATAL);
+
+  private final JobDao jobDao;
+
+  public JobIndexHook(JobDao jobDao) {
+    this.jobDao = jobDao;
+  }
+
+  /** Index a job that has just been submitted, so it is listed before its flight starts. */
+  public void recordSubmitted(String jobId, String flightClassName, FlightMap inputParameters) {
+    try {
+      toDbJob(jobId, flightClassName, inputParameters).ifPresent(jobDao::createJobIfAbsent);
+    } catch (Exception e) {
+      logger.warn("Failed to index submitted job {}", jobId, e);
+    }
+  }
+
+  /** Subflights are submitted straight to Stairway, so they are indexed when they start. */
+  @Override
+  public HookAction startFlight(FlightContext context) {
+    recordSubmitted(
+        context.getFlightId(), context.getFlightClassName(), context.getInputParameters());
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endFlight(FlightContext context) {
+    FlightStatus status = context.getFlightStatus();
+    if (!COMPLETED_STATUSES.contains(status)) {
+      // The flight is waiting or was stopped for a restart
+      return HookAction.CONTINUE;
+    }
+    try {
+      Optional<DbJob> job =
+          toDbJob(
+              context.getFlightId(), context.getFlightClassName(), context.getInputParameters());
+      if (job.isEmpty()) {
+        return HookAction.CONTINUE;
+      }
+      Instant now = Instant.now();
+      if (status == FlightStatus.SUCCESS) {
+        HttpStatus statusCode =
+            context.getWorkingMap().get(JobMapKeys.STATUS_CODE.getKeyName(), HttpStatus.class);
+        jobDao.upsertCompletedJob(
+            job.get()
+                .completed(
+                    status,
+                    now,
+                    Optional.ofNullable(statusCode).orElse(HttpStatus.OK).value(),
+                    null,
+                    null));
+      } else {
+        Optional<ApiErrorReport> errorReport =
+            Optional.ofNullable(context.getResult())
+                .flatMap(StepResult::getException)
+                .map(ErrorReportUtils::buildApiErrorReport);
+        jobDao.upsertCompletedJob(
+            job.get()
+                .completed(
+                    status,
+                    now,
+                    errorReport
+                        .map(ApiErrorReport::getStatusCode)
+                        .orElse(HttpStatus.INTERNAL_SERVER_ERROR.value()),
+                    errorReport.map(ApiErrorReport::getMessage).orElse(null),
+                    errorReport.map(ApiErrorReport::getCauses).orElse(null)));
+      }
+    } catch (Exception e) {
+      logger.warn("Failed to index completion of job {}", context.getFlightId(), e);
+    }
+    return HookAction.CONTINUE;
+  }
+
+  private static Optional<DbJob> toDbJob(
+      String jobId, String flightClassName, FlightMap inputParameters) {
+    String workspaceId = inputParameters.get(WorkspaceFlightMapKeys.WORKSPACE_ID, String.class);
+    if (workspaceId == null) {
+      return Optional.empty();
+    }
+    UUID resourceId =
+        Optional.ofNullable(inputParameters.get(ResourceKeys.RESOURCE_ID, String.class))
+            .map(UUID::fromString)
+            .orElse(null);
+    return Optional.of(
+        new DbJob(
+            jobId,
+            UUID.fromString(workspaceId),
+            flightClassName,
+            inputParameters.get(JobMapKeys.DESCRIPTION.getKeyName(), String.class),
+            inputParameters.get(WorkspaceFlightMapKeys.OPERATION_TYPE, OperationType.class),
+            resourceId,
+            inputParameters.get(ResourceKeys.RESOURCE_TYPE, WsmResourceType.class),
+            inputParameters.get(ResourceKeys.RESOURCE_NAME, String.class),
+            inputParameters.get(ResourceKeys.STEWARDSHIP_TYPE, StewardshipType.class),
+            Optional.ofNullable(
+                    inputParameters.get(
+                        ResourceKeys.RESOURCE_ATTRIBUTES, ApiResourceAttributesUnion.class))
+                .map(DbSerDes::toJson)
+                .orElse(null),
+            inputParameters.get(ControlledResourceKeys.DESTINATION_RESOURCE_ID, UUID.class),
+            inputParameters.get(JobMapKeys.RESULT_PATH.getKeyName(), String.class),
+            FlightStatus.RUNNING,
+            Instant.now(),
+            null,
+            null,
+            null,
+            null));
+  }
+}
@@ -10,13 +10,21 @@ import bio.terra.stairway.FlightFilter;
 import bio.terra.stairway.FlightFilterOp;
 import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
 import bio.terra.stairway.Stairway;
 import bio.terra.stairway.exception.DatabaseOperationException;
 import bio.terra.stairway.exception.DuplicateFlightIdException;
 import bio.terra.stairway.exception.FlightNotFoundException;
 import bio.terra.stairway.exception.StairwayException;
+import bio.terra.workspace.app.configuration.external.JobConfiguration;
+import bio.terra.workspace.common.utils.ErrorReportUtils;
 import bio.terra.workspace.common.utils.FlightBeanBag;
 import bio.terra.workspace.common.utils.FlightUtils;
+import bio.terra.workspace.db.DbSerDes;
+import bio.terra.workspace.db.JobDao;
+import bio.terra.workspace.db.model.DbJob;
+import bio.terra.workspace.generated.model.ApiErrorReport;
+import bio.terra.workspace.generated.model.ApiResourceAttributesUnion;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.model.SamConstants.SamWorkspaceAction;
 import bio.terra.workspace.service.job.exception.DuplicateJobIdException;
@@ -27,9 +35,12 @@ import bio.terra.workspace.service.job.exception.JobNotFoundException;
 import bio.terra.workspace.service.job.exception.JobResponseException;
 import bio.terra.workspace.service.job.model.EnumeratedJob;
 import bio.terra.workspace.service.job.model.EnumeratedJobs;
+import bio.terra.workspace.service.job.model.JobIndexPageToken;
+import bio.terra.workspace.service.job.model.JobResourceSummary;
 import bio.terra.workspace.service.resource.model.StewardshipType;
 import bio.terra.workspace.service.resource.model.WsmResource;
 import bio.terra.workspace.service.resource.model.WsmResourceFamily;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import bio.terra.workspace.service.workspace.model.JobStateFilter;
 import bio.terra.workspace.service.workspace.model.OperationType;
@@ -39,17 +50,22 @@ import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -61,16 +77,31 @@ public class JobService {
   private final FlightBeanBag flightBeanBag;
   private final Logger logger = LoggerFactory.getLogger(JobService.class);
   private final OpenTelemetry openTelemetry;
+  private final JobConfiguration jobConfiguration;
+  private final JobDao jobDao;
+  private final JobIndexHook jobIndexHook;
+  private final JobAdmissionController jobAdmissionController;
+  private final InlineFlightRunner inlineFlightRunner;
   private FlightDebugInfo flightDebugInfo;
 
   @Autowired
   public JobService(
       StairwayComponent stairwayComponent,
       FlightBeanBag flightBeanBag,
-      OpenTelemetry openTelemetry) {
+      OpenTelemetry openTelemetry,
+      JobConfiguration jobConfiguration,
+      JobDao jobDao,
+      JobIndexHook jobIndexHook,
+      JobAdmissionController jobAdmissionController,
+      InlineFlightRunner inlineFlightRunner) {
     this.stairwayComponent = stairwayComponent;
     this.flightBeanBag = flightBeanBag;
     this.openTelemetry = openTelemetry;
+    this.jobConfiguration = jobConfiguration;
+    this.jobDao = jobDao;
+    this.jobIndexHook = jobIndexHook;
+    this.jobAdmissionController = jobAdmissionController;
+    this.inlineFlightRunner = inlineFlightRunner;
   }
 
   // Fully fluent style of JobBuilder
@@ -86,32 +117,59 @@ public class JobService {
   // protected method intended to be called only from JobBuilder
   protected String submit(
       Class<? extends Flight> flightClass, FlightMap parameterMap, String jobId) {
+    // Wait for this pod to have room for the flight, or reject it before it reaches Stairway
+    try {
+      jobAdmissionController.admit(jobId, flightClass);
+    } catch (InterruptedException e) {
+      // The request is being abandoned, not turned away for lack of capacity
+      Thread.currentThread().interrupt();
+      throw new InternalStairwayException(e);
+    }
+    // Until Stairway has the flight, nothing else will give back its capacity
+    boolean submitted = false;
     try {
       stairwayComponent
           .get()
           .submitWithDebugInfo(
               jobId, flightClass, parameterMap, /* shouldQueue= */ false, flightDebugInfo);
+      submitted = true;
     } catch (DuplicateFlightIdException ex) {
       // DuplicateFlightIdException is a more specific StairwayException, and so needs to
       // be checked separately. Allowing duplicate FlightIds is useful for ensuring idempotent
       // behavior of flights.
       logger.warn("Received duplicate job ID: {}", jobId);
       throw new DuplicateJobIdException(String.format("Received duplicate jobId %s", jobId), ex);
-    } catch (StairwayException | InterruptedException stairwayEx) {
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InternalStairwayException(e);
+    } catch (StairwayException stairwayEx) {
       throw new InternalStairwayException(stairwayEx);
+    } finally {
+      if (!submitted) {
+        jobAdmissionController.release(jobId);
+      }
     }
+    jobIndexHook.recordSubmitted(jobId, flightClass.getName(), parameterMap);
     return jobId;
   }
 
   // Submit a new job to stairway, wait for it to finish, then return the result.
-  // This will throw any exception raised by the flight.
+  // This will throw any exception raised by the flight. A job that may run inline is first tried
+  // on this thread, and only submitted to stairway if that fails.
   // protected method intended to be called only from JobBuilder
   protected <T> T submitAndWait(
       Class<? extends Flight> flightClass,
       FlightMap parameterMap,
       Class<T> resultClass,
       TypeReference<T> typeReference,
-      String jobId) {
+      String jobId,
+      boolean inlineEligible) {
+    if (inlineEligible && jobConfiguration.isInlineExecutionEnabled()) {
+      Optional<FlightMap> workingMap = inlineFlightRunner.run(jobId, flightClass, parameterMap);
+      if (workingMap.isPresent()) {
+        return getResponse(workingMap.get(), resultClass, typeReference);
+      }
+    }
     submit(flightClass, parameterMap, jobId);
     waitForJob(jobId);
 
@@ -132,9 +190,12 @@ public class JobService {
   }
 
   /**
-   * List Stairway flights related to a workspace. These inputs are translated into inputs to
-   * Stairway's getFlights calls. The resulting flights are translated into enumerated jobs. The
-   * jobs are ordered by submit time.
+   * List the jobs of a workspace, ordered by submit time.
+   *
+   * <p>When index enumeration is enabled, jobs are read from the job index, one indexed query for a
+   * page. Otherwise, and to continue paging with a page token handed out by Stairway, these inputs
+   * are translated into inputs to Stairway's getFlights calls, and the resulting flights are
+   * translated into enumerated jobs.
    *
    * @param workspaceUuid workspace we are listing in
    * @param limit max number of jobs to return
@@ -153,6 +214,19 @@ public class JobService {
       @Nullable StewardshipType stewardshipType,
       @Nullable String resourceName,
       @Nullable JobStateFilter jobStateFilter) {
+    Optional<JobIndexPageToken> indexPageToken = JobIndexPageToken.decode(pageToken);
+    if (jobConfiguration.isIndexEnumerationEnabled()
+        && (pageToken == null || indexPageToken.isPresent())) {
+      return enumerateIndexedJobs(
+          workspaceUuid,
+          limit,
+          indexPageToken.orElse(null),
+          cloudResourceType,
+          stewardshipType,
+          resourceName,
+          jobStateFilter);
+    }
+
     FlightEnumeration flightEnumeration;
     try {
       FlightFilter filter =
@@ -163,40 +237,257 @@ public class JobService {
       throw new InternalStairwayException(stairwayEx);
     }
 
-    List<EnumeratedJob> jobList = new ArrayList<>();
-    for (FlightState state : flightEnumeration.getFlightStateList()) {
-      FlightMap inputParameters = state.getInputParameters();
-      OperationType operationType =
-          (inputParameters.containsKey(WorkspaceFlightMapKeys.OPERATION_TYPE))
-              ? inputParameters.get(WorkspaceFlightMapKeys.OPERATION_TYPE, OperationType.class)
-              : OperationType.UNKNOWN;
-
-      WsmResource wsmResource =
-          (inputParameters.containsKey(WorkspaceFlightMapKeys.ResourceKeys.RESOURCE))
-              ? inputParameters.get(
-                  WorkspaceFlightMapKeys.ResourceKeys.RESOURCE, new TypeReference<>() {})
-              : null;
-
-      String jobDescription =
-          (inputParameters.containsKey(JobMapKeys.DESCRIPTION.getKeyName()))
-              ? inputParameters.get(JobMapKeys.DESCRIPTION.getKeyName(), String.class)
-              : StringUtils.EMPTY;
-
-      EnumeratedJob enumeratedJob =
-          new EnumeratedJob()
-              .flightState(state)
-              .jobDescription(jobDescription)
-              .operationType(operationType)
-              .resource(wsmResource);
-      jobList.add(enumeratedJob);
-    }
-
+    // Read the flights' resources in one query rather than deserializing each flight's copy. A
+    // resource deleted since its flight ran is not found, so the flight's summary is reported.
+    Map<UUID, WsmResource> resources =
+        getResources(
+            workspaceUuid,
+            flightEnumeration.getFlightStateList().stream()
+                .map(state -> getResourceId(state.getInputParameters()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+    List<EnumeratedJob> jobList =
+        flightEnumeration.getFlightStateList().stream()
+            .map(state -> toEnumeratedJob(state, workspaceUuid, resources))
+            .toList();
     return new EnumeratedJobs()
         .pageToken(flightEnumeration.getNextPageToken())
         .totalResults(flightEnumeration.getTotalFlights())
         .results(jobList);
   }
 
+  private EnumeratedJobs enumerateIndexedJobs(
+      UUID workspaceUuid,
+      int limit,
+      @Nullable JobIndexPageToken after,
+      @Nullable WsmResourceFamily cloudResourceType,
+      @Nullable StewardshipType stewardshipType,
+      @Nullable String resourceName,
+      @Nullable JobStateFilter jobStateFilter) {
+    List<WsmResourceType> resourceTypes =
+        Optional.ofNullable(cloudResourceType)
+            .map(
+                family ->
+                    Stream.of(family.getReferenceType(), family.getControlledType())
+                        .flatMap(Optional::stream)
+                        .toList())
+            .orElse(null);
+    List<DbJob> dbJobs =
+        jobDao.enumerateJobs(
+            workspaceUuid,
+            after,
+            limit,
+            resourceTypes,
+            stewardshipType,
+            resourceName,
+            jobStateFilter);
+    int totalJobs =
+        jobDao.countJobs(
+            workspaceUuid, resourceTypes, stewardshipType, resourceName, jobStateFilter);
+
+    // Read the jobs' resources in one query. A resource deleted since its job ran is not found, so
+    // the job's summary of it is reported instead.
+    Map<UUID, WsmResource> resources =
+        getResources(
+            workspaceUuid,
+            dbJobs.stream().map(DbJob::resourceId).filter(Objects::nonNull).distinct().toList());
+
+    List<EnumeratedJob> jobList =
+        dbJobs.stream()
+            .map(
+                dbJob ->
+                    new EnumeratedJob()
+                        .jobId(dbJob.jobId())
+                        .flightStatus(dbJob.status())
+                        .submitted(dbJob.submitted())
+                        .completed(dbJob.completed())
+                        .statusCode(dbJob.statusCode())
+                        .errorReport(toErrorReport(dbJob))
+                        .resultPath(dbJob.resultPath())
+                        .jobDescription(
+                            Optional.ofNullable(dbJob.description()).orElse(StringUtils.EMPTY))
+                        .operationType(
+                            Optional.ofNullable(dbJob.operationType())
+                                .orElse(OperationType.UNKNOWN))
+                        .resource(
+                            Optional.ofNullable(dbJob.resourceId())
+                                .map(resources::get)
+                                .orElse(null))
+                        .resourceSummary(toResourceSummary(dbJob))
+                        .resourceType(dbJob.resourceType())
+                        .destinationResourceId(dbJob.destinationResourceId()))
+            .toList();
+
+    // Like Stairway, hand out a token even for the last page, so a caller can poll for new jobs
+    String nextPageToken =
+        dbJobs.isEmpty()
+            ? Optional.ofNullable(after).map(JobIndexPageToken::encode).orElse(null)
+            : new JobIndexPageToken(
+                    dbJobs.get(dbJobs.size() - 1).submitted(),
+                    dbJobs.get(dbJobs.size() - 1).jobId())
+                .encode();
+    return new EnumeratedJobs().pageToken(nextPageToken).totalResults(totalJobs).results(jobList);
+  }
+
+  private static @Nullable ApiErrorReport toErrorReport(DbJob dbJob) {
+    if (dbJob.completed() == null || dbJob.status() == FlightStatus.SUCCESS) {
+      return null;
+    }
+    return new ApiErrorReport()
+        .message(dbJob.errorMessage())
+        .statusCode(dbJob.statusCode())
+        .causes(dbJob.errorCauses());
+  }
+
+  private @Nullable JobResourceSummary toResourceSummary(DbJob dbJob) {
+    if (dbJob.resourceId() == null) {
+      return null;
+    }
+    return new JobResourceSummary(
+        dbJob.workspaceId(),
+        dbJob.resourceId(),
+        dbJob.resourceName(),
+        dbJob.resourceType(),
+        dbJob.stewardshipType(),
+        Optional.ofNullable(dbJob.resourceAttributes())
+            .flatMap(
+                json ->
+                    readSummaryInput(
+                        dbJob.jobId(),
+                        () -> DbSerDes.fromJson(json, ApiResourceAttributesUnion.class)))
+            .orElse(null));
+  }
+
+  /**
+   * Summarize a flight's resource from its summary input parameters. Flights submitted before those
+   * were recorded embed the whole resource instead, which is only deserialized for them.
+   */
+  private @Nullable JobResourceSummary toResourceSummary(FlightState state, UUID workspaceUuid) {
+    FlightMap inputParameters = state.getInputParameters();
+    UUID resourceId = getResourceId(inputParameters);
+    if (resourceId == null) {
+      return readSummaryInput(
+              state.getFlightId(),
+              () ->
+                  inputParameters.get(
+                      WorkspaceFlightMapKeys.ResourceKeys.RESOURCE,
+                      new TypeReference<WsmResource>() {}))
+          .map(
+              resource ->
+                  new JobResourceSummary(
+                      resource.getWorkspaceId(),
+                      resource.getResourceId(),
+                      resource.getName(),
+                      resource.getResourceType(),
+                      resource.getStewardshipType(),
+                      resource.toApiAttributesUnion()))
+          .orElse(null);
+    }
+    return new JobResourceSummary(
+        workspaceUuid,
+        resourceId,
+        inputParameters.get(WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_NAME, String.class),
+        inputParameters.get(
+            WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE, WsmResourceType.class),
+        inputParameters.get(
+            WorkspaceFlightMapKeys.ResourceKeys.STEWARDSHIP_TYPE, StewardshipType.class),
+        readSummaryInput(
+                state.getFlightId(),
+                () ->
+                    inputParameters.get(
+                        WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_ATTRIBUTES,
+                        ApiResourceAttributesUnion.class))
+            .orElse(null));
+  }
+
+  /**
+   * Read a job's record of its resource. It is only informational, so one that no longer
+   * deserializes is left out rather than failing the listing.
+   */
+  private <T> Optional<T> readSummaryInput(String jobId, Supplier<T> reader) {
+    try {
+      return Optional.ofNullable(reader.get());
+    } catch (RuntimeException e) {
+      logger.warn("Failed to read the resource summary of job {}", jobId, e);
+      return Optional.empty();
+    }
+  }
+
+  private Map<UUID, WsmResource> getResources(UUID workspaceUuid, List<UUID> resourceIds) {
+    return flightBeanBag.getResourceDao().getResources(workspaceUuid, resourceIds).stream()
+        .collect(Collectors.toMap(WsmResource::getResourceId, Function.identity()));
+  }
+
+  private static @Nullable UUID getResourceId(FlightMap inputParameters) {
+    return Optional.ofNullable(
+            inputParameters.get(WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_ID, String.class))
+        .map(UUID::fromString)
+        .orElse(null);
+  }
+
+  /**
+   * Translate a flight into an enumerated job. The resource is looked up by the flight's resource
+   * id; for a resource deleted since its flight ran, the flight's summary of it is reported.
+   */
+  private EnumeratedJob toEnumeratedJob(
+      FlightState state, UUID workspaceUuid, Map<UUID, WsmResource> resources) {
+    FlightMap inputParameters = state.getInputParameters();
+    OperationType operationType =
+        (inputParameters.containsKey(WorkspaceFlightMapKeys.OPERATION_TYPE))
+            ? inputParameters.get(WorkspaceFlightMapKeys.OPERATION_TYPE, OperationType.class)
+            : OperationType.UNKNOWN;
+
+    WsmResourceType resourceType =
+        (inputParameters.containsKey(WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE))
+            ? inputParameters.get(
+                WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE, WsmResourceType.class)
+            : null;
+
+    String jobDescription =
+        (inputParameters.containsKey(JobMapKeys.DESCRIPTION.getKeyName()))
+            ? inputParameters.get(JobMapKeys.DESCRIPTION.getKeyName(), String.class)
+            : StringUtils.EMPTY;
+
+    Optional<ApiErrorReport> errorReport =
+        state.getException().map(ErrorReportUtils::buildApiErrorReport);
+    Integer statusCode =
+        switch (state.getFlightStatus()) {
+          case SUCCESS ->
+              state
+                  .getResultMap()
+                  .map(
+                      resultMap ->
+                          resultMap.get(JobMapKeys.STATUS_CODE.getKeyName(), HttpStatus.class))
+                  .orElse(HttpStatus.OK)
+                  .value();
+          case ERROR, FATAL ->
+              errorReport
+                  .map(ApiErrorReport::getStatusCode)
+                  .orElse(HttpStatus.INTERNAL_SERVER_ERROR.value());
+          default -> null;
+        };
+
+    return new EnumeratedJob()
+        .jobId(state.getFlightId())
+        .flightStatus(state.getFlightStatus())
+        .submitted(state.getSubmitted())
+        .completed(state.getCompleted().orElse(null))
+        .statusCode(statusCode)
+        .errorReport(errorReport.orElse(null))
+        .resultPath(inputParameters.get(JobMapKeys.RESULT_PATH.getKeyName(), String.class))
+        .jobDescription(jobDescription)
+        .operationType(operationType)
+        .resource(
+            Optional.ofNullable(getResourceId(inputParameters)).map(resources::get).orElse(null))
+        .resourceSummary(toResourceSummary(state, workspaceUuid))
+        .resourceType(resourceType)
+        .destinationResourceId(
+            inputParameters.get(
+                WorkspaceFlightMapKeys.ControlledResourceKeys.DESTINATION_RESOURCE_ID,
+                UUID.class));
+  }
+
   private FlightFilter buildFlightFilter(
       UUID workspaceUuid,
       @Nullable WsmResourceFamily cloudResourceType,
@@ -302,16 +593,8 @@ public class JobService {
         case ERROR:
           return handleFailedFlight(flightState);
         case SUCCESS:
-          if (resultClass != null) {
-            return new JobResultOrException<T>()
-                .result(resultMap.get(JobMapKeys.RESPONSE.getKeyName(), resultClass));
-          }
-          if (typeReference != null) {
-            return new JobResultOrException<T>()
-                .result(resultMap.get(JobMapKeys.RESPONSE.getKeyName(), typeReference));
-          }
           return new JobResultOrException<T>()
-              .result(resultMap.get(JobMapKeys.RESPONSE.getKeyName(), (Class<T>) null));
+              .result(getResponse(resultMap, resultClass, typeReference));
         case RUNNING:
           throw new JobNotCompleteException(
               "Attempt to retrieve job result before job is complete; job id: "
@@ -327,6 +610,19 @@ public class JobService {
     }
   }
 
+  private static <T> T getResponse(
+      FlightMap resultMap,
+      @Nullable Class<T> resultClass,
+      @Nullable TypeReference<T> typeReference) {
+    if (resultClass != null) {
+      return resultMap.get(JobMapKeys.RESPONSE.getKeyName(), resultClass);
+    }
+    if (typeReference != null) {
+      return resultMap.get(JobMapKeys.RESPONSE.getKeyName(), typeReference);
+    }
+    return resultMap.get(JobMapKeys.RESPONSE.getKeyName(), (Class<T>) null);
+  }
+
   private <T> JobResultOrException<T> handleFailedFlight(FlightState flightState) {
     Optional<Exception> flightException = flightState.getException();
     if (flightException.isPresent()) {
@@ -29,6 +29,8 @@ public class StairwayInitializerService {
   private final ObjectMapper objectMapper;
   private final OpenTelemetry openTelemetry;
   private final FlightMetricsHook flightMetricsHook;
+  private final JobIndexHook jobIndexHook;
+  private final JobAdmissionController jobAdmissionController;
 
   @Autowired
   public StairwayInitializerService(
@@ -39,7 +41,9 @@ public class StairwayInitializerService {
       FlightBeanBag flightBeanBag,
       ObjectMapper objectMapper,
       OpenTelemetry openTelemetry,
-      FlightMetricsHook flightMetricsHook) {
+      FlightMetricsHook flightMetricsHook,
+      JobIndexHook jobIndexHook,
+      JobAdmissionController jobAdmissionController) {
     this.dataSourceManager = dataSourceManager;
     this.stairwayDatabaseConfiguration = stairwayDatabaseConfiguration;
     this.workspaceActivityLogHook = workspaceActivityLogHook;
@@ -48,6 +52,8 @@ public class StairwayInitializerService {
     this.objectMapper = objectMapper;
     this.openTelemetry = openTelemetry;
     this.flightMetricsHook = flightMetricsHook;
+    this.jobIndexHook = jobIndexHook;
+    this.jobAdmissionController = jobAdmissionController;
   }
 
   /**
@@ -65,6 +71,8 @@ public class StairwayInitializerService {
             .addHook(new MonitoringHook(openTelemetry))
             .addHook(flightMetricsHook)
             .addHook(workspaceActivityLogHook)
+            .addHook(jobIndexHook)
+            .addHook(jobAdmissionController)
             .exceptionSerializer(new StairwayExceptionSerializer(objectMapper)));
   }
 
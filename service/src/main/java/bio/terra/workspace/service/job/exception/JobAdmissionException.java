@@ -0,0 +1,23 @@
+package bio.terra.workspace.service.job.exception;
+
+import bio.terra.common.exception.ErrorReportException;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a job is not submitted because the pod already has as many flights as it may run.
+ * Error code is 429 TOO_MANY_REQUESTS; the response tells the caller when to retry.
+ */
+public class JobAdmissionException extends ErrorReportException {
+  private final Duration retryAfter;
+
+  public JobAdmissionException(String message, Duration retryAfter) {
+    super(message, List.of(), HttpStatus.TOO_MANY_REQUESTS);
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
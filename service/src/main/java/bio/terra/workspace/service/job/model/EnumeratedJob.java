@@ -1,23 +1,96 @@
 package bio.terra.workspace.service.job.model;
 
-import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.generated.model.ApiErrorReport;
 import bio.terra.workspace.service.resource.model.WsmResource;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
 import bio.terra.workspace.service.workspace.model.OperationType;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 import javax.annotation.Nullable;
 
+/**
+ * Summary of a job for enumeration. It is read either from the job index or from the Stairway
+ * flight; it holds only what the job list shows, not the flight's input and result maps.
+ */
 public class EnumeratedJob {
-  private FlightState flightState;
+  private String jobId;
+  private FlightStatus flightStatus;
+  private Instant submitted;
+  private @Nullable Instant completed;
+  private @Nullable Integer statusCode;
+  private @Nullable ApiErrorReport errorReport;
+  private @Nullable String resultPath;
   private String jobDescription;
   private OperationType operationType;
   private @Nullable WsmResource resource;
+  private @Nullable JobResourceSummary resourceSummary;
+  private @Nullable WsmResourceType resourceType;
+  private @Nullable UUID destinationResourceId;
 
-  public FlightState getFlightState() {
-    return flightState;
+  public String getJobId() {
+    return jobId;
   }
 
-  public EnumeratedJob flightState(FlightState flightState) {
-    this.flightState = flightState;
+  public EnumeratedJob jobId(String jobId) {
+    this.jobId = jobId;
+    return this;
+  }
+
+  public FlightStatus getFlightStatus() {
+    return flightStatus;
+  }
+
+  public EnumeratedJob flightStatus(FlightStatus flightStatus) {
+    this.flightStatus = flightStatus;
+    return this;
+  }
+
+  public Instant getSubmitted() {
+    return submitted;
+  }
+
+  public EnumeratedJob submitted(Instant submitted) {
+    this.submitted = submitted;
+    return this;
+  }
+
+  public Optional<Instant> getCompleted() {
+    return Optional.ofNullable(completed);
+  }
+
+  public EnumeratedJob completed(@Nullable Instant completed) {
+    this.completed = completed;
+    return this;
+  }
+
+  /** HTTP status code of the job's result; empty while the job is running. */
+  public Optional<Integer> getStatusCode() {
+    return Optional.ofNullable(statusCode);
+  }
+
+  public EnumeratedJob statusCode(@Nullable Integer statusCode) {
+    this.statusCode = statusCode;
+    return this;
+  }
+
+  /** Error report of a failed job. */
+  public Optional<ApiErrorReport> getErrorReport() {
+    return Optional.ofNullable(errorReport);
+  }
+
+  public EnumeratedJob errorReport(@Nullable ApiErrorReport errorReport) {
+    this.errorReport = errorReport;
+    return this;
+  }
+
+  public @Nullable String getResultPath() {
+    return resultPath;
+  }
+
+  public EnumeratedJob resultPath(@Nullable String resultPath) {
+    this.resultPath = resultPath;
     return this;
   }
 
@@ -47,4 +120,33 @@ public class EnumeratedJob {
     this.resource = resource;
     return this;
   }
+
+  /** What the job recorded about its resource; report it when the resource itself is gone. */
+  public Optional<JobResourceSummary> getResourceSummary() {
+    return Optional.ofNullable(resourceSummary);
+  }
+
+  public EnumeratedJob resourceSummary(@Nullable JobResourceSummary resourceSummary) {
+    this.resourceSummary = resourceSummary;
+    return this;
+  }
+
+  /** The type of the job's resource, which is known even if the resource itself was not kept. */
+  public Optional<WsmResourceType> getResourceType() {
+    return Optional.ofNullable(resourceType);
+  }
+
+  public EnumeratedJob resourceType(@Nullable WsmResourceType resourceType) {
+    this.resourceType = resourceType;
+    return this;
+  }
+
+  public Optional<UUID> getDestinationResourceId() {
+    return Optional.ofNullable(destinationResourceId);
+  }
+
+  public EnumeratedJob destinationResourceId(@Nullable UUID destinationResourceId) {
+    this.destinationResourceId = destinationResourceId;
+    return this;
+  }
 }
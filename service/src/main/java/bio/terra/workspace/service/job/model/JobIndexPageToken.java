@@ -0,0 +1,56 @@
+package bio.terra.workspace.service.job.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Page token of job enumeration from the job index: the submit time and id of the last job on the
+ * previous page. Jobs are ordered by submit time, then id, so the next page starts right after it.
+ *
+ * <p>Tokens carry a prefix that Stairway's base64 page tokens cannot contain, so a token handed out
+ * by Stairway enumeration is recognized as not being one of these.
+ */
+public record JobIndexPageToken(Instant submitted, String jobId) {
+  private static final String PREFIX = "ji.";
+
+  public JobIndexPageToken {
+    // Postgres keeps microseconds; the key must compare equal to what was stored
+    submitted = submitted.truncatedTo(ChronoUnit.MICROS);
+  }
+
+  public String encode() {
+    long micros = ChronoUnit.MICROS.between(Instant.EPOCH, submitted);
+    String key = micros + ":" + jobId;
+    return PREFIX
+        + Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** The decoded token, or empty if the token is missing or is not a job index token. */
+  public static Optional<JobIndexPageToken> decode(@Nullable String token) {
+    if (token == null || !token.startsWith(PREFIX)) {
+      return Optional.empty();
+    }
+    try {
+      String key =
+          new String(
+              Base64.getUrlDecoder().decode(token.substring(PREFIX.length())),
+              StandardCharsets.UTF_8);
+      int separator = key.indexOf(':');
+      if (separator < 0) {
+        return Optional.empty();
+      }
+      Instant submitted =
+          Instant.EPOCH.plus(Long.parseLong(key.substring(0, separator)), ChronoUnit.MICROS);
+      return Optional.of(new JobIndexPageToken(submitted, key.substring(separator + 1)));
+    } catch (IllegalArgumentException e) {
+      // Includes NumberFormatException
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package bio.terra.workspace.service.job.model;
+
+import bio.terra.workspace.generated.model.ApiResourceAttributesUnion;
+import bio.terra.workspace.generated.model.ApiResourceMetadata;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
+import java.util.Optional;
+import java.util.UUID;
+import javax.annotation.Nullable;
+
+/**
+ * What a job recorded about its resource when it was submitted. Job enumeration reports it when the
+ * resource itself can no longer be read: the resource was deleted, or its create failed.
+ */
+public record JobResourceSummary(
+    UUID workspaceId,
+    UUID resourceId,
+    @Nullable String name,
+    @Nullable WsmResourceType resourceType,
+    @Nullable StewardshipType stewardshipType,
+    @Nullable ApiResourceAttributesUnion attributes) {
+
+  /** The metadata that the summary holds; the rest of the resource's metadata is not recorded. */
+  public ApiResourceMetadata toApiMetadata() {
+    return new ApiResourceMetadata()
+        .workspaceId(workspaceId)
+        .resourceId(resourceId)
+        .name(name)
+        .resourceType(
+            Optional.ofNullable(resourceType).map(WsmResourceType::toApiModel).orElse(null))
+        .stewardshipType(
+            Optional.ofNullable(stewardshipType).map(StewardshipType::toApiModel).orElse(null))
+        .cloudPlatform(
+            Optional.ofNullable(resourceType)
+                .map(type -> type.getCloudPlatform().toApiModel())
+                .orElse(null));
+  }
+}
@@ -4,11 +4,13 @@ import bio.terra.workspace.common.logging.model.ActivityLogChangeDetails;
 import bio.terra.workspace.common.logging.model.ActivityLogChangedTarget;
 import bio.terra.workspace.common.utils.Rethrow;
 import bio.terra.workspace.db.WorkspaceActivityLogDao;
+import bio.terra.workspace.db.model.DbWorkspaceActivity;
 import bio.terra.workspace.db.model.DbWorkspaceActivityLog;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamService;
 import bio.terra.workspace.service.workspace.model.OperationType;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 import org.broadinstitute.dsde.workbench.client.sam.model.UserStatusInfo;
@@ -49,6 +51,35 @@ public class WorkspaceActivityLogService {
             objectType));
   }
 
+  @WithSpan
+  // Writes the same change to many objects, looking up the user once
+  public void writeActivities(
+      AuthenticatedUserRequest userRequest,
+      UUID workspaceUuid,
+      OperationType operationType,
+      Collection<String> changeSubjectIds,
+      ActivityLogChangedTarget objectType) {
+    if (changeSubjectIds.isEmpty()) {
+      return;
+    }
+    UserStatusInfo userStatusInfo =
+        Rethrow.onInterrupted(
+            () -> samService.getUserStatusInfo(userRequest), "Get user status info from SAM");
+    workspaceActivityLogDao.writeActivities(
+        changeSubjectIds.stream()
+            .map(
+                changeSubjectId ->
+                    new DbWorkspaceActivity(
+                        workspaceUuid,
+                        new DbWorkspaceActivityLog(
+                            userStatusInfo.getUserEmail(),
+                            userStatusInfo.getUserSubjectId(),
+                            operationType,
+                            changeSubjectId,
+                            objectType)))
+            .toList());
+  }
+
   public Optional<ActivityLogChangeDetails> getLastUpdatedDetails(UUID workspaceId) {
     return workspaceActivityLogDao.getLastUpdatedDetails(workspaceId);
   }
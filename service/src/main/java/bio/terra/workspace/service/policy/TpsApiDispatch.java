@@ -21,6 +21,7 @@ import bio.terra.policy.model.TpsRegions;
 import bio.terra.policy.model.TpsUpdateMode;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.app.configuration.external.PolicyServiceConfiguration;
+import bio.terra.workspace.common.logging.DependencyMetricsFilter;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.policy.exception.PolicyServiceAPIException;
 import bio.terra.workspace.service.policy.exception.PolicyServiceAuthorizationException;
@@ -63,7 +64,10 @@ public class TpsApiDispatch {
     this.features = features;
     this.policyServiceConfiguration = policyServiceConfiguration;
     this.commonHttpClient =
-        new ApiClient().getHttpClient().register(new JakartaTracingFilter(openTelemetry));
+        new ApiClient()
+            .getHttpClient()
+            .register(new JakartaTracingFilter(openTelemetry))
+            .register(new DependencyMetricsFilter("tps"));
 
     logger.info("TPS base path: '{}'", policyServiceConfiguration.getBasePath());
   }
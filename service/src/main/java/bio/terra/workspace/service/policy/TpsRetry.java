@@ -3,11 +3,11 @@ package bio.terra.workspace.service.policy;
 import static java.time.Instant.now;
 
 import bio.terra.policy.client.ApiException;
+import bio.terra.workspace.common.logging.DependencyMetrics;
 import jakarta.ws.rs.ProcessingException;
 import java.net.SocketTimeoutException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +29,9 @@ public class TpsRetry {
   // an errorCode 0. This isn't a real HTTP status code, but we can check for it anyway.
   private static final int TIMEOUT_STATUS_CODE = 0;
 
+  // Name of the dependency in DependencyMetrics
+  private static final String DEPENDENCY = "tps";
+
   private final Instant operationTimeout;
 
   // How long to wait between retries.
@@ -144,7 +147,8 @@ public class TpsRetry {
       throw previousException;
     }
     logger.info("TpsRetry: sleeping " + retryDuration.getSeconds() + " seconds");
-    TimeUnit.SECONDS.sleep(retryDuration.getSeconds());
+    DependencyMetrics.recordRetry(DEPENDENCY);
+    DependencyMetrics.backoff(DEPENDENCY, Duration.ofSeconds(retryDuration.getSeconds()));
     retryDuration = retryDuration.plus(INITIAL_WAIT);
     if (retryDuration.compareTo(MAXIMUM_WAIT) > 0) {
       retryDuration = MAXIMUM_WAIT;
@@ -0,0 +1,143 @@
+package bio.terra.workspace.service.resource.controlled;
+
+import bio.terra.common.logging.LoggingUtils;
+import bio.terra.workspace.app.configuration.external.BulkResourceCreateConfiguration;
+import bio.terra.workspace.db.CronjobDao;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import com.google.common.annotations.VisibleForTesting;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically deletes resources that a bulk create left CREATING, with their Sam resources. A
+ * bulk create runs on the request thread rather than in a flight, so if its pod dies mid-create,
+ * Stairway has nothing to recover and the records would otherwise stay CREATING. Only one pod runs
+ * each cleanup.
+ */
+@Component
+public class BulkCreateCleanupService {
+  private static final Logger logger = LoggerFactory.getLogger(BulkCreateCleanupService.class);
+  private static final String BULK_CREATE_CLEANUP_JOB_NAME = "bulk_create_cleanup_job";
+  private static final int CLEANUP_BATCH_SIZE = 100;
+
+  private final BulkResourceCreateConfiguration configuration;
+  private final ResourceDao resourceDao;
+  private final CronjobDao cronjobDao;
+  private final SamService samService;
+  private final ScheduledExecutorService scheduler;
+
+  @Autowired
+  public BulkCreateCleanupService(
+      BulkResourceCreateConfiguration configuration,
+      ResourceDao resourceDao,
+      CronjobDao cronjobDao,
+      SamService samService) {
+    this.configuration = configuration;
+    this.resourceDao = resourceDao;
+    this.cronjobDao = cronjobDao;
+    this.samService = samService;
+    this.scheduler = Executors.newScheduledThreadPool(1);
+  }
+
+  @PostConstruct
+  public void startCleanup() {
+    long intervalSeconds = configuration.getCleanupInterval().toSeconds();
+    scheduler.scheduleAtFixedRate(
+        this::cleanupResourcesSuppressExceptions,
+        intervalSeconds,
+        intervalSeconds,
+        TimeUnit.SECONDS);
+  }
+
+  /**
+   * Run {@code cleanupResources}, suppressing all thrown exceptions so that one failed run does not
+   * stop the scheduled cleanup.
+   */
+  public void cleanupResourcesSuppressExceptions() {
+    try {
+      cleanupResources();
+    } catch (Exception e) {
+      LoggingUtils.logAlert(
+          logger, "Unexpected error during bulkCreateCleanup execution, see stacktrace below");
+      logger.error("bulkCreateCleanup stacktrace: ", e);
+    }
+  }
+
+  private void cleanupResources() {
+    // Use a one-second shorter duration here to ensure we don't skip a run by moving slightly too
+    // quickly.
+    Duration claimTime = configuration.getCleanupInterval().minus(Duration.ofSeconds(1));
+    if (!cronjobDao.claimJob(BULK_CREATE_CLEANUP_JOB_NAME, claimTime)) {
+      logger.info("Another pod has executed this job more recently. Ending bulk create cleanup.");
+      return;
+    }
+    cleanupStaleResources(Instant.now().minus(configuration.getStaleCreateAge()));
+  }
+
+  /**
+   * Delete the resources bulk creates left CREATING before the given time.
+   *
+   * @return the number of resources deleted
+   */
+  @VisibleForTesting
+  int cleanupStaleResources(Instant createdBefore) {
+    int deleted = 0;
+    List<ControlledResource> stale;
+    do {
+      stale =
+          resourceDao.listStaleCreatingResources(
+              ControlledResourceBulkCreateService.JOB_ID_PREFIX, createdBefore, CLEANUP_BATCH_SIZE);
+      int batchDeleted = 0;
+      for (ControlledResource resource : stale) {
+        try {
+          if (cleanupResource(resource)) {
+            batchDeleted++;
+          }
+        } catch (InterruptedException e) {
+          // Shutting down; the rest are left for the next run
+          Thread.currentThread().interrupt();
+          return deleted + batchDeleted;
+        }
+      }
+      deleted += batchDeleted;
+      // A batch that deleted nothing would be read again as it is; leave it to the next run
+      if (batchDeleted == 0) {
+        break;
+      }
+    } while (stale.size() == CLEANUP_BATCH_SIZE);
+    if (deleted > 0) {
+      logger.info("Deleted {} resources left behind by bulk creates", deleted);
+    }
+    return deleted;
+  }
+
+  private boolean cleanupResource(ControlledResource resource) throws InterruptedException {
+    try {
+      // The WSM SA owns every controlled resource, and deleting a missing Sam resource is a no-op
+      samService.deleteControlledResource(resource, samService.getWsmServiceAccountToken());
+      resourceDao.createResourcesFailure(
+          resource.getWorkspaceId(), Set.of(resource.getResourceId()), resource.getFlightId());
+      return true;
+    } catch (RuntimeException e) {
+      // The record stays CREATING, so a later run tries again
+      logger.warn(
+          "Failed to delete resource {} left behind by bulk create {}",
+          resource.getResourceId(),
+          resource.getFlightId(),
+          e);
+      return false;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package bio.terra.workspace.service.resource.controlled;
+
+import bio.terra.common.exception.ValidationException;
+import bio.terra.workspace.app.configuration.external.BulkResourceCreateConfiguration;
+import bio.terra.workspace.common.utils.Rethrow;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
+import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.iam.model.ControlledResourceIamRole;
+import bio.terra.workspace.service.logging.WorkspaceActivityLogService;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import bio.terra.workspace.service.resource.exception.DuplicateResourceException;
+import bio.terra.workspace.service.resource.model.WsmResource;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
+import bio.terra.workspace.service.workspace.model.OperationType;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates many controlled resources of one type in one workspace for a single request.
+ *
+ * <p>Only resources with no cloud resource behind them, flexible resources, can be created this
+ * way: creating one is a metadata insert and a Sam resource, so the whole batch is done on the
+ * request thread instead of in a flight per resource. The metadata is inserted with one batch, the
+ * Sam resources are created a few at a time, and the outcome is reported per resource. A resource
+ * that fails leaves nothing behind; the others are created regardless.
+ *
+ * <p>The records being created carry a job id starting with {@link #JOB_ID_PREFIX} rather than a
+ * flight id. If the pod dies before the create completes, {@link BulkCreateCleanupService} deletes
+ * them and their Sam resources once they are stale.
+ */
+@Component
+public class ControlledResourceBulkCreateService {
+  private static final Logger logger =
+      LoggerFactory.getLogger(ControlledResourceBulkCreateService.class);
+  /** Prefix of the job ids of bulk creates, which mark their records while they are CREATING */
+  public static final String JOB_ID_PREFIX = "bulk-create-";
+
+  private final ResourceDao resourceDao;
+  private final SamService samService;
+  private final WorkspaceActivityLogService workspaceActivityLogService;
+  private final BulkResourceCreateConfiguration configuration;
+
+  public ControlledResourceBulkCreateService(
+      ResourceDao resourceDao,
+      SamService samService,
+      WorkspaceActivityLogService workspaceActivityLogService,
+      BulkResourceCreateConfiguration configuration) {
+    this.resourceDao = resourceDao;
+    this.samService = samService;
+    this.workspaceActivityLogService = workspaceActivityLogService;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Create controlled flexible resources in one workspace.
+   *
+   * @param resources the resources to create, all in the same workspace
+   * @param privateIamRoles the IAM role to grant on each private resource, by resource id
+   * @param userRequest credentials of the caller
+   * @return the outcome of each resource, in the order of the request
+   * @throws ValidationException if the resources cannot be created together
+   */
+  @WithSpan
+  public List<BulkCreateResult> createControlledResources(
+      List<ControlledResource> resources,
+      Map<UUID, ControlledResourceIamRole> privateIamRoles,
+      AuthenticatedUserRequest userRequest) {
+    validateResources(resources);
+    UUID workspaceUuid = resources.get(0).getWorkspaceId();
+    // There is no flight; the job id marks the records this create owns while they are CREATING
+    String jobId = JOB_ID_PREFIX + UUID.randomUUID();
+    Map<UUID, RuntimeException> failures = new HashMap<>();
+
+    Set<UUID> stored = resourceDao.createResourcesStart(resources, jobId);
+    List<ControlledResource> storedResources = new ArrayList<>();
+    for (ControlledResource resource : resources) {
+      if (stored.contains(resource.getResourceId())) {
+        storedResources.add(resource);
+      } else {
+        failures.put(
+            resource.getResourceId(),
+            new DuplicateResourceException(
+                String.format(
+                    "A resource with the same name (%s) or id (%s) already exists in the workspace",
+                    resource.getName(), resource.getResourceId())));
+      }
+    }
+
+    Set<UUID> created = new HashSet<>(stored);
+    Map<UUID, WsmResource> createdResources;
+    try {
+      Map<UUID, RuntimeException> samFailures =
+          Rethrow.onInterrupted(
+              () ->
+                  samService.createControlledResources(
+                      storedResources,
+                      privateIamRoles,
+                      userRequest,
+                      configuration.getMaxConcurrentSamCalls()),
+              "Create controlled resources in Sam");
+      failures.putAll(samFailures);
+      created.removeAll(samFailures.keySet());
+      // Failed records are deleted and the others made READY together, so that if this throws,
+      // every record is still CREATING and can be cleaned up below
+      createdResources =
+          resourceDao
+              .createResourcesComplete(workspaceUuid, created, samFailures.keySet(), jobId)
+              .stream()
+              .collect(Collectors.toMap(WsmResource::getResourceId, Function.identity()));
+    } catch (RuntimeException e) {
+      // None of the resources is reported as created, so none may be left behind
+      deleteSamResources(storedResources, userRequest);
+      resourceDao.createResourcesFailure(workspaceUuid, stored, jobId);
+      throw e;
+    }
+    writeActivities(userRequest, workspaceUuid, created, resources.get(0).getResourceType());
+    logger.info(
+        "Created {} of {} controlled resources in workspace {}",
+        created.size(),
+        resources.size(),
+        workspaceUuid);
+    return resources.stream()
+        .map(
+            resource -> {
+              UUID resourceId = resource.getResourceId();
+              WsmResource createdResource = createdResources.get(resourceId);
+              return new BulkCreateResult(
+                  resourceId,
+                  createdResource == null ? null : createdResource.castToControlledResource(),
+                  failures.get(resourceId));
+            })
+        .toList();
+  }
+
+  private void validateResources(List<ControlledResource> resources) {
+    if (resources.isEmpty() || resources.size() > configuration.getMaxResources()) {
+      throw new ValidationException(
+          String.format(
+              "A bulk create must have between 1 and %d resources",
+              configuration.getMaxResources()));
+    }
+    UUID workspaceUuid = resources.get(0).getWorkspaceId();
+    Set<UUID> resourceIds = new HashSet<>();
+    for (ControlledResource resource : resources) {
+      if (!resource.getWorkspaceId().equals(workspaceUuid)) {
+        throw new ValidationException("All resources of a bulk create must be in one workspace");
+      }
+      if (resource.getResourceType() != WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE) {
+        throw new ValidationException(
+            "Only flexible resources can be created in bulk, not " + resource.getResourceType());
+      }
+      if (!resourceIds.add(resource.getResourceId())) {
+        throw new ValidationException(
+            "Resource id " + resource.getResourceId() + " appears more than once");
+      }
+    }
+  }
+
+  /**
+   * Log the creates in the activity log. The resources are created by now, so a failure to log them
+   * is logged rather than failing the request, as a flight's hook would.
+   */
+  private void writeActivities(
+      AuthenticatedUserRequest userRequest,
+      UUID workspaceUuid,
+      Set<UUID> created,
+      WsmResourceType resourceType) {
+    try {
+      workspaceActivityLogService.writeActivities(
+          userRequest,
+          workspaceUuid,
+          OperationType.CREATE,
+          created.stream().map(UUID::toString).toList(),
+          resourceType.getActivityLogChangedTarget());
+    } catch (RuntimeException e) {
+      logger.error(
+          "Failed to write the activity log of {} resources created in workspace {}",
+          created.size(),
+          workspaceUuid,
+          e);
+    }
+  }
+
+  private void deleteSamResources(
+      List<ControlledResource> resources, AuthenticatedUserRequest userRequest) {
+    for (ControlledResource resource : resources) {
+      try {
+        // Sam resources that were never created are not found, which the delete ignores
+        samService.deleteControlledResource(resource, userRequest.getRequiredToken());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        logger.error(
+            "Failed to delete Sam resource {} after a failed bulk create",
+            resource.getResourceId(),
+            e);
+      }
+    }
+  }
+
+  /**
+   * The outcome of creating one resource of a bulk create: the created resource, or the exception
+   * it failed with.
+   */
+  public record BulkCreateResult(
+      UUID resourceId,
+      @Nullable ControlledResource resource,
+      @Nullable RuntimeException exception) {}
+}
@@ -55,7 +55,6 @@ import bio.terra.workspace.service.workspace.model.OperationType;
 import bio.terra.workspace.service.workspace.model.WsmApplication;
 import com.google.cloud.Policy;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -114,7 +113,11 @@ public class ControlledResourceService {
       T creationParameters) {
     JobBuilder jobBuilder =
         commonCreationJobBuilder(resource, privateResourceIamRole, userRequest)
-            .addParameter(ControlledResourceKeys.CREATION_PARAMETERS, creationParameters);
+            .addParameter(ControlledResourceKeys.CREATION_PARAMETERS, creationParameters)
+            // A flexible resource has no cloud resource; creating it is a metadata insert and a
+            // Sam resource, so it need not wait for a Stairway flight
+            .inlineEligible(
+                resource.getResourceType() == WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE);
     return jobBuilder.submitAndWait(ControlledResource.class);
   }
 
@@ -257,8 +260,6 @@ public class ControlledResourceService {
     WsmResource resource = resourceDao.getResource(workspaceUuid, resourceId);
     String jobDescription = "Delete controlled resource; id: " + resourceId;
 
-    List<WsmResource> resourceToDelete = new ArrayList<>();
-    resourceToDelete.add(resource);
     return jobService
         .newJob()
         .description(jobDescription)
@@ -271,10 +272,12 @@ public class ControlledResourceService {
         .resourceType(resource.getResourceType())
         .resourceName(resource.getName())
         .stewardshipType(resource.getStewardshipType())
+        // Job listing reports these once the resource is deleted
+        .resourceAttributes(resource.toApiAttributesUnion())
         .workspaceId(workspaceUuid.toString())
         .addParameter(ControlledResourceKeys.FORCE_DELETE, forceDelete)
         .addParameter(JobMapKeys.RESULT_PATH.getKeyName(), resultPath)
-        .addParameter(ControlledResourceKeys.CONTROLLED_RESOURCES_TO_DELETE, resourceToDelete);
+        .addParameter(ResourceKeys.RESOURCE_ID, resourceId.toString());
   }
 
   // GCP
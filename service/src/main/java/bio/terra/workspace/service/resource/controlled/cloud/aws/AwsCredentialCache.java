@@ -0,0 +1,151 @@
+package bio.terra.workspace.service.resource.controlled.cloud.aws;
+
+import bio.terra.workspace.app.configuration.external.AwsConfiguration;
+import bio.terra.workspace.generated.model.ApiAwsCredentialAccessScope;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.apache.commons.collections4.map.LRUMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sts.model.Credentials;
+
+/**
+ * Cache of the AWS credentials vended to users for controlled resources. Notebook clients ask for
+ * credentials over and over, and each request used to cost an STS AssumeRole call (two, counting
+ * the service role). Credentials are handed out until they are within the configured safety margin
+ * of their expiration. Once the cache is full, the least recently used entry is evicted.
+ *
+ * <p>Concurrent misses on a key share a single STS call. Failures are not cached. Callers must
+ * still authorize every request before asking the cache; the entries for a user in a workspace are
+ * dropped when that user's workspace role is removed.
+ *
+ * <p>{@link #CACHE_METRIC} counts lookups by result: "miss" lookups made an STS call, "hit" and
+ * "coalesced" lookups avoided one.
+ */
+@Component
+public class AwsCredentialCache {
+  static final String CACHE_METRIC = "wsm.aws.credential.cache";
+
+  private final AwsConfiguration.CredentialCaching config;
+  private final MeterRegistry registry;
+  private final Clock clock;
+  // Evicting credentials that are still being vended is harmless: their callers hold the future
+  private final Map<Key, CompletableFuture<Credentials>> credentials;
+
+  @Autowired
+  public AwsCredentialCache(AwsConfiguration awsConfiguration, MeterRegistry registry) {
+    this(awsConfiguration.getCredentialCaching(), registry, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  AwsCredentialCache(
+      AwsConfiguration.CredentialCaching config, MeterRegistry registry, Clock clock) {
+    this.config = config;
+    this.credentials = Collections.synchronizedMap(new LRUMap<>(config.getMaxEntries()));
+    this.registry = registry;
+    this.clock = clock;
+  }
+
+  /**
+   * Get cached credentials for the key, vending new ones on a miss.
+   *
+   * @param key user, resource, access scope and duration the credentials are for
+   * @param vendor makes the STS calls to vend new credentials
+   * @return credentials with at least the safety margin left before they expire
+   */
+  public Credentials get(Key key, Supplier<Credentials> vendor) {
+    if (!config.isEnabled()) {
+      count("miss");
+      return vendor.get();
+    }
+
+    while (true) {
+      CompletableFuture<Credentials> created = new CompletableFuture<>();
+      CompletableFuture<Credentials> existing = credentials.putIfAbsent(key, created);
+      if (existing == null) {
+        count("miss");
+        return vend(key, created, vendor);
+      }
+
+      if (!existing.isDone()) {
+        count("coalesced");
+        try {
+          return existing.join();
+        } catch (CompletionException e) {
+          if (e.getCause() instanceof RuntimeException cause) {
+            throw cause;
+          }
+          throw e;
+        }
+      }
+
+      if (!existing.isCompletedExceptionally() && isFresh(existing.join())) {
+        count("hit");
+        return existing.join();
+      }
+      // Stale, or a failure that the vending thread has not removed yet; replace it
+      credentials.remove(key, existing);
+    }
+  }
+
+  /** Drop every cached credential of a user in a workspace. */
+  public void invalidate(UUID workspaceId, String userEmail) {
+    synchronized (credentials) {
+      credentials
+          .keySet()
+          .removeIf(
+              key ->
+                  key.workspaceId().equals(workspaceId)
+                      && key.userEmail().equalsIgnoreCase(userEmail));
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    return credentials.size();
+  }
+
+  private Credentials vend(
+      Key key, CompletableFuture<Credentials> created, Supplier<Credentials> vendor) {
+    try {
+      Credentials vended = vendor.get();
+      created.complete(vended);
+      return vended;
+    } catch (RuntimeException e) {
+      credentials.remove(key, created);
+      created.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private boolean isFresh(Credentials vended) {
+    return vended
+        .expiration()
+        .minus(Duration.ofSeconds(config.getSafetyMarginSeconds()))
+        .isAfter(clock.instant());
+  }
+
+  private void count(String result) {
+    registry.counter(CACHE_METRIC, "result", result).increment();
+  }
+
+  /**
+   * Cache key. The duration is part of the key so that a request for a longer session is not
+   * served a credential vended for a shorter one.
+   */
+  public record Key(
+      String userSubjectId,
+      String userEmail,
+      UUID workspaceId,
+      UUID resourceId,
+      ApiAwsCredentialAccessScope accessScope,
+      int durationSeconds) {}
+}
@@ -6,6 +6,7 @@ import bio.terra.common.iam.SamUser;
 import bio.terra.workspace.amalgam.landingzone.azure.LandingZoneApiDispatch;
 import bio.terra.workspace.app.configuration.external.AzureConfiguration;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
+import bio.terra.workspace.common.utils.ExpiringLruCache;
 import bio.terra.workspace.common.utils.Rethrow;
 import bio.terra.workspace.generated.model.ApiAzureLandingZoneDeployedResource;
 import bio.terra.workspace.service.crl.CrlService;
@@ -27,18 +28,15 @@ import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.azure.storage.common.StorageSharedKeyCredential;
 import com.azure.storage.common.sas.SasIpRange;
 import com.azure.storage.common.sas.SasProtocol;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,10 +47,22 @@ import org.springframework.stereotype.Component;
  *
  * <p>Rather than providing direct access to Azure storage containers, storage access is
  * accomplished via the minting of shared access signatures (SAS).
+ *
+ * <p>Clients request SAS tokens at high rates, so the Sam lookups, container metadata and storage
+ * account data behind a token are cached in bounded caches, and the account key comes from {@link
+ * StorageAccountKeyProvider}'s cache. Signing a token makes no remote calls, so the blob container
+ * clients used to sign share one HTTP client rather than creating one per token.
  */
 @Component
 public class AzureStorageAccessService {
   private static final Logger logger = LoggerFactory.getLogger(AzureStorageAccessService.class);
+  private static final int MAX_CACHED_ENTRIES = 10000;
+  // Sam results are only cached briefly, so that access changes take effect quickly
+  private static final Duration SAM_CACHE_TIME_TO_LIVE = Duration.ofSeconds(10);
+  private static final Duration STORAGE_ACCOUNT_CACHE_TIME_TO_LIVE = Duration.ofHours(1);
+  // Refreshed in the background before expiry, so SAS requests do not wait on the landing zone
+  private static final Duration STORAGE_ACCOUNT_CACHE_REFRESH_AHEAD = Duration.ofMinutes(10);
+  private static final HttpClient HTTP_CLIENT = HttpClient.createDefault();
 
   private final SamService samService;
   private final CrlService crlService;
@@ -63,11 +73,12 @@ public class AzureStorageAccessService {
   private final AzureCloudContextService azureCloudContextService;
   private final AzureConfiguration azureConfiguration;
   private final WorkspaceService workspaceService;
-  private final Map<StorageAccountCoordinates, StorageData> storageAccountCache;
-  private final Map<String, SamUser> samUserCache;
-  private final Map<StorageContainerCacheKey, ControlledAzureStorageContainerResource>
+  private final ExpiringLruCache<StorageAccountCoordinates, StorageData> storageAccountCache;
+  private final ExpiringLruCache<String, SamUser> samUserCache;
+  private final ExpiringLruCache<StorageContainerCacheKey, ControlledAzureStorageContainerResource>
       storageContainerResourceCache;
-  private final Map<StorageContainerCacheKey, List<String>> storageContainerPermissionsCache;
+  private final ExpiringLruCache<StorageContainerCacheKey, List<String>>
+      storageContainerPermissionsCache;
 
   @Autowired
   public AzureStorageAccessService(
@@ -79,7 +90,8 @@ public class AzureStorageAccessService {
       AzureCloudContextService azureCloudContextService,
       FeatureConfiguration features,
       AzureConfiguration azureConfiguration,
-      WorkspaceService workspaceService) {
+      WorkspaceService workspaceService,
+      MeterRegistry registry) {
     this.samService = samService;
     this.crlService = crlService;
     this.controlledResourceMetadataManager = controlledResourceMetadataManager;
@@ -89,12 +101,22 @@ public class AzureStorageAccessService {
     this.storageAccountKeyProvider = storageAccountKeyProvider;
     this.azureConfiguration = azureConfiguration;
     this.workspaceService = workspaceService;
-    this.storageAccountCache = new ConcurrentHashMap<>();
-    this.samUserCache = Collections.synchronizedMap(new PassiveExpiringMap<>(10, TimeUnit.SECONDS));
+    this.storageAccountCache =
+        new ExpiringLruCache<>(
+            "azureStorageAccountData",
+            MAX_CACHED_ENTRIES,
+            STORAGE_ACCOUNT_CACHE_TIME_TO_LIVE,
+            STORAGE_ACCOUNT_CACHE_REFRESH_AHEAD,
+            registry);
+    this.samUserCache =
+        new ExpiringLruCache<>(
+            "azureSasSamUser", MAX_CACHED_ENTRIES, SAM_CACHE_TIME_TO_LIVE, registry);
     this.storageContainerResourceCache =
-        Collections.synchronizedMap(new PassiveExpiringMap<>(10, TimeUnit.SECONDS));
+        new ExpiringLruCache<>(
+            "azureSasContainerResource", MAX_CACHED_ENTRIES, SAM_CACHE_TIME_TO_LIVE, registry);
     this.storageContainerPermissionsCache =
-        Collections.synchronizedMap(new PassiveExpiringMap<>(10, TimeUnit.SECONDS));
+        new ExpiringLruCache<>(
+            "azureSasContainerActions", MAX_CACHED_ENTRIES, SAM_CACHE_TIME_TO_LIVE, registry);
   }
 
   private BlobContainerSasPermission getSasTokenPermissions(
@@ -102,19 +124,15 @@ public class AzureStorageAccessService {
       UUID storageContainerUuid,
       String samResourceName,
       String desiredPermissions) {
-    List<String> containerActions;
-    var cacheKey = new StorageContainerCacheKey(userRequest.getSubjectId(), storageContainerUuid);
-    if (storageContainerPermissionsCache.containsKey(cacheKey)) {
-      containerActions = storageContainerPermissionsCache.get(cacheKey);
-    } else {
-      containerActions =
-          Rethrow.onInterrupted(
-              () ->
-                  samService.listResourceActions(
-                      userRequest, samResourceName, storageContainerUuid.toString()),
-              "listResourceActions");
-      storageContainerPermissionsCache.put(cacheKey, containerActions);
-    }
+    List<String> containerActions =
+        storageContainerPermissionsCache.getOrLoad(
+            new StorageContainerCacheKey(userRequest.getSubjectId(), storageContainerUuid),
+            v ->
+                Rethrow.onInterrupted(
+                    () ->
+                        samService.listResourceActions(
+                            userRequest, samResourceName, storageContainerUuid.toString()),
+                    "listResourceActions"));
 
     String possiblePermissions = "";
     for (String action : containerActions) {
@@ -207,8 +225,7 @@ public class AzureStorageAccessService {
     features.azureEnabledCheck();
 
     var samUser =
-        samUserCache.computeIfAbsent(
-            userRequest.getSubjectId(), v -> samService.getSamUser(userRequest));
+        samUserCache.getOrLoad(userRequest.getSubjectId(), v -> samService.getSamUser(userRequest));
     logger.info(
         "User {} [SubjectId={}] requesting SAS token for Azure storage container {} in workspace {}",
         samUser.getEmail(),
@@ -233,7 +250,7 @@ public class AzureStorageAccessService {
         new BlobContainerClientBuilder()
             .credential(storageKey)
             .endpoint(storageData.endpoint())
-            .httpClient(HttpClient.createDefault())
+            .httpClient(HTTP_CLIENT)
             .containerName(storageData.storageContainerResource().getStorageContainerName())
             .buildClient();
     BlobServiceSasSignatureValues sasValues =
@@ -308,7 +325,7 @@ public class AzureStorageAccessService {
     return new BlobContainerClientBuilder()
         .credential(storageAccountKey)
         .endpoint(storageAccount.endPoints().primary().blob())
-        .httpClient(HttpClient.createDefault())
+        .httpClient(HTTP_CLIENT)
         .containerName(containerResource.getStorageContainerName())
         .buildClient();
   }
@@ -328,7 +345,7 @@ public class AzureStorageAccessService {
     return new BlobContainerClientBuilder()
         .credential(storageAccountKey)
         .endpoint(storageData.endpoint())
-        .httpClient(HttpClient.createDefault())
+        .httpClient(HTTP_CLIENT)
         .containerName(storageData.storageContainerResource().getStorageContainerName())
         .buildClient();
   }
@@ -351,7 +368,7 @@ public class AzureStorageAccessService {
     // TODO: PF-2823 Access control checks should be done in the controller layer
     // TODO this is redundant with what we're doing for storage account keys, they should be unified
     final ControlledAzureStorageContainerResource storageContainerResource =
-        storageContainerResourceCache.computeIfAbsent(
+        storageContainerResourceCache.getOrLoad(
             new StorageContainerCacheKey(userRequest.getSubjectId(), storageContainerUuid),
             v ->
                 controlledResourceMetadataManager
@@ -362,12 +379,13 @@ public class AzureStorageAccessService {
                         SamConstants.SamControlledResourceActions.READ_ACTION)
                     .castByEnum(WsmResourceType.CONTROLLED_AZURE_STORAGE_CONTAINER));
 
-    StorageData maybeStorageData =
-        storageAccountCache.get(new StorageAccountCoordinates(workspaceUuid, storageContainerUuid));
-    if (maybeStorageData != null) {
-      return maybeStorageData;
-    }
+    return storageAccountCache.getOrLoad(
+        new StorageAccountCoordinates(workspaceUuid, storageContainerUuid),
+        v -> getSharedStorageAccountData(workspaceUuid, storageContainerResource));
+  }
 
+  private StorageData getSharedStorageAccountData(
+      UUID workspaceUuid, ControlledAzureStorageContainerResource storageContainerResource) {
     // get details from LZ shared storage account
     var bearerToken = new BearerToken(samService.getWsmServiceAccountToken());
     UUID landingZoneId =
@@ -391,15 +409,10 @@ public class AzureStorageAccessService {
         storageManager
             .storageAccounts()
             .getById(existingSharedStorageAccount.get().getResourceId());
-    var result =
-        new StorageData(
-            storageAccount.name(),
-            storageAccount.endPoints().primary().blob().toLowerCase(Locale.ROOT),
-            storageContainerResource);
-
-    storageAccountCache.put(
-        new StorageAccountCoordinates(workspaceUuid, storageContainerUuid), result);
-    return result;
+    return new StorageData(
+        storageAccount.name(),
+        storageAccount.endPoints().primary().blob().toLowerCase(Locale.ROOT),
+        storageContainerResource);
   }
 }
 
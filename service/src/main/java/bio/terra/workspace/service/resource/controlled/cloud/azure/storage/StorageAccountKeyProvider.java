@@ -1,37 +1,54 @@
 package bio.terra.workspace.service.resource.controlled.cloud.azure.storage;
 
 import bio.terra.workspace.app.configuration.external.AzureConfiguration;
+import bio.terra.workspace.common.utils.ExpiringLruCache;
 import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.workspace.AzureCloudContextService;
 import bio.terra.workspace.service.workspace.model.AzureCloudContext;
 import com.azure.resourcemanager.storage.StorageManager;
 import com.azure.resourcemanager.storage.models.StorageAccount;
 import com.azure.storage.common.StorageSharedKeyCredential;
-import java.util.Collections;
-import java.util.Map;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Provides the shared keys WSM signs storage SAS tokens with. Keys are cached per storage account,
+ * along with the credential built from them, so issuing a SAS does not call ARM. Account keys do
+ * not expire, but they can be rotated; cached keys are reloaded after an hour so that a rotation
+ * is picked up without a restart. Keys in use are refreshed in the background during the last ten
+ * minutes of that hour, so SAS requests do not wait on ARM when a key expires.
+ */
 @Component
 public class StorageAccountKeyProvider {
+  private static final int MAX_CACHED_KEYS = 1000;
+  private static final Duration KEY_TIME_TO_LIVE = Duration.ofHours(1);
+  private static final Duration KEY_REFRESH_AHEAD = Duration.ofMinutes(10);
+
   private final AzureCloudContextService azureCloudContextService;
   private final CrlService crlService;
   private final AzureConfiguration azureConfiguration;
-  private final Map<AzureStorageAccountCacheKey, String> storageAccountKeyCache;
+  private final ExpiringLruCache<AzureStorageAccountCacheKey, StorageSharedKeyCredential>
+      storageAccountKeyCache;
 
   @Autowired
   public StorageAccountKeyProvider(
       AzureCloudContextService azureCloudContextService1,
       CrlService crlService,
-      AzureConfiguration azureConfiguration) {
+      AzureConfiguration azureConfiguration,
+      MeterRegistry registry) {
     this.azureCloudContextService = azureCloudContextService1;
     this.crlService = crlService;
     this.azureConfiguration = azureConfiguration;
     this.storageAccountKeyCache =
-        Collections.synchronizedMap(new PassiveExpiringMap<>(24, TimeUnit.HOURS));
+        new ExpiringLruCache<>(
+            "azureStorageAccountKey",
+            MAX_CACHED_KEYS,
+            KEY_TIME_TO_LIVE,
+            KEY_REFRESH_AHEAD,
+            registry);
   }
 
   public StorageSharedKeyCredential getStorageAccountKey(
@@ -46,20 +63,19 @@ public class StorageAccountKeyProvider {
             azureCloudContext.getAzureResourceGroupId(),
             storageAccountName);
 
-    var key =
-        storageAccountKeyCache.computeIfAbsent(
-            storageAccountCacheKey,
-            v -> {
-              StorageManager storageManager =
-                  crlService.getStorageManager(azureCloudContext, azureConfiguration);
-              StorageAccount storageAccount =
-                  storageManager
-                      .storageAccounts()
-                      .getByResourceGroup(
-                          azureCloudContext.getAzureResourceGroupId(), storageAccountName);
+    return storageAccountKeyCache.getOrLoad(
+        storageAccountCacheKey,
+        v -> {
+          StorageManager storageManager =
+              crlService.getStorageManager(azureCloudContext, azureConfiguration);
+          StorageAccount storageAccount =
+              storageManager
+                  .storageAccounts()
+                  .getByResourceGroup(
+                      azureCloudContext.getAzureResourceGroupId(), storageAccountName);
 
-              return storageAccount.getKeys().get(0).value();
-            });
-    return new StorageSharedKeyCredential(storageAccountName, key);
+          return new StorageSharedKeyCredential(
+              storageAccountName, storageAccount.getKeys().get(0).value());
+        });
   }
 }
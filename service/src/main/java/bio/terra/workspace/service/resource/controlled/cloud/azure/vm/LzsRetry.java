@@ -3,11 +3,11 @@ package bio.terra.workspace.service.resource.controlled.cloud.azure.vm;
 import static java.time.Instant.now;
 
 import bio.terra.lz.futureservice.client.ApiException;
+import bio.terra.workspace.common.logging.DependencyMetrics;
 import jakarta.ws.rs.ProcessingException;
 import java.net.SocketTimeoutException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.TimeUnit;
 import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +29,9 @@ public class LzsRetry {
   // an errorCode 0. This isn't a real HTTP status code, but we can check for it anyway.
   private static final int TIMEOUT_STATUS_CODE = 0;
 
+  // Name of the dependency in DependencyMetrics
+  private static final String DEPENDENCY = "landing-zone";
+
   private final Instant operationTimeout;
 
   // How long to wait between retries.
@@ -143,7 +146,8 @@ public class LzsRetry {
       throw previousException;
     }
     logger.info("LzsRetry: sleeping " + retryDuration.getSeconds() + " seconds");
-    TimeUnit.SECONDS.sleep(retryDuration.getSeconds());
+    DependencyMetrics.recordRetry(DEPENDENCY);
+    DependencyMetrics.backoff(DEPENDENCY, Duration.ofSeconds(retryDuration.getSeconds()));
     retryDuration = retryDuration.plus(INITIAL_WAIT);
     if (retryDuration.compareTo(MAXIMUM_WAIT) > 0) {
       retryDuration = MAXIMUM_WAIT;
@@ -6,7 +6,6 @@ import bio.terra.workspace.common.utils.FlightUtils;
 import bio.terra.workspace.common.utils.RetryRules;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.job.JobMapKeys;
-import bio.terra.workspace.service.resource.controlled.cloud.azure.AzureStorageAccessService;
 import bio.terra.workspace.service.resource.controlled.cloud.azure.BlobCopier;
 import bio.terra.workspace.service.resource.controlled.cloud.azure.storageContainer.ControlledAzureStorageContainerResource;
 import bio.terra.workspace.service.resource.controlled.flight.clone.azure.common.CloneControlledAzureResourceFlight;
@@ -76,17 +75,7 @@ public class CloneControlledAzureStorageContainerResourceFlight
         inputParameters.get(JobMapKeys.AUTH_USER_INFO.getKeyName(), AuthenticatedUserRequest.class);
 
     var resourceDao = flightBeanBag.getResourceDao();
-    var azureStorageService =
-        new AzureStorageAccessService(
-            flightBeanBag.getSamService(),
-            flightBeanBag.getCrlService(),
-            flightBeanBag.getStorageAccountKeyProvider(),
-            flightBeanBag.getControlledResourceMetadataManager(),
-            flightBeanBag.getLandingZoneApiDispatch(),
-            flightBeanBag.getAzureCloudContextService(),
-            flightBeanBag.getFeatureConfiguration(),
-            flightBeanBag.getAzureConfig(),
-            flightBeanBag.getWorkspaceService());
+    var azureStorageService = flightBeanBag.getAzureStorageAccessService();
     return List.of(
         new StepRetryRulePair(
             new CopyAzureStorageContainerBlobsStep(
@@ -0,0 +1,75 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.cloud.storage.StorageException;
+import java.util.List;
+
+/**
+ * Delete the Storage Transfer jobs and the shard lists of a signed URL list import once every
+ * shard has been transferred.
+ *
+ * <p>Preconditions: working map contains SIGNED_URL_SHARDS, CONTROL_PLANE_PROJECT_ID and
+ * DESTINATION_STORAGE_TRANSFER_INPUTS.
+ *
+ * <p>Post conditions: the shard jobs and the shard list objects no longer exist.
+ */
+public class CleanupSignedUrlShardsStep implements Step {
+  private final Storagetransfer storagetransfer;
+  private final StorageTransferOperationPoller operationPoller;
+  private final CrlService crlService;
+
+  public CleanupSignedUrlShardsStep(
+      Storagetransfer storagetransfer,
+      StorageTransferOperationPoller operationPoller,
+      CrlService crlService) {
+    this.storagetransfer = storagetransfer;
+    this.operationPoller = operationPoller;
+    this.crlService = crlService;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext flightContext)
+      throws InterruptedException, RetryException {
+    FlightMap workingMap = flightContext.getWorkingMap();
+    List<SignedUrlShard> shards =
+        workingMap.get(ControlledResourceKeys.SIGNED_URL_SHARDS, new TypeReference<>() {});
+    String controlPlaneProjectId =
+        workingMap.get(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, String.class);
+    StorageTransferInput destination =
+        workingMap.get(
+            ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS, StorageTransferInput.class);
+
+    StepResult result =
+        RunSignedUrlShardTransfersStep.deleteShardJobs(
+            storagetransfer,
+            operationPoller,
+            flightContext.getFlightId(),
+            controlPlaneProjectId,
+            shards);
+    if (!result.isSuccess()) {
+      return result;
+    }
+    try {
+      ShardSignedUrlListStep.deleteShardManifests(
+          crlService.createStorageCow(destination.getProjectId()), destination, shards);
+    } catch (StorageException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+    return StepResult.getStepResultSuccess();
+  }
+
+  // Nothing to undo
+  @Override
+  public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
+    return StepResult.getStepResultSuccess();
+  }
+}
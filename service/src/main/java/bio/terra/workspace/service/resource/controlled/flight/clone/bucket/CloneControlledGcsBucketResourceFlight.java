@@ -176,7 +176,12 @@ public class CloneControlledGcsBucketResourceFlight extends Flight {
           RetryRules.shortDatabase());
       addStep(new SetBucketRolesStep(flightBeanBag.getBucketCloneRolesService()), cloudRetry);
       addStep(new TransferGcsBucketToGcsBucketStep(flightBeanBag.getStoragetransfer()), cloudRetry);
-      addStep(new CompleteTransferOperationStep(flightBeanBag.getStoragetransfer()), cloudRetry);
+      addStep(
+          new CompleteTransferOperationStep(
+              flightBeanBag.getStoragetransfer(),
+              flightBeanBag.getStorageTransferOperationPoller(),
+              flightBeanBag.getStorageTransferConfiguration().isYieldBetweenPolls()),
+          cloudRetry);
       addStep(new SetCloneDestinationGcsBucketResponseStep());
       addStep(
           new DeleteStorageTransferServiceJobStep(flightBeanBag.getStoragetransfer()), cloudRetry);
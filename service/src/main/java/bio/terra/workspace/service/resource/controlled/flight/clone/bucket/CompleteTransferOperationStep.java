@@ -1,6 +1,7 @@
 package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
 
 import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
@@ -13,7 +14,9 @@ import com.google.api.services.storagetransfer.v1.model.Operation;
 import com.google.api.services.storagetransfer.v1.model.TransferJob;
 import java.io.IOException;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,52 +29,76 @@ import org.slf4j.LoggerFactory;
  * created is assumed to be the most recent one started for this job.
  *
  * <p>Post conditions: Operation has completed or failed.
+ *
+ * <p>Polling intervals come from {@link TransferPollBackoff}, so small copies complete in seconds
+ * and large ones are polled about as often as their copy rate warrants. Status is read from the
+ * {@link StorageTransferOperationPoller} when it has seen the job. When yieldBetweenPolls is set,
+ * each step execution polls once, saves the polling state and the time of the next poll in the
+ * working map, and reruns the step straight away. The rerun waits until that time before it polls,
+ * so a step resumed after a restart only waits out what is left of the interval.
  */
 public class CompleteTransferOperationStep implements Step {
   public static final Logger logger = LoggerFactory.getLogger(CompleteTransferOperationStep.class);
-  private static final Duration JOBS_POLL_INTERVAL = Duration.ofSeconds(10);
-  private static final Duration OPERATIONS_POLL_INTERVAL = Duration.ofSeconds(30);
-  private static final int MAX_ATTEMPTS = 25;
+  // Same limits as the fixed 10 and 30 second intervals with 25 attempts we used to have
+  private static final Duration JOB_START_TIMEOUT = Duration.ofSeconds(250);
+  private static final Duration OPERATION_TIMEOUT = Duration.ofSeconds(750);
+  private static final String BYTES_COPIED_COUNTER = "bytesCopiedToSink";
+  private static final String BYTES_FOUND_COUNTER = "bytesFoundFromSource";
+
   private final Storagetransfer storagetransfer;
+  private final StorageTransferOperationPoller operationPoller;
+  private final boolean yieldBetweenPolls;
 
-  public CompleteTransferOperationStep(Storagetransfer storagetransfer) {
+  public CompleteTransferOperationStep(
+      Storagetransfer storagetransfer,
+      StorageTransferOperationPoller operationPoller,
+      boolean yieldBetweenPolls) {
     this.storagetransfer = storagetransfer;
+    this.operationPoller = operationPoller;
+    this.yieldBetweenPolls = yieldBetweenPolls;
   }
 
   @Override
   public StepResult doStep(FlightContext flightContext)
       throws InterruptedException, RetryException {
-
+    FlightMap workingMap = flightContext.getWorkingMap();
     FlightUtils.validateRequiredEntries(
-        flightContext.getWorkingMap(),
+        workingMap,
         ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME,
         ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID);
-    try {
-      String transferJobName =
-          flightContext
-              .getWorkingMap()
-              .get(ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME, String.class);
-      String controlPlaneProjectId =
-          flightContext
-              .getWorkingMap()
-              .get(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, String.class);
+    String transferJobName =
+        workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME, String.class);
+    String controlPlaneProjectId =
+        workingMap.get(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, String.class);
 
-      // Job is now submitted with its schedule. We need to poll the transfer operations API
-      // for completion of the first transfer operation. The trick is going to be setting up a
-      // polling interval that's appropriate for a wide range of bucket sizes. Everything from
-      // milliseconds to hours. The transfer operation won't exist until it starts.
-      String operationName = getLatestOperationName(transferJobName, controlPlaneProjectId);
-
-      StepResult operationResult = getTransferOperationResult(transferJobName, operationName);
-
-      if (StepStatus.STEP_RESULT_FAILURE_FATAL == operationResult.getStepStatus()) {
-        return operationResult;
+    operationPoller.watch(transferJobName, controlPlaneProjectId);
+    PollState state = PollState.fromWorkingMap(workingMap);
+    // Stop watching the job however the step ends, unless it reruns to poll again
+    boolean finished = true;
+    try {
+      while (true) {
+        TimeUnit.MILLISECONDS.sleep(
+            Math.max(0, Duration.between(Instant.now(), state.nextPollTime).toMillis()));
+        // The transfer operation won't exist until it starts. Until then we poll the job for the
+        // server-generated name of its latest operation, then the operation for completion.
+        StepResult result = poll(transferJobName, controlPlaneProjectId, state);
+        if (result != null) {
+          return result;
+        }
+        state.nextPollTime = Instant.now().plusMillis(state.backoff.getIntervalMillis());
+        if (yieldBetweenPolls) {
+          state.toWorkingMap(workingMap);
+          finished = false;
+          return new StepResult(StepStatus.STEP_RESULT_RERUN);
+        }
       }
     } catch (IOException e) {
       return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
+    } finally {
+      if (finished) {
+        operationPoller.unwatch(transferJobName);
+      }
     }
-
-    return StepResult.getStepResultSuccess();
   }
 
   // Nothing to undo, as this step has no side effects
@@ -81,76 +108,133 @@ public class CompleteTransferOperationStep implements Step {
   }
 
   /**
-   * Poll for completion of the named transfer operation and return the result.
+   * Poll once, advancing the state.
    *
-   * @param transferJobName - name of job owning the transfer operation
-   * @param operationName - server-generated name of running operation
-   * @return StepResult indicating success or failure
-   * @throws IOException IOException
-   * @throws InterruptedException InterruptedException
+   * @return the step result if the operation is finished or timed out; null to keep polling
    */
-  private StepResult getTransferOperationResult(String transferJobName, String operationName)
-      throws IOException, InterruptedException {
-    // Now that we have an operation name, we can poll the operations endpoint for completion
-    // information.
-    int attempts = 0;
-    Operation operation;
-    do {
-      operation = storagetransfer.transferOperations().get(operationName).execute();
-      if (operation == null) {
-        throw new RuntimeException(
-            String.format("Failed to get transfer operation with name %s", operationName));
-      } else if (operation.getDone() != null && operation.getDone()) {
-        break;
-      } else {
-        // operation is not started or is in progress
-        TimeUnit.MILLISECONDS.sleep(OPERATIONS_POLL_INTERVAL.toMillis());
-        attempts++;
-        logger.debug("Attempted to get transfer operation {} {} times", operationName, attempts);
+  @Nullable
+  private StepResult poll(String transferJobName, String projectId, PollState state)
+      throws IOException {
+    if (state.operationName == null) {
+      state.operationName = getLatestOperationName(transferJobName, projectId);
+      if (state.operationName == null) {
+        if (Instant.now().isAfter(state.deadline)) {
+          throw new StorageTransferServiceTimeoutException(
+              "Exceeded max attempts to get transfer operation name");
+        }
+        state.backoff.next(0, 0);
+        return null;
       }
-    } while (attempts < MAX_ATTEMPTS);
-    if (MAX_ATTEMPTS <= attempts) {
+      logger.debug("Latest transfer operation name is {}", state.operationName);
+      state.deadline = Instant.now().plus(OPERATION_TIMEOUT);
+      state.backoff = new TransferPollBackoff();
+    }
+
+    Operation operation = getOperation(transferJobName, state.operationName);
+    if (operation.getDone() != null && operation.getDone()) {
+      return getTransferOperationResult(transferJobName, operation);
+    }
+    if (Instant.now().isAfter(state.deadline)) {
       final String message = "Timed out waiting for operation result.";
       logger.info(message);
       return new StepResult(
           StepStatus.STEP_RESULT_FAILURE_FATAL,
           new StorageTransferServiceTimeoutException(message));
     }
-    logger.info("Operation {} in transfer job {} has completed", operationName, transferJobName);
-    // Inspect the completed operation for success
+    // operation is not started or is in progress
+    Duration interval =
+        state.backoff.next(
+            StorageTransferOperationPoller.getCounter(operation, BYTES_COPIED_COUNTER),
+            StorageTransferOperationPoller.getCounter(operation, BYTES_FOUND_COUNTER));
+    logger.debug("Polling transfer operation {} again in {}", state.operationName, interval);
+    return null;
+  }
+
+  /** Inspect the completed operation for success. */
+  private StepResult getTransferOperationResult(String transferJobName, Operation operation) {
+    logger.info(
+        "Operation {} in transfer job {} has completed", operation.getName(), transferJobName);
     if (operation.getError() != null) {
-      logger.warn("Error in transfer operation {}: {}", operationName, operation.getError());
+      logger.warn("Error in transfer operation {}: {}", operation.getName(), operation.getError());
       final RuntimeException e =
           new RuntimeException("Failed transfer with error " + operation.getError().toString());
       return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
-    } else {
-      logger.debug("Completed operation metadata: {}", operation.getMetadata());
-      return StepResult.getStepResultSuccess();
     }
+    logger.debug("Completed operation metadata: {}", operation.getMetadata());
+    return StepResult.getStepResultSuccess();
   }
 
-  // First, we poll the transfer jobs endpoint until an operation has started so that we can get
-  // its server-generated name. Returns the most recently started operation's name. This is
+  // Returns the most recently started operation's name, or null if none has started yet. This is
   // reasonably safe, because the names are scoped to the transfer job.
+  @Nullable
   private String getLatestOperationName(String transferJobName, String projectId)
-      throws InterruptedException, IOException {
-    String operationName = null;
-    for (int numAttempts = 0; numAttempts < MAX_ATTEMPTS; ++numAttempts) {
-      final TransferJob getResponse =
-          storagetransfer.transferJobs().get(transferJobName, projectId).execute();
-      operationName = getResponse.getLatestOperationName();
-      if (null != operationName) {
-        break;
+      throws IOException {
+    Operation polled = operationPoller.getLatestOperation(transferJobName).orElse(null);
+    if (polled != null) {
+      return polled.getName();
+    }
+    final TransferJob getResponse =
+        storagetransfer.transferJobs().get(transferJobName, projectId).execute();
+    return getResponse.getLatestOperationName();
+  }
+
+  private Operation getOperation(String transferJobName, String operationName)
+      throws IOException {
+    Operation polled = operationPoller.getLatestOperation(transferJobName).orElse(null);
+    if (polled != null && operationName.equals(polled.getName())) {
+      return polled;
+    }
+    Operation operation = storagetransfer.transferOperations().get(operationName).execute();
+    if (operation == null) {
+      throw new RuntimeException(
+          String.format("Failed to get transfer operation with name %s", operationName));
+    }
+    return operation;
+  }
+
+  /** Polling state, kept in the working map between executions when yielding. */
+  private static class PollState {
+    @Nullable private String operationName;
+    private Instant deadline;
+    private TransferPollBackoff backoff;
+    private Instant nextPollTime;
+
+    private static PollState fromWorkingMap(FlightMap workingMap) {
+      PollState state = new PollState();
+      state.operationName =
+          workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME, String.class);
+      Long deadline =
+          workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_POLL_DEADLINE, Long.class);
+      Long interval =
+          workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_POLL_INTERVAL, Long.class);
+      Long bytesCopied =
+          workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_BYTES_COPIED, Long.class);
+      Long nextPollTime =
+          workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_NEXT_POLL_TIME, Long.class);
+      state.nextPollTime =
+          nextPollTime == null ? Instant.now() : Instant.ofEpochMilli(nextPollTime);
+      if (deadline == null || interval == null || bytesCopied == null) {
+        state.deadline = Instant.now().plus(JOB_START_TIMEOUT);
+        state.backoff = new TransferPollBackoff();
       } else {
-        TimeUnit.MILLISECONDS.sleep(JOBS_POLL_INTERVAL.toMillis());
+        state.deadline = Instant.ofEpochMilli(deadline);
+        state.backoff = new TransferPollBackoff(interval, bytesCopied);
       }
-    }
-    if (null == operationName) {
-      throw new StorageTransferServiceTimeoutException(
-          "Exceeded max attempts to get transfer operation name");
+      return state;
     }
 
-    logger.debug("Latest transfer operation name is {}", operationName);
-    return operationName;
+    private void toWorkingMap(FlightMap workingMap) {
+      if (operationName != null) {
+        workingMap.put(ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME, operationName);
+      }
+      workingMap.put(
+          ControlledResourceKeys.STORAGE_TRANSFER_POLL_DEADLINE, deadline.toEpochMilli());
+      workingMap.put(
+          ControlledResourceKeys.STORAGE_TRANSFER_POLL_INTERVAL, backoff.getIntervalMillis());
+      workingMap.put(
+          ControlledResourceKeys.STORAGE_TRANSFER_BYTES_COPIED, backoff.getLastBytesCopied());
+      workingMap.put(
+          ControlledResourceKeys.STORAGE_TRANSFER_NEXT_POLL_TIME, nextPollTime.toEpochMilli());
+    }
   }
 }
@@ -0,0 +1,316 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import static bio.terra.workspace.service.resource.controlled.flight.clone.bucket.StorageTransferServiceUtils.createTransferJob;
+import static bio.terra.workspace.service.resource.controlled.flight.clone.bucket.StorageTransferServiceUtils.createTransferSpecForSignedUrl;
+import static bio.terra.workspace.service.resource.controlled.flight.clone.bucket.StorageTransferServiceUtils.storageTransferJobExists;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.FlightUtils;
+import bio.terra.workspace.service.resource.controlled.flight.clone.bucket.SignedUrlShard.Status;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.api.services.storagetransfer.v1.model.Operation;
+import com.google.api.services.storagetransfer.v1.model.TransferJob;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run one Storage Transfer job per signed URL list shard, at most maxConcurrentJobs at a time.
+ *
+ * <p>Each execution of the step checks the running jobs, starts pending shards into the free
+ * slots, saves the shard states in the working map and reruns itself, in the same way that
+ * CreateTableCopyJobsStep persists its progress table by table. A shard whose transfer fails is
+ * retried with a new job up to maxAttempts times; shards that succeeded are never transferred
+ * again. Since transfers do not overwrite objects that already exist in the destination, a retried
+ * shard skips what its earlier attempts copied.
+ *
+ * <p>Preconditions: working map contains SIGNED_URL_SHARDS, CONTROL_PLANE_PROJECT_ID and
+ * DESTINATION_STORAGE_TRANSFER_INPUTS.
+ *
+ * <p>Post conditions: every shard has SUCCEEDED, or the step fails listing the shards that did not.
+ */
+public class RunSignedUrlShardTransfersStep implements Step {
+  private static final Logger logger =
+      LoggerFactory.getLogger(RunSignedUrlShardTransfersStep.class);
+  // A job that has not started an operation in this long is treated as a failed attempt
+  private static final Duration JOB_START_TIMEOUT = Duration.ofSeconds(250);
+  private static final String BYTES_COPIED_COUNTER = "bytesCopiedToSink";
+  private static final String BYTES_FOUND_COUNTER = "bytesFoundFromSource";
+  private static final String OBJECTS_COPIED_COUNTER = "objectsCopiedToSink";
+
+  private final Storagetransfer storagetransfer;
+  private final StorageTransferOperationPoller operationPoller;
+  private final int maxConcurrentJobs;
+  private final int maxAttempts;
+
+  public RunSignedUrlShardTransfersStep(
+      Storagetransfer storagetransfer,
+      StorageTransferOperationPoller operationPoller,
+      int maxConcurrentJobs,
+      int maxAttempts) {
+    this.storagetransfer = storagetransfer;
+    this.operationPoller = operationPoller;
+    this.maxConcurrentJobs = maxConcurrentJobs;
+    this.maxAttempts = maxAttempts;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext context) throws InterruptedException, RetryException {
+    FlightMap workingMap = context.getWorkingMap();
+    FlightUtils.validateRequiredEntries(
+        workingMap,
+        ControlledResourceKeys.SIGNED_URL_SHARDS,
+        ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID,
+        ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS);
+    List<SignedUrlShard> shards =
+        workingMap.get(ControlledResourceKeys.SIGNED_URL_SHARDS, new TypeReference<>() {});
+    String controlPlaneProjectId =
+        workingMap.get(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, String.class);
+    StorageTransferInput destination =
+        workingMap.get(
+            ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS, StorageTransferInput.class);
+
+    long bytesFound = 0;
+    try {
+      for (SignedUrlShard shard : shards) {
+        if (shard.getStatus() == Status.RUNNING) {
+          bytesFound += checkShard(shard, controlPlaneProjectId);
+        }
+      }
+      int running = (int) shards.stream().filter(s -> s.getStatus() == Status.RUNNING).count();
+      for (SignedUrlShard shard : shards) {
+        if (running >= maxConcurrentJobs) {
+          break;
+        }
+        if (shard.getStatus() == Status.PENDING) {
+          startShard(
+              shard, context.getFlightId(), controlPlaneProjectId, destination.getBucketName());
+          running++;
+        }
+      }
+    } catch (IOException e) {
+      // Keep what we learned so the retry does not start duplicate jobs
+      workingMap.put(ControlledResourceKeys.SIGNED_URL_SHARDS, shards);
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+    workingMap.put(ControlledResourceKeys.SIGNED_URL_SHARDS, shards);
+    logProgress(shards, bytesFound);
+
+    if (shards.stream().allMatch(SignedUrlShard::isFinished)) {
+      List<SignedUrlShard> failed =
+          shards.stream().filter(s -> s.getStatus() == Status.FAILED).toList();
+      if (failed.isEmpty()) {
+        return StepResult.getStepResultSuccess();
+      }
+      String failures =
+          failed.stream()
+              .map(s -> String.format("shard %d: %s", s.getIndex(), s.getLastError()))
+              .collect(Collectors.joining("; "));
+      return new StepResult(
+          StepStatus.STEP_RESULT_FAILURE_FATAL,
+          new RuntimeException(
+              String.format(
+                  "%d of %d signed URL list shards failed to transfer: %s",
+                  failed.size(), shards.size(), failures)));
+    }
+
+    TimeUnit.MILLISECONDS.sleep(nextPollInterval(workingMap, shards, bytesFound).toMillis());
+    return new StepResult(StepStatus.STEP_RESULT_RERUN);
+  }
+
+  /** Delete every shard transfer job the flight created. */
+  @Override
+  public StepResult undoStep(FlightContext context) throws InterruptedException {
+    FlightMap workingMap = context.getWorkingMap();
+    List<SignedUrlShard> shards =
+        workingMap.get(ControlledResourceKeys.SIGNED_URL_SHARDS, new TypeReference<>() {});
+    String controlPlaneProjectId =
+        workingMap.get(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, String.class);
+    if (shards == null) {
+      return StepResult.getStepResultSuccess();
+    }
+    return deleteShardJobs(
+        storagetransfer, operationPoller, context.getFlightId(), controlPlaneProjectId, shards);
+  }
+
+  /** Delete the transfer jobs of all shards, stopping at the first failure. */
+  static StepResult deleteShardJobs(
+      Storagetransfer storagetransfer,
+      StorageTransferOperationPoller operationPoller,
+      String flightId,
+      String controlPlaneProjectId,
+      List<SignedUrlShard> shards) {
+    for (SignedUrlShard shard : shards) {
+      if (shard.getTransferJobName() == null) {
+        continue;
+      }
+      operationPoller.unwatch(shard.getTransferJobName());
+      StepResult result =
+          StorageTransferServiceUtils.deleteTransferJobStepImpl(
+              flightId, shard.getTransferJobName(), controlPlaneProjectId, storagetransfer);
+      if (!result.isSuccess()) {
+        return result;
+      }
+    }
+    return StepResult.getStepResultSuccess();
+  }
+
+  private void startShard(
+      SignedUrlShard shard, String flightId, String controlPlaneProjectId, String bucketName)
+      throws IOException {
+    String transferJobName = shard.getTransferJobName();
+    if (transferJobName == null) {
+      shard.setAttempts(shard.getAttempts() + 1);
+      transferJobName = getShardJobName(flightId, shard.getIndex(), shard.getAttempts());
+      // Record the job before creating it, so undo finds it even if the create fails after the
+      // job was made. A pending shard with a job name reuses it when the step is retried.
+      shard.setTransferJobName(transferJobName);
+    }
+    if (!storageTransferJobExists(storagetransfer, transferJobName, controlPlaneProjectId)) {
+      logger.info(
+          "Creating transfer job {} for shard {} (attempt {})",
+          transferJobName,
+          shard.getIndex(),
+          shard.getAttempts());
+      createTransferJob(
+          storagetransfer,
+          createTransferSpecForSignedUrl(shard.getListUrl(), bucketName),
+          transferJobName,
+          controlPlaneProjectId);
+    }
+    // Only a shard whose job exists is running; checkShard would fail to get it otherwise
+    shard.setStartedAtMillis(Instant.now().toEpochMilli());
+    shard.setStatus(Status.RUNNING);
+    operationPoller.watch(transferJobName, controlPlaneProjectId);
+  }
+
+  /**
+   * Update a running shard from its latest transfer operation.
+   *
+   * @return bytes found at the source for the shard so far
+   */
+  private long checkShard(SignedUrlShard shard, String controlPlaneProjectId) throws IOException {
+    Operation operation = getLatestOperation(shard.getTransferJobName(), controlPlaneProjectId);
+    if (operation == null) {
+      if (Instant.ofEpochMilli(shard.getStartedAtMillis())
+          .plus(JOB_START_TIMEOUT)
+          .isBefore(Instant.now())) {
+        failAttempt(shard, "transfer operation did not start", controlPlaneProjectId);
+      }
+      return 0;
+    }
+    shard.setBytesCopied(
+        StorageTransferOperationPoller.getCounter(operation, BYTES_COPIED_COUNTER));
+    shard.setObjectsCopied(
+        StorageTransferOperationPoller.getCounter(operation, OBJECTS_COPIED_COUNTER));
+    if (operation.getDone() != null && operation.getDone()) {
+      operationPoller.unwatch(shard.getTransferJobName());
+      if (operation.getError() != null) {
+        logger.warn(
+            "Error in transfer operation {} for shard {}: {}",
+            operation.getName(),
+            shard.getIndex(),
+            operation.getError());
+        failAttempt(shard, operation.getError().toString(), controlPlaneProjectId);
+      } else {
+        shard.setStatus(Status.SUCCEEDED);
+      }
+    }
+    return StorageTransferOperationPoller.getCounter(operation, BYTES_FOUND_COUNTER);
+  }
+
+  private void failAttempt(SignedUrlShard shard, String error, String controlPlaneProjectId)
+      throws IOException {
+    shard.setLastError(error);
+    if (shard.getAttempts() < maxAttempts) {
+      // The next attempt gets a new job; only the latest job of each shard is deleted on undo
+      StorageTransferServiceUtils.deleteTransferJob(
+          storagetransfer, shard.getTransferJobName(), controlPlaneProjectId);
+      shard.setTransferJobName(null);
+      shard.setStatus(Status.PENDING);
+    } else {
+      shard.setStatus(Status.FAILED);
+    }
+  }
+
+  @Nullable
+  private Operation getLatestOperation(String transferJobName, String controlPlaneProjectId)
+      throws IOException {
+    Operation polled = operationPoller.getLatestOperation(transferJobName).orElse(null);
+    if (polled != null) {
+      return polled;
+    }
+    TransferJob job =
+        storagetransfer.transferJobs().get(transferJobName, controlPlaneProjectId).execute();
+    if (job.getLatestOperationName() == null) {
+      return null;
+    }
+    return storagetransfer.transferOperations().get(job.getLatestOperationName()).execute();
+  }
+
+  /** Back off on the progress of all shards together; keep the state across reruns. */
+  private static Duration nextPollInterval(
+      FlightMap workingMap, List<SignedUrlShard> shards, long bytesFound) {
+    Long interval =
+        workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_POLL_INTERVAL, Long.class);
+    Long lastBytesCopied =
+        workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_BYTES_COPIED, Long.class);
+    TransferPollBackoff backoff =
+        interval == null || lastBytesCopied == null
+            ? new TransferPollBackoff()
+            : new TransferPollBackoff(interval, lastBytesCopied);
+    // Finished shards count as found what they copied, so the totals only grow between polls
+    long bytesCopied = shards.stream().mapToLong(SignedUrlShard::getBytesCopied).sum();
+    long bytesTotal =
+        bytesFound
+            + shards.stream()
+                .filter(s -> s.getStatus() != Status.RUNNING)
+                .mapToLong(SignedUrlShard::getBytesCopied)
+                .sum();
+    Duration next = backoff.next(bytesCopied, bytesTotal);
+    workingMap.put(
+        ControlledResourceKeys.STORAGE_TRANSFER_POLL_INTERVAL, backoff.getIntervalMillis());
+    workingMap.put(
+        ControlledResourceKeys.STORAGE_TRANSFER_BYTES_COPIED, backoff.getLastBytesCopied());
+    return next;
+  }
+
+  private static void logProgress(List<SignedUrlShard> shards, long bytesFoundRunning) {
+    long succeeded = shards.stream().filter(s -> s.getStatus() == Status.SUCCEEDED).count();
+    long running = shards.stream().filter(s -> s.getStatus() == Status.RUNNING).count();
+    long failed = shards.stream().filter(s -> s.getStatus() == Status.FAILED).count();
+    long bytesCopied = shards.stream().mapToLong(SignedUrlShard::getBytesCopied).sum();
+    long objectsCopied = shards.stream().mapToLong(SignedUrlShard::getObjectsCopied).sum();
+    logger.info(
+        "Signed URL shards: {} succeeded, {} running, {} failed of {}; "
+            + "{} objects and {} bytes copied; {} bytes found by running shards",
+        succeeded,
+        running,
+        failed,
+        shards.size(),
+        objectsCopied,
+        bytesCopied,
+        bytesFoundRunning);
+  }
+
+  @VisibleForTesting
+  static String getShardJobName(String flightId, int shardIndex, int attempt) {
+    return String.format(
+        "%s-%d-%d",
+        StorageTransferServiceUtils.createTransferJobName(flightId), shardIndex, attempt);
+  }
+}
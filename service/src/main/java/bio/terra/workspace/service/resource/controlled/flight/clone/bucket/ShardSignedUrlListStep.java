@@ -0,0 +1,402 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import bio.terra.cloudres.google.storage.StorageCow;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.FlightUtils;
+import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.net.InetAddresses;
+import com.google.common.primitives.Ints;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.Proxy;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Split a signed URL list into shards of at most signedUrlShardSize entries so that the shards can
+ * be transferred by concurrent Storage Transfer jobs.
+ *
+ * <p>Each shard's list is written to the destination bucket under a prefix named for the flight
+ * and handed to Storage Transfer as a V4 signed URL. A list that fits in one shard is not copied;
+ * its single shard uses the original URL.
+ *
+ * <p>The list URL comes from the caller, so it is only fetched over https from a public address,
+ * without following redirects, with timeouts and a size limit. The addresses are checked as they
+ * are resolved for the connection, so the host cannot resolve to another address once checked. A
+ * list over the size limit is not sharded: Storage Transfer reads it from the original URL.
+ *
+ * <p>Preconditions: working map contains DESTINATION_STORAGE_TRANSFER_INPUTS. Input parameters
+ * contain SIGNED_URL_LIST.
+ *
+ * <p>Post conditions: working map contains SIGNED_URL_SHARDS.
+ */
+public class ShardSignedUrlListStep implements Step {
+  private static final Logger logger = LoggerFactory.getLogger(ShardSignedUrlListStep.class);
+  @VisibleForTesting static final String TSV_HEADER = "TsvHttpData-1.0";
+  private static final String SHARD_PREFIX = "wsm-signed-url-shards/";
+  // Long enough for every shard to be picked up by a transfer job, within the V4 limit of 7 days
+  private static final long SHARD_URL_VALIDITY_DAYS = 7;
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+  // Applies to each read, so a host that stops sending fails the step instead of blocking it
+  private static final Duration READ_TIMEOUT = Duration.ofSeconds(60);
+  // Room for a few hundred thousand URLs; a longer list is handed to Storage Transfer whole
+  @VisibleForTesting static final long MAX_LIST_BYTES = 64L * 1024 * 1024;
+  // IPv4 ranges that are not public but that InetAddress does not flag, as {address, prefix}
+  private static final int[][] NON_PUBLIC_IPV4_RANGES = {
+    {0x00000000, 8}, // "this" network
+    {0x64400000, 10}, // 100.64.0.0/10, carrier-grade NAT
+    {0xc0000000, 24}, // 192.0.0.0/24, IETF protocol assignments
+    {0xc6120000, 15}, // 198.18.0.0/15, benchmarking
+    {0xf0000000, 4}, // 240.0.0.0/4, reserved, and broadcast
+  };
+  // ::ffff:0:0/96
+  private static final byte[] IPV4_MAPPED_PREFIX = {
+    0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff
+  };
+  // One client for every fetch, as OkHttp clients hold connection pools. Without a proxy, the
+  // connection goes to exactly the addresses the Dns checked.
+  private static final OkHttpClient LIST_CLIENT =
+      new OkHttpClient.Builder()
+          .dns(ShardSignedUrlListStep::lookupPublicAddresses)
+          .proxy(Proxy.NO_PROXY)
+          // A redirect could lead anywhere, past the URL check
+          .followRedirects(false)
+          .followSslRedirects(false)
+          .connectTimeout(CONNECT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+          .readTimeout(READ_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+          .build();
+
+  private final CrlService crlService;
+  private final int shardSize;
+
+  public ShardSignedUrlListStep(CrlService crlService, int shardSize) {
+    this.crlService = crlService;
+    this.shardSize = shardSize;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext context) throws InterruptedException, RetryException {
+    FlightMap workingMap = context.getWorkingMap();
+    FlightUtils.validateRequiredEntries(
+        workingMap, ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS);
+    FlightUtils.validateRequiredEntries(
+        context.getInputParameters(), ControlledResourceKeys.SIGNED_URL_LIST);
+    String signedUrlList =
+        context.getInputParameters().get(ControlledResourceKeys.SIGNED_URL_LIST, String.class);
+    StorageTransferInput destination =
+        workingMap.get(
+            ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS, StorageTransferInput.class);
+    StorageCow storageCow = crlService.createStorageCow(destination.getProjectId());
+    String prefix = getShardPrefix(context.getFlightId());
+
+    // Shard contents are a pure function of the list, so on a rerun we simply rewrite them.
+    List<SignedUrlShard> shards = new ArrayList<>();
+    Storage urlSigner = crlService.createWsmSaStorageClient(destination.getProjectId());
+    Request request;
+    try {
+      request = new Request.Builder().url(validateListUrl(signedUrlList).toString()).build();
+    } catch (IllegalArgumentException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
+    }
+    try (Response response = LIST_CLIENT.newCall(request).execute()) {
+      if (response.code() != 200) {
+        // Retry server errors; anything else is a bad URL that will not get better
+        return new StepResult(
+            response.code() >= 500
+                ? StepStatus.STEP_RESULT_FAILURE_RETRY
+                : StepStatus.STEP_RESULT_FAILURE_FATAL,
+            new IOException(
+                String.format("Failed to read signed URL list: HTTP %d", response.code())));
+      }
+      try (BufferedReader reader =
+          new BufferedReader(
+              new InputStreamReader(
+                  new LimitedInputStream(response.body().byteStream(), MAX_LIST_BYTES),
+                  StandardCharsets.UTF_8))) {
+        splitList(
+            reader,
+            shardSize,
+            (index, contents, last) -> {
+              if (index == 0 && last) {
+                shards.add(new SignedUrlShard(0, signedUrlList, null));
+                return;
+              }
+              String objectName = String.format("%sshard-%05d.tsv", prefix, index);
+              BlobInfo blobInfo =
+                  BlobInfo.newBuilder(BlobId.of(destination.getBucketName(), objectName))
+                      .setContentType("text/tab-separated-values")
+                      .build();
+              try (WriteChannel writer = storageCow.writer(blobInfo)) {
+                writer.write(ByteBuffer.wrap(contents.getBytes(StandardCharsets.UTF_8)));
+              }
+              String shardUrl =
+                  urlSigner
+                      .signUrl(
+                          blobInfo,
+                          SHARD_URL_VALIDITY_DAYS,
+                          TimeUnit.DAYS,
+                          Storage.SignUrlOption.withV4Signature())
+                      .toString();
+              shards.add(new SignedUrlShard(index, shardUrl, objectName));
+            });
+      }
+    } catch (ListTooLargeException e) {
+      logger.info("Signed URL list is over {} bytes; transferring it unsharded", MAX_LIST_BYTES);
+      try {
+        deleteShardManifests(storageCow, destination, shards);
+      } catch (StorageException deleteException) {
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, deleteException);
+      }
+      shards.clear();
+      shards.add(new SignedUrlShard(0, signedUrlList, null));
+    } catch (NonPublicAddressException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
+    } catch (IOException | StorageException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+
+    logger.info(
+        "Split signed URL list into {} shards of up to {} entries", shards.size(), shardSize);
+    workingMap.put(ControlledResourceKeys.SIGNED_URL_SHARDS, shards);
+    return StepResult.getStepResultSuccess();
+  }
+
+  @Override
+  public StepResult undoStep(FlightContext context) throws InterruptedException {
+    List<SignedUrlShard> shards =
+        context
+            .getWorkingMap()
+            .get(ControlledResourceKeys.SIGNED_URL_SHARDS, new TypeReference<>() {});
+    StorageTransferInput destination =
+        context
+            .getWorkingMap()
+            .get(
+                ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS,
+                StorageTransferInput.class);
+    if (shards == null || destination == null) {
+      return StepResult.getStepResultSuccess();
+    }
+    try {
+      deleteShardManifests(
+          crlService.createStorageCow(destination.getProjectId()), destination, shards);
+    } catch (StorageException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+    return StepResult.getStepResultSuccess();
+  }
+
+  /** Delete the shard lists written to the destination bucket. Missing objects are ignored. */
+  static void deleteShardManifests(
+      StorageCow storageCow, StorageTransferInput destination, List<SignedUrlShard> shards) {
+    for (SignedUrlShard shard : shards) {
+      if (shard.getManifestObjectName() != null) {
+        storageCow.delete(BlobId.of(destination.getBucketName(), shard.getManifestObjectName()));
+      }
+    }
+  }
+
+  /**
+   * Check that the signed URL list may be fetched: it must be an https URL, and a host given as an
+   * address must be public, so that a caller cannot make WSM read from its own network or from the
+   * metadata server. Host names are checked by {@link #lookupPublicAddresses} as they are resolved.
+   *
+   * @throws IllegalArgumentException if the URL may not be fetched
+   */
+  @VisibleForTesting
+  static URI validateListUrl(String signedUrlList) {
+    URI uri;
+    try {
+      uri = new URI(signedUrlList);
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Signed URL list is not a valid URL", e);
+    }
+    if (!"https".equalsIgnoreCase(uri.getScheme()) || uri.getHost() == null) {
+      throw new IllegalArgumentException("Signed URL list must be an https URL");
+    }
+    // OkHttp connects to an address literal without a lookup, so it is checked here
+    if (InetAddresses.isUriInetAddress(uri.getHost())
+        && !isPublicAddress(InetAddresses.forUriString(uri.getHost()))) {
+      throw new IllegalArgumentException(
+          "Signed URL list host " + uri.getHost() + " is not a public address");
+    }
+    return uri;
+  }
+
+  /**
+   * Resolve a host for the list connection, failing unless every address is public. The connection
+   * is made to the addresses returned, so the check cannot be raced by a second lookup.
+   *
+   * @throws NonPublicAddressException if the host resolves to an address that is not public
+   */
+  @VisibleForTesting
+  static List<InetAddress> lookupPublicAddresses(String host) throws UnknownHostException {
+    List<InetAddress> addresses = Dns.SYSTEM.lookup(host);
+    for (InetAddress address : addresses) {
+      if (!isPublicAddress(address)) {
+        throw new NonPublicAddressException(
+            "Signed URL list host " + host + " resolves to a non-public address");
+      }
+    }
+    return addresses;
+  }
+
+  @VisibleForTesting
+  static boolean isPublicAddress(InetAddress address) {
+    if (address instanceof Inet6Address inet6Address) {
+      // IPv4-mapped, ::ffff:a.b.c.d, and the other forms that embed an IPv4 address reach it
+      byte[] bytes = inet6Address.getAddress();
+      if (Arrays.equals(bytes, 0, 12, IPV4_MAPPED_PREFIX, 0, 12)) {
+        return isPublicAddress(
+            InetAddresses.fromInteger(Ints.fromByteArray(Arrays.copyOfRange(bytes, 12, 16))));
+      }
+      if (InetAddresses.hasEmbeddedIPv4ClientAddress(inet6Address)) {
+        return isPublicAddress(InetAddresses.getEmbeddedIPv4ClientAddress(inet6Address));
+      }
+    }
+    if (address.isAnyLocalAddress()
+        || address.isLoopbackAddress()
+        || address.isLinkLocalAddress()
+        || address.isSiteLocalAddress()
+        || address.isMulticastAddress()) {
+      return false;
+    }
+    if (address instanceof Inet4Address) {
+      int bits = Ints.fromByteArray(address.getAddress());
+      for (int[] range : NON_PUBLIC_IPV4_RANGES) {
+        int mask = -1 << (32 - range[1]);
+        if ((bits & mask) == range[0]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    // IPv6 unique local addresses, fc00::/7, are the private range that isSiteLocalAddress misses
+    return (address.getAddress()[0] & 0xfe) != 0xfc;
+  }
+
+  private static String getShardPrefix(String flightId) {
+    return SHARD_PREFIX + flightId + "/";
+  }
+
+  @FunctionalInterface
+  interface ShardConsumer {
+    void accept(int index, String contents, boolean last) throws IOException;
+  }
+
+  /**
+   * Split a TSV URL list into shards of at most shardSize entries, each starting with the list
+   * header. Blank lines are dropped. Only one shard is held in memory at a time.
+   */
+  @VisibleForTesting
+  static void splitList(BufferedReader reader, int shardSize, ShardConsumer consumer)
+      throws IOException {
+    String header = reader.readLine();
+    if (header == null || !TSV_HEADER.equals(header.strip())) {
+      throw new IllegalArgumentException("Signed URL list does not start with " + TSV_HEADER);
+    }
+    int index = 0;
+    int entries = 0;
+    StringBuilder shard = new StringBuilder(TSV_HEADER).append('\n');
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      if (entries == shardSize) {
+        consumer.accept(index++, shard.toString(), false);
+        shard = new StringBuilder(TSV_HEADER).append('\n');
+        entries = 0;
+      }
+      shard.append(line).append('\n');
+      entries++;
+    }
+    consumer.accept(index, shard.toString(), true);
+  }
+
+  /** A host of the signed URL list resolved to an address that may not be fetched from. */
+  @VisibleForTesting
+  static class NonPublicAddressException extends UnknownHostException {
+    NonPublicAddressException(String message) {
+      super(message);
+    }
+  }
+
+  /** The signed URL list is longer than WSM reads. */
+  @VisibleForTesting
+  static class ListTooLargeException extends IOException {
+    ListTooLargeException(String message) {
+      super(message);
+    }
+  }
+
+  /** Fails the read once more than maxBytes have been read. */
+  @VisibleForTesting
+  static class LimitedInputStream extends FilterInputStream {
+    private final long maxBytes;
+    private long bytesRead;
+
+    LimitedInputStream(InputStream in, long maxBytes) {
+      super(in);
+      this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        count(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int n = super.read(buffer, offset, length);
+      if (n > 0) {
+        count(n);
+      }
+      return n;
+    }
+
+    private void count(int n) throws ListTooLargeException {
+      bytesRead += n;
+      if (bytesRead > maxBytes) {
+        throw new ListTooLargeException(
+            String.format("Signed URL list is larger than %d bytes", maxBytes));
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@ package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
 import bio.terra.stairway.Flight;
 import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.RetryRule;
+import bio.terra.workspace.app.configuration.external.StorageTransferConfiguration;
 import bio.terra.workspace.common.utils.FlightBeanBag;
 import bio.terra.workspace.common.utils.RetryRules;
 
@@ -23,10 +24,39 @@ public class SignedUrlListDataTransferFlight extends Flight {
             flightBeanBag.getStoragetransfer(), flightBeanBag.getGcpCloudContextService(), null),
         RetryRules.shortDatabase());
     addStep(new SetBucketRolesStep(flightBeanBag.getBucketCloneRolesService()), cloudRetry);
-    addStep(new TransferSignedUrlsToGcsBucketStep(flightBeanBag.getStoragetransfer()), cloudRetry);
-    addStep(new CompleteTransferOperationStep(flightBeanBag.getStoragetransfer()), cloudRetry);
-    addStep(
-        new DeleteStorageTransferServiceJobStep(flightBeanBag.getStoragetransfer()), cloudRetry);
+    StorageTransferConfiguration transferConfig = flightBeanBag.getStorageTransferConfiguration();
+    if (transferConfig.getSignedUrlShardSize() > 0) {
+      // Split the list and run a transfer job per shard, retrying only the shards that fail
+      addStep(
+          new ShardSignedUrlListStep(
+              flightBeanBag.getCrlService(), transferConfig.getSignedUrlShardSize()),
+          RetryRules.cloudLongRunning());
+      addStep(
+          new RunSignedUrlShardTransfersStep(
+              flightBeanBag.getStoragetransfer(),
+              flightBeanBag.getStorageTransferOperationPoller(),
+              transferConfig.getMaxConcurrentShardJobs(),
+              transferConfig.getMaxShardAttempts()),
+          cloudRetry);
+      addStep(
+          new CleanupSignedUrlShardsStep(
+              flightBeanBag.getStoragetransfer(),
+              flightBeanBag.getStorageTransferOperationPoller(),
+              flightBeanBag.getCrlService()),
+          cloudRetry);
+    } else {
+      addStep(
+          new TransferSignedUrlsToGcsBucketStep(flightBeanBag.getStoragetransfer()), cloudRetry);
+      addStep(
+          new CompleteTransferOperationStep(
+              flightBeanBag.getStoragetransfer(),
+              flightBeanBag.getStorageTransferOperationPoller(),
+              transferConfig.isYieldBetweenPolls()),
+          cloudRetry);
+      addStep(
+          new DeleteStorageTransferServiceJobStep(flightBeanBag.getStoragetransfer()),
+          cloudRetry);
+    }
     addStep(new RemoveBucketRolesStep(flightBeanBag.getBucketCloneRolesService()), cloudRetry);
   }
 }
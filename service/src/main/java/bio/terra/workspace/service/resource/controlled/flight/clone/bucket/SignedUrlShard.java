@@ -0,0 +1,126 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import javax.annotation.Nullable;
+
+/**
+ * One shard of a signed URL list import and the state of its Storage Transfer job. The list of
+ * shards is kept in the flight working map, so this is a plain Jackson bean.
+ */
+public class SignedUrlShard {
+  public enum Status {
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+  }
+
+  private int index;
+  private String listUrl;
+  @Nullable private String manifestObjectName;
+  private Status status = Status.PENDING;
+  private int attempts;
+  @Nullable private String transferJobName;
+  private long startedAtMillis;
+  private long bytesCopied;
+  private long objectsCopied;
+  @Nullable private String lastError;
+
+  public SignedUrlShard() {}
+
+  public SignedUrlShard(int index, String listUrl, @Nullable String manifestObjectName) {
+    this.index = index;
+    this.listUrl = listUrl;
+    this.manifestObjectName = manifestObjectName;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  /** URL of the TSV list for this shard; the original list when it was not split. */
+  public String getListUrl() {
+    return listUrl;
+  }
+
+  public void setListUrl(String listUrl) {
+    this.listUrl = listUrl;
+  }
+
+  /** Object in the destination bucket holding the shard's list; null when it was not split. */
+  @Nullable
+  public String getManifestObjectName() {
+    return manifestObjectName;
+  }
+
+  public void setManifestObjectName(@Nullable String manifestObjectName) {
+    this.manifestObjectName = manifestObjectName;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  @Nullable
+  public String getTransferJobName() {
+    return transferJobName;
+  }
+
+  public void setTransferJobName(@Nullable String transferJobName) {
+    this.transferJobName = transferJobName;
+  }
+
+  public long getStartedAtMillis() {
+    return startedAtMillis;
+  }
+
+  public void setStartedAtMillis(long startedAtMillis) {
+    this.startedAtMillis = startedAtMillis;
+  }
+
+  public long getBytesCopied() {
+    return bytesCopied;
+  }
+
+  public void setBytesCopied(long bytesCopied) {
+    this.bytesCopied = bytesCopied;
+  }
+
+  public long getObjectsCopied() {
+    return objectsCopied;
+  }
+
+  public void setObjectsCopied(long objectsCopied) {
+    this.objectsCopied = objectsCopied;
+  }
+
+  @Nullable
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(@Nullable String lastError) {
+    this.lastError = lastError;
+  }
+
+  @JsonIgnore
+  public boolean isFinished() {
+    return status == Status.SUCCEEDED || status == Status.FAILED;
+  }
+}
@@ -0,0 +1,242 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import bio.terra.workspace.app.configuration.external.StorageTransferConfiguration;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.api.services.storagetransfer.v1.model.ListOperationsResponse;
+import com.google.api.services.storagetransfer.v1.model.Operation;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared poller for in-flight Storage Transfer operations. Rather than each {@link
+ * CompleteTransferOperationStep} calling transferJobs.get and transferOperations.get on its own
+ * schedule, steps register the job they are waiting on and this poller lists the operations for
+ * all registered jobs in one call per control plane project. Steps then read the latest operation
+ * from here, and only fall back to a direct get when the poller has not seen their job yet.
+ *
+ * <p>All of our jobs are named by {@link StorageTransferServiceUtils#createTransferJobName}, so
+ * the operation's transferJobName metadata is the key that ties an operation back to its flight.
+ */
+@Component
+public class StorageTransferOperationPoller {
+  private static final Logger logger =
+      LoggerFactory.getLogger(StorageTransferOperationPoller.class);
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final String OPERATIONS_NAME = "transferOperations";
+  // Keep the filter, which is sent as a query parameter, to a reasonable length
+  private static final int MAX_JOBS_PER_LIST = 50;
+  // Steps read at least once a minute; anything idle longer belongs to a flight that went away
+  private static final Duration WATCH_EXPIRATION = Duration.ofMinutes(10);
+
+  private final Storagetransfer storagetransfer;
+  private final StorageTransferConfiguration configuration;
+  private final ScheduledExecutorService scheduler;
+  // transfer job name -> watched job
+  private final Map<String, WatchedJob> watchedJobs = new ConcurrentHashMap<>();
+  // transfer job name -> most recently started operation seen by the last list
+  private final Map<String, Operation> latestOperations = new ConcurrentHashMap<>();
+
+  @Autowired
+  public StorageTransferOperationPoller(
+      Storagetransfer storagetransfer, StorageTransferConfiguration configuration) {
+    this.storagetransfer = storagetransfer;
+    this.configuration = configuration;
+    this.scheduler = Executors.newScheduledThreadPool(1);
+  }
+
+  @PostConstruct
+  public void startPolling() {
+    if (configuration.isSharedPollerEnabled()) {
+      long intervalMillis = configuration.getSharedPollerInterval().toMillis();
+      scheduler.scheduleWithFixedDelay(
+          this::pollSuppressExceptions, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Register a transfer job for polling. Safe to call repeatedly; a step that reruns or restarts
+   * on another pod simply registers again.
+   */
+  public void watch(String transferJobName, String controlPlaneProjectId) {
+    if (configuration.isSharedPollerEnabled()) {
+      watchedJobs.put(transferJobName, new WatchedJob(controlPlaneProjectId, Instant.now()));
+    }
+  }
+
+  public void unwatch(String transferJobName) {
+    watchedJobs.remove(transferJobName);
+    latestOperations.remove(transferJobName);
+  }
+
+  /**
+   * Get the most recently started operation of the job as of the last list call.
+   *
+   * @return the operation or empty if the poller has not seen one for the job
+   */
+  public Optional<Operation> getLatestOperation(String transferJobName) {
+    watchedJobs.computeIfPresent(
+        transferJobName, (k, v) -> new WatchedJob(v.controlPlaneProjectId(), Instant.now()));
+    return Optional.ofNullable(latestOperations.get(transferJobName));
+  }
+
+  /**
+   * Run {@code poll}, suppressing all thrown exceptions, as {@code
+   * ScheduledExecutorService.scheduleWithFixedDelay} stops running if an execution throws. Steps
+   * fall back to direct gets while the poller is failing.
+   */
+  private void pollSuppressExceptions() {
+    try {
+      poll();
+    } catch (Exception e) {
+      logger.warn("Failed to list storage transfer operations", e);
+    }
+  }
+
+  @VisibleForTesting
+  void poll() throws IOException {
+    Instant expiration = Instant.now().minus(WATCH_EXPIRATION);
+    watchedJobs
+        .entrySet()
+        .removeIf(
+            entry -> {
+              boolean expired = entry.getValue().lastAccess().isBefore(expiration);
+              if (expired) {
+                latestOperations.remove(entry.getKey());
+              }
+              return expired;
+            });
+
+    Map<String, List<String>> jobNamesByProject =
+        watchedJobs.entrySet().stream()
+            .collect(
+                Collectors.groupingBy(
+                    entry -> entry.getValue().controlPlaneProjectId(),
+                    Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+    for (Map.Entry<String, List<String>> projectJobs : jobNamesByProject.entrySet()) {
+      for (List<String> jobNames : Lists.partition(projectJobs.getValue(), MAX_JOBS_PER_LIST)) {
+        for (Operation operation : listOperations(projectJobs.getKey(), jobNames)) {
+          String transferJobName = getTransferJobName(operation);
+          if (transferJobName != null && watchedJobs.containsKey(transferJobName)) {
+            latestOperations.merge(
+                transferJobName, operation, StorageTransferOperationPoller::laterOperation);
+          }
+        }
+      }
+    }
+  }
+
+  private List<Operation> listOperations(String controlPlaneProjectId, List<String> jobNames)
+      throws IOException {
+    String filter = buildFilter(controlPlaneProjectId, jobNames);
+    List<Operation> operations = new ArrayList<>();
+    String pageToken = null;
+    do {
+      ListOperationsResponse response =
+          storagetransfer
+              .transferOperations()
+              .list(OPERATIONS_NAME, filter)
+              .setPageToken(pageToken)
+              .execute();
+      if (response.getOperations() != null) {
+        operations.addAll(response.getOperations());
+      }
+      pageToken = response.getNextPageToken();
+    } while (pageToken != null && !pageToken.isEmpty());
+    return operations;
+  }
+
+  @VisibleForTesting
+  static String buildFilter(String controlPlaneProjectId, Collection<String> jobNames) {
+    try {
+      return objectMapper.writeValueAsString(
+          ImmutableMap.of("projectId", controlPlaneProjectId, "jobNames", jobNames));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to build transfer operations filter", e);
+    }
+  }
+
+  /**
+   * Pick the more recently started of two operations of the same job. An operation that has a
+   * newer start time or the same operation with fresher status wins.
+   */
+  @VisibleForTesting
+  static Operation laterOperation(Operation current, Operation candidate) {
+    if (Objects.equals(current.getName(), candidate.getName())) {
+      return candidate;
+    }
+    String currentStart = getMetadataString(current, "startTime");
+    String candidateStart = getMetadataString(candidate, "startTime");
+    if (currentStart == null) {
+      return candidate;
+    }
+    if (candidateStart == null) {
+      return current;
+    }
+    return Instant.parse(candidateStart).isAfter(Instant.parse(currentStart)) ? candidate : current;
+  }
+
+  private static String getTransferJobName(Operation operation) {
+    return getMetadataString(operation, "transferJobName");
+  }
+
+  private static String getMetadataString(Operation operation, String key) {
+    if (operation.getMetadata() == null) {
+      return null;
+    }
+    Object value = operation.getMetadata().get(key);
+    return value == null ? null : value.toString();
+  }
+
+  /**
+   * Read a counter from the TransferOperation metadata of an operation. The API returns int64
+   * counters as JSON strings.
+   *
+   * @return the counter value or 0 if not reported yet
+   */
+  static long getCounter(Operation operation, String counterName) {
+    if (operation.getMetadata() == null
+        || !(operation.getMetadata().get("counters") instanceof Map<?, ?> counters)) {
+      return 0;
+    }
+    Object value = counters.get(counterName);
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(value.toString());
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private record WatchedJob(String controlPlaneProjectId, Instant lastAccess) {}
+}
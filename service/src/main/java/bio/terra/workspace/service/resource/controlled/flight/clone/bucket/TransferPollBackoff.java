@@ -0,0 +1,69 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import java.time.Duration;
+
+/**
+ * Computes how long to wait between polls of a Storage Transfer operation. Polling starts fast so
+ * that small copies are noticed within a couple of seconds: the first wait is {@link
+ * #INITIAL_INTERVAL}, and each later poll that shows no progress doubles the interval. Once the
+ * operation reports bytes copied, the interval is set from the estimated time remaining at the
+ * observed copy rate. Either way it stays between {@link #INITIAL_INTERVAL} and {@link
+ * #MAX_INTERVAL}.
+ *
+ * <p>The state is two longs so that it can be kept in the flight working map between step
+ * executions.
+ */
+class TransferPollBackoff {
+  static final Duration INITIAL_INTERVAL = Duration.ofSeconds(2);
+  static final Duration MAX_INTERVAL = Duration.ofSeconds(60);
+
+  // The last interval waited; zero before the first wait
+  private long intervalMillis;
+  private long lastBytesCopied;
+
+  TransferPollBackoff() {
+    this(0, 0);
+  }
+
+  TransferPollBackoff(long intervalMillis, long lastBytesCopied) {
+    this.intervalMillis = intervalMillis;
+    this.lastBytesCopied = lastBytesCopied;
+  }
+
+  long getIntervalMillis() {
+    return intervalMillis;
+  }
+
+  long getLastBytesCopied() {
+    return lastBytesCopied;
+  }
+
+  /**
+   * Record the counters from the latest poll and compute the next interval.
+   *
+   * @param bytesCopied bytes copied to the sink so far; 0 if not reported yet
+   * @param bytesTotal bytes found at the source; 0 if not reported yet
+   * @return how long to wait before the next poll
+   */
+  Duration next(long bytesCopied, long bytesTotal) {
+    long progress = bytesCopied - lastBytesCopied;
+    long next;
+    if (intervalMillis == 0) {
+      // Nothing to compare against until we have waited once
+      next = INITIAL_INTERVAL.toMillis();
+    } else if (progress > 0 && bytesTotal > bytesCopied) {
+      // The last interval is a close enough approximation of the elapsed time between polls
+      double bytesPerMilli = (double) progress / intervalMillis;
+      next = Math.round((bytesTotal - bytesCopied) / bytesPerMilli);
+    } else if (progress > 0) {
+      // Everything found has been copied; the operation should finish very soon
+      next = INITIAL_INTERVAL.toMillis();
+    } else {
+      next = intervalMillis * 2;
+    }
+    lastBytesCopied = Math.max(lastBytesCopied, bytesCopied);
+    intervalMillis =
+        Math.max(INITIAL_INTERVAL.toMillis(), Math.min(MAX_INTERVAL.toMillis(), next));
+    return Duration.ofMillis(intervalMillis);
+  }
+}
@@ -2,6 +2,9 @@ package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
 
 import bio.terra.stairway.Flight;
 import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.RetryRule;
+import bio.terra.stairway.RetryRuleNone;
+import bio.terra.stairway.Step;
 import bio.terra.workspace.common.utils.FlightBeanBag;
 import bio.terra.workspace.common.utils.FlightUtils;
 import bio.terra.workspace.common.utils.RetryRules;
@@ -12,12 +15,23 @@ import bio.terra.workspace.service.resource.model.WsmResourceType;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This flight uses a dynamic list of steps depending on ControlledResourceKeys.RESOURCES_TO_CLONE
  * in the input parameters list. Each resource type requires a different subflight to be launched.
+ *
+ * <p>The resources to clone are referenced by id and read from the source workspace whenever the
+ * flight is built. The steps for a resource depend only on its type, so the step list is the same
+ * whether or not the source still exists. Each step works out what to run when it runs; see {@link
+ * CloneSourceResourceStep}.
  */
 public class CloneAllResourcesFlight extends Flight {
 
@@ -35,103 +49,180 @@ public class CloneAllResourcesFlight extends Flight {
             inputParameters,
             JobMapKeys.AUTH_USER_INFO.getKeyName(),
             AuthenticatedUserRequest.class);
+    Map<UUID, WsmResource> sourceResources =
+        getSourceResources(inputParameters, flightBeanBag, resourceCloneInputsList);
     // Each entry in the list corresponds to a new step in this flight
     for (ResourceCloneInputs resourceCloneInputs : resourceCloneInputsList) {
-      addFlightLaunchStepsForResource(resourceCloneInputs, flightBeanBag, userRequest);
+      WsmResource resource =
+          Optional.ofNullable(resourceCloneInputs.getResource())
+              .orElseGet(() -> sourceResources.get(resourceCloneInputs.getResourceId()));
+      addFlightLaunchStepsForResource(resource, resourceCloneInputs, flightBeanBag, userRequest);
     }
   }
 
+  /**
+   * Read the source resources of the inputs that reference them by id. Flights submitted before
+   * that carry the resources themselves and no source workspace.
+   */
+  private static Map<UUID, WsmResource> getSourceResources(
+      FlightMap inputParameters,
+      FlightBeanBag flightBeanBag,
+      List<ResourceCloneInputs> resourceCloneInputsList) {
+    UUID sourceWorkspaceId =
+        inputParameters.get(ControlledResourceKeys.SOURCE_WORKSPACE_ID, UUID.class);
+    if (sourceWorkspaceId == null) {
+      return Map.of();
+    }
+    List<UUID> resourceIds =
+        resourceCloneInputsList.stream()
+            .filter(inputs -> inputs.getResource() == null)
+            .map(ResourceCloneInputs::getResourceId)
+            .toList();
+    return flightBeanBag.getResourceDao().getResources(sourceWorkspaceId, resourceIds).stream()
+        .collect(Collectors.toMap(WsmResource::getResourceId, Function.identity()));
+  }
+
+  /**
+   * Add one of the steps that clone a resource. The step is added whether or not the source
+   * resource was found; {@link CloneSourceResourceStep} decides what to run when the step runs.
+   */
+  private void addCloneStep(
+      @Nullable WsmResource resource,
+      ResourceCloneInputs resourceCloneInputs,
+      boolean hasSubflight,
+      Function<WsmResource, Step> stepFactory,
+      RetryRule retryRule) {
+    addStep(
+        new CloneSourceResourceStep(resourceCloneInputs, resource, hasSubflight, stepFactory),
+        retryRule);
+  }
+
+  /** Add the steps that launch a resource's clone subflight and then wait for it. */
+  private void addSubflightCloneSteps(
+      @Nullable WsmResource resource,
+      ResourceCloneInputs resourceCloneInputs,
+      Function<WsmResource, Step> launchStepFactory,
+      RetryRule launchRetryRule,
+      Function<WsmResource, Step> awaitStepFactory,
+      RetryRule awaitRetryRule) {
+    addCloneStep(resource, resourceCloneInputs, true, launchStepFactory, launchRetryRule);
+    addCloneStep(resource, resourceCloneInputs, true, awaitStepFactory, awaitRetryRule);
+  }
+
   private void addFlightLaunchStepsForResource(
+      @Nullable WsmResource resource,
       ResourceCloneInputs resourceCloneInputs,
       FlightBeanBag flightBeanBag,
       AuthenticatedUserRequest userRequest) {
-    WsmResource resource = resourceCloneInputs.getResource();
-
-    switch (resource.getStewardshipType()) {
+    if (resource == null) {
+      logger.warn(
+          "Source resource {} was not found when the clone flight was built",
+          resourceCloneInputs.getResourceId());
+    }
+    switch (resourceCloneInputs.getStewardshipType()) {
       case REFERENCED:
-        addStep(
-            new CloneReferencedResourceStep(
-                userRequest,
-                flightBeanBag.getSamService(),
-                flightBeanBag.getReferencedResourceService(),
-                resourceCloneInputs.getResource().castToReferencedResource(),
-                resourceCloneInputs.getDestinationResourceId(),
-                resourceCloneInputs.getDestinationFolderId()),
+        addCloneStep(
+            resource,
+            resourceCloneInputs,
+            false,
+            r ->
+                new CloneReferencedResourceStep(
+                    userRequest,
+                    flightBeanBag.getSamService(),
+                    flightBeanBag.getReferencedResourceService(),
+                    r.castToReferencedResource(),
+                    resourceCloneInputs.getDestinationResourceId(),
+                    resourceCloneInputs.getDestinationFolderId()),
             RetryRules.shortDatabase());
         break;
       case CONTROLLED:
-        switch (resourceCloneInputs.getResource().getResourceType()) {
+        switch (resourceCloneInputs.getResourceType()) {
           // GCP
-          case CONTROLLED_GCP_GCS_BUCKET -> {
-            addStep(
-                new LaunchCloneGcsBucketResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_GCP_GCS_BUCKET),
-                    resourceCloneInputs.getFlightId(),
-                    resourceCloneInputs.getDestinationResourceId(),
-                    resourceCloneInputs.getDestinationFolderId()));
-            addStep(
-                new AwaitCloneGcsBucketResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_GCP_GCS_BUCKET),
-                    resourceCloneInputs.getFlightId()),
-                RetryRules.cloudLongRunning());
-          }
-          case CONTROLLED_GCP_BIG_QUERY_DATASET -> {
-            addStep(
-                new LaunchCloneControlledGcpBigQueryDatasetResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_GCP_BIG_QUERY_DATASET),
-                    resourceCloneInputs.getFlightId(),
-                    resourceCloneInputs.getDestinationResourceId(),
-                    resourceCloneInputs.getDestinationFolderId()));
-            addStep(
-                new AwaitCloneControlledGcpBigQueryDatasetResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_GCP_BIG_QUERY_DATASET),
-                    resourceCloneInputs.getFlightId()),
-                RetryRules.cloudLongRunning());
-          }
+          case CONTROLLED_GCP_GCS_BUCKET ->
+              addSubflightCloneSteps(
+                  resource,
+                  resourceCloneInputs,
+                  r ->
+                      new LaunchCloneGcsBucketResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_GCP_GCS_BUCKET),
+                          resourceCloneInputs.getFlightId(),
+                          resourceCloneInputs.getDestinationResourceId(),
+                          resourceCloneInputs.getDestinationFolderId()),
+                  RetryRuleNone.getRetryRuleNone(),
+                  r ->
+                      new AwaitCloneGcsBucketResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_GCP_GCS_BUCKET),
+                          resourceCloneInputs.getFlightId()),
+                  RetryRules.cloudLongRunning());
+          case CONTROLLED_GCP_BIG_QUERY_DATASET ->
+              addSubflightCloneSteps(
+                  resource,
+                  resourceCloneInputs,
+                  r ->
+                      new LaunchCloneControlledGcpBigQueryDatasetResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_GCP_BIG_QUERY_DATASET),
+                          resourceCloneInputs.getFlightId(),
+                          resourceCloneInputs.getDestinationResourceId(),
+                          resourceCloneInputs.getDestinationFolderId()),
+                  RetryRuleNone.getRetryRuleNone(),
+                  r ->
+                      new AwaitCloneControlledGcpBigQueryDatasetResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_GCP_BIG_QUERY_DATASET),
+                          resourceCloneInputs.getFlightId()),
+                  RetryRules.cloudLongRunning());
           // CONTROLLED_GCP_AI_NOTEBOOK_INSTANCE: not supported
           // CONTROLLED_GCP_GCE_INSTANCE: not supported
           // CONTROLLED_GCP_DATAPROC_CLUSTER: not supported
 
           // Azure
-          case CONTROLLED_AZURE_STORAGE_CONTAINER -> {
-            addStep(
-                new LaunchCloneControlledAzureStorageContainerResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_AZURE_STORAGE_CONTAINER),
-                    resourceCloneInputs.getFlightId(),
-                    resourceCloneInputs.getDestinationResourceId(),
-                    resourceCloneInputs.getDestinationFolderId()));
-            addStep(
-                new AwaitCloneControlledAzureStorageContainerResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_AZURE_STORAGE_CONTAINER),
-                    resourceCloneInputs.getFlightId()),
-                RetryRules.cloudLongRunning());
-          }
-
-          case CONTROLLED_AZURE_MANAGED_IDENTITY -> {
-            addStep(
-                new LaunchCloneControlledAzureManagedIdentityResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_AZURE_MANAGED_IDENTITY),
-                    resourceCloneInputs.getFlightId(),
-                    resourceCloneInputs.getDestinationResourceId()));
-            addStep(
-                new AwaitCloneControlledAzureManagedIdentityResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_AZURE_MANAGED_IDENTITY),
-                    resourceCloneInputs.getFlightId()),
-                RetryRules.cloudLongRunning());
-          }
-
-          case CONTROLLED_AZURE_DATABASE -> {
-            addStep(
-                new LaunchCloneControlledAzureDatabaseResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_AZURE_DATABASE),
-                    resourceCloneInputs.getFlightId(),
-                    resourceCloneInputs.getDestinationResourceId()));
-            addStep(
-                new AwaitCloneControlledAzureDatabaseResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_AZURE_DATABASE),
-                    resourceCloneInputs.getFlightId()),
-                RetryRules.shortDatabase());
-          }
+          case CONTROLLED_AZURE_STORAGE_CONTAINER ->
+              addSubflightCloneSteps(
+                  resource,
+                  resourceCloneInputs,
+                  r ->
+                      new LaunchCloneControlledAzureStorageContainerResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_AZURE_STORAGE_CONTAINER),
+                          resourceCloneInputs.getFlightId(),
+                          resourceCloneInputs.getDestinationResourceId(),
+                          resourceCloneInputs.getDestinationFolderId()),
+                  RetryRuleNone.getRetryRuleNone(),
+                  r ->
+                      new AwaitCloneControlledAzureStorageContainerResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_AZURE_STORAGE_CONTAINER),
+                          resourceCloneInputs.getFlightId()),
+                  RetryRules.cloudLongRunning());
+
+          case CONTROLLED_AZURE_MANAGED_IDENTITY ->
+              addSubflightCloneSteps(
+                  resource,
+                  resourceCloneInputs,
+                  r ->
+                      new LaunchCloneControlledAzureManagedIdentityResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_AZURE_MANAGED_IDENTITY),
+                          resourceCloneInputs.getFlightId(),
+                          resourceCloneInputs.getDestinationResourceId()),
+                  RetryRuleNone.getRetryRuleNone(),
+                  r ->
+                      new AwaitCloneControlledAzureManagedIdentityResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_AZURE_MANAGED_IDENTITY),
+                          resourceCloneInputs.getFlightId()),
+                  RetryRules.cloudLongRunning());
+
+          case CONTROLLED_AZURE_DATABASE ->
+              addSubflightCloneSteps(
+                  resource,
+                  resourceCloneInputs,
+                  r ->
+                      new LaunchCloneControlledAzureDatabaseResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_AZURE_DATABASE),
+                          resourceCloneInputs.getFlightId(),
+                          resourceCloneInputs.getDestinationResourceId()),
+                  RetryRuleNone.getRetryRuleNone(),
+                  r ->
+                      new AwaitCloneControlledAzureDatabaseResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_AZURE_DATABASE),
+                          resourceCloneInputs.getFlightId()),
+                  RetryRules.shortDatabase());
 
           // CONTROLLED_AZURE_DISK, CONTROLLED_AZURE_VM, CONTROLLED_AZURE_BATCH_POOL: not
           // supported / implemented
@@ -141,33 +232,32 @@ public class CloneAllResourcesFlight extends Flight {
           // CONTROLLED_AWS_SAGEMAKER_NOTEBOOK: not supported
 
           // Flexible
-          case CONTROLLED_FLEXIBLE_RESOURCE -> {
-            addStep(
-                new LaunchCloneControlledFlexibleResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE),
-                    resourceCloneInputs.getFlightId(),
-                    resourceCloneInputs.getDestinationResourceId(),
-                    resourceCloneInputs.getDestinationFolderId()),
-                RetryRules.shortDatabase());
-            addStep(
-                new AwaitCloneControlledFlexibleResourceFlightStep(
-                    resource.castByEnum(WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE),
-                    resourceCloneInputs.getFlightId()),
-                RetryRules.shortDatabase());
-          }
+          case CONTROLLED_FLEXIBLE_RESOURCE ->
+              addSubflightCloneSteps(
+                  resource,
+                  resourceCloneInputs,
+                  r ->
+                      new LaunchCloneControlledFlexibleResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE),
+                          resourceCloneInputs.getFlightId(),
+                          resourceCloneInputs.getDestinationResourceId(),
+                          resourceCloneInputs.getDestinationFolderId()),
+                  RetryRules.shortDatabase(),
+                  r ->
+                      new AwaitCloneControlledFlexibleResourceFlightStep(
+                          r.castByEnum(WsmResourceType.CONTROLLED_FLEXIBLE_RESOURCE),
+                          resourceCloneInputs.getFlightId()),
+                  RetryRules.shortDatabase());
 
           default ->
               // Can't throw in a flight constructor
               logger.error(
-                  "Unsupported controlled resource type {}",
-                  resourceCloneInputs.getResource().getResourceType());
+                  "Unsupported controlled resource type {}", resourceCloneInputs.getResourceType());
         }
         break;
 
       default:
-        logger.error(
-            "Unsupported stewardship type {}",
-            resourceCloneInputs.getResource().getStewardshipType());
+        logger.error("Unsupported stewardship type {}", resourceCloneInputs.getStewardshipType());
         break;
     }
   }
@@ -0,0 +1,98 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.DatabaseOperationException;
+import bio.terra.stairway.exception.FlightNotFoundException;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.service.resource.model.WsmResource;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * One of the steps that clone a source resource, which is made once the resource is known. {@link
+ * CloneAllResourcesFlight} adds the same steps for a resource whether or not its source still
+ * exists, so the step list does not change when the flight is rebuilt.
+ *
+ * <p>If the source resource was not found when the flight was built, the copy the clone subflight
+ * was launched with is used. A source that was deleted before its subflight was launched, or that
+ * has no subflight, is reported as a failed clone by {@link ReportMissingCloneSourceStep}.
+ */
+public class CloneSourceResourceStep implements Step {
+
+  private final ResourceCloneInputs resourceCloneInputs;
+  private final @Nullable WsmResource resource;
+  private final boolean hasSubflight;
+  private final Function<WsmResource, Step> stepFactory;
+
+  /**
+   * @param resourceCloneInputs inputs of the resource's clone
+   * @param resource the source resource, or null if it was not found when the flight was built
+   * @param hasSubflight whether the resource is cloned by the subflight of resourceCloneInputs
+   * @param stepFactory makes the step to run for the source resource
+   */
+  public CloneSourceResourceStep(
+      ResourceCloneInputs resourceCloneInputs,
+      @Nullable WsmResource resource,
+      boolean hasSubflight,
+      Function<WsmResource, Step> stepFactory) {
+    this.resourceCloneInputs = resourceCloneInputs;
+    this.resource = resource;
+    this.hasSubflight = hasSubflight;
+    this.stepFactory = stepFactory;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext context) throws InterruptedException, RetryException {
+    Optional<WsmResource> source;
+    try {
+      source = getSourceResource(context);
+    } catch (DatabaseOperationException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+    if (source.isEmpty()) {
+      return new ReportMissingCloneSourceStep(resourceCloneInputs).doStep(context);
+    }
+    return stepFactory.apply(source.get()).doStep(context);
+  }
+
+  @Override
+  public StepResult undoStep(FlightContext context) throws InterruptedException {
+    Optional<WsmResource> source;
+    try {
+      source = getSourceResource(context);
+    } catch (DatabaseOperationException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+    if (source.isEmpty()) {
+      return StepResult.getStepResultSuccess();
+    }
+    return stepFactory.apply(source.get()).undoStep(context);
+  }
+
+  private Optional<WsmResource> getSourceResource(FlightContext context)
+      throws InterruptedException {
+    if (resource != null) {
+      return Optional.of(resource);
+    }
+    if (!hasSubflight) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.ofNullable(
+          context
+              .getStairway()
+              .getFlightState(resourceCloneInputs.getFlightId())
+              .getInputParameters()
+              .get(ResourceKeys.RESOURCE, new TypeReference<WsmResource>() {}));
+    } catch (FlightNotFoundException e) {
+      // The source was deleted before the subflight was launched
+      return Optional.empty();
+    }
+  }
+}
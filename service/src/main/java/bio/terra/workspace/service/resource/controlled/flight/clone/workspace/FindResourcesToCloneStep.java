@@ -83,13 +83,12 @@ public class FindResourcesToCloneStep implements Step {
     result.sort(
         Comparator.comparing(
             r ->
-                stewardshipCloneOrder.indexOf(r.getResource().getStewardshipType())
-                        * resourceCloneOrder.size()
-                    + resourceCloneOrder.indexOf(r.getResource().getResourceType())));
+                stewardshipCloneOrder.indexOf(r.getStewardshipType()) * resourceCloneOrder.size()
+                    + resourceCloneOrder.indexOf(r.getResourceType())));
     logger.info(
         "Will clone resources with stewardship types {}",
         result.stream()
-            .map(r -> r.getResource().getStewardshipType().toString())
+            .map(r -> r.getStewardshipType().toString())
             .collect(Collectors.joining(", ")));
     context.getWorkingMap().put(ControlledResourceKeys.RESOURCES_TO_CLONE, result);
     FlightUtils.validateRequiredEntries(
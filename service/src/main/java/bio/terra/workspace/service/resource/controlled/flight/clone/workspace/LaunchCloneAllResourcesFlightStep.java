@@ -18,6 +18,7 @@ import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.Contr
 import bio.terra.workspace.service.workspace.model.Workspace;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Given a list of resources to be cloned, build a flight with one step for each, run it, and wait.
@@ -30,7 +31,8 @@ public class LaunchCloneAllResourcesFlightStep implements Step {
     validateRequiredEntries(
         context.getInputParameters(),
         JobMapKeys.AUTH_USER_INFO.getKeyName(),
-        JobMapKeys.REQUEST.getKeyName());
+        JobMapKeys.REQUEST.getKeyName(),
+        ControlledResourceKeys.SOURCE_WORKSPACE_ID);
     validateRequiredEntries(
         context.getWorkingMap(),
         ControlledResourceKeys.RESOURCES_TO_CLONE,
@@ -40,6 +42,8 @@ public class LaunchCloneAllResourcesFlightStep implements Step {
             .getInputParameters()
             .get(JobMapKeys.AUTH_USER_INFO.getKeyName(), AuthenticatedUserRequest.class);
     var location = context.getInputParameters().get(ControlledResourceKeys.LOCATION, String.class);
+    var sourceWorkspaceId =
+        context.getInputParameters().get(ControlledResourceKeys.SOURCE_WORKSPACE_ID, UUID.class);
     var cloneAllResourcesFlightId =
         context
             .getWorkingMap()
@@ -57,6 +61,7 @@ public class LaunchCloneAllResourcesFlightStep implements Step {
     FlightMap subflightInputParameters = new FlightMap();
     subflightInputParameters.put(JobMapKeys.AUTH_USER_INFO.getKeyName(), userRequest);
     subflightInputParameters.put(ControlledResourceKeys.RESOURCES_TO_CLONE, resourceCloneInputs);
+    subflightInputParameters.put(ControlledResourceKeys.SOURCE_WORKSPACE_ID, sourceWorkspaceId);
     subflightInputParameters.put(
         ControlledResourceKeys.DESTINATION_WORKSPACE_ID, destinationWorkspace.getWorkspaceId());
     subflightInputParameters.put(ControlledResourceKeys.LOCATION, location);
@@ -0,0 +1,59 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import bio.terra.workspace.service.workspace.model.WsmCloneResourceResult;
+import bio.terra.workspace.service.workspace.model.WsmResourceCloneDetails;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records the clone of a resource as failed because the source resource was deleted before its
+ * clone started. Run by {@link CloneSourceResourceStep} in place of the clone steps.
+ */
+public class ReportMissingCloneSourceStep implements Step {
+
+  private final ResourceCloneInputs resourceCloneInputs;
+
+  public ReportMissingCloneSourceStep(ResourceCloneInputs resourceCloneInputs) {
+    this.resourceCloneInputs = resourceCloneInputs;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext flightContext)
+      throws InterruptedException, RetryException {
+    var resourceIdToResult =
+        Optional.ofNullable(
+                flightContext
+                    .getWorkingMap()
+                    .get(
+                        ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT,
+                        new TypeReference<Map<UUID, WsmResourceCloneDetails>>() {}))
+            .orElseGet(HashMap::new);
+
+    WsmResourceCloneDetails cloneDetails =
+        new WsmResourceCloneDetails()
+            .setResult(WsmCloneResourceResult.FAILED)
+            .setStewardshipType(resourceCloneInputs.getStewardshipType())
+            .setResourceType(resourceCloneInputs.getResourceType())
+            .setSourceResourceId(resourceCloneInputs.getResourceId())
+            .setErrorMessage("The source resource was deleted before it could be cloned");
+    resourceIdToResult.put(resourceCloneInputs.getResourceId(), cloneDetails);
+    flightContext
+        .getWorkingMap()
+        .put(ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT, resourceIdToResult);
+    return StepResult.getStepResultSuccess();
+  }
+
+  // Nothing to undo
+  @Override
+  public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
+    return StepResult.getStepResultSuccess();
+  }
+}
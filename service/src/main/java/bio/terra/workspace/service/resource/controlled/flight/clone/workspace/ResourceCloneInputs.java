@@ -1,12 +1,25 @@
 package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
 
+import bio.terra.workspace.service.resource.model.StewardshipType;
 import bio.terra.workspace.service.resource.model.WsmResource;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
 import java.util.UUID;
 import javax.annotation.Nullable;
 
+/**
+ * A resource for {@link CloneAllResourcesFlight} to clone. The source resource is referenced by id
+ * and read from the database when the flight is built, so that cloning a large workspace does not
+ * put every resource into the flight's input. Its type is kept, so the flight can lay out its steps
+ * even if the source resource has been deleted since.
+ *
+ * <p>Flights submitted before resources were referenced by id carry the whole resource instead.
+ */
 public class ResourceCloneInputs {
 
-  private WsmResource resource;
+  private UUID resourceId;
+  private WsmResourceType resourceType;
+  private StewardshipType stewardshipType;
+  private @Nullable WsmResource resource;
   private String flightId;
   private UUID destinationResourceId;
   private UUID destinationFolderId;
@@ -18,17 +31,44 @@ public class ResourceCloneInputs {
       String flightId,
       UUID destinationResourceId,
       @Nullable UUID destinationFolderId) {
-    this.resource = resource;
+    this.resourceId = resource.getResourceId();
+    this.resourceType = resource.getResourceType();
+    this.stewardshipType = resource.getStewardshipType();
     this.flightId = flightId;
     this.destinationResourceId = destinationResourceId;
     this.destinationFolderId = destinationFolderId;
   }
 
-  public WsmResource getResource() {
+  public UUID getResourceId() {
+    return resource != null ? resource.getResourceId() : resourceId;
+  }
+
+  public void setResourceId(UUID resourceId) {
+    this.resourceId = resourceId;
+  }
+
+  public WsmResourceType getResourceType() {
+    return resource != null ? resource.getResourceType() : resourceType;
+  }
+
+  public void setResourceType(WsmResourceType resourceType) {
+    this.resourceType = resourceType;
+  }
+
+  public StewardshipType getStewardshipType() {
+    return resource != null ? resource.getStewardshipType() : stewardshipType;
+  }
+
+  public void setStewardshipType(StewardshipType stewardshipType) {
+    this.stewardshipType = stewardshipType;
+  }
+
+  /** The whole source resource; only set in the inputs of flights submitted before ids were. */
+  public @Nullable WsmResource getResource() {
     return resource;
   }
 
-  public void setResource(WsmResource resource) {
+  public void setResource(@Nullable WsmResource resource) {
     this.resource = resource;
   }
 
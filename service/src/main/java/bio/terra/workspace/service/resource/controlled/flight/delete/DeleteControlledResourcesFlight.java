@@ -11,18 +11,29 @@ import bio.terra.workspace.service.resource.controlled.flight.create.GetAwsCloud
 import bio.terra.workspace.service.resource.controlled.flight.create.GetAzureCloudContextStep;
 import bio.terra.workspace.service.resource.controlled.flight.create.GetGcpCloudContextStep;
 import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import bio.terra.workspace.service.resource.exception.ResourceNotFoundException;
 import bio.terra.workspace.service.resource.model.WsmResourceStateRule;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.util.List;
 import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Flight for type-agnostic deletion of a controlled resource. All type-specific information should
  * live in individual steps.
+ *
+ * <p>A single resource is passed by id in RESOURCE_ID and read from the database when the flight
+ * is built, which keeps the flight's input small. Several resources are passed as a list of whole
+ * resources in CONTROLLED_RESOURCES_TO_DELETE, because the steps of a resource that has already
+ * been deleted could not be rebuilt from its id when the flight is recovered.
  */
 public class DeleteControlledResourcesFlight extends Flight {
+  private static final Logger logger =
+      LoggerFactory.getLogger(DeleteControlledResourcesFlight.class);
 
   @Override
   public void addStep(Step step, RetryRule retryRule) {
@@ -42,14 +53,36 @@ public class DeleteControlledResourcesFlight extends Flight {
         inputParameters.get(
             WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_STATE_RULE, WsmResourceStateRule.class);
     List<ControlledResource> controlledResources =
-        inputParameters.get(
-            ControlledResourceKeys.CONTROLLED_RESOURCES_TO_DELETE, new TypeReference<>() {});
+        getResourcesToDelete(inputParameters, flightBeanBag, workspaceUuid);
 
     for (ControlledResource controlledResource : controlledResources) {
       addResourceDeleteSteps(flightBeanBag, controlledResource, workspaceUuid, resourceStateRule);
     }
   }
 
+  private static List<ControlledResource> getResourcesToDelete(
+      FlightMap inputParameters, FlightBeanBag flightBeanBag, UUID workspaceUuid) {
+    if (inputParameters.containsKey(ControlledResourceKeys.CONTROLLED_RESOURCES_TO_DELETE)) {
+      return inputParameters.get(
+          ControlledResourceKeys.CONTROLLED_RESOURCES_TO_DELETE, new TypeReference<>() {});
+    }
+    UUID resourceId =
+        UUID.fromString(
+            FlightUtils.getRequired(inputParameters, ResourceKeys.RESOURCE_ID, String.class));
+    try {
+      return List.of(
+          flightBeanBag
+              .getResourceDao()
+              .getResource(workspaceUuid, resourceId)
+              .castToControlledResource());
+    } catch (ResourceNotFoundException e) {
+      // The last step removes the resource, so a flight recovered after that step has nothing
+      // left to do. So does a flight that lost a race with another deletion of the resource.
+      logger.info("Resource {} in workspace {} is already deleted", resourceId, workspaceUuid);
+      return List.of();
+    }
+  }
+
   /**
    * Generate the steps for deleting one of the resources on our incoming list.
    *
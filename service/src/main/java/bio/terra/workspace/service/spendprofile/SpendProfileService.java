@@ -8,6 +8,7 @@ import bio.terra.profile.client.ApiException;
 import bio.terra.profile.model.CreateProfileRequest;
 import bio.terra.profile.model.ProfileModel;
 import bio.terra.workspace.app.configuration.external.SpendProfileConfiguration;
+import bio.terra.workspace.common.logging.DependencyMetricsFilter;
 import bio.terra.workspace.common.utils.Rethrow;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamService;
@@ -75,7 +76,10 @@ public class SpendProfileService {
     this.openTelemetry = openTelemetry;
 
     this.commonHttpClient =
-        new ApiClient().getHttpClient().register(new JakartaTracingFilter(openTelemetry));
+        new ApiClient()
+            .getHttpClient()
+            .register(new JakartaTracingFilter(openTelemetry))
+            .register(new DependencyMetricsFilter("bpm"));
   }
 
   /**
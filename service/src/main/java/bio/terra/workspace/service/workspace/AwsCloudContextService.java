@@ -176,8 +176,8 @@ public class AwsCloudContextService implements CloudContextService {
   @WithSpan
   public Optional<AwsCloudContext> getAwsCloudContext(UUID workspaceUuid) {
     return workspaceDao
-        .getCloudContext(workspaceUuid, CloudPlatform.AWS)
-        .map(AwsCloudContext::deserialize);
+        .getParsedCloudContext(workspaceUuid, CloudPlatform.AWS)
+        .map(AwsCloudContext.class::cast);
   }
 
   /**
@@ -131,8 +131,8 @@ public class AzureCloudContextService implements CloudContextService {
   @WithSpan
   public Optional<AzureCloudContext> getAzureCloudContext(UUID workspaceUuid) {
     return workspaceDao
-        .getCloudContext(workspaceUuid, CloudPlatform.AZURE)
-        .map(AzureCloudContext::deserialize);
+        .getParsedCloudContext(workspaceUuid, CloudPlatform.AZURE)
+        .map(AzureCloudContext.class::cast);
   }
 
   public AzureCloudContext getRequiredAzureCloudContext(UUID workspaceUuid) {
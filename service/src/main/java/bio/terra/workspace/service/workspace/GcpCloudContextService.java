@@ -2,6 +2,7 @@ package bio.terra.workspace.service.workspace;
 
 import bio.terra.stairway.RetryRule;
 import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.common.utils.ParallelStepGroup;
 import bio.terra.workspace.common.utils.RetryRules;
 import bio.terra.workspace.db.ResourceDao;
 import bio.terra.workspace.db.WorkspaceDao;
@@ -12,11 +13,13 @@ import bio.terra.workspace.service.job.JobMapKeys;
 import bio.terra.workspace.service.job.JobService;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceService;
 import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import bio.terra.workspace.service.resource.controlled.model.StepRetryRulePair;
 import bio.terra.workspace.service.resource.model.WsmResourceState;
 import bio.terra.workspace.service.spendprofile.model.SpendProfile;
 import bio.terra.workspace.service.workspace.exceptions.CloudContextRequiredException;
 import bio.terra.workspace.service.workspace.exceptions.InvalidCloudContextStateException;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
+import bio.terra.workspace.service.workspace.flight.cloud.gcp.CheckPrebakedProjectStep;
 import bio.terra.workspace.service.workspace.flight.cloud.gcp.CreateCustomGcpRolesStep;
 import bio.terra.workspace.service.workspace.flight.cloud.gcp.CreatePetSaStep;
 import bio.terra.workspace.service.workspace.flight.cloud.gcp.DeleteCloudContextResourceFlight;
@@ -38,6 +41,8 @@ import io.opentelemetry.instrumentation.annotations.WithSpan;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -93,23 +98,59 @@ public class GcpCloudContextService implements CloudContextService {
         new PullProjectFromPoolStep(
             appContext.getBufferService(), crl.getCloudResourceManagerCow()),
         bufferRetry);
+    if (appContext.getBufferService().isPrebakedProjectsEnabled()) {
+      flight.addStep(
+          new CheckPrebakedProjectStep(
+              crl.getCloudResourceManagerCow(),
+              gcpCloudSyncRoleMapping.getCustomGcpIamRolesFingerprint()),
+          cloudRetry);
+    }
 
-    // Configure the project for WSM
-    flight.addStep(new SetProjectBillingStep(crl, spendProfile), cloudRetry);
-    flight.addStep(new GrantWsmRoleAdminStep(crl), shortRetry);
-    flight.addStep(
-        new CreateCustomGcpRolesStep(gcpCloudSyncRoleMapping, crl.getIamCow()), shortRetry);
+    // Configure the project for WSM. Billing, the custom roles (which need the role admin grant)
+    // and the Sam groups do not depend on each other.
+    boolean parallelSetup =
+        appContext.getFlightStepConcurrencyConfiguration().isParallelGcpContextSetup();
+    // A retry rule holds the retry state of its step, so steps in concurrent lanes cannot share one
+    Supplier<RetryRule> setupRetry =
+        parallelSetup ? RetryRules::shortExponential : () -> shortRetry;
+    List<StepRetryRulePair> billingSteps =
+        List.of(new StepRetryRulePair(new SetProjectBillingStep(crl, spendProfile), cloudRetry));
+    List<StepRetryRulePair> customRoleSteps =
+        List.of(
+            new StepRetryRulePair(
+                new GrantWsmRoleAdminStep(crl, appContext.getProjectIamPolicyCoordinator()),
+                shortRetry),
+            new StepRetryRulePair(
+                new CreateCustomGcpRolesStep(
+                    gcpCloudSyncRoleMapping, crl.getIamCow(), appContext.getFlightStepExecutor()),
+                setupRetry.get()));
     // Create the pet before sync'ing, so the proxy group is configured before we
     // do the Sam sync and create the role-based Google groups. That eliminates
     // one propagation case
-    flight.addStep(new CreatePetSaStep(appContext.getSamService(), userRequest), shortRetry);
-    flight.addStep(
-        new SyncSamGroupsStep(appContext.getSamService(), workspaceUuid, spendProfile, userRequest),
-        shortRetry);
+    List<StepRetryRulePair> samSteps =
+        List.of(
+            new StepRetryRulePair(
+                new CreatePetSaStep(appContext.getSamService(), userRequest), setupRetry.get()),
+            new StepRetryRulePair(
+                new SyncSamGroupsStep(
+                    appContext.getSamService(), workspaceUuid, spendProfile, userRequest),
+                setupRetry.get()));
+
+    if (parallelSetup) {
+      flight.addStep(
+          new ParallelStepGroup(
+              appContext.getFlightStepExecutor(),
+              "gcpContextSetup",
+              List.of(billingSteps, customRoleSteps, samSteps)));
+    } else {
+      Stream.of(billingSteps, customRoleSteps, samSteps)
+          .flatMap(List::stream)
+          .forEach(pair -> flight.addStep(pair.step(), pair.retryRule()));
+    }
 
     flight.addStep(
         new GcpCloudSyncStep(
-            crl.getCloudResourceManagerCow(),
+            appContext.getProjectIamPolicyCoordinator(),
             gcpCloudSyncRoleMapping,
             appContext.getFeatureConfiguration(),
             appContext.getSamService(),
@@ -120,7 +161,7 @@ public class GcpCloudContextService implements CloudContextService {
 
     // Wait for the project permissions to propagate.
     // The SLO is 99.5% of the time it finishes in under 7 minutes.
-    flight.addStep(new WaitForProjectPermissionsStep());
+    flight.addStep(new WaitForProjectPermissionsStep(appContext.getIamPropagationProbe()));
   }
 
   @Override
@@ -178,8 +219,8 @@ public class GcpCloudContextService implements CloudContextService {
   @WithSpan
   public Optional<GcpCloudContext> getGcpCloudContext(UUID workspaceUuid) {
     return workspaceDao
-        .getCloudContext(workspaceUuid, CloudPlatform.GCP)
-        .map(GcpCloudContext::deserialize);
+        .getParsedCloudContext(workspaceUuid, CloudPlatform.GCP)
+        .map(GcpCloudContext.class::cast);
   }
 
   /**
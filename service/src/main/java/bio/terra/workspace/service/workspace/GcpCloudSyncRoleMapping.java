@@ -3,10 +3,14 @@ package bio.terra.workspace.service.workspace;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.service.iam.model.WsmIamRole;
 import bio.terra.workspace.service.resource.controlled.cloud.gcp.CustomGcpIamRole;
+import bio.terra.workspace.service.resource.controlled.cloud.gcp.CustomGcpIamRoleMapping;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -201,4 +205,33 @@ public class GcpCloudSyncRoleMapping {
     // convert it to a set to get rid of the duplication.
     return ImmutableSet.copyOf(getCustomGcpProjectIamRoles().values());
   }
+
+  /** Every custom role WSM defines in a workspace project: project roles, then resource roles. */
+  public ImmutableList<CustomGcpIamRole> getAllCustomGcpIamRoles() {
+    return ImmutableList.<CustomGcpIamRole>builder()
+        .addAll(getCustomGcpIamRoles())
+        .addAll(CustomGcpIamRoleMapping.CUSTOM_GCP_RESOURCE_IAM_ROLES.values())
+        .build();
+  }
+
+  /**
+   * Fingerprint of the custom role set: names and permissions, independent of their order. Buffer
+   * pools that create the roles in their projects label the projects with this value, so that cloud
+   * context creation can tell whether a pulled project already has the current roles. It is a
+   * valid GCP label value.
+   */
+  public String getCustomGcpIamRolesFingerprint() {
+    String roles =
+        getAllCustomGcpIamRoles().stream()
+            .map(
+                role ->
+                    role.getRoleName()
+                        + "="
+                        + role.getIncludedPermissions().stream()
+                            .sorted()
+                            .collect(Collectors.joining(",")))
+            .sorted()
+            .collect(Collectors.joining("\n"));
+    return Hashing.sha256().hashString(roles, StandardCharsets.UTF_8).toString().substring(0, 32);
+  }
 }
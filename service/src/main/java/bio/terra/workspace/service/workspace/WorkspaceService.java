@@ -12,8 +12,8 @@ import bio.terra.policy.model.TpsPaoUpdateResult;
 import bio.terra.policy.model.TpsPolicyInputs;
 import bio.terra.policy.model.TpsUpdateMode;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
-import bio.terra.workspace.common.exception.InternalLogicException;
 import bio.terra.workspace.common.logging.model.ActivityLogChangedTarget;
+import bio.terra.workspace.common.utils.RequestFanoutExecutor;
 import bio.terra.workspace.common.utils.Rethrow;
 import bio.terra.workspace.db.ApplicationDao;
 import bio.terra.workspace.db.ResourceDao;
@@ -33,6 +33,7 @@ import bio.terra.workspace.service.logging.WorkspaceActivityLogService;
 import bio.terra.workspace.service.policy.PolicyValidator;
 import bio.terra.workspace.service.policy.TpsApiDispatch;
 import bio.terra.workspace.service.policy.TpsUtilities;
+import bio.terra.workspace.service.resource.controlled.cloud.aws.AwsCredentialCache;
 import bio.terra.workspace.service.resource.controlled.flight.clone.workspace.CloneWorkspaceFlight;
 import bio.terra.workspace.service.resource.exception.PolicyConflictException;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
@@ -48,11 +49,8 @@ import bio.terra.workspace.service.workspace.flight.create.cloudcontext.CreateCl
 import bio.terra.workspace.service.workspace.flight.create.workspace.CreateWorkspaceV2Flight;
 import bio.terra.workspace.service.workspace.flight.delete.cloudcontext.DeleteCloudContextFlight;
 import bio.terra.workspace.service.workspace.flight.delete.workspace.WorkspaceDeleteFlight;
-import bio.terra.workspace.service.workspace.model.AwsCloudContext;
-import bio.terra.workspace.service.workspace.model.AzureCloudContext;
 import bio.terra.workspace.service.workspace.model.CloudContext;
 import bio.terra.workspace.service.workspace.model.CloudPlatform;
-import bio.terra.workspace.service.workspace.model.GcpCloudContext;
 import bio.terra.workspace.service.workspace.model.OperationType;
 import bio.terra.workspace.service.workspace.model.Workspace;
 import bio.terra.workspace.service.workspace.model.WorkspaceDescription;
@@ -64,6 +62,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -95,6 +94,8 @@ public class WorkspaceService {
   private final TpsApiDispatch tpsApiDispatch;
   private final PolicyValidator policyValidator;
   private final FeatureConfiguration features;
+  private final RequestFanoutExecutor requestFanoutExecutor;
+  private final AwsCredentialCache awsCredentialCache;
 
   @Autowired
   public WorkspaceService(
@@ -107,7 +108,9 @@ public class WorkspaceService {
       WorkspaceActivityLogService workspaceActivityLogService,
       TpsApiDispatch tpsApiDispatch,
       PolicyValidator policyValidator,
-      FeatureConfiguration features) {
+      FeatureConfiguration features,
+      RequestFanoutExecutor requestFanoutExecutor,
+      AwsCredentialCache awsCredentialCache) {
     this.jobService = jobService;
     this.applicationDao = applicationDao;
     this.workspaceDao = workspaceDao;
@@ -118,6 +121,8 @@ public class WorkspaceService {
     this.tpsApiDispatch = tpsApiDispatch;
     this.policyValidator = policyValidator;
     this.features = features;
+    this.requestFanoutExecutor = requestFanoutExecutor;
+    this.awsCredentialCache = awsCredentialCache;
   }
 
   /** Create a workspace with the specified parameters. Returns workspaceID of the new workspace. */
@@ -327,6 +332,10 @@ public class WorkspaceService {
   /**
    * Like validateWorkspaceAndAction, but returns the full workspace description
    *
+   * <p>The Sam authorization check is issued concurrently with the database read. We still surface
+   * WorkspaceNotFoundException ahead of any authorization failure, and nothing that depends on the
+   * user's access is fetched until the authorization check has passed.
+   *
    * @param userRequest the user's authenticated request
    * @param workspaceUuid id of the workspace in question
    * @param action the action to authorize against the workspace
@@ -336,9 +345,15 @@ public class WorkspaceService {
   public WorkspaceDescription validateWorkspaceAndActionReturningDescription(
       AuthenticatedUserRequest userRequest, UUID workspaceUuid, String action) {
     logWorkspaceAction(userRequest, workspaceUuid.toString(), action);
+    CompletableFuture<Void> authz =
+        requestFanoutExecutor.supplyAsync(
+            () -> {
+              checkWorkspaceAuthz(userRequest, workspaceUuid, action);
+              return null;
+            });
     DbWorkspaceDescription dbWorkspaceDescription =
         workspaceDao.getWorkspaceDescription(workspaceUuid);
-    checkWorkspaceAuthz(userRequest, workspaceUuid, action);
+    RequestFanoutExecutor.join(authz);
     return makeWorkspaceDescription(userRequest, dbWorkspaceDescription);
   }
 
@@ -392,22 +407,29 @@ public class WorkspaceService {
         "checkAuthz");
   }
 
+  /**
+   * Build the description of a workspace the user is authorized on. The TPS policy fetch and the
+   * Sam role lookup are independent, so the policy fetch runs on the fanout executor while the role
+   * lookup runs on the request thread.
+   */
   private WorkspaceDescription makeWorkspaceDescription(
       AuthenticatedUserRequest userRequest, DbWorkspaceDescription dbWorkspaceDescription) {
-    TpsPaoGetResult workspacePao = null;
-    if (features.isTpsEnabled()) {
-      workspacePao =
-          Rethrow.onInterrupted(
-              () ->
-                  tpsApiDispatch.getOrCreatePao(
-                      dbWorkspaceDescription.getWorkspace().workspaceId(),
-                      TpsComponent.WSM,
-                      TpsObjectType.WORKSPACE),
-              "getOrCreatePao");
-    }
+    UUID workspaceUuid = dbWorkspaceDescription.getWorkspace().workspaceId();
+    CompletableFuture<TpsPaoGetResult> workspacePaoFuture =
+        features.isTpsEnabled()
+            ? requestFanoutExecutor.supplyAsync(
+                () ->
+                    Rethrow.onInterrupted(
+                        () ->
+                            tpsApiDispatch.getOrCreatePao(
+                                workspaceUuid, TpsComponent.WSM, TpsObjectType.WORKSPACE),
+                        "getOrCreatePao"))
+            : CompletableFuture.completedFuture(null);
+    WsmIamRole highestRole = getHighestRole(workspaceUuid, userRequest);
+    TpsPaoGetResult workspacePao = RequestFanoutExecutor.join(workspacePaoFuture);
     return new WorkspaceDescription(
         dbWorkspaceDescription.getWorkspace(),
-        getHighestRole(dbWorkspaceDescription.getWorkspace().workspaceId(), userRequest),
+        highestRole,
         /* missingAuthDomainGroups= */ null,
         dbWorkspaceDescription.getLastUpdatedByEmail(),
         dbWorkspaceDescription.getLastUpdatedByDate(),
@@ -468,26 +490,22 @@ public class WorkspaceService {
   public CloudContext validateWorkspaceAndContextState(
       Workspace workspace, CloudPlatform cloudPlatform) {
     validateWorkspaceState(workspace);
-    Optional<DbCloudContext> optionalDbCloudContext =
-        workspaceDao.getCloudContext(workspace.workspaceId(), cloudPlatform);
-    if (optionalDbCloudContext.isEmpty()) {
-      throw new CloudContextRequiredException(
-          String.format(
-              "Operation requires %s cloud context", cloudPlatform.toApiModel().toString()));
-    }
-    if (optionalDbCloudContext.get().getState() != WsmResourceState.READY) {
+    CloudContext cloudContext =
+        workspaceDao
+            .getParsedCloudContext(workspace.workspaceId(), cloudPlatform)
+            .orElseThrow(
+                () ->
+                    new CloudContextRequiredException(
+                        String.format(
+                            "Operation requires %s cloud context",
+                            cloudPlatform.toApiModel().toString())));
+    if (cloudContext.getCommonFields().state() != WsmResourceState.READY) {
       throw new InvalidCloudContextStateException(
           String.format(
               "%s cloud context is busy %s. Try again later.",
               cloudPlatform.toApiModel().toString(), workspace.state().toApi().toString()));
     }
-
-    return switch (cloudPlatform) {
-      case AWS -> AwsCloudContext.deserialize(optionalDbCloudContext.get());
-      case AZURE -> AzureCloudContext.deserialize(optionalDbCloudContext.get());
-      case GCP -> GcpCloudContext.deserialize(optionalDbCloudContext.get());
-      default -> throw new InternalLogicException("Invalid cloud platform " + cloudPlatform);
-    };
+    return cloudContext;
   }
 
   /**
@@ -882,6 +900,7 @@ public class WorkspaceService {
         .addParameter(WorkspaceFlightMapKeys.USER_TO_REMOVE, targetUserEmail)
         .addParameter(WorkspaceFlightMapKeys.ROLE_TO_REMOVE, role.name())
         .submitAndWait();
+    awsCredentialCache.invalidate(workspace.getWorkspaceId(), targetUserEmail);
   }
 
   /**
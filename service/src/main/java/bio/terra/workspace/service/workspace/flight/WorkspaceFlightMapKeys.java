@@ -3,6 +3,7 @@ package bio.terra.workspace.service.workspace.flight;
 public final class WorkspaceFlightMapKeys {
   public static final String WORKSPACE_ID = "workspaceId";
   public static final String GCP_PROJECT_ID = "gcpProjectId";
+  public static final String GCP_PROJECT_PREBAKED = "gcpProjectPrebaked";
   public static final String WORKSPACE_ID_TO_GCP_PROJECT_ID_MAP = "workspaceIdToGcpProjectIdMap";
   public static final String WORKSPACE_STAGE = "workspaceStage";
   public static final String IAM_GROUP_EMAIL_MAP = "iamGroupEmailMap";
@@ -74,6 +75,7 @@ public final class WorkspaceFlightMapKeys {
     public static final String CLONE_DB_DUMP_ENCRYPTION_KEY = "cloneDbDumpEncryptionKey";
 
     public static final String SIGNED_URL_LIST = "signedUrlList";
+    public static final String SIGNED_URL_SHARDS = "signedUrlShards";
     public static final String DESTINATION_BUCKET_NAME_FOR_SIGNED_URL_LIST =
         "destinationBucketNameForSignedUrlList";
     public static final String DESTINATION_STORAGE_TRANSFER_INPUTS =
@@ -89,6 +91,11 @@ public final class WorkspaceFlightMapKeys {
     public static final String SOURCE_CLONE_INPUTS = "sourceCloneInputs";
     public static final String SOURCE_WORKSPACE_ID = "sourceWorkspaceId";
     public static final String STORAGE_TRANSFER_JOB_NAME = "storageTransferJobName";
+    public static final String STORAGE_TRANSFER_OPERATION_NAME = "storageTransferOperationName";
+    public static final String STORAGE_TRANSFER_POLL_DEADLINE = "storageTransferPollDeadline";
+    public static final String STORAGE_TRANSFER_POLL_INTERVAL = "storageTransferPollInterval";
+    public static final String STORAGE_TRANSFER_BYTES_COPIED = "storageTransferBytesCopied";
+    public static final String STORAGE_TRANSFER_NEXT_POLL_TIME = "storageTransferNextPollTime";
     public static final String STORAGE_TRANSFER_SERVICE_SA_EMAIL = "storageTransferServiceSAEmail";
     public static final String TABLE_TO_JOB_ID_MAP = "tableToJobIdMap";
     public static final String WORKSPACE_CREATE_FLIGHT_ID = "workspaceCreateFlightId";
@@ -139,6 +146,7 @@ public final class WorkspaceFlightMapKeys {
     public static final String RESOURCE_ID = "resourceId";
     public static final String RESOURCE_TYPE = "resourceType";
     public static final String RESOURCE_NAME = "resourceName";
+    public static final String RESOURCE_ATTRIBUTES = "resourceAttributes";
     public static final String PREVIOUS_RESOURCE_NAME = "previousResourceName";
     public static final String RESOURCE_DESCRIPTION = "resourceDescription";
     public static final String PREVIOUS_RESOURCE_DESCRIPTION = "previousResourceDescription";
@@ -0,0 +1,68 @@
+package bio.terra.workspace.service.workspace.flight.cloud.gcp;
+
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.GCP_PROJECT_ID;
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.GCP_PROJECT_PREBAKED;
+
+import bio.terra.cloudres.google.cloudresourcemanager.CloudResourceManagerCow;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.GcpUtils;
+import com.google.api.services.cloudresourcemanager.v3.model.Project;
+import java.io.IOException;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks whether the project pulled from the buffer was "pre-baked" by its pool with the current
+ * WSM custom roles. The pool labels such projects with the fingerprint of the role set it created;
+ * if the label matches the fingerprint of our roles, the step that creates the roles is skipped.
+ * The WSM SA is still granted role admin, which it needs to patch the roles later. Any other
+ * project goes through the full setup.
+ */
+public class CheckPrebakedProjectStep implements Step {
+  /** Label a buffer pool puts on projects that already have the WSM custom roles. */
+  public static final String CUSTOM_ROLES_LABEL = "wsm-custom-roles";
+
+  private final Logger logger = LoggerFactory.getLogger(CheckPrebakedProjectStep.class);
+  private final CloudResourceManagerCow resourceManager;
+  private final String customRolesFingerprint;
+
+  public CheckPrebakedProjectStep(
+      CloudResourceManagerCow resourceManager, String customRolesFingerprint) {
+    this.resourceManager = resourceManager;
+    this.customRolesFingerprint = customRolesFingerprint;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext flightContext)
+      throws InterruptedException, RetryException {
+    String projectId = flightContext.getWorkingMap().get(GCP_PROJECT_ID, String.class);
+    Optional<Project> project;
+    try {
+      project = GcpUtils.retrieveProject(projectId, resourceManager);
+    } catch (IOException e) {
+      throw new RetryException("Error while reading the labels of project " + projectId, e);
+    }
+    String label =
+        project.map(Project::getLabels).map(labels -> labels.get(CUSTOM_ROLES_LABEL)).orElse(null);
+    boolean prebaked = customRolesFingerprint.equals(label);
+    if (label != null && !prebaked) {
+      logger.info(
+          "Project {} has custom roles {}, expected {}; running the full setup",
+          projectId,
+          label,
+          customRolesFingerprint);
+    }
+    flightContext.getWorkingMap().put(GCP_PROJECT_PREBAKED, prebaked);
+    return StepResult.getStepResultSuccess();
+  }
+
+  /** This is a read-only step, so nothing to undo */
+  @Override
+  public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
+    return StepResult.getStepResultSuccess();
+  }
+}
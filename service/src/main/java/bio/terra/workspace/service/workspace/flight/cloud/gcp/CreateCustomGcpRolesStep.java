@@ -1,57 +1,92 @@
 package bio.terra.workspace.service.workspace.flight.cloud.gcp;
 
 import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.GCP_PROJECT_ID;
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.GCP_PROJECT_PREBAKED;
 
 import bio.terra.cloudres.google.iam.IamCow;
 import bio.terra.stairway.FlightContext;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.FlightStepExecutor;
+import bio.terra.workspace.common.utils.RequestFanoutExecutor;
 import bio.terra.workspace.service.resource.controlled.cloud.gcp.CustomGcpIamRole;
-import bio.terra.workspace.service.resource.controlled.cloud.gcp.CustomGcpIamRoleMapping;
 import bio.terra.workspace.service.workspace.GcpCloudSyncRoleMapping;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.services.iam.v1.model.CreateRoleRequest;
 import com.google.api.services.iam.v1.model.Role;
-import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 
 /**
  * This step creates custom role definitions in our GCP context. It does not grant these roles to
- * any users, though other steps do.
+ * any users, though other steps do. The roles are independent of each other, so they are created
+ * concurrently.
  */
 public class CreateCustomGcpRolesStep implements Step {
 
   private final IamCow iamCow;
   private final GcpCloudSyncRoleMapping gcpCloudSyncRoleMapping;
+  private final FlightStepExecutor flightStepExecutor;
 
   private final Logger logger = LoggerFactory.getLogger(CreateCustomGcpRolesStep.class);
 
-  public CreateCustomGcpRolesStep(GcpCloudSyncRoleMapping gcpCloudSyncRoleMapping, IamCow iamCow) {
+  public CreateCustomGcpRolesStep(
+      GcpCloudSyncRoleMapping gcpCloudSyncRoleMapping,
+      IamCow iamCow,
+      FlightStepExecutor flightStepExecutor) {
     this.gcpCloudSyncRoleMapping = gcpCloudSyncRoleMapping;
     this.iamCow = iamCow;
+    this.flightStepExecutor = flightStepExecutor;
   }
 
   @Override
   public StepResult doStep(FlightContext flightContext)
       throws InterruptedException, RetryException {
+    if (Boolean.TRUE.equals(
+        flightContext.getWorkingMap().get(GCP_PROJECT_PREBAKED, Boolean.class))) {
+      logger.info("Project came from the buffer with the current custom roles, skipping creation");
+      return StepResult.getStepResultSuccess();
+    }
     String projectId = flightContext.getWorkingMap().get(GCP_PROJECT_ID, String.class);
-    // First, create the project-level custom roles.
-    // Multiple WSM roles may share the same GCP role. De-duping here prevents duplicate requests,
-    // which would lead to unnecessary CONFLICT responses from GCP.
-    ImmutableSet<CustomGcpIamRole> customProjectRoles =
-        gcpCloudSyncRoleMapping.getCustomGcpProjectIamRoles().values().stream()
-            .collect(ImmutableSet.toImmutableSet());
-    for (CustomGcpIamRole customProjectRole : customProjectRoles) {
-      createCustomRole(customProjectRole, projectId);
+    // The project-level custom roles, then the resource-level ones. Multiple WSM roles may share
+    // the same GCP role; the project roles are de-duped to prevent duplicate requests, which would
+    // lead to unnecessary CONFLICT responses from GCP.
+    List<CustomGcpIamRole> customRoles = gcpCloudSyncRoleMapping.getAllCustomGcpIamRoles();
+
+    List<CompletableFuture<Optional<RetryException>>> creates =
+        customRoles.stream()
+            .map(
+                customRole ->
+                    flightStepExecutor.supplyAsync(
+                        () -> {
+                          try {
+                            createCustomRole(customRole, projectId);
+                            return Optional.<RetryException>empty();
+                          } catch (RetryException e) {
+                            return Optional.of(e);
+                          }
+                        }))
+            .toList();
+    // Wait for every create, so that a retry of this step does not race with stragglers. Any
+    // exception is reported by the joins below.
+    CompletableFuture.allOf(creates.toArray(CompletableFuture[]::new))
+        .exceptionally(e -> null)
+        .join();
+    Optional<RetryException> failure = Optional.empty();
+    for (CompletableFuture<Optional<RetryException>> create : creates) {
+      Optional<RetryException> result = RequestFanoutExecutor.join(create);
+      if (failure.isEmpty()) {
+        failure = result;
+      }
     }
-    // Second, create the resource-level custom roles.
-    for (CustomGcpIamRole customResourceRole :
-        CustomGcpIamRoleMapping.CUSTOM_GCP_RESOURCE_IAM_ROLES.values()) {
-      createCustomRole(customResourceRole, projectId);
+    if (failure.isPresent()) {
+      throw failure.get();
     }
     return StepResult.getStepResultSuccess();
   }
@@ -2,7 +2,6 @@ package bio.terra.workspace.service.workspace.flight.cloud.gcp;
 
 import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.GCP_PROJECT_ID;
 
-import bio.terra.cloudres.google.cloudresourcemanager.CloudResourceManagerCow;
 import bio.terra.stairway.FlightContext;
 import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
@@ -11,6 +10,7 @@ import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
 import bio.terra.workspace.common.exception.InternalLogicException;
 import bio.terra.workspace.common.utils.GcpUtils;
+import bio.terra.workspace.service.crl.ProjectIamPolicyCoordinator;
 import bio.terra.workspace.service.grant.GrantService;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamService;
@@ -21,9 +21,6 @@ import bio.terra.workspace.service.workspace.exceptions.RetryableCrlException;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.api.services.cloudresourcemanager.v3.model.Binding;
-import com.google.api.services.cloudresourcemanager.v3.model.GetIamPolicyRequest;
-import com.google.api.services.cloudresourcemanager.v3.model.Policy;
-import com.google.api.services.cloudresourcemanager.v3.model.SetIamPolicyRequest;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,10 +33,11 @@ import org.slf4j.LoggerFactory;
 /**
  * A {@link Step} that grants GCP IAM permissions to Sam policy groups.
  *
- * <p>This step will grant GCP IAM roles to the google groups underlying Sam policies. It follows a
- * read-modify-write pattern using GCP's field eTag to ensure the write does not clobber other
- * changes. The read-modify-write pattern is necessary to support existing IAM groups which the
- * Buffer Service may grant on projects before handing them out.
+ * <p>This step will grant GCP IAM roles to the google groups underlying Sam policies. The bindings
+ * are added through {@link ProjectIamPolicyCoordinator}, which follows a read-modify-write pattern
+ * using GCP's field eTag to ensure the write does not clobber other changes. The read-modify-write
+ * pattern is necessary to support existing IAM groups which the Buffer Service may grant on
+ * projects before handing them out.
  *
  * <p>The "modify" part of this step specifically adds GCP bindings as specified in {@link
  * GcpCloudSyncRoleMapping}. Note that the bindings list sent to GCP may contain multiple entries
@@ -51,7 +49,7 @@ import org.slf4j.LoggerFactory;
  */
 public class GcpCloudSyncStep implements Step {
   private final Logger logger = LoggerFactory.getLogger(GcpCloudSyncStep.class);
-  private final CloudResourceManagerCow resourceManagerCow;
+  private final ProjectIamPolicyCoordinator projectIamPolicyCoordinator;
   private final GcpCloudSyncRoleMapping gcpCloudSyncRoleMapping;
   private final FeatureConfiguration features;
   private final SamService samService;
@@ -60,7 +58,7 @@ public class GcpCloudSyncStep implements Step {
   private final UUID workspaceUuid;
 
   public GcpCloudSyncStep(
-      CloudResourceManagerCow resourceManagerCow,
+      ProjectIamPolicyCoordinator projectIamPolicyCoordinator,
       GcpCloudSyncRoleMapping gcpCloudSyncRoleMapping,
       FeatureConfiguration features,
       SamService samService,
@@ -68,7 +66,7 @@ public class GcpCloudSyncStep implements Step {
       AuthenticatedUserRequest userRequest,
       UUID workspaceUuid) {
     this.gcpCloudSyncRoleMapping = gcpCloudSyncRoleMapping;
-    this.resourceManagerCow = resourceManagerCow;
+    this.projectIamPolicyCoordinator = projectIamPolicyCoordinator;
     this.features = features;
     this.samService = samService;
     this.grantService = grantService;
@@ -86,13 +84,7 @@ public class GcpCloudSyncStep implements Step {
         workingMap.get(WorkspaceFlightMapKeys.IAM_GROUP_EMAIL_MAP, new TypeReference<>() {});
 
     try {
-      Policy currentPolicy =
-          resourceManagerCow
-              .projects()
-              .getIamPolicy(gcpProjectId, new GetIamPolicyRequest())
-              .execute();
-
-      List<Binding> newBindings = new ArrayList<>(currentPolicy.getBindings());
+      List<Binding> newBindings = new ArrayList<>();
 
       // Add appropriate project-level roles for each WSM IAM role.
       workspaceRoleGroupsMap.forEach(
@@ -128,14 +120,13 @@ public class GcpCloudSyncStep implements Step {
             getCustomRoleName(WsmIamRole.OWNER, gcpProjectId));
       }
 
-      Policy newPolicy =
-          new Policy()
-              .setVersion(currentPolicy.getVersion())
-              .setBindings(newBindings)
-              .setEtag(currentPolicy.getEtag());
-      SetIamPolicyRequest iamPolicyRequest = new SetIamPolicyRequest().setPolicy(newPolicy);
-      logger.info("Setting new Cloud Context IAM policy: " + iamPolicyRequest.toPrettyString());
-      resourceManagerCow.projects().setIamPolicy(gcpProjectId, iamPolicyRequest).execute();
+      logger.info("Adding Cloud Context IAM bindings: {}", newBindings);
+      projectIamPolicyCoordinator.update(
+          gcpProjectId,
+          policy -> {
+            policy.getBindings().addAll(newBindings);
+            return true;
+          });
     } catch (IOException e) {
       throw new RetryableCrlException("Error setting IAM permissions", e);
     }
@@ -6,26 +6,29 @@ import bio.terra.stairway.StepResult;
 import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.common.utils.GcpUtils;
 import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.crl.ProjectIamPolicyCoordinator;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import com.google.api.services.cloudresourcemanager.v3.model.Binding;
-import com.google.api.services.cloudresourcemanager.v3.model.GetIamPolicyRequest;
-import com.google.api.services.cloudresourcemanager.v3.model.Policy;
-import com.google.api.services.cloudresourcemanager.v3.model.SetIamPolicyRequest;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.List;
 
 /**
  * A step which grants the WSM SA the "Role Admin" permission on the GCP project, which allows it to
  * create custom GCP roles. Unlike other WSM SA permissions, this cannot be granted at the folder
  * level, and so must be applied on each individual project.
+ *
+ * <p>Projects pulled from the buffer that already have the current custom roles get the grant too:
+ * WSM patches its custom roles in existing projects when the role set changes, which needs it.
  */
 public class GrantWsmRoleAdminStep implements Step {
 
   private final CrlService crlService;
+  private final ProjectIamPolicyCoordinator projectIamPolicyCoordinator;
 
-  public GrantWsmRoleAdminStep(CrlService crlService) {
+  public GrantWsmRoleAdminStep(
+      CrlService crlService, ProjectIamPolicyCoordinator projectIamPolicyCoordinator) {
     this.crlService = crlService;
+    this.projectIamPolicyCoordinator = projectIamPolicyCoordinator;
   }
 
   @Override
@@ -33,26 +36,17 @@ public class GrantWsmRoleAdminStep implements Step {
     String wsmSaEmail = GcpUtils.getWsmSaEmail(crlService.getApplicationCredentials());
     String projectId =
         context.getWorkingMap().get(WorkspaceFlightMapKeys.GCP_PROJECT_ID, String.class);
+    Binding bindingToAdd =
+        new Binding()
+            .setMembers(Collections.singletonList("serviceAccount:" + wsmSaEmail))
+            .setRole("roles/iam.roleAdmin");
     try {
-      Policy policy =
-          crlService
-              .getCloudResourceManagerCow()
-              .projects()
-              .getIamPolicy(projectId, new GetIamPolicyRequest())
-              .execute();
-      Binding bindingToAdd =
-          new Binding()
-              .setMembers(Collections.singletonList("serviceAccount:" + wsmSaEmail))
-              .setRole("roles/iam.roleAdmin");
-      List<Binding> bindingList = policy.getBindings();
-      bindingList.add(bindingToAdd);
-      policy.setBindings(bindingList);
-      SetIamPolicyRequest iamPolicyRequest = new SetIamPolicyRequest().setPolicy(policy);
-      crlService
-          .getCloudResourceManagerCow()
-          .projects()
-          .setIamPolicy(projectId, iamPolicyRequest)
-          .execute();
+      projectIamPolicyCoordinator.update(
+          projectId,
+          policy -> {
+            policy.getBindings().add(bindingToAdd);
+            return true;
+          });
     } catch (IOException e) {
       // Errors here are unexpected and likely transient, WSM should always retry.
       throw new RetryException("Error while granting WSM SA the Role Admin role", e);
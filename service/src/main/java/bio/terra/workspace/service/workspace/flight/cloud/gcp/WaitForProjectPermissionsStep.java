@@ -8,13 +8,12 @@ import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.common.utils.GcpUtils;
-import bio.terra.workspace.common.utils.RetryUtils;
+import bio.terra.workspace.common.utils.IamPropagationProbe;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
 import java.time.Duration;
-import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +21,12 @@ import org.slf4j.LoggerFactory;
 public class WaitForProjectPermissionsStep implements Step {
   private final Logger logger = LoggerFactory.getLogger(WaitForProjectPermissionsStep.class);
 
+  private final IamPropagationProbe iamPropagationProbe;
+
+  public WaitForProjectPermissionsStep(IamPropagationProbe iamPropagationProbe) {
+    this.iamPropagationProbe = iamPropagationProbe;
+  }
+
   /**
    * CRL doesn't support list-bucket. For now we call GCP directly.
    *
@@ -60,29 +65,18 @@ public class WaitForProjectPermissionsStep implements Step {
     String gcpProjectId = flightContext.getWorkingMap().get(GCP_PROJECT_ID, String.class);
     Storage storage = getStorage(petSaCredentials, gcpProjectId);
 
-    var startTime = Instant.now();
     try {
-      RetryUtils.getWithRetryOnException(
-          () -> testIam(storage),
-          RetryUtils.DEFAULT_RETRY_TOTAL_DURATION,
-          RetryUtils.DEFAULT_RETRY_SLEEP_DURATION,
-          0.5, /* increase wait by half again as much */
-          RetryUtils.DEFAULT_RETRY_SLEEP_DURATION_MAX,
-          null /* all exceptions are retried */);
+      Duration waitTime = iamPropagationProbe.await("gcpProject", () -> testIam(storage));
+      logger.info(
+          "#=#=#=# GCP cloud context wait time in milliseconds: {} #=#=#=#", waitTime.toMillis());
+    } catch (InterruptedException e) {
+      throw e;
     } catch (Exception e) {
-      logWaitDuration(startTime);
       return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
     }
-    logWaitDuration(startTime);
     return StepResult.getStepResultSuccess();
   }
 
-  private void logWaitDuration(Instant startTime) {
-    logger.info(
-        "#=#=#=# GCP cloud context wait time in seconds: {} #=#=#=#",
-        Duration.between(startTime, Instant.now()).toSeconds());
-  }
-
   /** This is a read-only step, so nothing to undo */
   @Override
   public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
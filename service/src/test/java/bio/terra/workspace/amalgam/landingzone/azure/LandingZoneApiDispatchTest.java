@@ -37,6 +37,9 @@ import bio.terra.workspace.generated.model.ApiResourceQuota;
 import bio.terra.workspace.service.spendprofile.model.SpendProfileId;
 import bio.terra.workspace.service.workspace.WorkspaceService;
 import bio.terra.workspace.service.workspace.model.Workspace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -74,7 +77,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
 
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
   }
 
   @Test
@@ -97,7 +100,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
         .thenReturn(createJobResult);
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
 
     ApiCreateLandingZoneResult response =
         landingZoneApiDispatch.createAzureLandingZone(BEARER_TOKEN, request, resultEndpoint);
@@ -131,7 +134,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
 
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
 
     assertThrows(
         LandingZoneInvalidInputException.class,
@@ -158,7 +161,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
 
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
 
     ApiCreateLandingZoneResult result =
         landingZoneApiDispatch.createAzureLandingZone(BEARER_TOKEN, request, resultEndpoint);
@@ -243,7 +246,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
         .thenReturn(Collections.emptyList());
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
 
     ApiAzureLandingZoneResourcesList response =
         landingZoneApiDispatch.listAzureLandingZoneResourcesByPurpose(
@@ -275,7 +278,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
                     .build()));
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
     ApiAzureLandingZoneList response =
         landingZoneApiDispatch.listAzureLandingZones(BEARER_TOKEN, BILLING_PROFILE_ID);
 
@@ -315,7 +318,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
                     .build()));
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
     ApiAzureLandingZoneList response =
         landingZoneApiDispatch.listAzureLandingZones(BEARER_TOKEN, null);
 
@@ -384,7 +387,7 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
                     ResourcePurpose.SHARED_RESOURCE, listResources1)));
     landingZoneApiDispatch =
         new LandingZoneApiDispatch(
-            featureConfiguration, mockSamService(), landingZoneServiceFactory);
+            featureConfiguration, mockSamService(), landingZoneServiceFactory, newLookupCache());
   }
 
   @Test
@@ -407,6 +410,39 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
     assertEquals(expectedLandingZoneId, landingZoneId);
   }
 
+  @Test
+  public void getLandingZoneId_cachesLookupPerBillingProfile() {
+    Workspace workspace = mock(Workspace.class);
+    when(workspace.getSpendProfileId()).thenReturn(Optional.of(SPEND_PROFILE_ID));
+    LandingZone landingZone = mock(LandingZone.class);
+    when(landingZone.landingZoneId()).thenReturn(LANDING_ZONE_ID);
+    when(landingZoneService.getLandingZonesByBillingProfile(
+            eq(BEARER_TOKEN), eq(UUID.fromString(SPEND_PROFILE_ID.getId()))))
+        .thenReturn(List.of(landingZone));
+
+    assertEquals(
+        LANDING_ZONE_ID, landingZoneApiDispatch.getLandingZoneId(BEARER_TOKEN, workspace));
+    assertEquals(
+        LANDING_ZONE_ID, landingZoneApiDispatch.getLandingZoneId(BEARER_TOKEN, workspace));
+
+    verify(landingZoneService, times(1))
+        .getLandingZonesByBillingProfile(
+            eq(BEARER_TOKEN), eq(UUID.fromString(SPEND_PROFILE_ID.getId())));
+  }
+
+  @Test
+  void getSharedResources_shareOneLookupPerLandingZone() {
+    setupLandingZoneResources();
+
+    landingZoneApiDispatch.getSharedStorageAccount(BEARER_TOKEN, LANDING_ZONE_ID);
+    landingZoneApiDispatch.getSharedBatchAccount(BEARER_TOKEN, LANDING_ZONE_ID);
+    landingZoneApiDispatch.getSharedKubernetesCluster(BEARER_TOKEN, LANDING_ZONE_ID);
+
+    verify(landingZoneService, times(1))
+        .listResourcesByPurpose(
+            eq(BEARER_TOKEN), eq(LANDING_ZONE_ID), eq(ResourcePurpose.SHARED_RESOURCE));
+  }
+
   @Test
   public void getLandingZoneId_billingProfileEmpty_failure() {
     Workspace workspace = mock(Workspace.class);
@@ -453,4 +489,9 @@ public class LandingZoneApiDispatchTest extends BaseAzureSpringBootUnitTest {
     assertThat(apiResourceQuota.getAzureResourceId(), equalTo(azureResourceId));
     assertThat(apiResourceQuota.getQuotaValues(), equalTo(quotaValues));
   }
+
+  private static LandingZoneLookupCache newLookupCache() {
+    return new LandingZoneLookupCache(
+        Duration.ofMinutes(5), 100, new SimpleMeterRegistry(), Clock.systemUTC());
+  }
 }
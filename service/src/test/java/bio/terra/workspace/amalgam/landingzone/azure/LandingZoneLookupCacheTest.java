@@ -0,0 +1,179 @@
+package bio.terra.workspace.amalgam.landingzone.azure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bio.terra.common.iam.BearerToken;
+import bio.terra.workspace.amalgam.landingzone.azure.LandingZoneLookupCache.Lookup;
+import bio.terra.workspace.common.annotations.BaseTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class LandingZoneLookupCacheTest {
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+  private static final BearerToken TOKEN = new BearerToken("token");
+  private static final UUID LANDING_ZONE_ID = UUID.randomUUID();
+  private static final UUID BILLING_PROFILE_ID = UUID.randomUUID();
+
+  private MeterRegistry registry;
+  private LandingZoneLookupCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+    cache = new LandingZoneLookupCache(Duration.ofMinutes(5), 100, registry, CLOCK);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void get_reusesLookupPerTokenAndLandingZone() {
+    assertEquals("region1", getRegion(TOKEN));
+    assertEquals("region1", getRegion(TOKEN));
+    // Another caller does its own lookup, so the landing zone service still authorizes it
+    assertEquals("region2", getRegion(new BearerToken("other-token")));
+
+    assertEquals(2, loads.get());
+    assertEquals(1, count(Lookup.REGION, "hit"));
+    assertEquals(2, count(Lookup.REGION, "miss"));
+  }
+
+  @Test
+  void get_reloadsExpiredLookups() {
+    cache = new LandingZoneLookupCache(Duration.ZERO, 100, registry, CLOCK);
+
+    getRegion(TOKEN);
+    getRegion(TOKEN);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_concurrentMissesShareOneLoad() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                cache.get(
+                    Lookup.REGION,
+                    TOKEN,
+                    LANDING_ZONE_ID,
+                    "",
+                    () -> {
+                      loading.countDown();
+                      await(release);
+                      return load();
+                    }));
+    loading.await(5, TimeUnit.SECONDS);
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> getRegion(TOKEN));
+    // Let the second lookup find the load in flight before it completes
+    while (count(Lookup.REGION, "coalesced") == 0) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+
+    assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void get_failuresAreNotCached() {
+    assertThrows(
+        LandingZoneNotFoundException.class,
+        () ->
+            cache.get(
+                Lookup.LANDING_ZONE_ID,
+                TOKEN,
+                BILLING_PROFILE_ID,
+                "",
+                () -> {
+                  throw new LandingZoneNotFoundException("not deployed yet");
+                }));
+    getRegion(TOKEN);
+
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void invalidateLandingZone_dropsItsLookupsAndBillingProfile() {
+    UUID otherLandingZoneId = UUID.randomUUID();
+    cache.get(Lookup.LANDING_ZONE_ID, TOKEN, BILLING_PROFILE_ID, "", () -> LANDING_ZONE_ID);
+    cache.get(Lookup.RESOURCES, TOKEN, LANDING_ZONE_ID, "", this::load);
+    getRegion(TOKEN);
+    cache.get(Lookup.RESOURCES, TOKEN, otherLandingZoneId, "", this::load);
+
+    cache.invalidateLandingZone(LANDING_ZONE_ID);
+
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void invalidateBillingProfile_dropsLandingZoneId() {
+    cache.get(Lookup.LANDING_ZONE_ID, TOKEN, BILLING_PROFILE_ID, "", () -> LANDING_ZONE_ID);
+    getRegion(TOKEN);
+
+    cache.invalidateBillingProfile(BILLING_PROFILE_ID);
+
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void get_evictsLeastRecentlyUsedLookupWhenFull() {
+    cache = new LandingZoneLookupCache(Duration.ofMinutes(5), 2, registry, CLOCK);
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+
+    getRegion(TOKEN);
+    cache.get(Lookup.REGION, TOKEN, second, "", this::load);
+    // Reading the first lookup makes the second the least recently used
+    getRegion(TOKEN);
+    cache.get(Lookup.REGION, TOKEN, third, "", this::load);
+
+    assertEquals(2, cache.size());
+    assertEquals("region1", getRegion(TOKEN));
+    assertEquals("region4", cache.get(Lookup.REGION, TOKEN, second, "", this::load));
+  }
+
+  private String getRegion(BearerToken token) {
+    return cache.get(Lookup.REGION, token, LANDING_ZONE_ID, "", this::load);
+  }
+
+  private String load() {
+    return "region" + loads.incrementAndGet();
+  }
+
+  private double count(Lookup lookup, String result) {
+    return registry
+        .counter(
+            LandingZoneLookupCache.CACHE_METRIC,
+            "lookup",
+            lookup.name().toLowerCase(),
+            "result",
+            result)
+        .count();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package bio.terra.workspace.app;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.app.configuration.external.WorkspaceDatabaseConfiguration;
+import bio.terra.workspace.common.BaseSpringBootUnitTest;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class SchemaChecksumTest extends BaseSpringBootUnitTest {
+  @Autowired WorkspaceDatabaseConfiguration workspaceDatabaseConfiguration;
+
+  @TempDir Path classpathRoot;
+
+  private URLClassLoader classLoader;
+  private String changelogPath;
+  private Path changeset;
+
+  @BeforeEach
+  void setup() throws IOException {
+    // A changelog of its own, so the stored row never collides with the real changelog's
+    String directory = "checksum-" + UUID.randomUUID();
+    changelogPath = directory + "/changelog.xml";
+    Files.createDirectories(classpathRoot.resolve(directory).resolve("changesets"));
+    Files.writeString(classpathRoot.resolve(changelogPath), "<databaseChangeLog/>");
+    changeset = classpathRoot.resolve(directory).resolve("changesets").resolve("first.yaml");
+    Files.writeString(changeset, "databaseChangeLog: []");
+    classLoader = new URLClassLoader(new URL[] {classpathRoot.toUri().toURL()}, null);
+  }
+
+  @AfterEach
+  void cleanup() throws IOException {
+    new JdbcTemplate(workspaceDatabaseConfiguration.getDataSource())
+        .update("DELETE FROM schema_checksum WHERE changelog = ?", changelogPath);
+    classLoader.close();
+  }
+
+  @Test
+  void isCurrent_missingRow() {
+    assertFalse(makeSchemaChecksum().isCurrent());
+  }
+
+  @Test
+  void isCurrent_storedChecksumMatches() {
+    makeSchemaChecksum().store();
+
+    // A later start with the same changelog skips the migration
+    assertTrue(makeSchemaChecksum().isCurrent());
+  }
+
+  @Test
+  void isCurrent_changesetChanged() throws IOException {
+    makeSchemaChecksum().store();
+
+    Files.writeString(changeset, "databaseChangeLog: [changeSet: {id: added}]");
+    SchemaChecksum changed = makeSchemaChecksum();
+    assertFalse(changed.isCurrent());
+
+    // The upgrade stores the new checksum once it has applied the changed changeset
+    changed.store();
+    assertTrue(makeSchemaChecksum().isCurrent());
+  }
+
+  @Test
+  void isCurrent_changesetAdded() throws IOException {
+    makeSchemaChecksum().store();
+
+    Files.writeString(changeset.resolveSibling("second.yaml"), "databaseChangeLog: []");
+    assertFalse(makeSchemaChecksum().isCurrent());
+  }
+
+  private SchemaChecksum makeSchemaChecksum() {
+    return new SchemaChecksum(
+        changelogPath,
+        workspaceDatabaseConfiguration.getDataSource(),
+        new PathMatchingResourcePatternResolver(classLoader));
+  }
+}
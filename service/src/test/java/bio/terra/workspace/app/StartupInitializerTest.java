@@ -1,7 +1,11 @@
 package bio.terra.workspace.app;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -19,10 +23,14 @@ import bio.terra.workspace.service.iam.SamService;
 import bio.terra.workspace.service.job.StairwayInitializerService;
 import bio.terra.workspace.service.policy.TpsApiDispatch;
 import bio.terra.workspace.service.workspace.WsmApplicationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
@@ -46,6 +54,7 @@ class StartupInitializerTest {
   @Mock private TpsApiDispatch tpsApiDispatch;
   @Mock private BufferService bufferService;
   @Mock private BufferServiceConfiguration bufferServiceConfiguration;
+  @Mock private SchemaChecksum schemaChecksum;
 
   private enum DatabaseInitializationInstruction {
     INITIALIZE,
@@ -70,6 +79,7 @@ class StartupInitializerTest {
     when(context.getBean(BufferServiceConfiguration.class)).thenReturn(bufferServiceConfiguration);
     when(context.getBean(BufferService.class)).thenReturn(bufferService);
     when(context.getBean(TpsApiDispatch.class)).thenReturn(tpsApiDispatch);
+    when(context.getBean(MeterRegistry.class)).thenReturn(new SimpleMeterRegistry());
 
     when(featureConfiguration.isTpsEnabled()).thenReturn(true);
     when(bufferServiceConfiguration.getEnabled()).thenReturn(true);
@@ -110,4 +120,42 @@ class StartupInitializerTest {
     verify(wsmApplicationService).configure();
     verify(landingZoneJobService).initialize();
   }
+
+  @Test
+  void upgradeUnlessCurrent_currentSchemaSkipsUpgrade() {
+    when(schemaChecksum.isCurrent()).thenReturn(true);
+
+    StartupInitializer.upgradeUnlessCurrent(liquibaseMigrator, wsmDataSource, schemaChecksum);
+
+    verifyNoInteractions(liquibaseMigrator);
+    verify(schemaChecksum, never()).store();
+  }
+
+  @Test
+  void upgradeUnlessCurrent_changedSchemaUpgradesThenStores() {
+    // A changed changelog and a missing checksum row both read as not current
+    when(schemaChecksum.isCurrent()).thenReturn(false);
+
+    StartupInitializer.upgradeUnlessCurrent(liquibaseMigrator, wsmDataSource, schemaChecksum);
+
+    InOrder inOrder = inOrder(liquibaseMigrator, schemaChecksum);
+    inOrder.verify(liquibaseMigrator).upgrade(anyString(), eq(wsmDataSource));
+    inOrder.verify(schemaChecksum).store();
+  }
+
+  @Test
+  void upgradeUnlessCurrent_failedUpgradeStoresNothing() {
+    when(schemaChecksum.isCurrent()).thenReturn(false);
+    doThrow(new RuntimeException("migration failed"))
+        .when(liquibaseMigrator)
+        .upgrade(anyString(), eq(wsmDataSource));
+
+    assertThrows(
+        RuntimeException.class,
+        () ->
+            StartupInitializer.upgradeUnlessCurrent(
+                liquibaseMigrator, wsmDataSource, schemaChecksum));
+
+    verify(schemaChecksum, never()).store();
+  }
 }
@@ -0,0 +1,111 @@
+package bio.terra.workspace.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class StartupPhaseRunnerTest {
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void run_startsPhaseAfterItsDependencies() {
+    List<String> order = new CopyOnWriteArrayList<>();
+    new StartupPhaseRunner(registry)
+        .addPhase("database", () -> order.add("database"))
+        .addPhase("stairway", () -> order.add("stairway"), "database")
+        .addPhase("recovery", () -> order.add("recovery"), "database", "stairway")
+        .run();
+
+    assertEquals(List.of("database", "stairway", "recovery"), order);
+    assertEquals(
+        1,
+        registry
+            .get(StartupPhaseRunner.PHASE_METRIC)
+            .tags("phase", "stairway", "outcome", "success")
+            .timer()
+            .count());
+    assertNotNull(
+        registry
+            .get(StartupPhaseRunner.PHASE_METRIC)
+            .tags("phase", "total", "outcome", "success")
+            .timer());
+  }
+
+  @Test
+  void run_runsIndependentPhasesConcurrently() {
+    // Each phase waits for the other, so they only finish if they run at the same time
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    Runnable awaitOther =
+        () -> {
+          bothStarted.countDown();
+          try {
+            assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+          }
+        };
+    new StartupPhaseRunner(registry)
+        .addPhase("landing-zone", awaitOther)
+        .addPhase("tps-verify", awaitOther)
+        .run();
+
+    assertEquals(0, bothStarted.getCount());
+  }
+
+  @Test
+  void run_failedPhaseSkipsDependentsAndIsThrown() {
+    var failure = new IllegalStateException("migration failed");
+    AtomicBoolean dependentRan = new AtomicBoolean();
+    AtomicBoolean independentRan = new AtomicBoolean();
+    StartupPhaseRunner runner =
+        new StartupPhaseRunner(registry)
+            .addPhase(
+                "database",
+                () -> {
+                  throw failure;
+                })
+            .addPhase("stairway", () -> dependentRan.set(true), "database")
+            .addPhase("buffer-verify", () -> independentRan.set(true));
+
+    assertSame(failure, assertThrows(IllegalStateException.class, runner::run));
+    assertFalse(dependentRan.get());
+    assertTrue(independentRan.get());
+    assertEquals(
+        1,
+        registry
+            .get(StartupPhaseRunner.PHASE_METRIC)
+            .tags("phase", "database", "outcome", "failure")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void addPhase_unknownDependencyThrows() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new StartupPhaseRunner(registry).addPhase("stairway", () -> {}, "database"));
+  }
+}
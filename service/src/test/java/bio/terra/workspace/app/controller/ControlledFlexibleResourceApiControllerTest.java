@@ -1,22 +1,33 @@
 package bio.terra.workspace.app.controller;
 
 import static bio.terra.workspace.common.fixtures.ControlledResourceFixtures.RESOURCE_DESCRIPTION;
+import static bio.terra.workspace.common.mocks.MockFlexibleResourceApi.CREATE_CONTROLLED_FLEXIBLE_RESOURCES_BULK_PATH_FORMAT;
 import static bio.terra.workspace.common.mocks.MockFlexibleResourceApi.CREATE_CONTROLLED_FLEXIBLE_RESOURCES_PATH_FORMAT;
 import static bio.terra.workspace.common.mocks.MockMvcUtils.USER_REQUEST;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import bio.terra.common.exception.ForbiddenException;
+import bio.terra.workspace.app.configuration.external.BulkResourceCreateConfiguration;
+
 import bio.terra.workspace.common.BaseSpringBootUnitTest;
 import bio.terra.workspace.common.mocks.MockFlexibleResourceApi;
 import bio.terra.workspace.common.mocks.MockMvcUtils;
 import bio.terra.workspace.common.mocks.MockWorkspaceV1Api;
 import bio.terra.workspace.common.utils.TestUtils;
+import bio.terra.workspace.generated.model.ApiAccessScope;
 import bio.terra.workspace.generated.model.ApiCloningInstructionsEnum;
 import bio.terra.workspace.generated.model.ApiCreateControlledFlexibleResourceRequestBody;
+import bio.terra.workspace.generated.model.ApiCreateControlledFlexibleResourcesRequestBody;
 import bio.terra.workspace.generated.model.ApiCreatedControlledFlexibleResource;
+import bio.terra.workspace.generated.model.ApiCreatedControlledFlexibleResourceResult;
 import bio.terra.workspace.generated.model.ApiFlexibleResource;
 import bio.terra.workspace.generated.model.ApiStewardshipType;
 import bio.terra.workspace.service.iam.model.SamConstants;
@@ -26,7 +37,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.apache.http.HttpStatus;
 import org.broadinstitute.dsde.workbench.client.sam.model.UserStatusInfo;
 import org.json.JSONArray;
@@ -44,6 +57,7 @@ public class ControlledFlexibleResourceApiControllerTest extends BaseSpringBootU
   @Autowired MockWorkspaceV1Api mockWorkspaceV1Api;
   @Autowired MockFlexibleResourceApi mockFlexibleResourceApi;
   @Autowired ObjectMapper objectMapper;
+  @Autowired BulkResourceCreateConfiguration bulkResourceCreateConfiguration;
   private static final String defaultDecodedData = "{\"name\":\"original JSON\"}";
   private static final String defaultNewDecodedData = "{\"description\":\"this is new JSON\"}";
   private static final String defaultName = "fake-flexible-resource";
@@ -231,6 +245,100 @@ public class ControlledFlexibleResourceApiControllerTest extends BaseSpringBootU
         workspaceId, resourceId, null, null, veryLargeData, null, HttpStatus.SC_BAD_REQUEST);
   }
 
+  @Test
+  public void createBulk() throws Exception {
+    UUID workspaceId = mockWorkspaceV1Api.createWorkspaceWithoutCloudContext(USER_REQUEST).getId();
+    createDefaultFlexResource(workspaceId);
+
+    ApiCreateControlledFlexibleResourceRequestBody shared = makeFlexResourceRequestBody("shared");
+    ApiCreateControlledFlexibleResourceRequestBody privateResource =
+        makeFlexResourceRequestBody("private");
+    privateResource.getCommon().accessScope(ApiAccessScope.PRIVATE_ACCESS);
+    ApiCreateControlledFlexibleResourceRequestBody samFails =
+        makeFlexResourceRequestBody("sam-fails");
+    // The name of the resource created above
+    ApiCreateControlledFlexibleResourceRequestBody duplicate =
+        makeFlexResourceRequestBody(defaultName);
+    when(mockSamService().createControlledResources(any(), any(), any(), anyInt()))
+        .thenReturn(
+            Map.of(
+                samFails.getCommon().getResourceId(),
+                new ForbiddenException("Sam denied the create")));
+
+    List<ApiCreatedControlledFlexibleResourceResult> results =
+        mockFlexibleResourceApi
+            .createFlexibleResources(
+                USER_REQUEST, workspaceId, List.of(shared, privateResource, samFails, duplicate))
+            .getResults();
+
+    // Each distinct create action is checked once, however many resources need it
+    verify(mockSamService(), times(1))
+        .checkAuthz(
+            any(),
+            eq(SamConstants.SamResource.WORKSPACE),
+            eq(workspaceId.toString()),
+            eq(SamConstants.SamWorkspaceAction.CREATE_CONTROLLED_USER_SHARED));
+    verify(mockSamService(), times(1))
+        .checkAuthz(
+            any(),
+            eq(SamConstants.SamResource.WORKSPACE),
+            eq(workspaceId.toString()),
+            eq(SamConstants.SamWorkspaceAction.CREATE_CONTROLLED_USER_PRIVATE));
+
+    // One result per resource, in request order
+    assertEquals(
+        Stream.of(shared, privateResource, samFails, duplicate)
+            .map(body -> body.getCommon().getResourceId())
+            .toList(),
+        results.stream().map(ApiCreatedControlledFlexibleResourceResult::getResourceId).toList());
+    assertNull(results.get(0).getErrorReport());
+    assertEquals("shared", results.get(0).getFlexibleResource().getMetadata().getName());
+    ApiFlexibleResource createdPrivate = results.get(1).getFlexibleResource();
+    assertEquals(
+        ApiAccessScope.PRIVATE_ACCESS,
+        createdPrivate.getMetadata().getControlledResourceMetadata().getAccessScope());
+    assertNull(results.get(2).getFlexibleResource());
+    assertEquals(HttpStatus.SC_FORBIDDEN, results.get(2).getErrorReport().getStatusCode());
+    assertNull(results.get(3).getFlexibleResource());
+    assertEquals(HttpStatus.SC_CONFLICT, results.get(3).getErrorReport().getStatusCode());
+
+    // Only the created resources can be read back
+    mockFlexibleResourceApi.getFlexibleResource(
+        USER_REQUEST, workspaceId, shared.getCommon().getResourceId());
+    mockFlexibleResourceApi.getFlexibleResourceExpect(
+        workspaceId, samFails.getCommon().getResourceId(), HttpStatus.SC_NOT_FOUND);
+  }
+
+  @Test
+  public void createBulk_rejectsTooManyResources() throws Exception {
+    UUID workspaceId = mockWorkspaceV1Api.createWorkspaceWithoutCloudContext(USER_REQUEST).getId();
+    int maxResources = bulkResourceCreateConfiguration.getMaxResources();
+    bulkResourceCreateConfiguration.setMaxResources(2);
+    try {
+      ApiCreateControlledFlexibleResourcesRequestBody request =
+          new ApiCreateControlledFlexibleResourcesRequestBody()
+              .resources(
+                  List.of(
+                      makeFlexResourceRequestBody("first"),
+                      makeFlexResourceRequestBody("second"),
+                      makeFlexResourceRequestBody("third")));
+
+      mockMvcUtils.postExpect(
+          USER_REQUEST,
+          objectMapper.writeValueAsString(request),
+          CREATE_CONTROLLED_FLEXIBLE_RESOURCES_BULK_PATH_FORMAT.formatted(workspaceId),
+          HttpStatus.SC_BAD_REQUEST);
+    } finally {
+      bulkResourceCreateConfiguration.setMaxResources(maxResources);
+    }
+    verify(mockSamService(), never()).createControlledResources(any(), any(), any(), anyInt());
+  }
+
+  private ApiCreateControlledFlexibleResourceRequestBody makeFlexResourceRequestBody(String name) {
+    return mockFlexibleResourceApi.createFlexibleResourceRequestBody(
+        name, defaultTypeNamespace, defaultType, null);
+  }
+
   private ApiCreatedControlledFlexibleResource createDefaultFlexResource(UUID workspaceId)
       throws Exception {
     byte[] originalEncodedData = defaultDecodedData.getBytes(StandardCharsets.UTF_8);
@@ -86,15 +86,14 @@ public class StairwayTestUtils {
         "Enumerated Jobs: total=%d, pageToken=%s%n", jobs.getTotalResults(), jobs.getPageToken());
 
     for (EnumeratedJob job : jobs.getResults()) {
-      FlightState flightState = job.getFlightState();
-      System.out.printf("  Job %s %s%n", flightState.getFlightId(), flightState.getFlightStatus());
+      System.out.printf("  Job %s %s%n", job.getJobId(), job.getFlightStatus());
       System.out.printf("    description: %s%n", job.getJobDescription());
-      System.out.printf("    submitted  : %s%n", flightState.getSubmitted());
+      System.out.printf("    submitted  : %s%n", job.getSubmitted());
       System.out.printf(
           "    completed  : %s%n",
-          flightState.getCompleted().map(Instant::toString).orElse("<incomplete>"));
-      if (flightState.getException().isPresent()) {
-        System.out.printf("   error       : %s%n", flightState.getException().get().getMessage());
+          job.getCompleted().map(Instant::toString).orElse("<incomplete>"));
+      if (job.getErrorReport().isPresent()) {
+        System.out.printf("   error       : %s%n", job.getErrorReport().get().getMessage());
       }
       System.out.printf("    operation : %s%n", job.getOperationType());
       if (job.getResource().isPresent()) {
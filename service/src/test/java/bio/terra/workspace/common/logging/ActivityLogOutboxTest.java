@@ -0,0 +1,95 @@
+package bio.terra.workspace.common.logging;
+
+import static bio.terra.workspace.common.mocks.MockMvcUtils.USER_REQUEST;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.common.BaseSpringBootUnitTest;
+import bio.terra.workspace.common.logging.model.ActivityLogChangeDetails;
+import bio.terra.workspace.common.utils.TestFlightContext;
+import bio.terra.workspace.db.WorkspaceActivityLogDao;
+import bio.terra.workspace.service.job.JobMapKeys;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
+import bio.terra.workspace.service.workspace.flight.create.workspace.CreateWorkspaceV2Flight;
+import bio.terra.workspace.service.workspace.model.OperationType;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.broadinstitute.dsde.workbench.client.sam.model.UserStatusInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Activity logged through the outbox, as in production. The test profile otherwise writes the
+ * activity log directly. The background drain is held off so that the test moves the outbox itself.
+ */
+@TestPropertySource(
+    properties = {
+      "workspace.activity-log.async-write-enabled=true",
+      "workspace.activity-log.drain-interval=1h"
+    })
+public class ActivityLogOutboxTest extends BaseSpringBootUnitTest {
+  @Autowired private WorkspaceActivityLogHook hook;
+  @Autowired private ActivityLogWriter activityLogWriter;
+  @Autowired private WorkspaceActivityLogDao activityLogDao;
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    when(mockSamService().getUserStatusInfo(any()))
+        .thenReturn(
+            new UserStatusInfo()
+                .userEmail(USER_REQUEST.getEmail())
+                .userSubjectId(USER_REQUEST.getSubjectId()));
+  }
+
+  @Test
+  void endFlight_stagedActivityIsReadBeforeAndAfterDrain() throws InterruptedException {
+    UUID workspaceUuid = UUID.randomUUID();
+
+    hook.endFlight(flightContext(workspaceUuid, OperationType.CREATE));
+    assertTrue(activityLogDao.getOutboxBacklog().entries() > 0);
+    ActivityLogChangeDetails created = getLastUpdated(workspaceUuid);
+    assertEquals(OperationType.CREATE, created.operationType());
+
+    activityLogWriter.drain();
+    assertEquals(0, activityLogDao.getOutboxBacklog().entries());
+    assertEquals(created, getLastUpdated(workspaceUuid));
+
+    // The latest entry is in the outbox while an older one is in the log
+    hook.endFlight(flightContext(workspaceUuid, OperationType.UPDATE));
+    ActivityLogChangeDetails updated = getLastUpdated(workspaceUuid);
+    assertEquals(OperationType.UPDATE, updated.operationType());
+    assertTrue(updated.changeDate().isAfter(created.changeDate()));
+
+    activityLogWriter.drain();
+    assertEquals(updated, getLastUpdated(workspaceUuid));
+  }
+
+  /** The workspace's last update, which both last-updated reads must agree on. */
+  private ActivityLogChangeDetails getLastUpdated(UUID workspaceUuid) {
+    ActivityLogChangeDetails details = activityLogDao.getLastUpdatedDetails(workspaceUuid).get();
+    assertEquals(
+        List.of(details), activityLogDao.getLastUpdatedDetailsForList(Set.of(workspaceUuid)));
+    assertEquals(
+        details,
+        activityLogDao.getLastUpdatedDetails(workspaceUuid, workspaceUuid.toString()).get());
+    return details;
+  }
+
+  private static TestFlightContext flightContext(UUID workspaceUuid, OperationType operationType) {
+    FlightMap inputParams = new FlightMap();
+    inputParams.put(WorkspaceFlightMapKeys.OPERATION_TYPE, operationType);
+    inputParams.put(WorkspaceFlightMapKeys.WORKSPACE_ID, workspaceUuid.toString());
+    inputParams.put(JobMapKeys.AUTH_USER_INFO.getKeyName(), USER_REQUEST);
+    return new TestFlightContext()
+        .flightClassName(CreateWorkspaceV2Flight.class.getName())
+        .inputParameters(inputParams)
+        .flightStatus(FlightStatus.SUCCESS);
+  }
+}
@@ -0,0 +1,113 @@
+package bio.terra.workspace.common.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bio.terra.workspace.app.configuration.external.ActivityLogConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.db.WorkspaceActivityLogDao;
+import bio.terra.workspace.db.WorkspaceActivityLogDao.OutboxBacklog;
+import bio.terra.workspace.db.model.DbWorkspaceActivity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class ActivityLogWriterTest {
+  private ActivityLogConfiguration configuration;
+  private WorkspaceActivityLogDao activityLogDao;
+  private MeterRegistry registry;
+  private ActivityLogWriter writer;
+
+  @BeforeEach
+  void setup() {
+    configuration = new ActivityLogConfiguration();
+    configuration.setDrainBatchSize(10);
+    activityLogDao = mock(WorkspaceActivityLogDao.class);
+    registry = new SimpleMeterRegistry();
+    writer = new ActivityLogWriter(configuration, activityLogDao, registry);
+  }
+
+  @AfterEach
+  void cleanup() {
+    writer.shutdown();
+  }
+
+  @Test
+  void write_stagesActivitiesOnlyWhenAsync() {
+    List<DbWorkspaceActivity> activities = List.of(mock(DbWorkspaceActivity.class));
+
+    configuration.setAsyncWriteEnabled(false);
+    writer.write(activities);
+    verify(activityLogDao).writeActivities(activities);
+
+    configuration.setAsyncWriteEnabled(true);
+    writer.write(activities);
+    verify(activityLogDao).stageActivities(activities);
+
+    writer.write(List.of());
+    verify(activityLogDao, times(1)).writeActivities(anyList());
+    verify(activityLogDao, times(1)).stageActivities(anyList());
+  }
+
+  @Test
+  void drain_movesBatchesUntilOneIsShort() {
+    when(activityLogDao.getOutboxBacklog())
+        .thenReturn(new OutboxBacklog(25, Optional.of(Instant.now().minusSeconds(30))));
+    when(activityLogDao.drainOutbox(10)).thenReturn(10, 10, 5);
+
+    writer.drain();
+
+    verify(activityLogDao, times(3)).drainOutbox(10);
+    assertEquals(25, registry.get(ActivityLogWriter.MOVED_METRIC).counter().count());
+    // The gauges show the backlog found before moving it
+    assertEquals(25, registry.get(ActivityLogWriter.BACKLOG_METRIC).gauge().value());
+    double lagSeconds =
+        registry.get(ActivityLogWriter.LAG_METRIC).timeGauge().value(TimeUnit.SECONDS);
+    assertTrue(lagSeconds >= 30 && lagSeconds < 60, "lag was " + lagSeconds);
+  }
+
+  @Test
+  void drain_fullLastBatchIsFollowedByAnEmptyOne() {
+    when(activityLogDao.getOutboxBacklog())
+        .thenReturn(new OutboxBacklog(10, Optional.of(Instant.now())));
+    when(activityLogDao.drainOutbox(10)).thenReturn(10, 0);
+
+    writer.drain();
+
+    verify(activityLogDao, times(2)).drainOutbox(10);
+    assertEquals(10, registry.get(ActivityLogWriter.MOVED_METRIC).counter().count());
+  }
+
+  @Test
+  void drain_emptyOutboxResetsTheGauges() {
+    when(activityLogDao.getOutboxBacklog())
+        .thenReturn(new OutboxBacklog(3, Optional.of(Instant.now().minus(Duration.ofMinutes(5)))))
+        .thenReturn(new OutboxBacklog(0, Optional.empty()));
+    when(activityLogDao.drainOutbox(anyInt())).thenReturn(3, 0);
+
+    writer.drain();
+    assertEquals(3, registry.get(ActivityLogWriter.BACKLOG_METRIC).gauge().value());
+    writer.drain();
+
+    assertEquals(0, registry.get(ActivityLogWriter.BACKLOG_METRIC).gauge().value());
+    assertEquals(
+        0, registry.get(ActivityLogWriter.LAG_METRIC).timeGauge().value(TimeUnit.MILLISECONDS));
+    assertEquals(3, registry.get(ActivityLogWriter.MOVED_METRIC).counter().count());
+  }
+}
@@ -0,0 +1,96 @@
+package bio.terra.workspace.common.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.logging.DependencyMetrics.StepTime;
+import bio.terra.workspace.common.logging.api.ExampleApi;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class DependencyMetricsTest {
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+    Metrics.globalRegistry.add(registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.globalRegistry.remove(registry);
+    DependencyMetrics.endStep();
+  }
+
+  @Test
+  void operation_isTheSimpleClassAndMethodName() {
+    assertEquals(
+        "TpsApi.createPao", DependencyMetrics.operation("bio.terra.policy.api.TpsApi.createPao"));
+    assertEquals(
+        "ResourcesApi.resourcePermissionV2",
+        DependencyMetrics.operation(
+            "org.broadinstitute.dsde.workbench.client.sam.api.ResourcesApi"
+                + ".resourcePermissionV2WithHttpInfo"));
+    assertEquals(
+        "StorageAccountsService.listKeys",
+        DependencyMetrics.operation(
+            "com.azure.resourcemanager.storage.implementation"
+                + ".StorageAccountsClientImpl$StorageAccountsService.listKeys"));
+  }
+
+  @Test
+  void clientOperation_isTheGeneratedClientMethodOnTheStack() {
+    assertEquals("ExampleApi.getExample", new ExampleApi().getExampleWithHttpInfo());
+    // Outside a generated client there is only the HTTP method
+    assertEquals("GET", DependencyMetrics.clientOperation("GET"));
+  }
+
+  @Test
+  void recordCall_timesCallAndAddsToStep() {
+    DependencyMetrics.startStep();
+    DependencyMetrics.recordCall("sam", "GET /status", "2xx", Duration.ofMillis(30));
+    DependencyMetrics.recordCall("sam", "GET /status", "5xx", Duration.ofMillis(20));
+
+    assertEquals(
+        1,
+        registry
+            .get(DependencyMetrics.CALL_METRIC)
+            .tags("dependency", "sam", "operation", "GET /status", "outcome", "5xx")
+            .timer()
+            .count());
+    assertEquals(Duration.ofMillis(50), DependencyMetrics.endStep().dependency());
+  }
+
+  @Test
+  void backoff_sleepsAndAddsToStep() throws Exception {
+    DependencyMetrics.startStep();
+    DependencyMetrics.recordRetry("tps");
+    DependencyMetrics.backoff("tps", Duration.ofMillis(20));
+
+    StepTime time = DependencyMetrics.endStep();
+    assertTrue(time.backoff().compareTo(Duration.ofMillis(20)) >= 0);
+    assertEquals(Duration.ZERO, time.dependency());
+    assertEquals(
+        1, registry.get(DependencyMetrics.RETRY_METRIC).tag("dependency", "tps").counter().count());
+    assertEquals(
+        1, registry.get(DependencyMetrics.BACKOFF_METRIC).tag("dependency", "tps").timer().count());
+  }
+
+  @Test
+  void recordCall_outsideStepIsNotAddedUp() {
+    DependencyMetrics.recordCall("buffer", "PUT /", "2xx", Duration.ofMillis(10));
+
+    DependencyMetrics.startStep();
+    assertEquals(Duration.ZERO, DependencyMetrics.endStep().dependency());
+  }
+}
@@ -12,6 +12,8 @@ import bio.terra.workspace.common.utils.TestFlightContext;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -60,6 +62,29 @@ class FlightMetricsHookTest {
     assertThat(metrics.getDuration(), nullValue());
   }
 
+  @Test
+  void startFlight_recordsInputSize() {
+    var inputParams = new FlightMap();
+    inputParams.put(WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE, CONTROLLED_AZURE_VM);
+    var context =
+        new TestFlightContext()
+            .flightClassName("bio.terra.testing.flight.TestFlight")
+            .inputParameters(inputParams);
+
+    flightMetricsHook.startFlight(context);
+
+    var summary =
+        meterRegistry
+            .find(flightMetricsHook.getFlightMetricsKey(context) + ".input.size")
+            .summary();
+    assertThat(summary, notNullValue());
+    assertThat(summary.count(), equalTo(1L));
+    long expectedSize =
+        WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE.length()
+            + inputParams.getMap().get(WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE).length();
+    assertThat(summary.totalAmount(), equalTo((double) expectedSize));
+  }
+
   @Test
   void endStep_success() {
     var context =
@@ -82,6 +107,25 @@ class FlightMetricsHookTest {
         timer.getId().getTag("status"), equalTo(context.getResult().getStepStatus().toString()));
   }
 
+  @Test
+  void endStep_splitsTimeByKind() {
+    var context =
+        new TestFlightContext()
+            .flightClassName("bio.terra.testing.flight.TestFlight")
+            .stepClassName("bio.terra.testing.StepClass");
+
+    flightMetricsHook.startStep(context);
+    DependencyMetrics.recordCall("sam", "GET /status", "2xx", Duration.ofMillis(5));
+    flightMetricsHook.endStep(context);
+
+    var key = flightMetricsHook.getStepMetricsKey(context) + ".time";
+    var dependency = meterRegistry.find(key).tag("kind", "dependency").timer();
+    assertThat(dependency, notNullValue());
+    assertThat(dependency.totalTime(TimeUnit.MILLISECONDS), equalTo(5.0));
+    assertThat(meterRegistry.find(key).tag("kind", "backoff").timer(), notNullValue());
+    assertThat(meterRegistry.find(key).tag("kind", "active").timer(), notNullValue());
+  }
+
   @Test
   void endFlight_success() {
     var context =
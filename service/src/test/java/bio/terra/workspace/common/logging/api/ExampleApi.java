@@ -0,0 +1,10 @@
+package bio.terra.workspace.common.logging.api;
+
+import bio.terra.workspace.common.logging.DependencyMetrics;
+
+/** Stands in for a generated API client class, which makes its calls from methods like this. */
+public class ExampleApi {
+  public String getExampleWithHttpInfo() {
+    return DependencyMetrics.clientOperation("GET");
+  }
+}
@@ -15,7 +15,9 @@ import bio.terra.workspace.generated.model.ApiCloneControlledFlexibleResourceRes
 import bio.terra.workspace.generated.model.ApiCloningInstructionsEnum;
 import bio.terra.workspace.generated.model.ApiControlledFlexibleResourceCreationParameters;
 import bio.terra.workspace.generated.model.ApiCreateControlledFlexibleResourceRequestBody;
+import bio.terra.workspace.generated.model.ApiCreateControlledFlexibleResourcesRequestBody;
 import bio.terra.workspace.generated.model.ApiCreatedControlledFlexibleResource;
+import bio.terra.workspace.generated.model.ApiCreatedControlledFlexibleResources;
 import bio.terra.workspace.generated.model.ApiFlexibleResource;
 import bio.terra.workspace.generated.model.ApiFlexibleResourceUpdateParameters;
 import bio.terra.workspace.generated.model.ApiResourceLineage;
@@ -49,6 +51,8 @@ public class MockFlexibleResourceApi {
 
   public static final String CREATE_CONTROLLED_FLEXIBLE_RESOURCES_PATH_FORMAT =
       "/api/workspaces/v1/%s/resources/controlled/any/flexibleResources";
+  public static final String CREATE_CONTROLLED_FLEXIBLE_RESOURCES_BULK_PATH_FORMAT =
+      CREATE_CONTROLLED_FLEXIBLE_RESOURCES_PATH_FORMAT + "/bulk";
   public static final String CONTROLLED_FLEXIBLE_RESOURCES_PATH_FORMAT =
       CREATE_CONTROLLED_FLEXIBLE_RESOURCES_PATH_FORMAT + "/%s";
   public static final String CLONE_CONTROLLED_FLEXIBLE_RESOURCES_PATH_FORMAT =
@@ -96,6 +100,21 @@ public class MockFlexibleResourceApi {
     return objectMapper.readValue(serializedResponse, ApiCreatedControlledFlexibleResource.class);
   }
 
+  public ApiCreatedControlledFlexibleResources createFlexibleResources(
+      AuthenticatedUserRequest userRequest,
+      UUID workspaceId,
+      List<ApiCreateControlledFlexibleResourceRequestBody> resources)
+      throws Exception {
+    String serializedResponse =
+        mockMvcUtils.getSerializedResponseForPost(
+            userRequest,
+            CREATE_CONTROLLED_FLEXIBLE_RESOURCES_BULK_PATH_FORMAT,
+            workspaceId,
+            objectMapper.writeValueAsString(
+                new ApiCreateControlledFlexibleResourcesRequestBody().resources(resources)));
+    return objectMapper.readValue(serializedResponse, ApiCreatedControlledFlexibleResources.class);
+  }
+
   public void deleteFlexibleResource(
       AuthenticatedUserRequest userRequest, UUID workspaceId, UUID resourceId) throws Exception {
     mockWorkspaceV1Api.deleteResource(
@@ -0,0 +1,106 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+@Tag("unit")
+@BaseTest
+class AwsClientCacheTest {
+  private final AwsCredentialsProvider provider = AnonymousCredentialsProvider.create();
+
+  @Test
+  void get_reusesClientPerRegionAndProvider() {
+    AwsClientCache cache = new AwsClientCache(10);
+
+    FakeClient first = cache.get(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new);
+    assertSame(first, cache.get(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new));
+    assertNotSame(first, cache.get(FakeClient.class, Region.US_WEST_2, provider, FakeClient::new));
+    // Providers are compared by identity
+    assertNotSame(
+        first,
+        cache.get(
+            FakeClient.class,
+            Region.US_EAST_1,
+            AnonymousCredentialsProvider.create(),
+            FakeClient::new));
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  void get_leavesEvictedClientsOpen() {
+    AwsClientCache cache = new AwsClientCache(2);
+
+    FakeClient first = cache.get(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new);
+    cache.get(FakeClient.class, Region.US_EAST_2, provider, FakeClient::new);
+    cache.get(FakeClient.class, Region.US_WEST_2, provider, FakeClient::new);
+
+    // A caller may still be using the evicted client
+    assertFalse(first.closed);
+    assertEquals(2, cache.size());
+    assertNotSame(first, cache.get(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new));
+  }
+
+  @Test
+  void lease_closesEvictedClientOnceReleased() {
+    AwsClientCache cache = new AwsClientCache(2);
+
+    FakeClient leased = cache.lease(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new);
+    assertSame(leased, cache.lease(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new));
+    cache.get(FakeClient.class, Region.US_EAST_2, provider, FakeClient::new);
+    cache.get(FakeClient.class, Region.US_WEST_2, provider, FakeClient::new);
+
+    // Evicted, but still leased twice
+    assertFalse(leased.closed);
+    cache.release(leased);
+    assertFalse(leased.closed);
+    cache.release(leased);
+    assertTrue(leased.closed);
+  }
+
+  @Test
+  void lease_closesReleasedClientOnEviction() {
+    AwsClientCache cache = new AwsClientCache(1);
+
+    FakeClient leased = cache.lease(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new);
+    cache.release(leased);
+    assertFalse(leased.closed);
+    cache.get(FakeClient.class, Region.US_EAST_2, provider, FakeClient::new);
+
+    assertTrue(leased.closed);
+    // Releasing a client that was not leased does nothing
+    cache.release(new FakeClient());
+  }
+
+  @Test
+  void close_closesAllClients() {
+    AwsClientCache cache = new AwsClientCache(10);
+    FakeClient first = cache.get(FakeClient.class, Region.US_EAST_1, provider, FakeClient::new);
+    FakeClient second = cache.get(FakeClient.class, Region.US_EAST_2, provider, FakeClient::new);
+
+    cache.close();
+
+    assertTrue(first.closed);
+    assertTrue(second.closed);
+    assertEquals(0, cache.size());
+  }
+
+  private static class FakeClient implements SdkAutoCloseable {
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package bio.terra.workspace.common.utils;
 import static bio.terra.workspace.common.fixtures.ControlledAwsResourceFixtures.AWS_CREDENTIALS_PROVIDER;
 import static bio.terra.workspace.common.fixtures.ControlledAwsResourceFixtures.AWS_SERVICE_EXCEPTION_1;
 import static bio.terra.workspace.common.fixtures.ControlledAwsResourceFixtures.AWS_SERVICE_EXCEPTION_2;
+import static bio.terra.workspace.common.fixtures.ControlledAwsResourceFixtures.deleteFolderResponse200;
 import static bio.terra.workspace.common.fixtures.WorkspaceFixtures.WORKSPACE_ID;
 import static bio.terra.workspace.common.utils.AwsTestUtils.AWS_REGION;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -10,20 +11,25 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import bio.terra.aws.resource.discovery.Environment;
 import bio.terra.common.exception.ApiException;
 import bio.terra.common.exception.BadRequestException;
 import bio.terra.common.exception.NotFoundException;
 import bio.terra.common.exception.UnauthorizedException;
 import bio.terra.common.iam.BearerToken;
 import bio.terra.common.iam.SamUser;
+import bio.terra.workspace.app.configuration.external.AwsConfiguration;
 import bio.terra.workspace.common.BaseAwsSpringBootUnitTest;
 import bio.terra.workspace.common.fixtures.ControlledAwsResourceFixtures;
 import bio.terra.workspace.common.fixtures.WorkspaceFixtures;
@@ -39,10 +45,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -51,9 +60,11 @@ import software.amazon.awssdk.arns.Arn;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.sagemaker.SageMakerClient;
@@ -69,6 +80,7 @@ import software.amazon.awssdk.services.sts.model.Tag;
 public class AwsUtilsTest extends BaseAwsSpringBootUnitTest {
 
   @Mock private S3Client mockS3Client;
+  @Mock private S3AsyncClient mockS3AsyncClient;
   @Mock private SageMakerClient mockSageMakerClient;
   @Mock private SageMakerWaiter mockSageMakerWaiter;
   private static MockedStatic<AwsUtils> mockAwsUtils;
@@ -163,6 +175,26 @@ public class AwsUtilsTest extends BaseAwsSpringBootUnitTest {
     // TODO(TERRA-550) Add sageMaker tags
   }
 
+  @Test
+  void createWsmCredentialProvider_sharedPerRole() {
+    AwsConfiguration.Authentication authentication = new AwsConfiguration.Authentication();
+    authentication.setGoogleJwtAudience("audience");
+    Environment environment = mock(Environment.class);
+    when(environment.getWorkspaceManagerRoleArn())
+        .thenReturn(Arn.fromString("arn:aws:iam::123456789012:role/wsm-shared-test"));
+    Environment otherEnvironment = mock(Environment.class);
+    when(otherEnvironment.getWorkspaceManagerRoleArn())
+        .thenReturn(Arn.fromString("arn:aws:iam::123456789012:role/wsm-other-test"));
+
+    // The clients cached for a provider are only reused if callers share the provider
+    assertSame(
+        AwsUtils.createWsmCredentialProvider(authentication, environment),
+        AwsUtils.createWsmCredentialProvider(authentication, environment));
+    assertNotSame(
+        AwsUtils.createWsmCredentialProvider(authentication, environment),
+        AwsUtils.createWsmCredentialProvider(authentication, otherEnvironment));
+  }
+
   // AWS S3 Storage Folder
 
   @Test
@@ -271,6 +303,35 @@ public class AwsUtilsTest extends BaseAwsSpringBootUnitTest {
     verify(mockS3Client, times(2)).deleteObjects((DeleteObjectsRequest) any());
   }
 
+  @Test
+  void deleteS3ObjectsByPrefix_deletesEachPageAsItIsListed() {
+    mockAwsUtils.when(() -> AwsUtils.getS3AsyncClient(any(), any())).thenReturn(mockS3AsyncClient);
+    ListObjectsV2Response firstPage =
+        (ListObjectsV2Response)
+            ListObjectsV2Response.builder()
+                .contents(ControlledAwsResourceFixtures.s3Obj1)
+                .isTruncated(true)
+                .nextContinuationToken("token")
+                .sdkHttpResponse(ControlledAwsResourceFixtures.SDK_HTTP_RESPONSE_200)
+                .build();
+
+    when(mockS3Client.listObjectsV2((ListObjectsV2Request) any()))
+        .thenReturn(firstPage)
+        .thenReturn(ControlledAwsResourceFixtures.listFolderResponse200_1_obj2);
+    when(mockS3AsyncClient.deleteObjects((DeleteObjectsRequest) any()))
+        .thenReturn(CompletableFuture.completedFuture(deleteFolderResponse200));
+
+    assertEquals(
+        2, AwsUtils.deleteS3ObjectsByPrefix(AWS_CREDENTIALS_PROVIDER, awsRegion, "bucket", "f"));
+
+    ArgumentCaptor<ListObjectsV2Request> listRequests =
+        ArgumentCaptor.forClass(ListObjectsV2Request.class);
+    verify(mockS3Client, times(2)).listObjectsV2(listRequests.capture());
+    assertEquals("token", listRequests.getAllValues().get(1).continuationToken());
+    verify(mockS3AsyncClient, times(2)).deleteObjects((DeleteObjectsRequest) any());
+    verify(mockS3Client, times(0)).deleteObjects((DeleteObjectsRequest) any());
+  }
+
   @Test
   void putS3ObjectTest() {
     when(mockS3Client.putObject((PutObjectRequest) any(), (RequestBody) any()))
@@ -424,6 +485,25 @@ public class AwsUtilsTest extends BaseAwsSpringBootUnitTest {
     listAppender.stop();
   }
 
+  @Test
+  void deleteS3Objects_multipleBatchesUseAsyncClient() {
+    List<String> keys = IntStream.range(0, 2500).mapToObj(i -> "folder/obj" + i).toList();
+    mockAwsUtils.when(() -> AwsUtils.getS3AsyncClient(any(), any())).thenReturn(mockS3AsyncClient);
+
+    when(mockS3AsyncClient.deleteObjects((DeleteObjectsRequest) any()))
+        .thenReturn(CompletableFuture.completedFuture(deleteFolderResponse200));
+    assertDoesNotThrow(
+        () -> AwsUtils.deleteS3Objects(AWS_CREDENTIALS_PROVIDER, awsRegion, "bucket", keys));
+    verify(mockS3AsyncClient, times(3)).deleteObjects((DeleteObjectsRequest) any());
+
+    // exception from AWS on one of the batches
+    when(mockS3AsyncClient.deleteObjects((DeleteObjectsRequest) any()))
+        .thenReturn(CompletableFuture.failedFuture(AWS_SERVICE_EXCEPTION_2));
+    assertThrows(
+        UnauthorizedException.class,
+        () -> AwsUtils.deleteS3Objects(AWS_CREDENTIALS_PROVIDER, awsRegion, "bucket", keys));
+  }
+
   // AWS SageMaker Notebook
 
   @Test
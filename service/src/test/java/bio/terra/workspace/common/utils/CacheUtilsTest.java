@@ -0,0 +1,73 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.collections4.map.PassiveExpiringMap;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class CacheUtilsTest {
+
+  @Test
+  void getOrLoad_cachesValue() {
+    Map<String, String> cache =
+        Collections.synchronizedMap(new PassiveExpiringMap<>(10, TimeUnit.SECONDS));
+    AtomicInteger loads = new AtomicInteger();
+
+    assertEquals("a-value", CacheUtils.getOrLoad(cache, "a", k -> loadCounting(k, loads)));
+    assertEquals("a-value", CacheUtils.getOrLoad(cache, "a", k -> loadCounting(k, loads)));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void getOrLoad_doesNotHoldCacheLockDuringLoad() throws Exception {
+    Map<String, String> cache =
+        Collections.synchronizedMap(new PassiveExpiringMap<>(10, TimeUnit.SECONDS));
+    CountDownLatch slowLoadStarted = new CountDownLatch(1);
+    CountDownLatch releaseSlowLoad = new CountDownLatch(1);
+
+    CompletableFuture<String> slow =
+        CompletableFuture.supplyAsync(
+            () ->
+                CacheUtils.getOrLoad(
+                    cache,
+                    "slow",
+                    k -> {
+                      slowLoadStarted.countDown();
+                      awaitQuietly(releaseSlowLoad);
+                      return "slow-value";
+                    }));
+    assertTrue(slowLoadStarted.await(5, TimeUnit.SECONDS));
+
+    // With computeIfAbsent on a synchronized map this would block until the slow load finished.
+    CompletableFuture<String> fast =
+        CompletableFuture.supplyAsync(() -> CacheUtils.getOrLoad(cache, "fast", k -> "fast-value"));
+    assertEquals("fast-value", fast.get(5, TimeUnit.SECONDS));
+
+    releaseSlowLoad.countDown();
+    assertEquals("slow-value", slow.get(5, TimeUnit.SECONDS));
+  }
+
+  private static String loadCounting(String key, AtomicInteger loads) {
+    loads.incrementAndGet();
+    return key + "-value";
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class ExpiringLruCacheTest {
+  private MeterRegistry registry;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void getOrLoad_reloadsAfterTimeToLive() {
+    MutableClock clock = new MutableClock();
+    ExpiringLruCache<String, Integer> cache =
+        new ExpiringLruCache<>("test", 10, Duration.ofMinutes(1), registry, clock);
+
+    assertEquals(1, cache.getOrLoad("key", this::load));
+    assertEquals(1, cache.getOrLoad("key", this::load));
+    clock.advance(Duration.ofMinutes(2));
+    assertEquals(2, cache.getOrLoad("key", this::load));
+
+    assertEquals(1, count("hit"));
+    assertEquals(2, count("miss"));
+  }
+
+  @Test
+  void getOrLoad_evictsLeastRecentlyUsed() {
+    ExpiringLruCache<String, Integer> cache =
+        new ExpiringLruCache<>("test", 2, Duration.ofMinutes(1), registry);
+
+    cache.getOrLoad("first", this::load);
+    cache.getOrLoad("second", this::load);
+    cache.getOrLoad("first", this::load);
+    cache.getOrLoad("third", this::load);
+
+    assertEquals(2, cache.size());
+    // "second" was least recently used, so it was evicted and is loaded again
+    assertEquals(4, cache.getOrLoad("second", this::load));
+    assertEquals(3, cache.getOrLoad("third", this::load));
+  }
+
+  @Test
+  void getOrLoad_refreshesBeforeExpiry() {
+    MutableClock clock = new MutableClock();
+    List<Runnable> refreshes = new ArrayList<>();
+    ExpiringLruCache<String, Integer> cache =
+        new ExpiringLruCache<>(
+            "test",
+            10,
+            Duration.ofMinutes(10),
+            Duration.ofMinutes(2),
+            registry,
+            refreshes::add,
+            clock);
+
+    assertEquals(1, cache.getOrLoad("key", this::load));
+    clock.advance(Duration.ofMinutes(9));
+    // Within the refresh window the cached value is returned and one refresh is started
+    assertEquals(1, cache.getOrLoad("key", this::load));
+    assertEquals(1, cache.getOrLoad("key", this::load));
+    assertEquals(1, refreshes.size());
+
+    refreshes.get(0).run();
+    assertEquals(2, cache.getOrLoad("key", this::load));
+    clock.advance(Duration.ofMinutes(7));
+    assertEquals(2, cache.getOrLoad("key", this::load));
+
+    assertEquals(1, count("miss"));
+  }
+
+  @Test
+  void getOrLoad_retriesAFailedRefresh() {
+    MutableClock clock = new MutableClock();
+    List<Runnable> refreshes = new ArrayList<>();
+    ExpiringLruCache<String, Integer> cache =
+        new ExpiringLruCache<>(
+            "test",
+            10,
+            Duration.ofMinutes(10),
+            Duration.ofMinutes(2),
+            registry,
+            refreshes::add,
+            clock);
+
+    cache.getOrLoad("key", this::load);
+    clock.advance(Duration.ofMinutes(9));
+    assertEquals(
+        1,
+        cache.getOrLoad(
+            "key",
+            key -> {
+              throw new IllegalStateException("refresh failed");
+            }));
+    refreshes.get(0).run();
+
+    // The cached value is kept, and the next hit tries again
+    assertEquals(1, cache.getOrLoad("key", this::load));
+    assertEquals(2, refreshes.size());
+  }
+
+  private Integer load(String key) {
+    return loads.incrementAndGet();
+  }
+
+  private double count(String result) {
+    return registry
+        .counter(ExpiringLruCache.CACHE_METRIC, "cache", "test", "result", result)
+        .count();
+  }
+
+  /** Clock that only moves when told to. */
+  private static class MutableClock extends Clock {
+    private Instant now = Instant.now();
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bio.terra.workspace.app.configuration.external.IamPropagationConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class IamPropagationProbeTest {
+  private IamPropagationConfiguration config;
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setup() {
+    config = new IamPropagationConfiguration();
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void nextDelay_growsExponentiallyToCap() {
+    IamPropagationProbe probe = new IamPropagationProbe(config, registry, () -> 0.0);
+
+    Duration delay = config.getInitialDelay();
+    assertEquals(Duration.ofMillis(250), delay);
+    delay = probe.nextDelay(delay);
+    assertEquals(Duration.ofMillis(500), delay);
+    delay = probe.nextDelay(delay);
+    assertEquals(Duration.ofSeconds(1), delay);
+    for (int i = 0; i < 10; i++) {
+      delay = probe.nextDelay(delay);
+    }
+    assertEquals(config.getMaxDelay(), delay);
+  }
+
+  @Test
+  void jittered_shortensDelayByUpToJitterFraction() {
+    Duration delay = Duration.ofSeconds(10);
+
+    assertEquals(delay, jitteredWithRandom(delay, 0.0));
+    assertEquals(Duration.ofMillis(7500), jitteredWithRandom(delay, 0.5));
+    assertEquals(Duration.ofSeconds(5), jitteredWithRandom(delay, 1.0));
+  }
+
+  @Test
+  void await_retriesUntilProbeSucceedsAndRecordsTime() throws Exception {
+    config.setInitialDelay(Duration.ofMillis(1));
+    IamPropagationProbe probe = new IamPropagationProbe(config, registry);
+    AtomicInteger calls = new AtomicInteger();
+
+    probe.await(
+        "test",
+        () -> {
+          if (calls.incrementAndGet() < 3) {
+            throw new IllegalStateException("not yet");
+          }
+          return true;
+        });
+
+    assertEquals(3, calls.get());
+    assertEquals(1, propagationTimer("propagated").count());
+  }
+
+  @Test
+  void await_timesOutWithLastException() {
+    config.setInitialDelay(Duration.ofMillis(1));
+    config.setTimeout(Duration.ofMillis(20));
+    IamPropagationProbe probe = new IamPropagationProbe(config, registry);
+
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            probe.await(
+                "test",
+                () -> {
+                  throw new IllegalStateException("never");
+                }));
+    assertEquals(1, propagationTimer("timeout").count());
+  }
+
+  private Duration jitteredWithRandom(Duration delay, double random) {
+    return new IamPropagationProbe(config, registry, () -> random).jittered(delay);
+  }
+
+  private Timer propagationTimer(String outcome) {
+    return registry
+        .get(IamPropagationProbe.PROPAGATION_METRIC)
+        .tag("target", "test")
+        .tag("outcome", outcome)
+        .timer();
+  }
+}
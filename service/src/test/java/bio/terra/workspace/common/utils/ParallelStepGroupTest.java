@@ -0,0 +1,138 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.RetryRuleFixedInterval;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.app.configuration.external.FlightStepConcurrencyConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.service.resource.controlled.model.StepRetryRulePair;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class ParallelStepGroupTest {
+  private final FlightStepExecutor executor =
+      new FlightStepExecutor(new FlightStepConcurrencyConfiguration());
+  private final List<String> undone = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  void doStep_runsLanesConcurrentlyAndMergesOutputs() throws Exception {
+    // Each step waits for the other lane's step to start, so this only passes concurrently
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    TestStep first = new TestStep("first", bothStarted);
+    TestStep second = new TestStep("second", bothStarted);
+    ParallelStepGroup group = group(List.of(lane(first)), List.of(lane(second)));
+
+    TestFlightContext context = new TestFlightContext();
+    context.getWorkingMap().put("existing", "value");
+
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, group.doStep(context).getStepStatus());
+    assertEquals("first", context.getWorkingMap().get("first", String.class));
+    assertEquals("second", context.getWorkingMap().get("second", String.class));
+    assertEquals("value", context.getWorkingMap().get("existing", String.class));
+  }
+
+  @Test
+  void doStep_retriesWithinLaneAndSkipsCompletedStepsOnRerun() throws Exception {
+    TestStep flaky = new TestStep("flaky", null);
+    flaky.retryFailures = 2;
+    TestStep failing = new TestStep("failing", null);
+    failing.fatal = true;
+    ParallelStepGroup group =
+        group(
+            List.of(
+                new StepRetryRulePair(flaky, new RetryRuleFixedInterval(0, 3)), lane(failing)));
+
+    TestFlightContext context = new TestFlightContext();
+    assertEquals(StepStatus.STEP_RESULT_FAILURE_FATAL, group.doStep(context).getStepStatus());
+    assertEquals(3, flaky.doCount.get());
+
+    failing.fatal = false;
+    assertTrue(group.doStep(context).isSuccess());
+    assertEquals(3, flaky.doCount.get());
+    assertEquals(2, failing.doCount.get());
+  }
+
+  @Test
+  void undoStep_undoesStartedStepsOnly() throws Exception {
+    TestStep done = new TestStep("done", null);
+    TestStep failing = new TestStep("failing", null);
+    failing.fatal = true;
+    TestStep notStarted = new TestStep("notStarted", null);
+    TestStep otherLane = new TestStep("otherLane", null);
+    ParallelStepGroup group =
+        group(List.of(lane(done), lane(failing), lane(notStarted)), List.of(lane(otherLane)));
+
+    TestFlightContext context = new TestFlightContext();
+    group.doStep(context);
+    assertTrue(group.undoStep(context).isSuccess());
+
+    assertEquals(1, done.undoCount.get());
+    assertEquals(1, failing.undoCount.get());
+    assertEquals(0, notStarted.undoCount.get());
+    assertEquals(1, otherLane.undoCount.get());
+    // The reverse of the order the steps would have run in sequentially
+    assertEquals(List.of("otherLane", "failing", "done"), undone);
+  }
+
+  @SafeVarargs
+  private ParallelStepGroup group(List<StepRetryRulePair>... lanes) {
+    return new ParallelStepGroup(executor, "test", List.of(lanes));
+  }
+
+  private static StepRetryRulePair lane(Step step) {
+    return new StepRetryRulePair(step, null);
+  }
+
+  private class TestStep implements Step {
+    private final String output;
+    private final CountDownLatch started;
+    private final AtomicInteger doCount = new AtomicInteger();
+    private final AtomicInteger undoCount = new AtomicInteger();
+    private volatile int retryFailures;
+    private volatile boolean fatal;
+
+    TestStep(String output, CountDownLatch started) {
+      this.output = output;
+      this.started = started;
+    }
+
+    @Override
+    public StepResult doStep(FlightContext context) throws InterruptedException {
+      doCount.incrementAndGet();
+      if (started != null) {
+        started.countDown();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+      }
+      if (fatal) {
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL);
+      }
+      if (retryFailures > 0) {
+        retryFailures--;
+        throw new RetryException("try again");
+      }
+      context.getWorkingMap().put(output, output);
+      return StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext context) {
+      undoCount.incrementAndGet();
+      undone.add(output);
+      return StepResult.getStepResultSuccess();
+    }
+  }
+}
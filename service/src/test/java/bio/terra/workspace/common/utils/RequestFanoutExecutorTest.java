@@ -0,0 +1,68 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bio.terra.common.exception.ForbiddenException;
+import bio.terra.workspace.app.configuration.external.RequestFanoutConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+@Tag("unit")
+@BaseTest
+class RequestFanoutExecutorTest {
+  private RequestFanoutExecutor executor;
+
+  @BeforeEach
+  void setup() {
+    executor = new RequestFanoutExecutor(new RequestFanoutConfiguration());
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+    MDC.clear();
+  }
+
+  @Test
+  void supplyAsync_propagatesMdc() {
+    MDC.put("requestId", "abc123");
+    CompletableFuture<String> future = executor.supplyAsync(() -> MDC.get("requestId"));
+    assertEquals("abc123", RequestFanoutExecutor.join(future));
+  }
+
+  @Test
+  void join_rethrowsRuntimeExceptionUnwrapped() {
+    CompletableFuture<String> future =
+        executor.supplyAsync(
+            () -> {
+              throw new ForbiddenException("no access");
+            });
+    assertThrows(ForbiddenException.class, () -> RequestFanoutExecutor.join(future));
+  }
+
+  @Test
+  void supplyAsync_runsOnCallingThreadWhenDisabled() {
+    RequestFanoutConfiguration configuration = new RequestFanoutConfiguration();
+    configuration.setEnabled(false);
+    RequestFanoutExecutor sequential = new RequestFanoutExecutor(configuration);
+    try {
+      Thread caller = Thread.currentThread();
+      assertEquals(
+          caller, RequestFanoutExecutor.join(sequential.supplyAsync(Thread::currentThread)));
+      CompletableFuture<String> failed =
+          sequential.supplyAsync(
+              () -> {
+                throw new ForbiddenException("no access");
+              });
+      assertThrows(ForbiddenException.class, () -> RequestFanoutExecutor.join(failed));
+    } finally {
+      sequential.shutdown();
+    }
+  }
+}
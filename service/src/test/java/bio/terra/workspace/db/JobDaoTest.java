@@ -0,0 +1,180 @@
+package bio.terra.workspace.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.common.BaseSpringBootUnitTest;
+import bio.terra.workspace.db.model.DbJob;
+import bio.terra.workspace.generated.model.ApiGcpGcsBucketAttributes;
+import bio.terra.workspace.generated.model.ApiResourceAttributesUnion;
+import bio.terra.workspace.service.job.model.JobIndexPageToken;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
+import bio.terra.workspace.service.workspace.model.JobStateFilter;
+import bio.terra.workspace.service.workspace.model.OperationType;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class JobDaoTest extends BaseSpringBootUnitTest {
+  @Autowired JobDao jobDao;
+
+  @Test
+  public void enumerateJobs_pagesBySubmitTime() {
+    UUID workspaceUuid = UUID.randomUUID();
+    Instant start = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    List<String> jobIds = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      String jobId = UUID.randomUUID().toString();
+      jobIds.add(jobId);
+      jobDao.createJobIfAbsent(makeJob(workspaceUuid, jobId, start.plusSeconds(i)));
+    }
+    // Another workspace's job is never listed
+    jobDao.createJobIfAbsent(makeJob(UUID.randomUUID(), UUID.randomUUID().toString(), start));
+
+    List<DbJob> firstPage = jobDao.enumerateJobs(workspaceUuid, null, 3, null, null, null, null);
+    assertEquals(jobIds.subList(0, 3), firstPage.stream().map(DbJob::jobId).toList());
+
+    DbJob last = firstPage.get(2);
+    List<DbJob> secondPage =
+        jobDao.enumerateJobs(
+            workspaceUuid,
+            new JobIndexPageToken(last.submitted(), last.jobId()),
+            3,
+            null,
+            null,
+            null,
+            null);
+    assertEquals(jobIds.subList(3, 5), secondPage.stream().map(DbJob::jobId).toList());
+    assertEquals(5, jobDao.countJobs(workspaceUuid, null, null, null, null));
+  }
+
+  @Test
+  public void upsertCompletedJob_recordsResult() {
+    UUID workspaceUuid = UUID.randomUUID();
+    DbJob job = makeJob(workspaceUuid, UUID.randomUUID().toString(), Instant.now());
+    jobDao.createJobIfAbsent(job);
+    // A second submit of the same job changes nothing
+    jobDao.createJobIfAbsent(job);
+    assertEquals(1, jobDao.countJobs(workspaceUuid, null, null, null, JobStateFilter.ACTIVE));
+
+    jobDao.upsertCompletedJob(
+        job.completed(FlightStatus.ERROR, Instant.now(), 400, "bad request", List.of("cause")));
+
+    List<DbJob> completed =
+        jobDao.enumerateJobs(workspaceUuid, null, 10, null, null, null, JobStateFilter.COMPLETED);
+    assertEquals(1, completed.size());
+    assertEquals(FlightStatus.ERROR, completed.get(0).status());
+    assertEquals(400, completed.get(0).statusCode());
+    assertEquals("bad request", completed.get(0).errorMessage());
+    assertEquals(List.of("cause"), completed.get(0).errorCauses());
+    assertEquals(0, jobDao.countJobs(workspaceUuid, null, null, null, JobStateFilter.ACTIVE));
+  }
+
+  @Test
+  public void createJobIfAbsent_keepsResourceAttributes() {
+    UUID workspaceUuid = UUID.randomUUID();
+    DbJob job = makeJob(workspaceUuid, UUID.randomUUID().toString(), Instant.now());
+    ApiResourceAttributesUnion attributes =
+        new ApiResourceAttributesUnion()
+            .gcpGcsBucket(new ApiGcpGcsBucketAttributes().bucketName("bucket-name"));
+    jobDao.createJobIfAbsent(
+        new DbJob(
+            job.jobId(),
+            job.workspaceId(),
+            job.flightClass(),
+            job.description(),
+            job.operationType(),
+            job.resourceId(),
+            job.resourceType(),
+            job.resourceName(),
+            job.stewardshipType(),
+            DbSerDes.toJson(attributes),
+            null,
+            null,
+            job.status(),
+            job.submitted(),
+            null,
+            null,
+            null,
+            null));
+
+    DbJob read = jobDao.enumerateJobs(workspaceUuid, null, 10, null, null, null, null).get(0);
+    assertEquals(
+        attributes, DbSerDes.fromJson(read.resourceAttributes(), ApiResourceAttributesUnion.class));
+  }
+
+  @Test
+  public void enumerateJobs_filtersByResourceType() {
+    UUID workspaceUuid = UUID.randomUUID();
+    jobDao.createJobIfAbsent(makeJob(workspaceUuid, UUID.randomUUID().toString(), Instant.now()));
+
+    assertEquals(
+        1,
+        jobDao
+            .enumerateJobs(
+                workspaceUuid,
+                null,
+                10,
+                List.of(WsmResourceType.CONTROLLED_GCP_GCS_BUCKET),
+                StewardshipType.CONTROLLED,
+                null,
+                null)
+            .size());
+    assertEquals(
+        0,
+        jobDao.countJobs(
+            workspaceUuid, List.of(WsmResourceType.REFERENCED_GCP_GCS_BUCKET), null, null, null));
+    assertEquals(0, jobDao.countJobs(workspaceUuid, List.of(), null, null, null));
+  }
+
+  @Test
+  public void deleteJobsCompletedBefore_keepsRecentAndRunningJobs() {
+    UUID workspaceUuid = UUID.randomUUID();
+    Instant now = Instant.now();
+    String prefix = UUID.randomUUID().toString();
+    DbJob old = makeJob(workspaceUuid, prefix + "-old", now.minus(Duration.ofDays(2)));
+    jobDao.upsertCompletedJob(
+        old.completed(FlightStatus.SUCCESS, now.minus(Duration.ofDays(1)), 200, null, null));
+    DbJob recent = makeJob(workspaceUuid, prefix + "-recent", now);
+    jobDao.upsertCompletedJob(recent.completed(FlightStatus.SUCCESS, now, 200, null, null));
+    jobDao.createJobIfAbsent(makeJob(workspaceUuid, prefix + "-running", now));
+
+    // Other tests' jobs may be deleted too, so only this workspace's jobs are checked
+    jobDao.deleteJobsCompletedBefore(now.minus(Duration.ofHours(1)));
+    List<DbJob> remaining = jobDao.enumerateJobs(workspaceUuid, null, 10, null, null, null, null);
+    // Jobs submitted at the same time are ordered by id
+    assertEquals(
+        List.of(prefix + "-recent", prefix + "-running"),
+        remaining.stream().map(DbJob::jobId).toList());
+    assertNull(remaining.get(1).completed());
+  }
+
+  private static DbJob makeJob(UUID workspaceUuid, String jobId, Instant submitted) {
+    return new DbJob(
+        jobId,
+        workspaceUuid,
+        "bio.terra.workspace.TestFlight",
+        "description",
+        OperationType.CREATE,
+        UUID.randomUUID(),
+        WsmResourceType.CONTROLLED_GCP_GCS_BUCKET,
+        "bucket",
+        StewardshipType.CONTROLLED,
+        null,
+        null,
+        null,
+        FlightStatus.RUNNING,
+        submitted,
+        null,
+        null,
+        null,
+        null);
+  }
+}
@@ -35,16 +35,21 @@ import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.resource.model.CommonUpdateParameters;
 import bio.terra.workspace.service.resource.model.StewardshipType;
 import bio.terra.workspace.service.resource.model.WsmResource;
+import bio.terra.workspace.service.resource.model.WsmResourceState;
 import bio.terra.workspace.service.resource.model.WsmResourceStateRule;
 import bio.terra.workspace.service.resource.model.WsmResourceType;
 import bio.terra.workspace.service.workspace.GcpCloudContextService;
 import bio.terra.workspace.service.workspace.exceptions.MissingRequiredFieldsException;
 import bio.terra.workspace.service.workspace.model.CloudPlatform;
 import bio.terra.workspace.service.workspace.model.OperationType;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -114,6 +119,28 @@ public class ResourceDaoTest extends BaseSpringBootUnitTest {
     assertNotNull(getResource.getLastUpdatedDate());
   }
 
+  @Test
+  public void getResources_skipsMissingResources() {
+    ControlledGcsBucketResource bucket =
+        ControlledGcpResourceFixtures.makeDefaultControlledGcsBucketBuilder(workspaceUuid).build();
+    ControlledFlexibleResource flexResource =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    ControlledResourceFixtures.insertControlledResourceRow(resourceDao, bucket);
+    ControlledResourceFixtures.insertControlledResourceRow(resourceDao, flexResource);
+
+    List<WsmResource> resources =
+        resourceDao.getResources(
+            workspaceUuid,
+            List.of(bucket.getResourceId(), flexResource.getResourceId(), UUID.randomUUID()));
+
+    assertEquals(2, resources.size());
+    Map<UUID, WsmResource> byId =
+        resources.stream().collect(Collectors.toMap(WsmResource::getResourceId, r -> r));
+    assertTrue(bucket.partialEqual(byId.get(bucket.getResourceId())));
+    assertTrue(flexResource.partialEqual(byId.get(flexResource.getResourceId())));
+    assertTrue(resourceDao.getResources(workspaceUuid, List.of()).isEmpty());
+  }
+
   @Test
   public void
       createGetDeleteControlledBigQueryDataset_beforeLogIsWrite_lastUpdatedDateEqualsCreatedDate() {
@@ -666,6 +693,126 @@ public class ResourceDaoTest extends BaseSpringBootUnitTest {
     resourceDao.deleteAllControlledResources(workspaceUuid3, CloudPlatform.GCP);
   }
 
+  @Test
+  public void createResources_skipsDuplicatesAndResolvesEachResource() {
+    ControlledFlexibleResource existing =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    ControlledResourceFixtures.insertControlledResourceRow(resourceDao, existing);
+    ControlledFlexibleResource duplicate = makeFlexResourceNamed(existing.getName());
+    ControlledFlexibleResource succeeds =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    ControlledFlexibleResource fails =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    // The same name twice in one batch: only the first is stored
+    ControlledFlexibleResource duplicateInBatch = makeFlexResourceNamed(succeeds.getName());
+    // A new name, but the id of an existing resource
+    ControlledFlexibleResource duplicateId =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid)
+            .common(
+                ControlledResourceFixtures.makeDefaultControlledResourceFieldsBuilder()
+                    .workspaceUuid(workspaceUuid)
+                    .resourceId(existing.getResourceId())
+                    .build())
+            .build();
+    String flightId = UUID.randomUUID().toString();
+
+    Set<UUID> stored =
+        resourceDao.createResourcesStart(
+            List.of(duplicate, succeeds, fails, duplicateInBatch, duplicateId), flightId);
+
+    assertEquals(Set.of(succeeds.getResourceId(), fails.getResourceId()), stored);
+    assertEquals(
+        WsmResourceState.CREATING,
+        resourceDao.getResource(workspaceUuid, succeeds.getResourceId()).getState());
+
+    // Another job's records are left alone
+    assertEquals(
+        0,
+        resourceDao.createResourcesSuccess(
+            workspaceUuid, List.of(succeeds.getResourceId()), "otherFlight"));
+    assertEquals(
+        1,
+        resourceDao.createResourcesSuccess(
+            workspaceUuid, List.of(succeeds.getResourceId()), flightId));
+    resourceDao.createResourcesFailure(workspaceUuid, List.of(fails.getResourceId()), flightId);
+
+    WsmResource created = resourceDao.getResource(workspaceUuid, succeeds.getResourceId());
+    assertEquals(WsmResourceState.READY, created.getState());
+    assertTrue(succeeds.partialEqual(created));
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> resourceDao.getResource(workspaceUuid, fails.getResourceId()));
+  }
+
+  @Test
+  public void createResourcesComplete_resolvesBothSetsAndReturnsTheCreated() {
+    ControlledFlexibleResource succeeds =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    ControlledFlexibleResource fails =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    String flightId = UUID.randomUUID().toString();
+    resourceDao.createResourcesStart(List.of(succeeds, fails), flightId);
+
+    List<WsmResource> created =
+        resourceDao.createResourcesComplete(
+            workspaceUuid,
+            List.of(succeeds.getResourceId()),
+            List.of(fails.getResourceId()),
+            flightId);
+
+    assertEquals(1, created.size());
+    assertEquals(succeeds.getResourceId(), created.get(0).getResourceId());
+    assertEquals(WsmResourceState.READY, created.get(0).getState());
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> resourceDao.getResource(workspaceUuid, fails.getResourceId()));
+  }
+
+  @Test
+  public void listStaleCreatingResources_findsOnlyCreatingRecordsOfThePrefix() {
+    // A prefix of this test's own, so records other tests leave CREATING are not found
+    String prefix = "bulk-create-test-" + UUID.randomUUID() + "-";
+    ControlledFlexibleResource creating =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    ControlledFlexibleResource ready =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    ControlledFlexibleResource otherJob =
+        ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+    resourceDao.createResourcesStart(List.of(creating), prefix + "1");
+    resourceDao.createResourcesStart(List.of(ready), prefix + "2");
+    resourceDao.createResourcesSuccess(workspaceUuid, List.of(ready.getResourceId()), prefix + "2");
+    String otherJobId = UUID.randomUUID().toString();
+    resourceDao.createResourcesStart(List.of(otherJob), otherJobId);
+
+    List<ControlledResource> stale =
+        resourceDao.listStaleCreatingResources(prefix, Instant.now().plusSeconds(60), 10);
+    assertEquals(
+        List.of(creating.getResourceId()),
+        stale.stream().map(ControlledResource::getResourceId).toList());
+    assertEquals(prefix + "1", stale.get(0).getFlightId());
+
+    // Records created after the cutoff are still in progress
+    assertTrue(
+        resourceDao
+            .listStaleCreatingResources(prefix, Instant.now().minus(Duration.ofHours(1)), 10)
+            .isEmpty());
+
+    resourceDao.createResourcesFailure(
+        workspaceUuid, List.of(creating.getResourceId()), prefix + "1");
+    resourceDao.createResourcesFailure(
+        workspaceUuid, List.of(otherJob.getResourceId()), otherJobId);
+  }
+
+  private ControlledFlexibleResource makeFlexResourceNamed(String name) {
+    return ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid)
+        .common(
+            ControlledResourceFixtures.makeDefaultControlledResourceFieldsBuilder()
+                .workspaceUuid(workspaceUuid)
+                .name(name)
+                .build())
+        .build();
+  }
+
   private void createControlledResourceAndLog(ControlledResource resource) {
     var flightId = UUID.randomUUID().toString();
     resourceDao.createResourceStart(resource, flightId);
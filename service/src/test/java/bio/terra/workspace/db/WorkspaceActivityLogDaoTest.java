@@ -9,12 +9,14 @@ import bio.terra.workspace.common.BaseSpringBootUnitTest;
 import bio.terra.workspace.common.logging.model.ActivityLogChangeDetails;
 import bio.terra.workspace.common.logging.model.ActivityLogChangedTarget;
 import bio.terra.workspace.db.exception.UnknownFlightOperationTypeException;
+import bio.terra.workspace.db.model.DbWorkspaceActivity;
 import bio.terra.workspace.db.model.DbWorkspaceActivityLog;
 import bio.terra.workspace.service.workspace.model.OperationType;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -342,6 +344,85 @@ public class WorkspaceActivityLogDaoTest extends BaseSpringBootUnitTest {
             .isEmpty());
   }
 
+  @Test
+  public void writeActivities_keepsOrder() {
+    var workspaceId = UUID.randomUUID();
+    var resourceId = UUID.randomUUID().toString();
+
+    activityLogDao.writeActivities(
+        List.of(
+            new DbWorkspaceActivity(
+                workspaceId,
+                new DbWorkspaceActivityLog(
+                    USER_EMAIL,
+                    ACTOR_SUBJECT_ID,
+                    OperationType.CREATE,
+                    workspaceId.toString(),
+                    ActivityLogChangedTarget.WORKSPACE)),
+            new DbWorkspaceActivity(
+                workspaceId,
+                new DbWorkspaceActivityLog(
+                    USER_EMAIL,
+                    ACTOR_SUBJECT_ID,
+                    OperationType.CREATE,
+                    resourceId,
+                    ActivityLogChangedTarget.CONTROLLED_GCP_GCS_BUCKET))));
+
+    assertExpectedChangeDetails(
+        activityLogDao.getLastUpdatedDetails(workspaceId).get(),
+        resourceId,
+        ActivityLogChangedTarget.CONTROLLED_GCP_GCS_BUCKET,
+        USER_EMAIL,
+        ACTOR_SUBJECT_ID,
+        OperationType.CREATE);
+  }
+
+  @Test
+  public void stageActivities_movedToLogByDrain() {
+    var workspaceId = UUID.randomUUID();
+    var resourceId = UUID.randomUUID().toString();
+    activityLogDao.stageActivities(
+        List.of(
+            new DbWorkspaceActivity(
+                workspaceId,
+                new DbWorkspaceActivityLog(
+                    USER_EMAIL,
+                    ACTOR_SUBJECT_ID,
+                    OperationType.CREATE,
+                    resourceId,
+                    ActivityLogChangedTarget.CONTROLLED_GCP_GCS_BUCKET)),
+            new DbWorkspaceActivity(
+                workspaceId,
+                new DbWorkspaceActivityLog(
+                    USER_EMAIL,
+                    ACTOR_SUBJECT_ID,
+                    OperationType.DELETE,
+                    resourceId,
+                    ActivityLogChangedTarget.CONTROLLED_GCP_GCS_BUCKET))));
+
+    // Not in the log yet, but the hook's lookup of deleted resources sees it
+    assertTrue(activityLogDao.getLastUpdatedDetails(workspaceId).isEmpty());
+    assertTrue(activityLogDao.getOutboxBacklog().entries() >= 2);
+    var staged = activityLogDao.getLastUpdatedDetails(workspaceId, List.of(resourceId));
+    assertEquals(OperationType.DELETE, staged.get(resourceId).operationType());
+
+    assertTrue(activityLogDao.drainOutbox(1000) >= 2);
+
+    assertExpectedChangeDetails(
+        activityLogDao.getLastUpdatedDetails(workspaceId).get(),
+        resourceId,
+        ActivityLogChangedTarget.CONTROLLED_GCP_GCS_BUCKET,
+        USER_EMAIL,
+        ACTOR_SUBJECT_ID,
+        OperationType.DELETE);
+    assertEquals(
+        OperationType.DELETE,
+        activityLogDao
+            .getLastUpdatedDetails(workspaceId, List.of(resourceId))
+            .get(resourceId)
+            .operationType());
+  }
+
   private void assertExpectedChangeDetails(
       ActivityLogChangeDetails changeDetails,
       String expectedChangeSubjectId,
@@ -14,6 +14,7 @@ import static org.hamcrest.core.IsNot.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -441,6 +442,45 @@ class WorkspaceDaoTest extends BaseSpringBootUnitTest {
           secondBrokenGcpContext.getCommonFields().error().getStatusCode());
     }
 
+    @Test
+    void parsedCloudContext_cachedUntilRowChanges() {
+      WorkspaceUnitTestUtils.createGcpCloudContextInDatabase(
+          workspaceDao, workspaceUuid, PROJECT_ID);
+      GcpCloudContext first =
+          (GcpCloudContext)
+              workspaceDao.getParsedCloudContext(workspaceUuid, CloudPlatform.GCP).get();
+      GcpCloudContext second =
+          (GcpCloudContext)
+              workspaceDao.getParsedCloudContext(workspaceUuid, CloudPlatform.GCP).get();
+      assertEquals(PROJECT_ID, first.getGcpProjectId());
+      // Unchanged row: the same parsed object is served from the cache
+      assertSame(first, second);
+
+      // Simulate another WSM instance changing the row underneath this instance's cache
+      MapSqlParameterSource params =
+          new MapSqlParameterSource()
+              .addValue("workspace_id", workspaceUuid.toString())
+              .addValue("cloud_platform", CloudPlatform.GCP.toSql())
+              .addValue("state", WsmResourceState.DELETING.toDb());
+      jdbcTemplate.update(
+          "UPDATE cloud_context SET state = :state"
+              + " WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform",
+          params);
+      assertEquals(
+          WsmResourceState.DELETING,
+          workspaceDao
+              .getParsedCloudContext(workspaceUuid, CloudPlatform.GCP)
+              .get()
+              .getCommonFields()
+              .state());
+
+      jdbcTemplate.update(
+          "DELETE FROM cloud_context"
+              + " WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform",
+          params);
+      assertTrue(workspaceDao.getParsedCloudContext(workspaceUuid, CloudPlatform.GCP).isEmpty());
+    }
+
     @Test
     void duplicateCloudContextCreateDoesNotDelete() {
       // Run the normal case
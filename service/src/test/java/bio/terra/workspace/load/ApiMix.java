@@ -0,0 +1,202 @@
+package bio.terra.workspace.load;
+
+import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.common.fixtures.ReferenceResourceFixtures;
+import bio.terra.workspace.generated.model.ApiCreateControlledFlexibleResourceRequestBody;
+import bio.terra.workspace.generated.model.ApiCreateGitRepoReferenceRequestBody;
+import bio.terra.workspace.generated.model.ApiGitRepoAttributes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The request mix of a load test, modeled on what the Terra UI and notebooks ask of WSM: mostly
+ * workspace listings, resource enumeration and SAS tokens, with some flexible resources created and
+ * deleted. Each endpoint's weight can be changed with load.mix.[endpoint], e.g.
+ * -Dload.mix.getSasToken=0 leaves SAS tokens out. Git repo references are left out by default, as
+ * they are never deleted.
+ */
+public class ApiMix {
+  public static final String LIST_WORKSPACES = "listWorkspaces";
+  public static final String GET_WORKSPACE = "getWorkspace";
+  public static final String ENUMERATE_RESOURCES = "enumerateResources";
+  public static final String GET_SAS_TOKEN = "getSasToken";
+  public static final String CREATE_FLEXIBLE_RESOURCE = "createFlexibleResource";
+  public static final String DELETE_FLEXIBLE_RESOURCE = "deleteFlexibleResource";
+  public static final String CREATE_REFERENCED_RESOURCE = "createReferencedResource";
+
+  /** Default weights of the endpoints, before load.mix.[endpoint] settings. */
+  public static final Map<String, Long> DEFAULT_WEIGHTS = defaultWeights();
+
+  private static final String TOKEN = "load-test-token";
+  private static final String GIT_REPO_URL =
+      "https://github.com/DataBiosphere/terra-workspace-manager.git";
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+  private final String baseUrl;
+  private final List<SeededWorkspace> workspaces;
+  private final ObjectMapper objectMapper;
+  private final List<Weighted> weights;
+  private final long totalWeight;
+  private final Queue<FlexibleResource> flexibleResources = new ConcurrentLinkedQueue<>();
+
+  public ApiMix(String baseUrl, List<SeededWorkspace> workspaces, ObjectMapper objectMapper) {
+    this(baseUrl, workspaces, objectMapper, DEFAULT_WEIGHTS);
+  }
+
+  /**
+   * @param defaultWeights weight of each endpoint unless set with load.mix.[endpoint]; endpoints
+   *     that are not in the map are not requested
+   */
+  public ApiMix(
+      String baseUrl,
+      List<SeededWorkspace> workspaces,
+      ObjectMapper objectMapper,
+      Map<String, Long> defaultWeights) {
+    this.baseUrl = baseUrl;
+    this.workspaces = workspaces;
+    this.objectMapper = objectMapper;
+    this.weights =
+        defaultWeights.entrySet().stream().map(e -> weighted(e.getKey(), e.getValue())).toList();
+    this.totalWeight = weights.stream().mapToLong(Weighted::weight).sum();
+  }
+
+  /** The endpoints that this mix sends requests to. */
+  public List<String> getEndpoints() {
+    return weights.stream().filter(w -> w.weight() > 0).map(Weighted::endpoint).toList();
+  }
+
+  /** Send one request, picked at random by weight, and record it in the report. */
+  public void sendOne(LoadReport report) throws IOException, InterruptedException {
+    String endpoint = pickEndpoint();
+    FlexibleResource toDelete = null;
+    if (endpoint.equals(DELETE_FLEXIBLE_RESOURCE)) {
+      toDelete = flexibleResources.poll();
+      if (toDelete == null) {
+        endpoint = CREATE_FLEXIBLE_RESOURCE;
+      }
+    }
+    SeededWorkspace workspace =
+        workspaces.get(ThreadLocalRandom.current().nextInt(workspaces.size()));
+
+    HttpRequest request =
+        switch (endpoint) {
+          case LIST_WORKSPACES -> get("/api/workspaces/v1");
+          case GET_WORKSPACE -> get("/api/workspaces/v1/%s".formatted(workspace.id()));
+          case ENUMERATE_RESOURCES ->
+              get("/api/workspaces/v1/%s/resources?offset=0&limit=100".formatted(workspace.id()));
+          case GET_SAS_TOKEN ->
+              post(
+                  "/api/workspaces/v1/%s/resources/controlled/azure/storageContainer/%s/getSasToken"
+                      .formatted(workspace.id(), workspace.storageContainerId()),
+                  "");
+          case CREATE_FLEXIBLE_RESOURCE ->
+              post(
+                  "/api/workspaces/v1/%s/resources/controlled/any/flexibleResources"
+                      .formatted(workspace.id()),
+                  objectMapper.writeValueAsString(flexibleResourceRequest()));
+          case CREATE_REFERENCED_RESOURCE ->
+              post(
+                  "/api/workspaces/v1/%s/resources/referenced/gitrepos".formatted(workspace.id()),
+                  objectMapper.writeValueAsString(gitRepoReferenceRequest()));
+          default ->
+              delete(
+                  "/api/workspaces/v1/%s/resources/controlled/any/flexibleResources/%s"
+                      .formatted(toDelete.workspaceId(), toDelete.resourceId()));
+        };
+
+    long start = System.nanoTime();
+    HttpResponse<String> response = httpClient.send(request, BodyHandlers.ofString());
+    report.record(endpoint, Duration.ofNanos(System.nanoTime() - start), response.statusCode());
+
+    if (endpoint.equals(CREATE_FLEXIBLE_RESOURCE) && response.statusCode() == 200) {
+      UUID resourceId =
+          UUID.fromString(objectMapper.readTree(response.body()).path("resourceId").asText());
+      flexibleResources.add(new FlexibleResource(workspace.id(), resourceId));
+    }
+  }
+
+  private String pickEndpoint() {
+    long pick = ThreadLocalRandom.current().nextLong(totalWeight);
+    for (Weighted weighted : weights) {
+      pick -= weighted.weight();
+      if (pick < 0) {
+        return weighted.endpoint();
+      }
+    }
+    throw new IllegalStateException("Weights changed while picking an endpoint");
+  }
+
+  private static ApiCreateControlledFlexibleResourceRequestBody flexibleResourceRequest() {
+    return new ApiCreateControlledFlexibleResourceRequestBody()
+        .common(
+            ControlledResourceFixtures.makeDefaultControlledResourceFieldsApi()
+                .name("load-" + UUID.randomUUID()))
+        .flexibleResource(ControlledResourceFixtures.defaultFlexResourceCreationParameters());
+  }
+
+  private static ApiCreateGitRepoReferenceRequestBody gitRepoReferenceRequest() {
+    return new ApiCreateGitRepoReferenceRequestBody()
+        .metadata(
+            ReferenceResourceFixtures.makeDefaultReferencedResourceFieldsApi()
+                .name("load-" + UUID.randomUUID()))
+        .gitrepo(new ApiGitRepoAttributes().gitRepoUrl(GIT_REPO_URL));
+  }
+
+  private HttpRequest get(String path) {
+    return request(path).GET().build();
+  }
+
+  private HttpRequest post(String path, String body) {
+    return request(path).POST(BodyPublishers.ofString(body)).build();
+  }
+
+  private HttpRequest delete(String path) {
+    return request(path).DELETE().build();
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(Duration.ofSeconds(60))
+        .header("Authorization", "Bearer " + TOKEN)
+        .header("Content-Type", "application/json");
+  }
+
+  private static Weighted weighted(String endpoint, long defaultWeight) {
+    return new Weighted(endpoint, LoadSettings.getLong("mix." + endpoint, defaultWeight));
+  }
+
+  private static Map<String, Long> defaultWeights() {
+    Map<String, Long> weights = new LinkedHashMap<>();
+    weights.put(LIST_WORKSPACES, 20L);
+    weights.put(GET_WORKSPACE, 10L);
+    weights.put(ENUMERATE_RESOURCES, 30L);
+    weights.put(GET_SAS_TOKEN, 20L);
+    weights.put(CREATE_FLEXIBLE_RESOURCE, 10L);
+    weights.put(DELETE_FLEXIBLE_RESOURCE, 10L);
+    weights.put(CREATE_REFERENCED_RESOURCE, 0L);
+    return Collections.unmodifiableMap(weights);
+  }
+
+  /** A workspace seeded before the run, with the storage container that SAS tokens are for. */
+  public record SeededWorkspace(UUID id, UUID storageContainerId) {}
+
+  private record FlexibleResource(UUID workspaceId, UUID resourceId) {}
+
+  private record Weighted(String endpoint, long weight) {}
+}
@@ -0,0 +1,255 @@
+package bio.terra.workspace.load;
+
+import bio.terra.workspace.load.StubServer.Behavior;
+import bio.terra.workspace.load.StubServer.StubResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stubs of the services WSM calls: Sam, the Terra Policy Service (TPS), the landing zone service,
+ * Resource Buffer Service and the Billing Profile Manager (BPM). They answer just enough of each
+ * API for the load test's request mix, as a single user who owns every workspace WSM knows about.
+ *
+ * <p>Each stub's latency and error rate is read by {@link Behavior#fromSystemProperties}, so e.g.
+ * -Dload.stub.sam.latencyMs=100 makes Sam slow while the other stubs keep the default.
+ */
+public class DependencyStubs implements AutoCloseable {
+  public static final String USER_EMAIL = "load.tester@example.com";
+  public static final String USER_SUBJECT_ID = "123456789012345678901";
+  public static final UUID BILLING_PROFILE_ID = UUID.randomUUID();
+  public static final UUID LANDING_ZONE_ID = UUID.randomUUID();
+  public static final String STORAGE_ACCOUNT_NAME = "loadteststorage";
+  public static final String STORAGE_ACCOUNT_RESOURCE_ID =
+      "/subscriptions/00000000-0000-0000-0000-000000000000/resourceGroups/load-mrg/providers"
+          + "/Microsoft.Storage/storageAccounts/"
+          + STORAGE_ACCOUNT_NAME;
+  public static final String REGION = "eastus";
+
+  private static final Behavior DEFAULT_BEHAVIOR =
+      new Behavior(Duration.ofMillis(20), Duration.ofMillis(10), 0.0);
+  private static final String UUID_PATTERN = "([0-9a-fA-F-]{36})";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Set<String> workspaceIds = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger handedOutProjects = new AtomicInteger();
+  private final StubServer sam;
+  private final StubServer tps;
+  private final StubServer landingZone;
+  private final StubServer buffer;
+  private final StubServer bpm;
+
+  public DependencyStubs() throws IOException {
+    sam = new StubServer("sam", Behavior.fromSystemProperties("sam", DEFAULT_BEHAVIOR));
+    tps = new StubServer("tps", Behavior.fromSystemProperties("tps", DEFAULT_BEHAVIOR));
+    landingZone = new StubServer("lzs", Behavior.fromSystemProperties("lzs", DEFAULT_BEHAVIOR));
+    buffer = new StubServer("buffer", Behavior.fromSystemProperties("buffer", DEFAULT_BEHAVIOR));
+    bpm = new StubServer("bpm", Behavior.fromSystemProperties("bpm", DEFAULT_BEHAVIOR));
+    addSamRoutes();
+    addTpsRoutes();
+    addLandingZoneRoutes();
+    addBufferRoutes();
+    addBpmRoutes();
+  }
+
+  /** Make the stub user an owner of a workspace that was created without going through Sam. */
+  public void registerWorkspace(UUID workspaceId) {
+    workspaceIds.add(workspaceId.toString());
+  }
+
+  public List<StubServer> getServers() {
+    return List.of(sam, tps, landingZone, buffer, bpm);
+  }
+
+  public String getSamUrl() {
+    return sam.getBaseUrl();
+  }
+
+  public String getTpsUrl() {
+    return tps.getBaseUrl();
+  }
+
+  public String getLandingZoneUrl() {
+    return landingZone.getBaseUrl();
+  }
+
+  public String getBufferUrl() {
+    return buffer.getBaseUrl();
+  }
+
+  public String getBpmUrl() {
+    return bpm.getBaseUrl();
+  }
+
+  @Override
+  public void close() {
+    getServers().forEach(StubServer::close);
+  }
+
+  private void addSamRoutes() {
+    sam.route("GET", "/status", r -> json(Map.of("ok", true, "systems", Map.of())))
+        .route(
+            "GET",
+            "/register/user/v2/self/info",
+            r ->
+                json(
+                    Map.of(
+                        "userSubjectId",
+                        USER_SUBJECT_ID,
+                        "userEmail",
+                        USER_EMAIL,
+                        "enabled",
+                        true)))
+        .route(
+            "GET",
+            "/api/resources/v2/workspace",
+            r -> json(workspaceIds.stream().map(this::ownedWorkspace).toList()))
+        .route(
+            "POST",
+            "/api/resources/v2/workspace",
+            r -> {
+              workspaceIds.add(readResourceId(r.body()));
+              return StubResponse.noContent();
+            })
+        .route(
+            "DELETE",
+            "/api/resources/v2/workspace/" + UUID_PATTERN,
+            r -> {
+              workspaceIds.remove(r.group(1));
+              return StubResponse.noContent();
+            })
+        .route("GET", "/api/resources/v2/[^/]+/[^/]+/action/.+", r -> json(true))
+        .route(
+            "GET",
+            "/api/resources/v2/[^/]+/[^/]+/actions",
+            r -> json(List.of("read", "write", "delete", "own", "share_policy::owner")))
+        .route("GET", "/api/resources/v2/[^/]+/[^/]+/roles", r -> json(List.of("owner")))
+        .route("GET", "/api/resources/v2/[^/]+/[^/]+/policies", r -> json(List.of()))
+        .route("GET", "/api/resources/v2/[^/]+/[^/]+/children", r -> json(List.of()))
+        .route("POST", "/api/resources/v2/[^/]+", r -> StubResponse.noContent())
+        .route("DELETE", "/api/resources/v2/[^/]+/[^/]+", r -> StubResponse.noContent());
+  }
+
+  private void addTpsRoutes() {
+    tps.route("GET", "/status", r -> json(Map.of("ok", true, "systems", Map.of())))
+        .route("POST", "/api/policy/v1alpha1/pao", r -> StubResponse.noContent())
+        .route("GET", "/api/policy/v1alpha1/pao", r -> json(List.of()))
+        .route("POST", "/api/policy/v1alpha1/pao/list", r -> json(List.of()))
+        .route("GET", "/api/policy/v1alpha1/pao/" + UUID_PATTERN, r -> json(pao(r.group(1))))
+        .route("DELETE", "/api/policy/v1alpha1/pao/" + UUID_PATTERN, r -> StubResponse.noContent());
+  }
+
+  private void addLandingZoneRoutes() {
+    Map<String, Object> landingZoneJson =
+        Map.of(
+            "landingZoneId", LANDING_ZONE_ID.toString(),
+            "billingProfileId", BILLING_PROFILE_ID.toString(),
+            "definition", "LandingZoneDefinition",
+            "version", "v1",
+            "region", REGION,
+            "createdDate", "2024-01-01T00:00:00Z");
+    landingZone
+        .route("GET", "/status", r -> json(Map.of("ok", true, "systems", Map.of())))
+        .route(
+            "GET",
+            "/api/landingzones/v1/azure",
+            r -> json(Map.of("landingzones", List.of(landingZoneJson))))
+        .route("GET", "/api/landingzones/v1/azure/" + UUID_PATTERN, r -> json(landingZoneJson))
+        .route(
+            "GET",
+            "/api/landingzones/v1/azure/" + UUID_PATTERN + "/resources",
+            r -> json(sharedResources(r.group(1))));
+  }
+
+  private void addBufferRoutes() {
+    buffer
+        .route("GET", "/status", r -> json(Map.of("ok", true, "systems", Map.of())))
+        .route("PUT", "/api/pool/v1/[^/]+/resource", r -> json(handedOutProject()));
+  }
+
+  private void addBpmRoutes() {
+    bpm.route("GET", "/status", r -> json(Map.of("ok", true, "systems", Map.of())))
+        .route(
+            "GET",
+            "/api/profiles/v1/" + UUID_PATTERN,
+            r ->
+                json(
+                    Map.of(
+                        "id", r.group(1),
+                        "biller", "direct",
+                        "displayName", "load test profile",
+                        "cloudPlatform", "AZURE",
+                        "tenantId", UUID.randomUUID().toString(),
+                        "subscriptionId", UUID.randomUUID().toString(),
+                        "managedResourceGroupId", "load-mrg",
+                        "createdDate", "2024-01-01T00:00:00Z")));
+  }
+
+  private Map<String, Object> sharedResources(String landingZoneId) {
+    Map<String, Object> storageAccount =
+        Map.of(
+            "resourceId", STORAGE_ACCOUNT_RESOURCE_ID,
+            "resourceType", "Microsoft.Storage/storageAccounts",
+            "resourceName", STORAGE_ACCOUNT_NAME,
+            "region", REGION);
+    Map<String, Object> sharedResources =
+        Map.of("purpose", "SHARED_RESOURCE", "deployedResources", List.of(storageAccount));
+    return Map.of("id", landingZoneId, "resources", List.of(sharedResources));
+  }
+
+  private Map<String, Object> handedOutProject() {
+    return Map.of(
+        "resourceId",
+        UUID.randomUUID().toString(),
+        "cloudResourceUid",
+        Map.of(
+            "googleProjectUid",
+            Map.of("projectId", "load-project-" + handedOutProjects.incrementAndGet())));
+  }
+
+  private Map<String, Object> ownedWorkspace(String workspaceId) {
+    Map<String, Object> none = Map.of("roles", List.of(), "actions", List.of());
+    return Map.of(
+        "resourceId", workspaceId,
+        "direct", Map.of("roles", List.of("owner"), "actions", List.of()),
+        "inherited", none,
+        "public", none,
+        "authDomainGroups", List.of(),
+        "missingAuthDomainGroups", List.of());
+  }
+
+  private Map<String, Object> pao(String objectId) {
+    Map<String, Object> noAttributes = Map.of("inputs", List.of());
+    return Map.of(
+        "objectId", objectId,
+        "component", "WSM",
+        "objectType", "workspace",
+        "attributes", noAttributes,
+        "effectiveAttributes", noAttributes,
+        "deleted", false,
+        "sourcesObjectIds", List.of());
+  }
+
+  private String readResourceId(String body) {
+    try {
+      return objectMapper.readTree(body).path("resourceId").asText();
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Unexpected request body: " + body, e);
+    }
+  }
+
+  private StubResponse json(Object body) {
+    try {
+      return StubResponse.json(objectMapper.writeValueAsString(body));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package bio.terra.workspace.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Latencies of a load test run, by endpoint. Every latency is kept, so the percentiles are exact;
+ * a run of a few minutes records at most a few million of them.
+ */
+public class LoadReport {
+  private static final Logger logger = LoggerFactory.getLogger(LoadReport.class);
+
+  private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+  /** Record a request that completed with the given HTTP status. */
+  public void record(String endpoint, Duration latency, int status) {
+    latencies.computeIfAbsent(endpoint, k -> new ConcurrentLinkedQueue<>()).add(latency.toNanos());
+    if (status >= 400) {
+      errors.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+    }
+  }
+
+  /** Summarize the run, sorted by endpoint. */
+  public List<EndpointSummary> summarize(Duration elapsed) {
+    List<EndpointSummary> summaries = new ArrayList<>();
+    new TreeMap<>(latencies)
+        .forEach(
+            (endpoint, recorded) -> {
+              long[] sorted = recorded.stream().mapToLong(Long::longValue).toArray();
+              Arrays.sort(sorted);
+              long errorCount = errors.getOrDefault(endpoint, new AtomicLong()).get();
+              summaries.add(
+                  new EndpointSummary(
+                      endpoint,
+                      sorted.length,
+                      errorCount,
+                      sorted.length / (elapsed.toMillis() / 1000.0),
+                      Duration.ofNanos(percentile(sorted, 0.50)),
+                      Duration.ofNanos(percentile(sorted, 0.99)),
+                      Duration.ofNanos(sorted[sorted.length - 1])));
+            });
+    return summaries;
+  }
+
+  /** Log the summary and write it as CSV to the report directory. */
+  public void write(List<EndpointSummary> summaries, Path directory) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add("endpoint,requests,errors,throughput_per_s,p50_ms,p99_ms,max_ms");
+    logger.info(
+        String.format(
+            "%-24s %9s %7s %10s %9s %9s %9s",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+    for (EndpointSummary summary : summaries) {
+      lines.add(
+          String.format(
+              "%s,%d,%d,%.1f,%.1f,%.1f,%.1f",
+              summary.endpoint(),
+              summary.requests(),
+              summary.errors(),
+              summary.throughput(),
+              millis(summary.p50()),
+              millis(summary.p99()),
+              millis(summary.max())));
+      logger.info(
+          String.format(
+              "%-24s %9d %7d %10.1f %9.1f %9.1f %9.1f",
+              summary.endpoint(),
+              summary.requests(),
+              summary.errors(),
+              summary.throughput(),
+              millis(summary.p50()),
+              millis(summary.p99()),
+              millis(summary.max())));
+    }
+    Files.createDirectories(directory);
+    Path report = directory.resolve("load-report.csv");
+    Files.write(report, lines);
+    logger.info("Load report written to {}", report.toAbsolutePath());
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+
+  /** Results of one endpoint; the throughput is in requests per second. */
+  public record EndpointSummary(
+      String endpoint,
+      long requests,
+      long errors,
+      double throughput,
+      Duration p50,
+      Duration p99,
+      Duration max) {}
+}
@@ -0,0 +1,60 @@
+package bio.terra.workspace.load;
+
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from load.* system properties. The loadTest Gradle task passes
+ * through every load.* property given on its command line, e.g. -Pload.concurrency=32 or
+ * -Dload.concurrency=32.
+ */
+public class LoadSettings {
+  private static final String PREFIX = "load.";
+
+  /** How long requests are timed for, after the warmup. */
+  public static Duration duration() {
+    return Duration.ofSeconds(getLong("durationSeconds", 60));
+  }
+
+  /** How long requests are sent before timing starts, so that caches and pools are warm. */
+  public static Duration warmup() {
+    return Duration.ofSeconds(getLong("warmupSeconds", 10));
+  }
+
+  /** Number of clients sending requests back to back. */
+  public static int concurrency() {
+    return (int) getLong("concurrency", 16);
+  }
+
+  /** Number of workspaces seeded before the run. */
+  public static int workspaces() {
+    return (int) getLong("workspaces", 20);
+  }
+
+  /**
+   * Whether to time resource creation with and without inline job execution, rather than replay
+   * the whole mix.
+   */
+  public static boolean compareInlineExecution() {
+    return Boolean.parseBoolean(System.getProperty(PREFIX + "compareInlineExecution", "false"));
+  }
+
+  /** Whether to time getting a workspace with and without request fan-out, rather than the mix. */
+  public static boolean compareRequestFanout() {
+    return Boolean.parseBoolean(System.getProperty(PREFIX + "compareRequestFanout", "false"));
+  }
+
+  /** Directory the report is written to. */
+  public static String reportDirectory() {
+    return System.getProperty(PREFIX + "reportDir", "build/reports/load");
+  }
+
+  static long getLong(String name, long defaultValue) {
+    String value = System.getProperty(PREFIX + name);
+    return value == null ? defaultValue : Long.parseLong(value);
+  }
+
+  static double getDouble(String name, double defaultValue) {
+    String value = System.getProperty(PREFIX + name);
+    return value == null ? defaultValue : Double.parseDouble(value);
+  }
+}
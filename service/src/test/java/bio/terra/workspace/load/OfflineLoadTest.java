@@ -0,0 +1,286 @@
+package bio.terra.workspace.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import bio.terra.workspace.app.Main;
+import bio.terra.workspace.app.configuration.external.JobConfiguration;
+import bio.terra.workspace.app.configuration.external.PolicyServiceConfiguration;
+import bio.terra.workspace.app.configuration.external.RequestFanoutConfiguration;
+import bio.terra.workspace.common.fixtures.ControlledAzureResourceFixtures;
+import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.common.fixtures.WorkspaceFixtures;
+import bio.terra.workspace.common.utils.WorkspaceUnitTestUtils;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.db.WorkspaceDao;
+import bio.terra.workspace.load.ApiMix.SeededWorkspace;
+import bio.terra.workspace.load.LoadReport.EndpointSummary;
+import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.resource.controlled.cloud.azure.storage.StorageAccountKeyProvider;
+import bio.terra.workspace.service.spendprofile.model.SpendProfileId;
+import bio.terra.workspace.service.workspace.model.Workspace;
+import com.azure.resourcemanager.storage.StorageManager;
+import com.azure.resourcemanager.storage.models.StorageAccount;
+import com.azure.storage.common.StorageSharedKeyCredential;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Load test of the service against a local Postgres, with every other dependency stubbed. It seeds
+ * Azure workspaces, replays {@link ApiMix} from concurrent clients and writes p50/p99 latency and
+ * throughput per endpoint to build/reports/load. Run it with ./gradlew :service:loadTest; see
+ * {@link LoadSettings} and {@link DependencyStubs} for the knobs.
+ *
+ * <p>Sam, TPS, the landing zone service, Buffer and BPM are HTTP stubs. Azure Resource Manager and
+ * the storage account keys are mocked in process instead, because the Azure SDK authenticates
+ * against Entra ID before it makes any request a stub could answer.
+ */
+@Tag("load")
+@ActiveProfiles({"test", "unit-test", "azure-unit-test", "load-test"})
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = {
+      "spring.cloud.gcp.credentials.location=",
+      "otel.instrumentation.spring-webmvc.enabled=false"
+    },
+    classes = Main.class)
+public class OfflineLoadTest {
+  private static final Logger logger = LoggerFactory.getLogger(OfflineLoadTest.class);
+  private static final String STORAGE_ACCOUNT_KEY =
+      Base64.getEncoder().encodeToString("load-test-key".getBytes(StandardCharsets.UTF_8));
+
+  private static DependencyStubs stubs;
+
+  @LocalServerPort private int port;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private WorkspaceDao workspaceDao;
+  @Autowired private ResourceDao resourceDao;
+  @Autowired private JobConfiguration jobConfiguration;
+  @Autowired private RequestFanoutConfiguration requestFanoutConfiguration;
+  @MockBean private CrlService crlService;
+  @MockBean private StorageAccountKeyProvider storageAccountKeyProvider;
+  @SpyBean private SamService samService;
+  @SpyBean private PolicyServiceConfiguration policyServiceConfiguration;
+
+  @DynamicPropertySource
+  static void stubProperties(DynamicPropertyRegistry registry) throws Exception {
+    stubs = new DependencyStubs();
+    registry.add("workspace.sam.base-path", stubs::getSamUrl);
+    registry.add("workspace.policy.base-path", stubs::getTpsUrl);
+    registry.add("workspace.landing-zone.base-path", stubs::getLandingZoneUrl);
+    registry.add("workspace.buffer.instance-url", stubs::getBufferUrl);
+    registry.add("workspace.spend.base-path", stubs::getBpmUrl);
+  }
+
+  @AfterAll
+  static void stopStubs() {
+    stubs.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    doReturn("wsm-token").when(samService).getWsmServiceAccountToken();
+    doReturn("wsm-token").when(policyServiceConfiguration).getAccessToken();
+
+    when(storageAccountKeyProvider.getStorageAccountKey(any(), any()))
+        .thenReturn(
+            new StorageSharedKeyCredential(
+                DependencyStubs.STORAGE_ACCOUNT_NAME, STORAGE_ACCOUNT_KEY));
+    StorageAccount storageAccount = mock(StorageAccount.class, RETURNS_DEEP_STUBS);
+    when(storageAccount.name()).thenReturn(DependencyStubs.STORAGE_ACCOUNT_NAME);
+    when(storageAccount.endPoints().primary().blob())
+        .thenReturn(
+            "https://%s.blob.core.windows.net/".formatted(DependencyStubs.STORAGE_ACCOUNT_NAME));
+    StorageManager storageManager = mock(StorageManager.class, RETURNS_DEEP_STUBS);
+    when(storageManager.storageAccounts().getById(anyString())).thenReturn(storageAccount);
+    when(crlService.getStorageManager(any(), any())).thenReturn(storageManager);
+  }
+
+  @Test
+  void replayApiMix() throws Exception {
+    assumeTrue(!LoadSettings.compareInlineExecution() && !LoadSettings.compareRequestFanout());
+    ApiMix mix =
+        new ApiMix(
+            "http://localhost:" + port, seedWorkspaces(LoadSettings.workspaces()), objectMapper);
+
+    logger.info("Warming up for {}", LoadSettings.warmup());
+    run(mix, new LoadReport(), LoadSettings.warmup());
+    logger.info("Running {} clients for {}", LoadSettings.concurrency(), LoadSettings.duration());
+    LoadReport report = new LoadReport();
+    Duration elapsed = run(mix, report, LoadSettings.duration());
+
+    List<EndpointSummary> summaries = report.summarize(elapsed);
+    report.write(summaries, Path.of(LoadSettings.reportDirectory()));
+    for (StubServer server : stubs.getServers()) {
+      logger.info(
+          "{} stub: {} requests, {} injected errors",
+          server.getName(),
+          server.getRequestCount(),
+          server.getInjectedErrorCount());
+    }
+
+    assertEndpointsSucceeded(mix, summaries);
+  }
+
+  /**
+   * Time flexible resource and git repo reference creation with inline job execution off, then on,
+   * and write a report for each to inline-off and inline-on under the report directory. Referenced
+   * resources are created without a flight either way, so they show what a create costs without
+   * one. Run it with -Pload.compareInlineExecution=true.
+   */
+  @Test
+  void compareInlineExecution() throws Exception {
+    assumeTrue(LoadSettings.compareInlineExecution());
+    ApiMix mix =
+        new ApiMix(
+            "http://localhost:" + port,
+            seedWorkspaces(LoadSettings.workspaces()),
+            objectMapper,
+            Map.of(ApiMix.CREATE_FLEXIBLE_RESOURCE, 1L, ApiMix.CREATE_REFERENCED_RESOURCE, 1L));
+
+    boolean configured = jobConfiguration.isInlineExecutionEnabled();
+    try {
+      for (boolean inline : List.of(false, true)) {
+        jobConfiguration.setInlineExecutionEnabled(inline);
+        runAndReport(mix, inline ? "inline-on" : "inline-off");
+      }
+    } finally {
+      jobConfiguration.setInlineExecutionEnabled(configured);
+    }
+  }
+
+  /**
+   * Time getting a workspace with request fan-out off, so that the Sam role lookup and the TPS
+   * policy fetch run one after the other as they used to, then on, and write a report for each to
+   * fanout-off and fanout-on under the report directory. The gap grows with the stub latencies,
+   * e.g. -Pload.stub.sam.latencyMs=100 -Pload.stub.tps.latencyMs=100. Run it with
+   * -Pload.compareRequestFanout=true.
+   */
+  @Test
+  void compareRequestFanout() throws Exception {
+    assumeTrue(LoadSettings.compareRequestFanout());
+    ApiMix mix =
+        new ApiMix(
+            "http://localhost:" + port,
+            seedWorkspaces(LoadSettings.workspaces()),
+            objectMapper,
+            Map.of(ApiMix.GET_WORKSPACE, 1L));
+
+    boolean configured = requestFanoutConfiguration.isEnabled();
+    try {
+      for (boolean fanout : List.of(false, true)) {
+        requestFanoutConfiguration.setEnabled(fanout);
+        runAndReport(mix, fanout ? "fanout-on" : "fanout-off");
+      }
+    } finally {
+      requestFanoutConfiguration.setEnabled(configured);
+    }
+  }
+
+  /** Warm up, then time the mix and write its report to the labeled report directory. */
+  private static void runAndReport(ApiMix mix, String label) throws Exception {
+    logger.info("Warming up with {} for {}", label, LoadSettings.warmup());
+    run(mix, new LoadReport(), LoadSettings.warmup());
+    logger.info("Running {} clients with {}", LoadSettings.concurrency(), label);
+    LoadReport report = new LoadReport();
+    Duration elapsed = run(mix, report, LoadSettings.duration());
+
+    List<EndpointSummary> summaries = report.summarize(elapsed);
+    report.write(summaries, Path.of(LoadSettings.reportDirectory(), label));
+    assertEndpointsSucceeded(mix, summaries);
+  }
+
+  // Latencies are for people to judge; an endpoint that never succeeds means the harness no
+  // longer matches the API and the numbers are meaningless.
+  private static void assertEndpointsSucceeded(ApiMix mix, List<EndpointSummary> summaries) {
+    for (String endpoint : mix.getEndpoints()) {
+      assertTrue(
+          summaries.stream()
+              .anyMatch(s -> s.endpoint().equals(endpoint) && s.requests() > s.errors()),
+          "No successful requests to " + endpoint);
+    }
+  }
+
+  private List<SeededWorkspace> seedWorkspaces(int count) {
+    List<SeededWorkspace> seeded = new ArrayList<>();
+    SpendProfileId spendProfileId =
+        new SpendProfileId(DependencyStubs.BILLING_PROFILE_ID.toString());
+    for (int i = 0; i < count; i++) {
+      Workspace workspace = WorkspaceFixtures.createDefaultMcWorkspace(spendProfileId);
+      WorkspaceFixtures.createWorkspaceInDb(workspace, workspaceDao);
+      WorkspaceUnitTestUtils.createAzureCloudContextInDatabase(
+          workspaceDao, workspace.workspaceId(), spendProfileId);
+      UUID containerId = UUID.randomUUID();
+      ControlledResourceFixtures.insertControlledResourceRow(
+          resourceDao,
+          ControlledAzureResourceFixtures.getAzureStorageContainer(
+              workspace.workspaceId(),
+              containerId,
+              "sc-" + containerId,
+              "load-container-" + i,
+              "Storage container seeded by the load test"));
+      stubs.registerWorkspace(workspace.workspaceId());
+      seeded.add(new SeededWorkspace(workspace.workspaceId(), containerId));
+    }
+    return seeded;
+  }
+
+  /** Send requests from every client until the duration is up; returns the actual elapsed time. */
+  private static Duration run(ApiMix mix, LoadReport report, Duration duration) throws Exception {
+    int concurrency = LoadSettings.concurrency();
+    ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+    try {
+      long start = System.nanoTime();
+      long deadline = start + duration.toNanos();
+      List<Callable<Void>> loops = new ArrayList<>();
+      for (int i = 0; i < concurrency; i++) {
+        loops.add(
+            () -> {
+              while (System.nanoTime() < deadline) {
+                mix.sendOne(report);
+              }
+              return null;
+            });
+      }
+      for (Future<Void> loop : clients.invokeAll(loops)) {
+        loop.get();
+      }
+      return Duration.ofNanos(System.nanoTime() - start);
+    } finally {
+      clients.shutdownNow();
+    }
+  }
+}
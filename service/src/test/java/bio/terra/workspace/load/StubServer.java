@@ -0,0 +1,184 @@
+package bio.terra.workspace.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP stub of a service that WSM calls, for load tests. Requests are matched against the routes in
+ * the order they were added; unmatched requests get an empty JSON object.
+ *
+ * <p>Every request is delayed by the stub's latency, and a fraction of them fail with a 503, so a
+ * load test can see how WSM behaves when a dependency is slow or flaky.
+ */
+public class StubServer implements AutoCloseable {
+  private final String name;
+  private final Behavior behavior;
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final List<Route> routes = new CopyOnWriteArrayList<>();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong injectedErrors = new AtomicLong();
+
+  public StubServer(String name, Behavior behavior) throws IOException {
+    this.name = name;
+    this.behavior = behavior;
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  /**
+   * Add a route.
+   *
+   * @param method HTTP method to match
+   * @param pathPattern regular expression the whole request path must match; its groups are passed
+   *     to the handler
+   * @param handler builds the response
+   */
+  public StubServer route(
+      String method, String pathPattern, Function<StubRequest, StubResponse> handler) {
+    routes.add(new Route(method, Pattern.compile(pathPattern), handler));
+    return this;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getBaseUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  public long getRequestCount() {
+    return requests.get();
+  }
+
+  public long getInjectedErrorCount() {
+    return injectedErrors.get();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      requests.incrementAndGet();
+      byte[] body = exchange.getRequestBody().readAllBytes();
+      Thread.sleep(behavior.nextDelay().toMillis());
+      if (ThreadLocalRandom.current().nextDouble() < behavior.errorRate()) {
+        injectedErrors.incrementAndGet();
+        send(exchange, StubResponse.status(503));
+        return;
+      }
+
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getPath();
+      String query = exchange.getRequestURI().getQuery();
+      for (Route route : routes) {
+        Matcher matcher = route.pathPattern().matcher(path);
+        if (route.method().equalsIgnoreCase(method) && matcher.matches()) {
+          StubRequest request =
+              new StubRequest(matcher, query, new String(body, StandardCharsets.UTF_8));
+          send(exchange, route.handler().apply(request));
+          return;
+        }
+      }
+      send(exchange, StubResponse.json("{}"));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      send(exchange, new StubResponse(500, "{\"message\":\"" + e.getMessage() + "\"}"));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static void send(HttpExchange exchange, StubResponse response) throws IOException {
+    if (response.body() == null) {
+      exchange.sendResponseHeaders(response.status(), -1);
+      return;
+    }
+    byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(response.status(), bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Latency and error injection of a stub. Each request is delayed by the latency plus a uniformly
+   * random part of the jitter.
+   */
+  public record Behavior(Duration latency, Duration jitter, double errorRate) {
+    /**
+     * Read the behavior of a stub from the load.stub.[service].* system properties, falling back to
+     * load.stub.* and then to the given defaults.
+     */
+    public static Behavior fromSystemProperties(String service, Behavior defaults) {
+      return new Behavior(
+          Duration.ofMillis(getLong(service, "latencyMs", defaults.latency().toMillis())),
+          Duration.ofMillis(getLong(service, "jitterMs", defaults.jitter().toMillis())),
+          LoadSettings.getDouble(
+              "stub." + service + ".errorRate",
+              LoadSettings.getDouble("stub.errorRate", defaults.errorRate())));
+    }
+
+    private static long getLong(String service, String setting, long defaultValue) {
+      return LoadSettings.getLong(
+          "stub." + service + "." + setting,
+          LoadSettings.getLong("stub." + setting, defaultValue));
+    }
+
+    Duration nextDelay() {
+      long jitterMillis = jitter.toMillis();
+      return jitterMillis <= 0
+          ? latency
+          : latency.plusMillis(ThreadLocalRandom.current().nextLong(jitterMillis + 1));
+    }
+  }
+
+  /** A request to a stub; the matcher holds the groups of the route's path pattern. */
+  public record StubRequest(Matcher matcher, String query, String body) {
+    public String group(int group) {
+      return matcher.group(group);
+    }
+  }
+
+  /** A stub response; a null body sends no content. */
+  public record StubResponse(int status, String body) {
+    public static StubResponse json(String body) {
+      return new StubResponse(200, body);
+    }
+
+    public static StubResponse noContent() {
+      return new StubResponse(204, null);
+    }
+
+    public static StubResponse status(int status) {
+      return new StubResponse(status, null);
+    }
+  }
+
+  private record Route(
+      String method, Pattern pathPattern, Function<StubRequest, StubResponse> handler) {}
+}
@@ -0,0 +1,96 @@
+package bio.terra.workspace.service.crl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import com.azure.core.credential.AccessToken;
+import com.azure.core.credential.TokenCredential;
+import com.azure.core.credential.TokenRequestContext;
+import com.azure.core.http.HttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+@Tag("unit")
+@BaseTest
+class AzureManagerPoolTest {
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void get_reusesManagerPerTenantSubscriptionAndType() {
+    AzureManagerPool pool = new AzureManagerPool(10, registry, mock(HttpClient.class));
+
+    StringBuilder first = pool.get("tenant", "sub1", StringBuilder.class, StringBuilder::new);
+    assertSame(first, pool.get("tenant", "sub1", StringBuilder.class, StringBuilder::new));
+    assertNotSame(first, pool.get("tenant", "sub2", StringBuilder.class, StringBuilder::new));
+
+    assertEquals(1, poolCount("hit"));
+    assertEquals(2, poolCount("miss"));
+  }
+
+  @Test
+  void get_evictsLeastRecentlyUsed() {
+    AzureManagerPool pool = new AzureManagerPool(2, registry, mock(HttpClient.class));
+
+    StringBuilder first = pool.get("tenant", "sub1", StringBuilder.class, StringBuilder::new);
+    pool.get("tenant", "sub2", StringBuilder.class, StringBuilder::new);
+    pool.get("tenant", "sub3", StringBuilder.class, StringBuilder::new);
+
+    assertNotSame(first, pool.get("tenant", "sub1", StringBuilder.class, StringBuilder::new));
+  }
+
+  @Test
+  void refreshingCredential_reusesTokenUntilNearExpiry() {
+    TokenRequestContext request = new TokenRequestContext().addScopes("scope/.default");
+
+    AtomicInteger longLivedAcquisitions = new AtomicInteger();
+    RefreshingTokenCredential longLived =
+        new RefreshingTokenCredential(
+            countingCredential(longLivedAcquisitions, Duration.ofHours(1)),
+            Duration.ofMinutes(5),
+            registry);
+    assertEquals("token1", longLived.getToken(request).block().getToken());
+    assertEquals("token1", longLived.getToken(request).block().getToken());
+    assertEquals(1, longLivedAcquisitions.get());
+
+    // Tokens within the refresh offset of expiry are replaced before they expire
+    AtomicInteger expiringAcquisitions = new AtomicInteger();
+    RefreshingTokenCredential expiring =
+        new RefreshingTokenCredential(
+            countingCredential(expiringAcquisitions, Duration.ofMinutes(2)),
+            Duration.ofMinutes(5),
+            registry);
+    assertEquals("token1", expiring.getToken(request).block().getToken());
+    assertEquals("token2", expiring.getToken(request).block().getToken());
+
+    assertEquals(3, registry.timer(RefreshingTokenCredential.TOKEN_ACQUISITION_METRIC).count());
+  }
+
+  private static TokenCredential countingCredential(AtomicInteger acquisitions, Duration ttl) {
+    return request ->
+        Mono.fromSupplier(
+            () ->
+                new AccessToken(
+                    "token" + acquisitions.incrementAndGet(), OffsetDateTime.now().plus(ttl)));
+  }
+
+  private double poolCount(String result) {
+    return registry
+        .counter(AzureManagerPool.POOL_METRIC, "type", "StringBuilder", "result", result)
+        .count();
+  }
+}
@@ -0,0 +1,118 @@
+package bio.terra.workspace.service.crl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.cloudresourcemanager.v3.model.Binding;
+import com.google.api.services.cloudresourcemanager.v3.model.Policy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class ProjectIamPolicyCoordinatorTest {
+  private static final String PROJECT_ID = "fake-project";
+
+  private MeterRegistry registry;
+  private FakePolicyStore store;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+    store = new FakePolicyStore();
+  }
+
+  @Test
+  void update_coalescesConcurrentChangesIntoOneWrite() {
+    ProjectIamPolicyCoordinator coordinator =
+        new ProjectIamPolicyCoordinator(store, registry, Duration.ofMillis(500));
+
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    List<CompletableFuture<Void>> updates = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      String role = "roles/role" + i;
+      updates.add(CompletableFuture.runAsync(() -> addBinding(coordinator, role), executor));
+    }
+    updates.forEach(CompletableFuture::join);
+    executor.shutdown();
+
+    assertEquals(1, store.writes.get());
+    assertEquals(3, store.policy.getBindings().size());
+    assertEquals(2, policyCount("coalesced"));
+    assertEquals(1, policyCount("write"));
+  }
+
+  @Test
+  void update_retriesEtagConflicts() {
+    ProjectIamPolicyCoordinator coordinator =
+        new ProjectIamPolicyCoordinator(store, registry, Duration.ofMillis(1));
+    store.conflicts.set(2);
+
+    addBinding(coordinator, "roles/role");
+
+    assertEquals(1, store.writes.get());
+    assertEquals(1, store.policy.getBindings().size());
+    assertEquals(2, policyCount("conflict"));
+  }
+
+  @Test
+  void update_skipsWriteWhenNothingChanged() throws Exception {
+    ProjectIamPolicyCoordinator coordinator =
+        new ProjectIamPolicyCoordinator(store, registry, Duration.ofMillis(1));
+
+    coordinator.update(PROJECT_ID, policy -> false);
+
+    assertEquals(0, store.writes.get());
+  }
+
+  private static void addBinding(ProjectIamPolicyCoordinator coordinator, String role) {
+    try {
+      coordinator.update(
+          PROJECT_ID,
+          policy -> policy.getBindings().add(new Binding().setRole(role).setMembers(List.of())));
+    } catch (IOException | InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private double policyCount(String event) {
+    return registry.counter(ProjectIamPolicyCoordinator.POLICY_METRIC, "event", event).count();
+  }
+
+  /** Policy store that hands out copies and can fail writes with etag conflicts. */
+  private static class FakePolicyStore implements ProjectIamPolicyCoordinator.PolicyStore {
+    private final AtomicInteger writes = new AtomicInteger();
+    private final AtomicInteger conflicts = new AtomicInteger();
+    private Policy policy = new Policy().setEtag("etag");
+
+    @Override
+    public synchronized Policy get(String projectId) throws IOException {
+      return policy.clone();
+    }
+
+    @Override
+    public synchronized void set(String projectId, Policy newPolicy) throws IOException {
+      if (conflicts.getAndDecrement() > 0) {
+        throw new GoogleJsonResponseException(
+            new HttpResponseException.Builder(409, "etag mismatch", new HttpHeaders()),
+            /* details= */ null);
+      }
+      writes.incrementAndGet();
+      policy = newPolicy;
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package bio.terra.workspace.service.iam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bio.terra.common.exception.ErrorReportException;
+import bio.terra.workspace.app.configuration.external.AzureConfiguration;
+import bio.terra.workspace.app.configuration.external.FeatureConfiguration;
+import bio.terra.workspace.app.configuration.external.RequestFanoutConfiguration;
+import bio.terra.workspace.app.configuration.external.SamConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.common.utils.RequestFanoutExecutor;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import bio.terra.workspace.service.resource.controlled.model.ManagedByType;
+import bio.terra.workspace.service.workspace.WsmApplicationService;
+import bio.terra.workspace.service.workspace.model.WsmApplication;
+import bio.terra.workspace.service.workspace.model.WsmWorkspaceApplication;
+import io.opentelemetry.api.OpenTelemetry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.broadinstitute.dsde.workbench.client.sam.ApiException;
+import org.broadinstitute.dsde.workbench.client.sam.api.ResourcesApi;
+import org.broadinstitute.dsde.workbench.client.sam.api.UsersApi;
+import org.broadinstitute.dsde.workbench.client.sam.model.CreateResourceRequestV2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.http.HttpStatus;
+
+/** Tests of the bulk Sam create against a mocked Sam; SamServiceTest covers the rest with Sam. */
+@Tag("unit")
+@BaseTest
+class SamServiceBulkCreateTest {
+  private final UUID workspaceUuid = UUID.randomUUID();
+  private final AuthenticatedUserRequest userRequest =
+      new AuthenticatedUserRequest().token(Optional.of("token"));
+
+  private WsmApplicationService applicationService;
+  private RequestFanoutExecutor requestFanoutExecutor;
+  private ResourcesApi resourcesApi;
+  private SamService samService;
+
+  @BeforeEach
+  void setup() throws Exception {
+    FeatureConfiguration features = new FeatureConfiguration();
+    features.setAzureControlPlaneEnabled(true);
+    AzureConfiguration azureConfiguration = new AzureConfiguration();
+    azureConfiguration.setWsmServiceManagedIdentity("wsm-identity");
+    applicationService = mock(WsmApplicationService.class);
+    requestFanoutExecutor = new RequestFanoutExecutor(new RequestFanoutConfiguration());
+    resourcesApi = mock(ResourcesApi.class);
+    UsersApi usersApi = mock(UsersApi.class);
+
+    samService =
+        spy(
+            new SamService(
+                new SamConfiguration(),
+                features,
+                azureConfiguration,
+                mock(SamUserFactory.class),
+                OpenTelemetry.noop(),
+                applicationService,
+                requestFanoutExecutor));
+    doReturn(resourcesApi).when(samService).samResourcesApi(any());
+    doReturn(usersApi).when(samService).samUsersApi(any());
+    doReturn("wsm-token").when(samService).getWsmServiceAccountToken();
+    doReturn(true).when(samService).wsmServiceAccountRegistered(usersApi);
+  }
+
+  @AfterEach
+  void cleanup() {
+    requestFanoutExecutor.shutdown();
+  }
+
+  @Test
+  void createControlledResources_boundsConcurrentCalls() throws Exception {
+    List<ControlledResource> resources = makeFlexResources(8);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              TimeUnit.MILLISECONDS.sleep(50);
+              inFlight.decrementAndGet();
+              return null;
+            })
+        .when(resourcesApi)
+        .createResourceV2(any(), any());
+
+    Map<UUID, RuntimeException> failures =
+        samService.createControlledResources(resources, Map.of(), userRequest, 2);
+
+    assertTrue(failures.isEmpty());
+    verify(resourcesApi, times(8)).createResourceV2(any(), any());
+    assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+  }
+
+  @Test
+  void createControlledResources_collectsFailuresPerResource() throws Exception {
+    List<ControlledResource> resources = makeFlexResources(3);
+    ControlledResource failing = resources.get(1);
+    ControlledResource existing = resources.get(2);
+    doThrow(new ApiException(HttpStatus.BAD_REQUEST.value(), "bad request"))
+        .when(resourcesApi)
+        .createResourceV2(any(), argThat(isRequestFor(failing)));
+    // A resource that already exists was created by an earlier attempt, which is not a failure
+    doThrow(new ApiException(HttpStatus.CONFLICT.value(), "conflict"))
+        .when(resourcesApi)
+        .createResourceV2(any(), argThat(isRequestFor(existing)));
+
+    Map<UUID, RuntimeException> failures =
+        samService.createControlledResources(resources, Map.of(), userRequest, 2);
+
+    assertEquals(1, failures.size());
+    assertInstanceOf(ErrorReportException.class, failures.get(failing.getResourceId()));
+    verify(resourcesApi, times(3)).createResourceV2(any(), any());
+  }
+
+  @Test
+  void createControlledResources_looksUpEachApplicationOnce() throws Exception {
+    WsmWorkspaceApplication application =
+        new WsmWorkspaceApplication()
+            .workspaceUuid(workspaceUuid)
+            .application(new WsmApplication().applicationId("app").serviceAccount("app@sa.com"))
+            .enabled(true);
+    when(applicationService.getWorkspaceApplication(workspaceUuid, "app")).thenReturn(application);
+    List<ControlledResource> resources =
+        List.of(makeAppResource("app"), makeAppResource("app"), makeAppResource("app"));
+
+    Map<UUID, RuntimeException> failures =
+        samService.createControlledResources(resources, Map.of(), userRequest, 2);
+
+    assertTrue(failures.isEmpty());
+    verify(applicationService, times(1)).getWorkspaceApplication(workspaceUuid, "app");
+    verify(resourcesApi, times(3)).createResourceV2(any(), any());
+  }
+
+  @Test
+  void createControlledResources_interruptWaitsForOutstandingCreates() throws Exception {
+    List<ControlledResource> resources = makeFlexResources(2);
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    AtomicBoolean firstFinished = new AtomicBoolean();
+    doAnswer(
+            invocation -> {
+              firstStarted.countDown();
+              releaseFirst.await();
+              firstFinished.set(true);
+              return null;
+            })
+        .when(resourcesApi)
+        .createResourceV2(any(), argThat(isRequestFor(resources.get(0))));
+
+    AtomicReference<Exception> thrown = new AtomicReference<>();
+    AtomicBoolean finishedWhenThrown = new AtomicBoolean();
+    Thread caller =
+        new Thread(
+            () -> {
+              try {
+                samService.createControlledResources(resources, Map.of(), userRequest, 1);
+              } catch (Exception e) {
+                finishedWhenThrown.set(firstFinished.get());
+                thrown.set(e);
+              }
+            });
+    caller.start();
+    assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+    // The caller is waiting for a permit for the second resource
+    caller.interrupt();
+    TimeUnit.MILLISECONDS.sleep(100);
+    assertFalse(firstFinished.get());
+    releaseFirst.countDown();
+    caller.join(TimeUnit.SECONDS.toMillis(10));
+
+    assertInstanceOf(InterruptedException.class, thrown.get());
+    // The caller deletes the Sam resources next, so the create must be over by then
+    assertTrue(finishedWhenThrown.get());
+    verify(resourcesApi, times(1)).createResourceV2(any(), any());
+  }
+
+  private List<ControlledResource> makeFlexResources(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                (ControlledResource)
+                    ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid)
+                        .build())
+        .toList();
+  }
+
+  private ControlledResource makeAppResource(String applicationId) {
+    return ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid)
+        .common(
+            ControlledResourceFixtures.makeDefaultControlledResourceFieldsBuilder()
+                .workspaceUuid(workspaceUuid)
+                .managedBy(ManagedByType.MANAGED_BY_APPLICATION)
+                .applicationId(applicationId)
+                .build())
+        .build();
+  }
+
+  private static ArgumentMatcher<CreateResourceRequestV2> isRequestFor(
+      ControlledResource resource) {
+    return request ->
+        request != null && resource.getResourceId().toString().equals(request.getResourceId());
+  }
+}
@@ -0,0 +1,205 @@
+package bio.terra.workspace.service.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import bio.terra.common.stairway.StairwayComponent;
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.logging.WorkspaceActivityLogHook;
+import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.service.job.exception.InvalidResultStateException;
+import bio.terra.workspace.service.resource.model.WsmResourceStateRule;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class InlineFlightRunnerTest {
+  private static final String FAIL_AT = "failAt";
+  private static final String FAIL_UNDO_AT = "failUndoAt";
+  private static final String FAIL_FATALLY = "failFatally";
+  private static final List<String> calls = new CopyOnWriteArrayList<>();
+
+  private WorkspaceActivityLogHook activityLogHook;
+  private JobIndexHook jobIndexHook;
+  private MeterRegistry registry;
+  private InlineFlightRunner runner;
+
+  @BeforeEach
+  void setup() {
+    calls.clear();
+    activityLogHook = mock(WorkspaceActivityLogHook.class);
+    jobIndexHook = mock(JobIndexHook.class);
+    registry = new SimpleMeterRegistry();
+    runner =
+        new InlineFlightRunner(
+            mock(FlightBeanBag.class),
+            mock(StairwayComponent.class),
+            activityLogHook,
+            jobIndexHook,
+            registry);
+  }
+
+  @Test
+  void run_completedFlightReturnsWorkingMap() throws Exception {
+    FlightMap inputs = new FlightMap();
+    inputs.put(ResourceKeys.RESOURCE_STATE_RULE, WsmResourceStateRule.BROKEN_ON_FAILURE);
+
+    Optional<FlightMap> workingMap = runner.run("job1", InlineTestFlight.class, inputs);
+
+    assertTrue(workingMap.isPresent());
+    assertEquals("step1", workingMap.get().get(JobMapKeys.RESPONSE.getKeyName(), String.class));
+    // The inline run deletes what it created if it fails; the configured rule is left to Stairway
+    assertEquals(
+        WsmResourceStateRule.DELETE_ON_FAILURE,
+        workingMap.get().get(ResourceKeys.RESOURCE_STATE_RULE, WsmResourceStateRule.class));
+    assertEquals(
+        WsmResourceStateRule.BROKEN_ON_FAILURE,
+        inputs.get(ResourceKeys.RESOURCE_STATE_RULE, WsmResourceStateRule.class));
+    assertEquals(List.of("do0", "do1"), calls);
+    verify(jobIndexHook).startFlight(any());
+    verify(activityLogHook).endFlight(argThat(c -> c.getFlightStatus() == FlightStatus.SUCCESS));
+    assertEquals(
+        1,
+        registry
+            .get(InlineFlightRunner.INLINE_METRIC)
+            .tags("flight_class", "InlineTestFlight", "outcome", "success")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void run_failedStepIsUndoneForStairway() throws Exception {
+    FlightMap inputs = new FlightMap();
+    inputs.put(FAIL_AT, 1);
+
+    assertTrue(runner.run("job2", InlineTestFlight.class, inputs).isEmpty());
+
+    assertEquals(List.of("do0", "do1", "undo1", "undo0"), calls);
+    // Stairway reports how the job ends, so the hooks are not told here
+    verify(activityLogHook, never()).endFlight(any());
+    verify(jobIndexHook, never()).endFlight(any());
+    assertEquals(
+        1,
+        registry
+            .get(InlineFlightRunner.INLINE_METRIC)
+            .tags("flight_class", "InlineTestFlight", "outcome", "fallback")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void run_fatalFailureIsUndoneAndEndsTheJob() throws Exception {
+    FlightMap inputs = new FlightMap();
+    inputs.put(FAIL_AT, 1);
+    inputs.put(FAIL_FATALLY, true);
+
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class, () -> runner.run("job4", InlineTestFlight.class, inputs));
+
+    assertEquals("step 1 failed", exception.getMessage());
+    assertEquals(List.of("do0", "do1", "undo1", "undo0"), calls);
+    // Stairway would fail the same way, so the job ends here as a failed flight
+    verify(jobIndexHook)
+        .endFlight(
+            argThat(
+                c ->
+                    c.getFlightStatus() == FlightStatus.ERROR
+                        && c.getResult().getException().orElse(null) == exception));
+    assertEquals(
+        1,
+        registry
+            .get(InlineFlightRunner.INLINE_METRIC)
+            .tags("flight_class", "InlineTestFlight", "outcome", "error")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void run_failedUndoEndsTheJob() throws Exception {
+    FlightMap inputs = new FlightMap();
+    inputs.put(FAIL_AT, 1);
+    inputs.put(FAIL_UNDO_AT, 1);
+
+    assertThrows(
+        InvalidResultStateException.class,
+        () -> runner.run("job3", InlineTestFlight.class, inputs));
+
+    assertEquals(List.of("do0", "do1", "undo1"), calls);
+    verify(jobIndexHook).endFlight(argThat(c -> c.getFlightStatus() == FlightStatus.FATAL));
+  }
+
+  /**
+   * Two steps; the input parameters say which one fails, whether it fails fatally, and which one
+   * fails to undo.
+   */
+  public static class InlineTestFlight extends Flight {
+    public InlineTestFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      Integer failAt = inputParameters.get(FAIL_AT, Integer.class);
+      Integer failUndoAt = inputParameters.get(FAIL_UNDO_AT, Integer.class);
+      boolean failFatally = Boolean.TRUE.equals(inputParameters.get(FAIL_FATALLY, Boolean.class));
+      for (int i = 0; i < 2; i++) {
+        addStep(
+            new InlineTestStep(
+                i,
+                Integer.valueOf(i).equals(failAt),
+                failFatally,
+                Integer.valueOf(i).equals(failUndoAt)));
+      }
+    }
+  }
+
+  private record InlineTestStep(int index, boolean fail, boolean failFatally, boolean failUndo)
+      implements Step {
+    @Override
+    public StepResult doStep(FlightContext context) {
+      calls.add("do" + index);
+      if (fail) {
+        return failFatally
+            ? new StepResult(
+                StepStatus.STEP_RESULT_FAILURE_FATAL,
+                new IllegalStateException("step %d failed".formatted(index)))
+            : new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY);
+      }
+      context.getWorkingMap().put(JobMapKeys.RESPONSE.getKeyName(), "step" + index);
+      context
+          .getWorkingMap()
+          .put(
+              ResourceKeys.RESOURCE_STATE_RULE,
+              context
+                  .getInputParameters()
+                  .get(ResourceKeys.RESOURCE_STATE_RULE, WsmResourceStateRule.class));
+      return StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext context) {
+      calls.add("undo" + index);
+      return failUndo
+          ? new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL)
+          : StepResult.getStepResultSuccess();
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package bio.terra.workspace.service.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bio.terra.workspace.app.configuration.external.JobAdmissionConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.utils.TestFlightContext;
+import bio.terra.workspace.service.job.exception.JobAdmissionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class JobAdmissionControllerTest {
+  private JobAdmissionConfiguration configuration;
+  private MeterRegistry registry;
+  private JobAdmissionController controller;
+
+  @BeforeEach
+  void setup() {
+    configuration = new JobAdmissionConfiguration();
+    configuration.setMaxActiveFlights(2);
+    configuration.setMaxAdmissionWait(Duration.ZERO);
+    registry = new SimpleMeterRegistry();
+    controller = new JobAdmissionController(configuration, registry);
+  }
+
+  @Test
+  void admit_rejectsBeyondPodLimit() throws Exception {
+    controller.admit("job1", JobServiceTestFlight.class);
+    controller.admit("job2", JobServiceTestFlight.class);
+
+    var e =
+        assertThrows(
+            JobAdmissionException.class,
+            () -> controller.admit("job3", JobServiceTestFlight.class));
+    assertEquals(configuration.getRetryAfter(), e.getRetryAfter());
+    assertEquals(
+        1,
+        registry
+            .get(JobAdmissionController.REJECTED_METRIC)
+            .tag("flight_class", "JobServiceTestFlight")
+            .counter()
+            .count());
+    assertEquals(
+        1.0,
+        registry
+            .get(JobAdmissionController.SATURATION_METRIC)
+            .tag("flight_class", "all")
+            .gauge()
+            .value());
+  }
+
+  @Test
+  void admit_rejectsBeyondClassLimit() throws Exception {
+    configuration.setMaxActiveFlightsPerClass(Map.of("JobServiceTestFlight", 1));
+    controller.admit("job1", JobServiceTestFlight.class);
+
+    assertThrows(
+        JobAdmissionException.class, () -> controller.admit("job2", JobServiceTestFlight.class));
+  }
+
+  @Test
+  void flightLifecycle_movesFromQueuedToRunningAndFreesCapacity() throws Exception {
+    controller.admit("job1", JobServiceTestFlight.class);
+    assertEquals(1, controller.queuedCount());
+
+    var context =
+        new TestFlightContext()
+            .flightId("job1")
+            .flightClassName(JobServiceTestFlight.class.getName());
+    controller.startFlight(context);
+    assertEquals(0, controller.queuedCount());
+    assertEquals(1, controller.runningCount());
+
+    // A subflight this pod did not admit still takes up capacity once it starts here
+    controller.startFlight(
+        new TestFlightContext()
+            .flightId("subflight")
+            .flightClassName(JobServiceTestFlight.class.getName()));
+    assertThrows(
+        JobAdmissionException.class, () -> controller.admit("job2", JobServiceTestFlight.class));
+
+    controller.endFlight(context);
+    assertEquals(1, controller.runningCount());
+    controller.admit("job2", JobServiceTestFlight.class);
+  }
+
+  @Test
+  void admit_waitsForFlightToEnd() throws Exception {
+    configuration.setMaxAdmissionWait(Duration.ofSeconds(10));
+    controller.admit("job1", JobServiceTestFlight.class);
+    controller.admit("job2", JobServiceTestFlight.class);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> waiting =
+          executor.submit(
+              () -> {
+                controller.admit("job3", JobServiceTestFlight.class);
+                return null;
+              });
+      controller.release("job1");
+
+      waiting.get(10, TimeUnit.SECONDS);
+      assertEquals(2, controller.queuedCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void admit_interruptIsNotARejection() throws Exception {
+    configuration.setMaxAdmissionWait(Duration.ofSeconds(10));
+    controller.admit("job1", JobServiceTestFlight.class);
+    controller.admit("job2", JobServiceTestFlight.class);
+
+    Thread.currentThread().interrupt();
+    assertThrows(
+        InterruptedException.class, () -> controller.admit("job3", JobServiceTestFlight.class));
+    assertEquals(2, controller.queuedCount());
+    assertEquals(0, registry.find(JobAdmissionController.REJECTED_METRIC).counters().size());
+  }
+
+  @Test
+  void admit_disabledAdmitsEverything() throws Exception {
+    configuration.setEnabled(false);
+    for (int i = 0; i < 5; i++) {
+      controller.admit("job" + i, JobServiceTestFlight.class);
+    }
+    assertEquals(0, controller.queuedCount());
+  }
+}
@@ -0,0 +1,49 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.workspace.service.job.exception.InvalidJobParameterException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A flight for running jobs inline. Its step fails the first run of each job, retryably or, with
+ * the "fatal" input, fatally; any later run of the job succeeds with the job's description.
+ */
+public class JobServiceInlineTestFlight extends Flight {
+  static final String FATAL = "fatal";
+
+  /** Jobs whose step has run at least once, in this JVM */
+  static final Set<String> attemptedJobs = ConcurrentHashMap.newKeySet();
+
+  public JobServiceInlineTestFlight(FlightMap inputParameters, Object applicationContext) {
+    super(inputParameters, applicationContext);
+    addStep(new FailFirstRunStep());
+  }
+
+  private static class FailFirstRunStep implements Step {
+    @Override
+    public StepResult doStep(FlightContext context) {
+      if (attemptedJobs.add(context.getFlightId())) {
+        return Boolean.TRUE.equals(context.getInputParameters().get(FATAL, Boolean.class))
+            ? new StepResult(
+                StepStatus.STEP_RESULT_FAILURE_FATAL,
+                new InvalidJobParameterException("first run failed"))
+            : new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY);
+      }
+      String description =
+          context.getInputParameters().get(JobMapKeys.DESCRIPTION.getKeyName(), String.class);
+      context.getWorkingMap().put(JobMapKeys.RESPONSE.getKeyName(), description);
+      return StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext context) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
+}
@@ -7,21 +7,32 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import bio.terra.common.exception.MissingRequiredFieldException;
 import bio.terra.stairway.FlightDebugInfo;
 import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.app.configuration.external.JobConfiguration;
 import bio.terra.workspace.app.controller.shared.JobApiUtils;
 import bio.terra.workspace.common.BaseSpringBootUnitTest;
 import bio.terra.workspace.common.utils.WorkspaceUnitTestUtils;
 import bio.terra.workspace.db.WorkspaceDao;
+import bio.terra.workspace.generated.model.ApiGcpGcsBucketAttributes;
 import bio.terra.workspace.generated.model.ApiJobReport;
+import bio.terra.workspace.generated.model.ApiResourceAttributesUnion;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.job.exception.InvalidJobIdException;
+import bio.terra.workspace.service.job.exception.InvalidJobParameterException;
 import bio.terra.workspace.service.job.exception.InvalidResultStateException;
 import bio.terra.workspace.service.job.exception.JobNotFoundException;
 import bio.terra.workspace.service.job.model.EnumeratedJob;
 import bio.terra.workspace.service.job.model.EnumeratedJobs;
+import bio.terra.workspace.service.job.model.JobIndexPageToken;
+import bio.terra.workspace.service.job.model.JobResourceSummary;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.model.WsmResourceType;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
 import bio.terra.workspace.service.workspace.model.OperationType;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +55,7 @@ class JobServiceTest extends BaseSpringBootUnitTest {
   @Autowired private JobService jobService;
   @Autowired private JobApiUtils jobApiUtils;
   @Autowired private WorkspaceDao workspaceDao;
+  @Autowired private JobConfiguration jobConfiguration;
 
   /**
    * Reset the {@link JobService} {@link FlightDebugInfo} after each test so that future submissions
@@ -140,6 +152,95 @@ class JobServiceTest extends BaseSpringBootUnitTest {
     testEnumCount(jobIds2, workspace2, 4, 0, 2, pageToken);
   }
 
+  @Test
+  void enumerateFromJobIndex() {
+    UUID workspaceUuid = WorkspaceUnitTestUtils.createWorkspaceWithoutCloudContext(workspaceDao);
+    List<String> jobIds = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      jobIds.add(runFlight(workspaceUuid, makeDescription(i)));
+    }
+
+    jobConfiguration.setIndexEnumerationEnabled(true);
+    try {
+      EnumeratedJobs firstPage =
+          jobService.enumerateJobs(workspaceUuid, 2, null, null, null, null, null);
+      assertEquals(3, firstPage.getTotalResults());
+      assertEquals(
+          jobIds.subList(0, 2),
+          firstPage.getResults().stream().map(EnumeratedJob::getJobId).toList());
+      assertEquals(makeDescription(1), firstPage.getResults().get(1).getJobDescription());
+      assertTrue(JobIndexPageToken.decode(firstPage.getPageToken()).isPresent());
+
+      EnumeratedJobs secondPage =
+          jobService.enumerateJobs(
+              workspaceUuid, 2, firstPage.getPageToken(), null, null, null, null);
+      assertEquals(
+          jobIds.subList(2, 3),
+          secondPage.getResults().stream().map(EnumeratedJob::getJobId).toList());
+
+      EnumeratedJobs lastPage =
+          jobService.enumerateJobs(
+              workspaceUuid, 2, secondPage.getPageToken(), null, null, null, null);
+      assertTrue(lastPage.getResults().isEmpty());
+    } finally {
+      jobConfiguration.setIndexEnumerationEnabled(false);
+    }
+  }
+
+  @Test
+  void enumerateJobs_reportsSummaryOfMissingResource() {
+    UUID workspaceUuid = WorkspaceUnitTestUtils.createWorkspaceWithoutCloudContext(workspaceDao);
+    UUID resourceId = UUID.randomUUID();
+    ApiResourceAttributesUnion attributes =
+        new ApiResourceAttributesUnion()
+            .gcpGcsBucket(new ApiGcpGcsBucketAttributes().bucketName("deleted-bucket"));
+    // The resource has no row, as when it was deleted or its create failed
+    String jobId =
+        jobService
+            .newJob()
+            .description("summary")
+            .flightClass(JobServiceTestFlight.class)
+            .userRequest(userRequest)
+            .workspaceId(workspaceUuid.toString())
+            .operationType(OperationType.DELETE)
+            .resourceType(WsmResourceType.CONTROLLED_GCP_GCS_BUCKET)
+            .resourceName("deleted-bucket")
+            .stewardshipType(StewardshipType.CONTROLLED)
+            .resourceAttributes(attributes)
+            .addParameter(ResourceKeys.RESOURCE_ID, resourceId.toString())
+            .submit();
+    jobService.waitForJob(jobId);
+
+    JobResourceSummary expected =
+        new JobResourceSummary(
+            workspaceUuid,
+            resourceId,
+            "deleted-bucket",
+            WsmResourceType.CONTROLLED_GCP_GCS_BUCKET,
+            StewardshipType.CONTROLLED,
+            attributes);
+    EnumeratedJob fromStairway =
+        jobService
+            .enumerateJobs(workspaceUuid, 10, null, null, null, null, null)
+            .getResults()
+            .get(0);
+    assertTrue(fromStairway.getResource().isEmpty());
+    assertEquals(Optional.of(expected), fromStairway.getResourceSummary());
+
+    jobConfiguration.setIndexEnumerationEnabled(true);
+    try {
+      EnumeratedJob fromIndex =
+          jobService
+              .enumerateJobs(workspaceUuid, 10, null, null, null, null, null)
+              .getResults()
+              .get(0);
+      assertTrue(fromIndex.getResource().isEmpty());
+      assertEquals(Optional.of(expected), fromIndex.getResourceSummary());
+    } finally {
+      jobConfiguration.setIndexEnumerationEnabled(false);
+    }
+  }
+
   private void testSingleRetrieval(List<String> fids) {
     FlightState flightState = jobService.retrieveJob(fids.get(2));
     ApiJobReport response = jobApiUtils.mapFlightStateToApiJobReport(flightState);
@@ -170,7 +271,7 @@ class JobServiceTest extends BaseSpringBootUnitTest {
     assertEquals(expectedCount, jobList.getResults().size());
     int index = expectedOffset;
     for (EnumeratedJob job : jobList.getResults()) {
-      ApiJobReport jobReport = jobApiUtils.mapFlightStateToApiJobReport(job.getFlightState());
+      ApiJobReport jobReport = jobApiUtils.mapEnumeratedJobToApiJobReport(job);
       validateJobReport(jobReport, index, fids);
       index++;
     }
@@ -207,6 +308,56 @@ class JobServiceTest extends BaseSpringBootUnitTest {
     assertThat(jr.getStatusCode(), equalTo(HttpStatus.I_AM_A_TEAPOT.value()));
   }
 
+  @Test
+  void submitAndWait_retryableInlineFailureFallsBackToStairway() {
+    UUID workspaceUuid = WorkspaceUnitTestUtils.createWorkspaceWithoutCloudContext(workspaceDao);
+    String jobId = UUID.randomUUID().toString();
+    boolean configured = jobConfiguration.isInlineExecutionEnabled();
+    jobConfiguration.setInlineExecutionEnabled(true);
+    try {
+      String result = newInlineJob(workspaceUuid, jobId, false).submitAndWait(String.class);
+
+      assertEquals("inline fallback", result);
+      // The inline run failed and the job ran again in Stairway, as the same job
+      assertTrue(JobServiceInlineTestFlight.attemptedJobs.contains(jobId));
+      FlightState flightState = jobService.retrieveJob(jobId);
+      assertEquals(FlightStatus.SUCCESS, flightState.getFlightStatus());
+      assertEquals(JobServiceInlineTestFlight.class.getName(), flightState.getClassName());
+    } finally {
+      jobConfiguration.setInlineExecutionEnabled(configured);
+    }
+  }
+
+  @Test
+  void submitAndWait_fatalInlineFailureEndsTheJob() {
+    UUID workspaceUuid = WorkspaceUnitTestUtils.createWorkspaceWithoutCloudContext(workspaceDao);
+    String jobId = UUID.randomUUID().toString();
+    boolean configured = jobConfiguration.isInlineExecutionEnabled();
+    jobConfiguration.setInlineExecutionEnabled(true);
+    try {
+      JobBuilder job = newInlineJob(workspaceUuid, jobId, true);
+      assertThrows(InvalidJobParameterException.class, () -> job.submitAndWait(String.class));
+
+      // A fatal failure would fail the same way in Stairway, so the job is never submitted there
+      assertThrows(JobNotFoundException.class, () -> jobService.retrieveJob(jobId));
+    } finally {
+      jobConfiguration.setInlineExecutionEnabled(configured);
+    }
+  }
+
+  private JobBuilder newInlineJob(UUID workspaceUuid, String jobId, boolean fatal) {
+    return jobService
+        .newJob()
+        .jobId(jobId)
+        .description("inline fallback")
+        .flightClass(JobServiceInlineTestFlight.class)
+        .userRequest(userRequest)
+        .workspaceId(workspaceUuid.toString())
+        .operationType(OperationType.CREATE)
+        .inlineEligible(true)
+        .addParameter(JobServiceInlineTestFlight.FATAL, fatal);
+  }
+
   // Submit a flight; wait for it to finish; return the flight id
   // Use the jobId defaulting in the JobBuilder
   private String runFlight(UUID workspaceUuid, String description) {
@@ -36,6 +36,8 @@ class StairwayInitializerServiceTest {
   @Mock private StairwayComponent stairwayComponent;
   @Mock private FlightBeanBag flightBeanBag;
   @Mock private FlightMetricsHook flightMetricsHook;
+  @Mock private JobIndexHook jobIndexHook;
+  @Mock private JobAdmissionController jobAdmissionController;
 
   private StairwayInitializerService stairwayInitializerService;
 
@@ -50,7 +52,9 @@ class StairwayInitializerServiceTest {
             flightBeanBag,
             mock(ObjectMapper.class),
             OpenTelemetry.noop(),
-            flightMetricsHook);
+            flightMetricsHook,
+            jobIndexHook,
+            jobAdmissionController);
   }
 
   @Test
@@ -74,13 +78,15 @@ class StairwayInitializerServiceTest {
         stairwayOptionsBuilder.getContext(),
         is(flightBeanBag));
     assertThat(
-        "Stairway is initialized with logging, monitoring, and activity log hooks",
+        "Stairway is initialized with logging, monitoring, activity log, job index and admission hooks",
         stairwayOptionsBuilder.getHooks(),
         contains(
             instanceOf(StairwayLoggingHook.class),
             instanceOf(MonitoringHook.class),
             is(flightMetricsHook),
-            is(workspaceActivityLogHook)));
+            is(workspaceActivityLogHook),
+            is(jobIndexHook),
+            is(jobAdmissionController)));
     assertThat(
         "Stairway is initialized with exception serializer",
         stairwayOptionsBuilder.getExceptionSerializer(),
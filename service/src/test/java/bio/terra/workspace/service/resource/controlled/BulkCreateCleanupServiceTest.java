@@ -0,0 +1,107 @@
+package bio.terra.workspace.service.resource.controlled;
+
+import static bio.terra.workspace.service.resource.controlled.ControlledResourceBulkCreateService.JOB_ID_PREFIX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bio.terra.workspace.app.configuration.external.BulkResourceCreateConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.exception.InternalLogicException;
+import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.db.CronjobDao;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class BulkCreateCleanupServiceTest {
+  private final UUID workspaceUuid = UUID.randomUUID();
+
+  private ResourceDao resourceDao;
+  private SamService samService;
+  private BulkCreateCleanupService cleanupService;
+
+  @BeforeEach
+  void setup() {
+    resourceDao = mock(ResourceDao.class);
+    samService = mock(SamService.class);
+    when(samService.getWsmServiceAccountToken()).thenReturn("wsm-token");
+    cleanupService =
+        new BulkCreateCleanupService(
+            new BulkResourceCreateConfiguration(), resourceDao, mock(CronjobDao.class), samService);
+  }
+
+  @Test
+  void cleanupStaleResources_deletesSamResourceThenRecord() throws Exception {
+    Instant cutoff = Instant.now();
+    ControlledResource resource = makeStaleResource();
+    when(resourceDao.listStaleCreatingResources(eq(JOB_ID_PREFIX), eq(cutoff), anyInt()))
+        .thenReturn(List.of(resource));
+
+    assertEquals(1, cleanupService.cleanupStaleResources(cutoff));
+
+    verify(samService).deleteControlledResource(resource, "wsm-token");
+    verify(resourceDao)
+        .createResourcesFailure(
+            workspaceUuid, Set.of(resource.getResourceId()), resource.getFlightId());
+  }
+
+  @Test
+  void cleanupStaleResources_keepsRecordWhoseSamDeleteFails() throws Exception {
+    ControlledResource failing = makeStaleResource();
+    ControlledResource deleted = makeStaleResource();
+    when(resourceDao.listStaleCreatingResources(any(), any(), anyInt()))
+        .thenReturn(List.of(failing, deleted));
+    doThrow(new InternalLogicException("sam failed"))
+        .when(samService)
+        .deleteControlledResource(failing, "wsm-token");
+
+    assertEquals(1, cleanupService.cleanupStaleResources(Instant.now()));
+
+    // The failed record stays CREATING for the next run
+    verify(resourceDao, never())
+        .createResourcesFailure(any(), eq(Set.of(failing.getResourceId())), any());
+    verify(resourceDao).createResourcesFailure(any(), eq(Set.of(deleted.getResourceId())), any());
+    // A short batch is the last one
+    verify(resourceDao, times(1)).listStaleCreatingResources(any(), any(), anyInt());
+  }
+
+  @Test
+  void cleanupStaleResources_interruptStopsTheRun() throws Exception {
+    ControlledResource interrupted = makeStaleResource();
+    ControlledResource skipped = makeStaleResource();
+    when(resourceDao.listStaleCreatingResources(any(), any(), anyInt()))
+        .thenReturn(List.of(interrupted, skipped));
+    doThrow(new InterruptedException())
+        .when(samService)
+        .deleteControlledResource(interrupted, "wsm-token");
+
+    assertEquals(0, cleanupService.cleanupStaleResources(Instant.now()));
+
+    verify(samService, never()).deleteControlledResource(skipped, "wsm-token");
+    verify(resourceDao, never()).createResourcesFailure(any(), any(), any());
+    // Clear the flag so it does not leak into other tests on this thread
+    assertTrue(Thread.interrupted());
+  }
+
+  private ControlledResource makeStaleResource() {
+    return ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+  }
+}
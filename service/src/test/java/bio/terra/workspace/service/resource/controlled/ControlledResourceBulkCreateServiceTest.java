@@ -0,0 +1,204 @@
+package bio.terra.workspace.service.resource.controlled;
+
+import static bio.terra.workspace.service.resource.controlled.ControlledResourceBulkCreateService.JOB_ID_PREFIX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bio.terra.common.exception.ValidationException;
+import bio.terra.workspace.app.configuration.external.BulkResourceCreateConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.exception.InternalLogicException;
+import bio.terra.workspace.common.fixtures.ControlledGcpResourceFixtures;
+import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
+import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.logging.WorkspaceActivityLogService;
+import bio.terra.workspace.service.resource.controlled.ControlledResourceBulkCreateService.BulkCreateResult;
+import bio.terra.workspace.service.resource.controlled.cloud.any.flexibleresource.ControlledFlexibleResource;
+import bio.terra.workspace.service.resource.controlled.model.ControlledResource;
+import bio.terra.workspace.service.resource.exception.DuplicateResourceException;
+import bio.terra.workspace.service.workspace.model.OperationType;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class ControlledResourceBulkCreateServiceTest {
+  private final UUID workspaceUuid = UUID.randomUUID();
+  private final AuthenticatedUserRequest userRequest =
+      new AuthenticatedUserRequest().token(Optional.of("token"));
+
+  private ResourceDao resourceDao;
+  private SamService samService;
+  private WorkspaceActivityLogService activityLogService;
+  private BulkResourceCreateConfiguration configuration;
+  private ControlledResourceBulkCreateService bulkCreateService;
+
+  @BeforeEach
+  void setup() {
+    resourceDao = mock(ResourceDao.class);
+    samService = mock(SamService.class);
+    activityLogService = mock(WorkspaceActivityLogService.class);
+    configuration = new BulkResourceCreateConfiguration();
+    bulkCreateService =
+        new ControlledResourceBulkCreateService(
+            resourceDao, samService, activityLogService, configuration);
+  }
+
+  @Test
+  void createControlledResources_reportsEachResource() throws Exception {
+    ControlledFlexibleResource created = makeFlexResource();
+    ControlledFlexibleResource samFailed = makeFlexResource();
+    ControlledFlexibleResource duplicate = makeFlexResource();
+    RuntimeException samException = new RuntimeException("sam failed");
+    when(resourceDao.createResourcesStart(any(), startsWith(JOB_ID_PREFIX)))
+        .thenReturn(Set.of(created.getResourceId(), samFailed.getResourceId()));
+    when(samService.createControlledResources(
+            eq(List.of(created, samFailed)), any(), eq(userRequest), anyInt()))
+        .thenReturn(Map.of(samFailed.getResourceId(), samException));
+    when(resourceDao.createResourcesComplete(
+            eq(workspaceUuid),
+            eq(Set.of(created.getResourceId())),
+            eq(Set.of(samFailed.getResourceId())),
+            startsWith(JOB_ID_PREFIX)))
+        .thenReturn(List.of(created));
+
+    List<BulkCreateResult> results =
+        bulkCreateService.createControlledResources(
+            List.of(duplicate, created, samFailed), Map.of(), userRequest);
+
+    assertEquals(
+        List.of(duplicate.getResourceId(), created.getResourceId(), samFailed.getResourceId()),
+        results.stream().map(BulkCreateResult::resourceId).toList());
+    assertInstanceOf(DuplicateResourceException.class, results.get(0).exception());
+    assertNull(results.get(0).resource());
+    assertEquals(created.getResourceId(), results.get(1).resource().getResourceId());
+    assertNull(results.get(1).exception());
+    assertSame(samException, results.get(2).exception());
+    verify(resourceDao, never()).createResourcesFailure(any(), any(), any());
+    verify(activityLogService)
+        .writeActivities(
+            eq(userRequest),
+            eq(workspaceUuid),
+            eq(OperationType.CREATE),
+            eq(List.of(created.getResourceId().toString())),
+            any());
+  }
+
+  @Test
+  void createControlledResources_unexpectedFailureLeavesNothingBehind() throws Exception {
+    ControlledFlexibleResource resource = makeFlexResource();
+    when(resourceDao.createResourcesStart(any(), anyString()))
+        .thenReturn(Set.of(resource.getResourceId()));
+    when(samService.createControlledResources(any(), any(), any(), anyInt()))
+        .thenThrow(new InternalLogicException("unexpected"));
+
+    assertThrows(
+        InternalLogicException.class,
+        () ->
+            bulkCreateService.createControlledResources(
+                List.of(resource), Map.of(), userRequest));
+
+    verify(samService).deleteControlledResource(resource, "token");
+    verify(resourceDao)
+        .createResourcesFailure(eq(workspaceUuid), eq(Set.of(resource.getResourceId())), any());
+    verify(resourceDao, never()).createResourcesComplete(any(), any(), any(), any());
+  }
+
+  @Test
+  void createControlledResources_failureAfterSamLeavesNothingBehind() throws Exception {
+    ControlledFlexibleResource resource = makeFlexResource();
+    when(resourceDao.createResourcesStart(any(), anyString()))
+        .thenReturn(Set.of(resource.getResourceId()));
+    when(samService.createControlledResources(any(), any(), any(), anyInt()))
+        .thenReturn(Map.of());
+    when(resourceDao.createResourcesComplete(any(), any(), any(), any()))
+        .thenThrow(new InternalLogicException("database failed"));
+
+    assertThrows(
+        InternalLogicException.class,
+        () ->
+            bulkCreateService.createControlledResources(
+                List.of(resource), Map.of(), userRequest));
+
+    // The Sam resource was created, so it is deleted along with the record
+    verify(samService).deleteControlledResource(resource, "token");
+    verify(resourceDao)
+        .createResourcesFailure(eq(workspaceUuid), eq(Set.of(resource.getResourceId())), any());
+    verify(activityLogService, never()).writeActivities(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void createControlledResources_activityLogFailureStillReportsCreates() throws Exception {
+    ControlledFlexibleResource resource = makeFlexResource();
+    when(resourceDao.createResourcesStart(any(), anyString()))
+        .thenReturn(Set.of(resource.getResourceId()));
+    when(samService.createControlledResources(any(), any(), any(), anyInt()))
+        .thenReturn(Map.of());
+    when(resourceDao.createResourcesComplete(any(), any(), any(), any()))
+        .thenReturn(List.of(resource));
+    doThrow(new InternalLogicException("activity log failed"))
+        .when(activityLogService)
+        .writeActivities(any(), any(), any(), any(), any());
+
+    List<BulkCreateResult> results =
+        bulkCreateService.createControlledResources(List.of(resource), Map.of(), userRequest);
+
+    assertEquals(resource.getResourceId(), results.get(0).resource().getResourceId());
+    assertNull(results.get(0).exception());
+    verify(samService, never()).deleteControlledResource(any(), anyString());
+    verify(resourceDao, never()).createResourcesFailure(any(), any(), any());
+  }
+
+  @Test
+  void createControlledResources_rejectsInvalidBatches() {
+    configuration.setMaxResources(2);
+    assertThrows(
+        ValidationException.class,
+        () ->
+            bulkCreateService.createControlledResources(
+                List.of(makeFlexResource(), makeFlexResource(), makeFlexResource()),
+                Map.of(),
+                userRequest));
+
+    ControlledResource bucket =
+        ControlledGcpResourceFixtures.makeDefaultControlledGcsBucketBuilder(workspaceUuid).build();
+    assertThrows(
+        ValidationException.class,
+        () ->
+            bulkCreateService.createControlledResources(
+                List.of(makeFlexResource(), bucket), Map.of(), userRequest));
+
+    ControlledFlexibleResource resource = makeFlexResource();
+    assertThrows(
+        ValidationException.class,
+        () ->
+            bulkCreateService.createControlledResources(
+                List.of(resource, resource), Map.of(), userRequest));
+    verify(resourceDao, never()).createResourcesStart(any(), any());
+  }
+
+  private ControlledFlexibleResource makeFlexResource() {
+    return ControlledResourceFixtures.makeDefaultFlexResourceBuilder(workspaceUuid).build();
+  }
+}
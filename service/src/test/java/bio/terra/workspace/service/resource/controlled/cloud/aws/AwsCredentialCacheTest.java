@@ -0,0 +1,182 @@
+package bio.terra.workspace.service.resource.controlled.cloud.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bio.terra.workspace.app.configuration.external.AwsConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.generated.model.ApiAwsCredentialAccessScope;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sts.model.Credentials;
+
+@Tag("unit")
+@BaseTest
+class AwsCredentialCacheTest {
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+  private static final UUID WORKSPACE_ID = UUID.randomUUID();
+  private static final AwsCredentialCache.Key KEY =
+      new AwsCredentialCache.Key(
+          "subject",
+          "user@example.com",
+          WORKSPACE_ID,
+          UUID.randomUUID(),
+          ApiAwsCredentialAccessScope.READ_ONLY,
+          3600);
+
+  private MeterRegistry registry;
+  private AwsCredentialCache cache;
+  private AtomicInteger vended;
+
+  @BeforeEach
+  void setup() {
+    registry = new SimpleMeterRegistry();
+    cache =
+        new AwsCredentialCache(
+            new AwsConfiguration.CredentialCaching(), registry, Clock.fixed(NOW, ZoneOffset.UTC));
+    vended = new AtomicInteger();
+  }
+
+  @Test
+  void get_reusesCredentialsUntilSafetyMargin() {
+    Credentials first = cache.get(KEY, () -> vend(Duration.ofMinutes(10)));
+    assertSame(first, cache.get(KEY, () -> vend(Duration.ofMinutes(10))));
+
+    // Within the 5 minute safety margin, so replaced
+    AwsCredentialCache.Key otherKey =
+        new AwsCredentialCache.Key(
+            "subject", "user@example.com", WORKSPACE_ID, UUID.randomUUID(), null, 3600);
+    cache.get(otherKey, () -> vend(Duration.ofMinutes(4)));
+    cache.get(otherKey, () -> vend(Duration.ofMinutes(4)));
+
+    assertEquals(3, vended.get());
+    assertEquals(1, count("hit"));
+    assertEquals(3, count("miss"));
+  }
+
+  @Test
+  void get_concurrentMissesShareOneVend() throws Exception {
+    CountDownLatch vending = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Credentials> first =
+        CompletableFuture.supplyAsync(
+            () ->
+                cache.get(
+                    KEY,
+                    () -> {
+                      vending.countDown();
+                      await(release);
+                      return vend(Duration.ofHours(1));
+                    }));
+    vending.await(5, TimeUnit.SECONDS);
+    CompletableFuture<Credentials> second =
+        CompletableFuture.supplyAsync(() -> cache.get(KEY, () -> vend(Duration.ofHours(1))));
+    // Let the second lookup find the vend in flight before it completes
+    while (count("coalesced") == 0) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+
+    assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, vended.get());
+  }
+
+  @Test
+  void get_failuresAreNotCached() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.get(
+                KEY,
+                () -> {
+                  throw new IllegalStateException("throttled");
+                }));
+    cache.get(KEY, () -> vend(Duration.ofHours(1)));
+
+    assertEquals(1, vended.get());
+  }
+
+  @Test
+  void invalidate_dropsUserEntriesInWorkspace() {
+    cache.get(KEY, () -> vend(Duration.ofHours(1)));
+    cache.invalidate(UUID.randomUUID(), "user@example.com");
+    assertEquals(1, cache.size());
+
+    cache.invalidate(WORKSPACE_ID, "USER@example.com");
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_evictsLeastRecentlyUsedCredentialsWhenFull() {
+    AwsConfiguration.CredentialCaching config = new AwsConfiguration.CredentialCaching();
+    config.setMaxEntries(2);
+    cache = new AwsCredentialCache(config, registry, Clock.fixed(NOW, ZoneOffset.UTC));
+    AwsCredentialCache.Key second = keyForResource(UUID.randomUUID());
+    AwsCredentialCache.Key third = keyForResource(UUID.randomUUID());
+
+    Credentials first = cache.get(KEY, () -> vend(Duration.ofHours(1)));
+    cache.get(second, () -> vend(Duration.ofHours(1)));
+    // Reading the first key makes the second the least recently used
+    cache.get(KEY, () -> vend(Duration.ofHours(1)));
+    cache.get(third, () -> vend(Duration.ofHours(1)));
+
+    assertEquals(2, cache.size());
+    assertSame(first, cache.get(KEY, () -> vend(Duration.ofHours(1))));
+    assertEquals("key4", cache.get(second, () -> vend(Duration.ofHours(1))).accessKeyId());
+  }
+
+  @Test
+  void get_disabledAlwaysVends() {
+    AwsConfiguration.CredentialCaching config = new AwsConfiguration.CredentialCaching();
+    config.setEnabled(false);
+    AwsCredentialCache disabled =
+        new AwsCredentialCache(config, registry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    disabled.get(KEY, () -> vend(Duration.ofHours(1)));
+    disabled.get(KEY, () -> vend(Duration.ofHours(1)));
+
+    assertEquals(2, vended.get());
+  }
+
+  private Credentials vend(Duration lifetime) {
+    return Credentials.builder()
+        .accessKeyId("key" + vended.incrementAndGet())
+        .expiration(NOW.plus(lifetime))
+        .build();
+  }
+
+  private static AwsCredentialCache.Key keyForResource(UUID resourceId) {
+    return new AwsCredentialCache.Key(
+        "subject",
+        "user@example.com",
+        WORKSPACE_ID,
+        resourceId,
+        ApiAwsCredentialAccessScope.READ_ONLY,
+        3600);
+  }
+
+  private double count(String result) {
+    return registry.counter(AwsCredentialCache.CACHE_METRIC, "result", result).count();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -38,6 +38,7 @@ import com.azure.resourcemanager.storage.models.StorageAccount;
 import com.azure.resourcemanager.storage.models.StorageAccounts;
 import com.azure.storage.blob.sas.BlobContainerSasPermission;
 import com.azure.storage.common.StorageSharedKeyCredential;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -84,7 +85,8 @@ public class AzureStorageAccessServiceUnitTest extends BaseAzureSpringBootUnitTe
             mockAzureCloudContextService,
             mockFeatureConfiguration(),
             mockAzureConfiguration,
-            mockWorkspaceService());
+            mockWorkspaceService(),
+            new SimpleMeterRegistry());
   }
 
   private ControlledAzureStorageContainerResource buildStorageContainerResource(
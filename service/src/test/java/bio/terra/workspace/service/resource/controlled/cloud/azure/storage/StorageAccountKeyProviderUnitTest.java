@@ -1,8 +1,11 @@
 package bio.terra.workspace.service.resource.controlled.cloud.azure.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import bio.terra.workspace.app.configuration.external.AzureConfiguration;
@@ -18,6 +21,7 @@ import com.azure.resourcemanager.storage.StorageManager;
 import com.azure.resourcemanager.storage.models.StorageAccount;
 import com.azure.resourcemanager.storage.models.StorageAccountKey;
 import com.azure.resourcemanager.storage.models.StorageAccounts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -52,10 +56,15 @@ public class StorageAccountKeyProviderUnitTest extends BaseAzureSpringBootUnitTe
     when(key.value()).thenReturn("fake_key");
     when(storageAccount.getKeys()).thenReturn(List.of(key));
     var storageAccountKeyProvider =
-        new StorageAccountKeyProvider(azureCloudContextService, crlService, azureConfiguration);
+        new StorageAccountKeyProvider(
+            azureCloudContextService, crlService, azureConfiguration, new SimpleMeterRegistry());
 
     var result = storageAccountKeyProvider.getStorageAccountKey(UUID.randomUUID(), "fake_account");
 
     assertEquals(result.getAccountName(), "fake_account");
+    // The key is reused for later tokens on the same account
+    assertSame(
+        result, storageAccountKeyProvider.getStorageAccountKey(UUID.randomUUID(), "fake_account"));
+    verify(storageAccount, times(1)).getKeys();
   }
 }
@@ -0,0 +1,94 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import bio.terra.cloudres.google.storage.StorageCow;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.utils.TestFlightContext;
+import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.resource.controlled.flight.clone.bucket.SignedUrlShard.Status;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.api.services.storagetransfer.v1.model.TransferJob;
+import com.google.cloud.storage.BlobId;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class CleanupSignedUrlShardsStepTest {
+  private static final String PROJECT_ID = "control-plane";
+  private static final String DESTINATION_PROJECT_ID = "destination";
+  private static final String BUCKET = "bucket";
+
+  private Storagetransfer.TransferJobs.Get getJob;
+  private StorageTransferOperationPoller poller;
+  private StorageCow storageCow;
+  private CleanupSignedUrlShardsStep step;
+  private TestFlightContext flightContext;
+
+  @BeforeEach
+  void setup() throws Exception {
+    Storagetransfer storagetransfer = mock(Storagetransfer.class);
+    Storagetransfer.TransferJobs transferJobs = mock(Storagetransfer.TransferJobs.class);
+    getJob = mock(Storagetransfer.TransferJobs.Get.class);
+    when(storagetransfer.transferJobs()).thenReturn(transferJobs);
+    when(transferJobs.get(anyString(), eq(PROJECT_ID))).thenReturn(getJob);
+    poller = mock(StorageTransferOperationPoller.class);
+    storageCow = mock(StorageCow.class);
+    CrlService crlService = mock(CrlService.class);
+    when(crlService.createStorageCow(DESTINATION_PROJECT_ID)).thenReturn(storageCow);
+    step = new CleanupSignedUrlShardsStep(storagetransfer, poller, crlService);
+
+    SignedUrlShard split = new SignedUrlShard(0, "https://shard/0", "shards/shard-00000.tsv");
+    split.setStatus(Status.SUCCEEDED);
+    split.setTransferJobName("transferJobs/wsm-flight-0-1");
+    SignedUrlShard notStarted = new SignedUrlShard(1, "https://shard/1", null);
+    flightContext = new TestFlightContext().flightId("flight");
+    flightContext.getWorkingMap().put(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, PROJECT_ID);
+    flightContext
+        .getWorkingMap()
+        .put(
+            ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS,
+            new StorageTransferInput(UUID.randomUUID(), DESTINATION_PROJECT_ID, BUCKET, List.of()));
+    flightContext
+        .getWorkingMap()
+        .put(ControlledResourceKeys.SIGNED_URL_SHARDS, List.of(split, notStarted));
+  }
+
+  @Test
+  void doStep_deletesShardJobsAndLists() throws Exception {
+    // The job is already deleted, so only the shard list is left to remove
+    when(getJob.execute()).thenReturn(new TransferJob().setStatus("DELETED"));
+
+    StepResult result = step.doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, result.getStepStatus());
+    verify(poller).unwatch("transferJobs/wsm-flight-0-1");
+    verify(storageCow).delete(BlobId.of(BUCKET, "shards/shard-00000.tsv"));
+    verify(storageCow).delete(any(BlobId.class));
+  }
+
+  @Test
+  void doStep_keepsListsWhenAJobCannotBeDeleted() throws Exception {
+    when(getJob.execute()).thenThrow(new IOException("unavailable"));
+
+    StepResult result = step.doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_FAILURE_FATAL, result.getStepStatus());
+    verifyNoInteractions(storageCow);
+  }
+}
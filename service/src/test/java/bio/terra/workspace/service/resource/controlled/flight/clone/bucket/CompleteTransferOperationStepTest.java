@@ -0,0 +1,143 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.utils.TestFlightContext;
+import bio.terra.workspace.service.resource.controlled.exception.StorageTransferServiceTimeoutException;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.api.services.storagetransfer.v1.model.Operation;
+import com.google.api.services.storagetransfer.v1.model.Status;
+import com.google.api.services.storagetransfer.v1.model.TransferJob;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class CompleteTransferOperationStepTest {
+  private static final String JOB_NAME = "transferJobs/wsm-flight";
+  private static final String PROJECT_ID = "control-plane";
+
+  private Storagetransfer storagetransfer;
+  private StorageTransferOperationPoller poller;
+  private TestFlightContext flightContext;
+
+  @BeforeEach
+  void setup() {
+    storagetransfer = mock(Storagetransfer.class);
+    poller = mock(StorageTransferOperationPoller.class);
+    flightContext = new TestFlightContext();
+    flightContext.getWorkingMap().put(ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME, JOB_NAME);
+    flightContext.getWorkingMap().put(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, PROJECT_ID);
+  }
+
+  @Test
+  void doStep_readsFinishedOperationFromPoller() throws Exception {
+    when(poller.getLatestOperation(JOB_NAME))
+        .thenReturn(Optional.of(new Operation().setName("op1").setDone(true)));
+
+    StepResult result =
+        new CompleteTransferOperationStep(storagetransfer, poller, false).doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, result.getStepStatus());
+    verify(poller).watch(JOB_NAME, PROJECT_ID);
+    verify(poller).unwatch(JOB_NAME);
+    verifyNoInteractions(storagetransfer);
+  }
+
+  @Test
+  void doStep_failedOperationIsFatal() throws Exception {
+    when(poller.getLatestOperation(JOB_NAME))
+        .thenReturn(
+            Optional.of(
+                new Operation()
+                    .setName("op1")
+                    .setDone(true)
+                    .setError(new Status().setMessage("access denied"))));
+
+    StepResult result =
+        new CompleteTransferOperationStep(storagetransfer, poller, false).doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_FAILURE_FATAL, result.getStepStatus());
+    verify(poller).unwatch(JOB_NAME);
+  }
+
+  @Test
+  void doStep_yieldsBetweenPollsUntilOperationIsDone() throws Exception {
+    // The job has not started an operation yet, and the poller has not seen it
+    Storagetransfer.TransferJobs transferJobs = mock(Storagetransfer.TransferJobs.class);
+    Storagetransfer.TransferJobs.Get getJob = mock(Storagetransfer.TransferJobs.Get.class);
+    when(storagetransfer.transferJobs()).thenReturn(transferJobs);
+    when(transferJobs.get(JOB_NAME, PROJECT_ID)).thenReturn(getJob);
+    when(getJob.execute()).thenReturn(new TransferJob().setName(JOB_NAME));
+    when(poller.getLatestOperation(JOB_NAME)).thenReturn(Optional.empty());
+    var step = new CompleteTransferOperationStep(storagetransfer, poller, true);
+
+    Instant start = Instant.now();
+    StepResult first = step.doStep(flightContext);
+
+    // The step reruns straight away, leaving the wait to the rerun
+    assertEquals(StepStatus.STEP_RESULT_RERUN, first.getStepStatus());
+    assertTrue(
+        Instant.ofEpochMilli(
+                flightContext
+                    .getWorkingMap()
+                    .get(ControlledResourceKeys.STORAGE_TRANSFER_NEXT_POLL_TIME, Long.class))
+            .isAfter(Instant.now()));
+    assertTrue(
+        Duration.between(start, Instant.now()).compareTo(TransferPollBackoff.INITIAL_INTERVAL) < 0);
+    assertNull(
+        flightContext
+            .getWorkingMap()
+            .get(ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME, String.class));
+    // The first wait is the initial interval, not a doubled one
+    assertEquals(
+        TransferPollBackoff.INITIAL_INTERVAL.toMillis(),
+        flightContext
+            .getWorkingMap()
+            .get(ControlledResourceKeys.STORAGE_TRANSFER_POLL_INTERVAL, Long.class));
+
+    when(poller.getLatestOperation(JOB_NAME))
+        .thenReturn(Optional.of(new Operation().setName("op1").setDone(true)));
+    StepResult second = step.doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, second.getStepStatus());
+    verify(poller).unwatch(JOB_NAME);
+  }
+
+  @Test
+  void doStep_unwatchesJobThatNeverStarted() throws Exception {
+    Storagetransfer.TransferJobs transferJobs = mock(Storagetransfer.TransferJobs.class);
+    Storagetransfer.TransferJobs.Get getJob = mock(Storagetransfer.TransferJobs.Get.class);
+    when(storagetransfer.transferJobs()).thenReturn(transferJobs);
+    when(transferJobs.get(JOB_NAME, PROJECT_ID)).thenReturn(getJob);
+    when(getJob.execute()).thenReturn(new TransferJob().setName(JOB_NAME));
+    when(poller.getLatestOperation(JOB_NAME)).thenReturn(Optional.empty());
+    // A rerun after the time limit for the job to start
+    FlightMap workingMap = flightContext.getWorkingMap();
+    workingMap.put(
+        ControlledResourceKeys.STORAGE_TRANSFER_POLL_DEADLINE,
+        Instant.now().minusSeconds(1).toEpochMilli());
+    workingMap.put(ControlledResourceKeys.STORAGE_TRANSFER_POLL_INTERVAL, 2000L);
+    workingMap.put(ControlledResourceKeys.STORAGE_TRANSFER_BYTES_COPIED, 0L);
+    var step = new CompleteTransferOperationStep(storagetransfer, poller, true);
+
+    assertThrows(StorageTransferServiceTimeoutException.class, () -> step.doStep(flightContext));
+    verify(poller).unwatch(JOB_NAME);
+  }
+}
@@ -0,0 +1,201 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.workspace.common.annotations.BaseTest;
+import bio.terra.workspace.common.utils.TestFlightContext;
+import bio.terra.workspace.service.resource.controlled.flight.clone.bucket.SignedUrlShard.Status;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.api.services.storagetransfer.v1.model.Operation;
+import com.google.api.services.storagetransfer.v1.model.TransferJob;
+import com.google.api.services.storagetransfer.v1.model.UpdateTransferJobRequest;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class RunSignedUrlShardTransfersStepTest {
+  private static final String PROJECT_ID = "control-plane";
+  private static final String FLIGHT_ID = "flight";
+
+  private Storagetransfer storagetransfer;
+  private Storagetransfer.TransferJobs transferJobs;
+  private Storagetransfer.TransferJobs.Get getJob;
+  private StorageTransferOperationPoller poller;
+  private TestFlightContext flightContext;
+
+  @BeforeEach
+  void setup() throws Exception {
+    storagetransfer = mock(Storagetransfer.class);
+    transferJobs = mock(Storagetransfer.TransferJobs.class);
+    getJob = mock(Storagetransfer.TransferJobs.Get.class);
+    when(storagetransfer.transferJobs()).thenReturn(transferJobs);
+    when(transferJobs.get(anyString(), eq(PROJECT_ID))).thenReturn(getJob);
+    poller = mock(StorageTransferOperationPoller.class);
+    flightContext = new TestFlightContext().flightId(FLIGHT_ID);
+    flightContext.getWorkingMap().put(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, PROJECT_ID);
+    flightContext
+        .getWorkingMap()
+        .put(
+            ControlledResourceKeys.DESTINATION_STORAGE_TRANSFER_INPUTS,
+            new StorageTransferInput(UUID.randomUUID(), "project", "bucket", List.of()));
+  }
+
+  @Test
+  void doStep_failedCreateLeavesShardPendingAndReusesItsJob() throws Exception {
+    putShards(new SignedUrlShard(0, "https://list", null));
+    when(getJob.execute()).thenThrow(notFound());
+    Storagetransfer.TransferJobs.Create createJob = mock(Storagetransfer.TransferJobs.Create.class);
+    when(transferJobs.create(any())).thenReturn(createJob);
+    when(createJob.execute())
+        .thenThrow(new IOException("unavailable"))
+        .thenReturn(new TransferJob());
+    var step = new RunSignedUrlShardTransfersStep(storagetransfer, poller, 2, 3);
+    String jobName = RunSignedUrlShardTransfersStep.getShardJobName(FLIGHT_ID, 0, 1);
+
+    StepResult failed = step.doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_FAILURE_RETRY, failed.getStepStatus());
+    SignedUrlShard pending = getShards().get(0);
+    assertEquals(Status.PENDING, pending.getStatus());
+    assertEquals(jobName, pending.getTransferJobName());
+    verify(poller, never()).watch(anyString(), anyString());
+
+    StepResult started = step.doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_RERUN, started.getStepStatus());
+    SignedUrlShard running = getShards().get(0);
+    assertEquals(Status.RUNNING, running.getStatus());
+    assertEquals(jobName, running.getTransferJobName());
+    assertEquals(1, running.getAttempts());
+    verify(poller).watch(jobName, PROJECT_ID);
+  }
+
+  @Test
+  void doStep_shardThatExhaustsItsAttemptsFailsTheStep() throws Exception {
+    String jobName = RunSignedUrlShardTransfersStep.getShardJobName(FLIGHT_ID, 0, 2);
+    SignedUrlShard shard = new SignedUrlShard(0, "https://list", null);
+    shard.setStatus(Status.RUNNING);
+    shard.setAttempts(2);
+    shard.setTransferJobName(jobName);
+    putShards(shard);
+    when(poller.getLatestOperation(jobName))
+        .thenReturn(
+            Optional.of(
+                new Operation()
+                    .setName("op")
+                    .setDone(true)
+                    .setError(
+                        new com.google.api.services.storagetransfer.v1.model.Status()
+                            .setMessage("access denied"))));
+
+    StepResult result =
+        new RunSignedUrlShardTransfersStep(storagetransfer, poller, 2, 2).doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_FAILURE_FATAL, result.getStepStatus());
+    assertTrue(result.getException().orElseThrow().getMessage().contains("shard 0"));
+    assertEquals(Status.FAILED, getShards().get(0).getStatus());
+    verify(poller).unwatch(jobName);
+    // The last job is kept for undo, and no new attempt is started
+    verify(transferJobs, never()).create(any());
+    verify(transferJobs, never()).patch(anyString(), any());
+  }
+
+  @Test
+  void undoStep_deletesTheJobOfEveryStartedShard() throws Exception {
+    String jobName = RunSignedUrlShardTransfersStep.getShardJobName(FLIGHT_ID, 0, 1);
+    SignedUrlShard started = new SignedUrlShard(0, "https://list/0", "shard-0");
+    started.setStatus(Status.RUNNING);
+    started.setTransferJobName(jobName);
+    putShards(started, new SignedUrlShard(1, "https://list/1", "shard-1"));
+    when(getJob.execute()).thenReturn(new TransferJob().setName(jobName).setStatus("ENABLED"));
+    Storagetransfer.TransferJobs.Patch patchJob = mock(Storagetransfer.TransferJobs.Patch.class);
+    when(transferJobs.patch(eq(jobName), any(UpdateTransferJobRequest.class)))
+        .thenReturn(patchJob);
+    when(patchJob.execute()).thenReturn(new TransferJob().setName(jobName).setStatus("DELETED"));
+
+    StepResult result =
+        new RunSignedUrlShardTransfersStep(storagetransfer, poller, 2, 3).undoStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, result.getStepStatus());
+    verify(poller).unwatch(jobName);
+    verify(transferJobs).patch(eq(jobName), any(UpdateTransferJobRequest.class));
+  }
+
+  @Test
+  void failAttempt_clearsJobSoTheNextAttemptGetsANewOne() throws Exception {
+    String firstJob = RunSignedUrlShardTransfersStep.getShardJobName(FLIGHT_ID, 0, 1);
+    SignedUrlShard shard = new SignedUrlShard(0, "https://list", null);
+    shard.setStatus(Status.RUNNING);
+    shard.setAttempts(1);
+    shard.setTransferJobName(firstJob);
+    putShards(shard);
+    when(poller.getLatestOperation(firstJob))
+        .thenReturn(
+            Optional.of(
+                new Operation()
+                    .setName("op")
+                    .setDone(true)
+                    .setError(
+                        new com.google.api.services.storagetransfer.v1.model.Status()
+                            .setMessage("transient"))));
+    // The failed job is found and deleted; the new job does not exist yet
+    when(getJob.execute())
+        .thenReturn(new TransferJob().setName(firstJob).setStatus("ENABLED"))
+        .thenThrow(notFound());
+    Storagetransfer.TransferJobs.Patch patchJob = mock(Storagetransfer.TransferJobs.Patch.class);
+    when(transferJobs.patch(eq(firstJob), any(UpdateTransferJobRequest.class)))
+        .thenReturn(patchJob);
+    when(patchJob.execute()).thenReturn(new TransferJob().setStatus("DELETED"));
+    Storagetransfer.TransferJobs.Create createJob = mock(Storagetransfer.TransferJobs.Create.class);
+    when(transferJobs.create(any())).thenReturn(createJob);
+    when(createJob.execute()).thenReturn(new TransferJob());
+
+    StepResult result =
+        new RunSignedUrlShardTransfersStep(storagetransfer, poller, 2, 3).doStep(flightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_RERUN, result.getStepStatus());
+    SignedUrlShard retried = getShards().get(0);
+    assertEquals(Status.RUNNING, retried.getStatus());
+    assertEquals(2, retried.getAttempts());
+    assertEquals(
+        RunSignedUrlShardTransfersStep.getShardJobName(FLIGHT_ID, 0, 2),
+        retried.getTransferJobName());
+    assertTrue(retried.getLastError().contains("transient"));
+  }
+
+  private void putShards(SignedUrlShard... shards) {
+    flightContext.getWorkingMap().put(ControlledResourceKeys.SIGNED_URL_SHARDS, List.of(shards));
+  }
+
+  private List<SignedUrlShard> getShards() {
+    return flightContext
+        .getWorkingMap()
+        .get(ControlledResourceKeys.SIGNED_URL_SHARDS, new TypeReference<>() {});
+  }
+
+  private static GoogleJsonResponseException notFound() {
+    return new GoogleJsonResponseException(
+        new HttpResponseException.Builder(404, "Not Found", new HttpHeaders()), null);
+  }
+}
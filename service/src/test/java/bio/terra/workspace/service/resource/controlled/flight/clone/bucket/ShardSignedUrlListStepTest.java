@@ -0,0 +1,155 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import com.google.common.net.InetAddresses;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.Inet6Address;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class ShardSignedUrlListStepTest {
+  private static final String HEADER = ShardSignedUrlListStep.TSV_HEADER + "\n";
+
+  @Test
+  void splitList_smallListIsOneLastShard() throws Exception {
+    List<String> shards = new ArrayList<>();
+    List<Boolean> last = new ArrayList<>();
+    ShardSignedUrlListStep.splitList(
+        reader(HEADER + "https://a/1\n\nhttps://a/2\n"),
+        2,
+        (index, contents, isLast) -> {
+          shards.add(contents);
+          last.add(isLast);
+        });
+
+    assertEquals(List.of(HEADER + "https://a/1\nhttps://a/2\n"), shards);
+    assertEquals(List.of(true), last);
+  }
+
+  @Test
+  void splitList_everyShardHasHeaderAndAtMostShardSizeEntries() throws Exception {
+    List<String> shards = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    ShardSignedUrlListStep.splitList(
+        reader(HEADER + "u1\t10\nu2\t20\nu3\t30\nu4\t40\nu5\t50\n"),
+        2,
+        (index, contents, isLast) -> {
+          shards.add(contents);
+          indexes.add(index);
+        });
+
+    assertEquals(
+        List.of(HEADER + "u1\t10\nu2\t20\n", HEADER + "u3\t30\nu4\t40\n", HEADER + "u5\t50\n"),
+        shards);
+    assertEquals(List.of(0, 1, 2), indexes);
+  }
+
+  @Test
+  void splitList_rejectsListWithoutHeader() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ShardSignedUrlListStep.splitList(reader("u1\n"), 2, (i, c, l) -> {}));
+  }
+
+  @Test
+  void shardJobName_uniquePerShardAndAttempt() {
+    assertEquals(
+        "transferJobs/wsm-flight1-3-2",
+        RunSignedUrlShardTransfersStep.getShardJobName("flight1", 3, 2));
+  }
+
+  @Test
+  void validateListUrl_acceptsPublicHttpsUrl() throws Exception {
+    assertEquals(
+        "https://8.8.8.8/list.tsv",
+        ShardSignedUrlListStep.validateListUrl("https://8.8.8.8/list.tsv").toString());
+  }
+
+  @Test
+  void validateListUrl_rejectsOtherSchemesAndNonPublicHosts() {
+    for (String url :
+        List.of(
+            "http://8.8.8.8/list.tsv",
+            "file:///etc/passwd",
+            "https:///list.tsv",
+            "https://127.0.0.1/list.tsv",
+            "https://10.1.2.3/list.tsv",
+            "https://192.168.0.1/list.tsv",
+            "https://169.254.169.254/computeMetadata/v1/",
+            "https://0.0.0.0/list.tsv",
+            "https://[::1]/list.tsv",
+            "https://[fd00::1]/list.tsv",
+            "https://[fe80::1]/list.tsv",
+            "https://100.64.0.1/list.tsv",
+            "https://[::ffff:127.0.0.1]/list.tsv",
+            "https://[::ffff:a9fe:a9fe]/list.tsv")) {
+      assertThrows(
+          IllegalArgumentException.class, () -> ShardSignedUrlListStep.validateListUrl(url), url);
+    }
+  }
+
+  @Test
+  void isPublicAddress_rejectsReservedAndEmbeddedAddresses() throws Exception {
+    for (String address :
+        List.of(
+            "100.64.0.1",
+            "100.127.255.255",
+            "192.0.0.8",
+            "198.18.0.1",
+            "240.0.0.1",
+            "255.255.255.255",
+            "::10.0.0.1",
+            "2002:a00:1::")) {
+      assertFalse(
+          ShardSignedUrlListStep.isPublicAddress(InetAddresses.forString(address)), address);
+    }
+    // A mapped address built by hand, as InetAddress parsing would turn it into IPv4
+    byte[] mapped = new byte[16];
+    mapped[10] = (byte) 0xff;
+    mapped[11] = (byte) 0xff;
+    mapped[12] = 127;
+    mapped[15] = 1;
+    assertFalse(
+        ShardSignedUrlListStep.isPublicAddress(Inet6Address.getByAddress(null, mapped, null)));
+    assertTrue(ShardSignedUrlListStep.isPublicAddress(InetAddresses.forString("100.128.0.1")));
+    assertTrue(ShardSignedUrlListStep.isPublicAddress(InetAddresses.forString("2607:f8b0::1")));
+  }
+
+  @Test
+  void lookupPublicAddresses_rejectsHostResolvingToLoopback() {
+    assertThrows(
+        ShardSignedUrlListStep.NonPublicAddressException.class,
+        () -> ShardSignedUrlListStep.lookupPublicAddresses("localhost"));
+  }
+
+  @Test
+  void limitedInputStream_failsPastTheLimit() throws Exception {
+    byte[] buffer = new byte[8];
+    try (InputStream in =
+        new ShardSignedUrlListStep.LimitedInputStream(new ByteArrayInputStream(new byte[8]), 8)) {
+      assertEquals(8, in.readNBytes(buffer, 0, 8));
+    }
+    try (InputStream in =
+        new ShardSignedUrlListStep.LimitedInputStream(new ByteArrayInputStream(new byte[9]), 8)) {
+      assertThrows(
+          ShardSignedUrlListStep.ListTooLargeException.class,
+          () -> in.readNBytes(buffer.length + 1));
+    }
+  }
+
+  private static BufferedReader reader(String contents) {
+    return new BufferedReader(new StringReader(contents));
+  }
+}
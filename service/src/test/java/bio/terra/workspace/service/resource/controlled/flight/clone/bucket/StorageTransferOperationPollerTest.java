@@ -0,0 +1,94 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import bio.terra.workspace.app.configuration.external.StorageTransferConfiguration;
+import bio.terra.workspace.common.annotations.BaseTest;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.api.services.storagetransfer.v1.model.ListOperationsResponse;
+import com.google.api.services.storagetransfer.v1.model.Operation;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class StorageTransferOperationPollerTest {
+  private static final String JOB_A = "transferJobs/wsm-a";
+  private static final String JOB_B = "transferJobs/wsm-b";
+
+  private Storagetransfer storagetransfer;
+  private Storagetransfer.TransferOperations.List listRequest;
+  private StorageTransferConfiguration configuration;
+  private StorageTransferOperationPoller poller;
+
+  @BeforeEach
+  void setup() throws Exception {
+    storagetransfer = mock(Storagetransfer.class);
+    Storagetransfer.TransferOperations operations = mock(Storagetransfer.TransferOperations.class);
+    listRequest = mock(Storagetransfer.TransferOperations.List.class);
+    when(storagetransfer.transferOperations()).thenReturn(operations);
+    when(operations.list(eq("transferOperations"), anyString())).thenReturn(listRequest);
+    when(listRequest.setPageToken(any())).thenReturn(listRequest);
+    configuration = new StorageTransferConfiguration();
+    poller = new StorageTransferOperationPoller(storagetransfer, configuration);
+  }
+
+  @Test
+  void poll_keepsLatestOperationOfEachWatchedJob() throws Exception {
+    poller.watch(JOB_A, "project");
+    poller.watch(JOB_B, "project");
+    when(listRequest.execute())
+        .thenReturn(
+            new ListOperationsResponse()
+                .setOperations(
+                    List.of(
+                        operation("a1", JOB_A, "2024-01-01T00:00:00Z"),
+                        operation("b1", JOB_B, "2024-01-01T00:00:00Z"),
+                        operation("c1", "transferJobs/wsm-unwatched", "2024-01-01T00:00:00Z")))
+                .setNextPageToken("page2"))
+        .thenReturn(
+            new ListOperationsResponse()
+                .setOperations(List.of(operation("a2", JOB_A, "2024-01-01T00:01:00Z"))));
+
+    poller.poll();
+
+    // Both jobs are in one project, so one list call covers them, over two pages
+    verify(storagetransfer.transferOperations(), times(1)).list(any(), anyString());
+    verify(listRequest, times(2)).execute();
+    assertEquals("a2", poller.getLatestOperation(JOB_A).orElseThrow().getName());
+    assertEquals("b1", poller.getLatestOperation(JOB_B).orElseThrow().getName());
+    assertTrue(poller.getLatestOperation("transferJobs/wsm-unwatched").isEmpty());
+
+    poller.unwatch(JOB_A);
+    assertTrue(poller.getLatestOperation(JOB_A).isEmpty());
+  }
+
+  @Test
+  void poll_disabledWatchesNothing() throws Exception {
+    configuration.setSharedPollerEnabled(false);
+    poller.watch(JOB_A, "project");
+
+    poller.poll();
+
+    verifyNoInteractions(listRequest);
+    assertTrue(poller.getLatestOperation(JOB_A).isEmpty());
+  }
+
+  private static Operation operation(String name, String jobName, String startTime) {
+    return new Operation()
+        .setName(name)
+        .setMetadata(Map.<String, Object>of("transferJobName", jobName, "startTime", startTime));
+  }
+}
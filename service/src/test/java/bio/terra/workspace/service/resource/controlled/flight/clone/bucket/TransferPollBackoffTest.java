@@ -0,0 +1,75 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bio.terra.workspace.common.annotations.BaseTest;
+import com.google.api.services.storagetransfer.v1.model.Operation;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@BaseTest
+class TransferPollBackoffTest {
+
+  @Test
+  void next_doublesWithoutProgressUpToMax() {
+    TransferPollBackoff backoff = new TransferPollBackoff();
+    // The first wait is the initial interval; only later polls without progress double it
+    assertEquals(TransferPollBackoff.INITIAL_INTERVAL, backoff.next(0, 0));
+    assertEquals(Duration.ofSeconds(4), backoff.next(0, 0));
+    assertEquals(Duration.ofSeconds(8), backoff.next(0, 0));
+    assertEquals(Duration.ofSeconds(16), backoff.next(0, 0));
+    assertEquals(Duration.ofSeconds(32), backoff.next(0, 0));
+    assertEquals(TransferPollBackoff.MAX_INTERVAL, backoff.next(0, 0));
+    assertEquals(TransferPollBackoff.MAX_INTERVAL, backoff.next(0, 0));
+  }
+
+  @Test
+  void next_followsEstimatedTimeRemaining() {
+    // 1000 bytes in the last 10 seconds, 5000 bytes to go
+    TransferPollBackoff backoff = new TransferPollBackoff(10_000, 1000);
+    assertEquals(Duration.ofSeconds(50), backoff.next(2000, 7000));
+    // Nearly done at the same rate
+    assertEquals(Duration.ofSeconds(5), backoff.next(4500, 4750));
+    // Everything found has been copied
+    assertEquals(TransferPollBackoff.INITIAL_INTERVAL, backoff.next(4750, 4750));
+  }
+
+  @Test
+  void next_neverBelowInitialInterval() {
+    TransferPollBackoff backoff = new TransferPollBackoff(2000, 0);
+    assertEquals(TransferPollBackoff.INITIAL_INTERVAL, backoff.next(1_000_000, 1_000_001));
+  }
+
+  @Test
+  void poller_buildFilterAndReadCounters() {
+    assertEquals(
+        "{\"projectId\":\"p\",\"jobNames\":[\"transferJobs/wsm-a\"]}",
+        StorageTransferOperationPoller.buildFilter("p", List.of("transferJobs/wsm-a")));
+
+    Operation operation =
+        new Operation()
+            .setMetadata(Map.<String, Object>of("counters", Map.of("bytesCopiedToSink", "1234")));
+    assertEquals(1234, StorageTransferOperationPoller.getCounter(operation, "bytesCopiedToSink"));
+    assertEquals(0, StorageTransferOperationPoller.getCounter(operation, "bytesFoundFromSource"));
+    assertEquals(
+        0, StorageTransferOperationPoller.getCounter(new Operation(), "bytesCopiedToSink"));
+  }
+
+  @Test
+  void poller_laterOperationPrefersNewerStart() {
+    Operation older =
+        new Operation()
+            .setName("op1")
+            .setMetadata(Map.<String, Object>of("startTime", "2024-01-01T00:00:00Z"));
+    Operation newer =
+        new Operation()
+            .setName("op2")
+            .setMetadata(Map.<String, Object>of("startTime", "2024-01-01T00:01:00Z"));
+    assertEquals("op2", StorageTransferOperationPoller.laterOperation(older, newer).getName());
+    assertEquals("op2", StorageTransferOperationPoller.laterOperation(newer, older).getName());
+  }
+}
@@ -0,0 +1,121 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightState;
+import bio.terra.stairway.Stairway;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.FlightNotFoundException;
+import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.common.utils.BaseMockitoStrictStubbingTest;
+import bio.terra.workspace.service.resource.model.WsmResource;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ResourceKeys;
+import bio.terra.workspace.service.workspace.model.WsmCloneResourceResult;
+import bio.terra.workspace.service.workspace.model.WsmResourceCloneDetails;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+@Tag("unit")
+public class CloneSourceResourceStepTest extends BaseMockitoStrictStubbingTest {
+  private static final String SUBFLIGHT_ID = "clone-subflight";
+
+  @Mock private FlightContext mockFlightContext;
+  @Mock private Stairway mockStairway;
+
+  private final FlightMap workingMap = new FlightMap();
+  private final WsmResource resource =
+      ControlledResourceFixtures.makeDefaultFlexResourceBuilder(UUID.randomUUID()).build();
+  private final ResourceCloneInputs inputs =
+      new ResourceCloneInputs(resource, SUBFLIGHT_ID, UUID.randomUUID(), null);
+  private final List<WsmResource> ranWith = new ArrayList<>();
+
+  @Test
+  void doStep_runsTheStepForAFoundResource() throws Exception {
+    StepResult result = makeStep(resource, true).doStep(mockFlightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, result.getStepStatus());
+    assertEquals(List.of(resource), ranWith);
+  }
+
+  @Test
+  void doStep_usesTheResourceTheSubflightWasLaunchedWith() throws Exception {
+    FlightMap subflightInputs = new FlightMap();
+    subflightInputs.put(ResourceKeys.RESOURCE, resource);
+    FlightState subflightState = new FlightState();
+    subflightState.setInputParameters(subflightInputs);
+    when(mockFlightContext.getStairway()).thenReturn(mockStairway);
+    when(mockStairway.getFlightState(SUBFLIGHT_ID)).thenReturn(subflightState);
+
+    StepResult result = makeStep(null, true).doStep(mockFlightContext);
+
+    // The source was deleted after the launch, which is no reason to fail the clone
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, result.getStepStatus());
+    assertEquals(1, ranWith.size());
+    assertEquals(resource.getResourceId(), ranWith.get(0).getResourceId());
+  }
+
+  @Test
+  void doStep_reportsSourceDeletedBeforeLaunch() throws Exception {
+    when(mockFlightContext.getStairway()).thenReturn(mockStairway);
+    when(mockStairway.getFlightState(SUBFLIGHT_ID))
+        .thenThrow(new FlightNotFoundException("not launched"));
+    when(mockFlightContext.getWorkingMap()).thenReturn(workingMap);
+
+    StepResult result = makeStep(null, true).doStep(mockFlightContext);
+
+    assertEquals(StepStatus.STEP_RESULT_SUCCESS, result.getStepStatus());
+    assertEquals(List.of(), ranWith);
+    assertEquals(WsmCloneResourceResult.FAILED, getCloneResult().getResult());
+  }
+
+  @Test
+  void doStep_reportsMissingSourceWithoutSubflight() throws Exception {
+    when(mockFlightContext.getWorkingMap()).thenReturn(workingMap);
+
+    makeStep(null, false).doStep(mockFlightContext);
+
+    assertEquals(List.of(), ranWith);
+    assertEquals(WsmCloneResourceResult.FAILED, getCloneResult().getResult());
+  }
+
+  private CloneSourceResourceStep makeStep(WsmResource source, boolean hasSubflight) {
+    return new CloneSourceResourceStep(
+        inputs,
+        source,
+        hasSubflight,
+        r -> {
+          ranWith.add(r);
+          return new Step() {
+            @Override
+            public StepResult doStep(FlightContext context) {
+              return StepResult.getStepResultSuccess();
+            }
+
+            @Override
+            public StepResult undoStep(FlightContext context) {
+              return StepResult.getStepResultSuccess();
+            }
+          };
+        });
+  }
+
+  private WsmResourceCloneDetails getCloneResult() {
+    return workingMap
+        .get(
+            ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT,
+            new TypeReference<Map<UUID, WsmResourceCloneDetails>>() {})
+        .get(resource.getResourceId());
+  }
+}
@@ -3,7 +3,7 @@ package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -75,7 +75,10 @@ public class FindResourcesToCloneStepTest extends BaseSpringBootUnitTest {
     List<ResourceCloneInputs> result =
         workingMap.get(ControlledResourceKeys.RESOURCES_TO_CLONE, new TypeReference<>() {});
     assertThat(result, hasSize(120));
-    assertTrue(resource.partialEqual(result.get(0).getResource()));
+    assertEquals(resource.getResourceId(), result.get(0).getResourceId());
+    assertEquals(resource.getResourceType(), result.get(0).getResourceType());
+    assertEquals(resource.getStewardshipType(), result.get(0).getStewardshipType());
+    assertNull(result.get(0).getResource());
     assertEquals(FLIGHT_ID, result.get(0).getFlightId());
   }
 
@@ -91,7 +94,10 @@ public class FindResourcesToCloneStepTest extends BaseSpringBootUnitTest {
     List<ResourceCloneInputs> result =
         workingMap.get(ControlledResourceKeys.RESOURCES_TO_CLONE, new TypeReference<>() {});
     assertThat(result, hasSize(3));
-    assertTrue(resource.partialEqual(result.get(0).getResource()));
+    assertEquals(resource.getResourceId(), result.get(0).getResourceId());
+    assertEquals(resource.getResourceType(), result.get(0).getResourceType());
+    assertEquals(resource.getStewardshipType(), result.get(0).getStewardshipType());
+    assertNull(result.get(0).getResource());
     assertEquals(FLIGHT_ID, result.get(0).getFlightId());
   }
 }
@@ -3,9 +3,14 @@ package bio.terra.workspace.service.workspace;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.in;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import bio.terra.workspace.common.BaseSpringBootUnitTest;
 import bio.terra.workspace.service.iam.model.WsmIamRole;
+import bio.terra.workspace.service.resource.controlled.cloud.gcp.CustomGcpIamRole;
+import java.util.HashSet;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -61,4 +66,21 @@ public class CloudSyncRoleMappingTest extends BaseSpringBootUnitTest {
                     .get(WsmIamRole.OWNER)
                     .getIncludedPermissions()))));
   }
+
+  @Test
+  void allCustomRolesHaveDistinctNames() {
+    List<String> roleNames =
+        gcpCloudSyncRoleMapping.getAllCustomGcpIamRoles().stream()
+            .map(CustomGcpIamRole::getRoleName)
+            .toList();
+    assertEquals(roleNames.size(), new HashSet<>(roleNames).size());
+  }
+
+  @Test
+  void customRolesFingerprintIsStableLabelValue() {
+    String fingerprint = gcpCloudSyncRoleMapping.getCustomGcpIamRolesFingerprint();
+    assertEquals(fingerprint, gcpCloudSyncRoleMapping.getCustomGcpIamRolesFingerprint());
+    // GCP label values are at most 63 lowercase letters, digits, dashes and underscores
+    assertTrue(fingerprint.matches("[a-z0-9_-]{1,63}"));
+  }
 }
@@ -33,16 +33,21 @@ import bio.terra.workspace.common.fixtures.WorkspaceFixtures;
 import bio.terra.workspace.common.logging.model.ActivityLogChangedTarget;
 import bio.terra.workspace.db.StateDao;
 import bio.terra.workspace.db.WorkspaceDao;
+import bio.terra.workspace.db.model.DbWorkspaceDescription;
 import bio.terra.workspace.service.iam.model.SamConstants;
+import bio.terra.workspace.service.iam.model.WsmIamRole;
 import bio.terra.workspace.service.logging.WorkspaceActivityLogService;
 import bio.terra.workspace.service.policy.PolicyValidator;
 import bio.terra.workspace.service.resource.exception.PolicyConflictException;
 import bio.terra.workspace.service.workspace.exceptions.MissingRequiredFieldsException;
 import bio.terra.workspace.service.workspace.model.OperationType;
 import bio.terra.workspace.service.workspace.model.Workspace;
+import bio.terra.workspace.service.workspace.model.WorkspaceDescription;
 import bio.terra.workspace.service.workspace.model.WorkspaceStage;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
 import org.broadinstitute.dsde.workbench.client.sam.ApiException;
 import org.junit.jupiter.api.Test;
@@ -90,6 +95,48 @@ public class WorkspaceUnitTest extends BaseSpringBootUnitTest {
         () -> Workspace.builder().workspaceStage(WorkspaceStage.MC_WORKSPACE).build());
   }
 
+  @Test
+  void getWorkspaceDescription_fetchesRolesAndPoliciesConcurrently() throws Exception {
+    Workspace workspace = WorkspaceFixtures.buildMcWorkspace();
+    when(mockWorkspaceDao.getWorkspaceDescription(workspace.workspaceId()))
+        .thenReturn(new DbWorkspaceDescription(workspace));
+    when(mockFeatureConfiguration().isTpsEnabled()).thenReturn(true);
+    // Each call waits for the other to start, so they only both return if they overlap
+    CountDownLatch bothCalled = new CountDownLatch(2);
+    TpsPaoGetResult pao = new TpsPaoGetResult().objectId(workspace.workspaceId());
+    when(mockSamService()
+            .listRequesterRoles(
+                any(),
+                eq(SamConstants.SamResource.WORKSPACE),
+                eq(workspace.workspaceId().toString())))
+        .thenAnswer(
+            invocation -> {
+              awaitOther(bothCalled);
+              return List.of(WsmIamRole.OWNER);
+            });
+    when(mockTpsApiDispatch()
+            .getOrCreatePao(workspace.workspaceId(), TpsComponent.WSM, TpsObjectType.WORKSPACE))
+        .thenAnswer(
+            invocation -> {
+              awaitOther(bothCalled);
+              return pao;
+            });
+
+    WorkspaceDescription description =
+        workspaceService.validateWorkspaceAndActionReturningDescription(
+            USER_REQUEST, workspace.workspaceId(), SamConstants.SamWorkspaceAction.READ);
+
+    assertEquals(WsmIamRole.OWNER, description.highestRole());
+    assertEquals(pao, description.workspacePolicies());
+  }
+
+  private static void awaitOther(CountDownLatch bothCalled) throws InterruptedException {
+    bothCalled.countDown();
+    if (!bothCalled.await(30, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Sam and TPS calls were made one after the other");
+    }
+  }
+
   @Test
   void linkPolicies_dryRun() throws Exception {
     Workspace workspace = WorkspaceFixtures.buildMcWorkspace();
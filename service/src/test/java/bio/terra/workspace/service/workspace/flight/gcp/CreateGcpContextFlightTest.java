@@ -13,9 +13,11 @@ import bio.terra.stairway.FlightState;
 import bio.terra.stairway.FlightStatus;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.MakeFlightException;
+import bio.terra.workspace.app.configuration.external.FlightStepConcurrencyConfiguration;
 import bio.terra.workspace.common.BaseConnectedTest;
 import bio.terra.workspace.common.StairwayTestUtils;
 import bio.terra.workspace.common.fixtures.WorkspaceFixtures;
+import bio.terra.workspace.common.utils.ParallelStepGroup;
 import bio.terra.workspace.common.utils.Rethrow;
 import bio.terra.workspace.connected.UserAccessUtils;
 import bio.terra.workspace.connected.WorkspaceConnectedTestUtils;
@@ -63,6 +65,8 @@ import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
@@ -87,6 +91,24 @@ class CreateGcpContextFlightTest extends BaseConnectedTest {
   @Autowired private UserAccessUtils userAccessUtils;
   @Autowired private WorkspaceConnectedTestUtils testUtils;
   @Autowired private GcpCloudContextService gcpCloudContextService;
+  @Autowired private FlightStepConcurrencyConfiguration flightStepConcurrencyConfiguration;
+
+  private boolean parallelGcpContextSetup;
+
+  /**
+   * Failures are only injected into steps Stairway runs itself, so the tests that fail each setup
+   * step run them one after the other. The parallel group has its own test.
+   */
+  @BeforeEach
+  void runSetupStepsSequentially() {
+    parallelGcpContextSetup = flightStepConcurrencyConfiguration.isParallelGcpContextSetup();
+    flightStepConcurrencyConfiguration.setParallelGcpContextSetup(false);
+  }
+
+  @AfterEach
+  void restoreParallelSetup() {
+    flightStepConcurrencyConfiguration.setParallelGcpContextSetup(parallelGcpContextSetup);
+  }
 
   @Test
   @DisabledIfEnvironmentVariable(named = "TEST_ENV", matches = BUFFER_SERVICE_DISABLED_ENVS_REG_EX)
@@ -143,6 +165,50 @@ class CreateGcpContextFlightTest extends BaseConnectedTest {
     assertPolicyGroupsSynced(workspaceUuid, project);
   }
 
+  @Test
+  @DisabledIfEnvironmentVariable(named = "TEST_ENV", matches = BUFFER_SERVICE_DISABLED_ENVS_REG_EX)
+  void successCreatesProjectAndContext_parallelSetupRetriesGroup() throws Exception {
+    flightStepConcurrencyConfiguration.setParallelGcpContextSetup(true);
+    UUID workspaceUuid = createWorkspace(spendUtils.defaultSpendId());
+    AuthenticatedUserRequest userRequest = userAccessUtils.defaultUserAuthRequest();
+
+    // Retrying the group reruns it, which must skip the steps that completed the first time
+    FlightDebugInfo debugInfo =
+        FlightDebugInfo.newBuilder()
+            .doStepFailures(
+                Map.of(
+                    ParallelStepGroup.class.getName(),
+                    StepStatus.STEP_RESULT_FAILURE_RETRY,
+                    GcpCloudSyncStep.class.getName(),
+                    StepStatus.STEP_RESULT_FAILURE_RETRY))
+            .build();
+
+    FlightMap inputs =
+        WorkspaceFixtures.createCloudContextInputs(
+            workspaceUuid, userRequest, CloudPlatform.GCP, spendUtils.defaultGcpSpendProfile());
+
+    FlightState flightState =
+        StairwayTestUtils.blockUntilFlightCompletes(
+            jobService.getStairway(),
+            CreateCloudContextFlight.class,
+            inputs,
+            STAIRWAY_FLIGHT_TIMEOUT,
+            debugInfo);
+    assertEquals(FlightStatus.SUCCESS, flightState.getFlightStatus());
+
+    String projectId =
+        flightState.getResultMap().get().get(WorkspaceFlightMapKeys.GCP_PROJECT_ID, String.class);
+    assertEquals(projectId, gcpCloudContextService.getRequiredGcpProject(workspaceUuid));
+    Project project = crl.getCloudResourceManagerCow().projects().get(projectId).execute();
+    assertEquals(
+        "billingAccounts/" + spendUtils.defaultBillingAccountId(),
+        crl.getCloudBillingClientCow()
+            .getProjectBillingInfo("projects/" + projectId)
+            .getBillingAccountName());
+    assertRolesExist(project);
+    assertPolicyGroupsSynced(workspaceUuid, project);
+  }
+
   @Test
   @DisabledIfEnvironmentVariable(named = "TEST_ENV", matches = BUFFER_SERVICE_DISABLED_ENVS_REG_EX)
   void createsProjectAndContext_emptySpendProfile_flightFailsAndGcpProjectNotCreated() {